@@ -0,0 +1,41 @@
+-- Database Migration Script for version 2.1
+-- Run after migration_v2.0.sql
+
+USE lk_job;
+
+-- 1. Covering index for per-job applicant counts by status.
+-- The employer job list groups applications by job and status; with both columns
+-- in one index the counts are read from the index alone.
+CREATE INDEX idx_applications_job_status ON applications(job_id, status);
+
+-- 2. Content-addressed resume files.
+-- Uploads are stored once per distinct content under uploads/resumes/ab/cd/<sha256>.<ext>;
+-- ref_count is the number of uploads that point at the file.
+CREATE TABLE IF NOT EXISTS resume_files (
+    sha256 CHAR(64) NOT NULL PRIMARY KEY,
+    extension VARCHAR(10) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    ref_count INT NOT NULL DEFAULT 1,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- 3. Extracted resume text for candidate search.
+-- resume_path records which upload the text was extracted from, so a changed
+-- resume is extracted again; the text is empty if the file could not be read.
+CREATE TABLE IF NOT EXISTS resume_texts (
+    student_id INT NOT NULL PRIMARY KEY,
+    resume_path VARCHAR(255) NOT NULL,
+    content MEDIUMTEXT NOT NULL,
+    extracted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT fk_resume_texts_student FOREIGN KEY (student_id) REFERENCES students(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- 4. SimHash fingerprints for near-duplicate detection.
+-- duplicate_of points at the older posting a job repeats; duplicates are left out
+-- of search results.
+ALTER TABLE jobs
+ADD COLUMN simhash BIGINT NULL,
+ADD COLUMN duplicate_of INT NULL,
+ADD CONSTRAINT fk_jobs_duplicate_of FOREIGN KEY (duplicate_of) REFERENCES jobs(id) ON DELETE SET NULL;
+
+COMMIT;
@@ -0,0 +1,12 @@
+-- Database Migration Script for version 2.2
+-- Run after migration_v2.1.sql
+
+USE lk_job;
+
+-- 1. Index for replaying recent job changes.
+-- After a restart the persisted search index reads only the jobs created or updated
+-- since its last commit; together with idx_jobs_created from migration_v2.0.sql
+-- MySQL unions two range scans.
+CREATE INDEX idx_jobs_updated_at ON jobs(updated_at);
+
+COMMIT;
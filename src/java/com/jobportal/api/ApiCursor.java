@@ -0,0 +1,85 @@
+package com.jobportal.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for paged API responses.
+ * A cursor encodes the ID of the last row of the previous page; clients pass it back unchanged.
+ * Ranked results have no key to continue after, so their cursors encode the rank to continue
+ * from instead.
+ */
+public class ApiCursor {
+
+    private static final String PREFIX = "id:";
+    private static final String OFFSET_PREFIX = "offset:";
+
+    private ApiCursor() {
+    }
+
+    /**
+     * Encodes the last ID of a page as a cursor.
+     *
+     * @param lastId the ID of the last row returned
+     * @return URL-safe cursor string
+     */
+    public static String encode(int lastId) {
+        return encode(PREFIX, lastId);
+    }
+
+    /**
+     * Encodes the position of the next page of ranked results as a cursor.
+     *
+     * @param offset the number of results already returned
+     * @return URL-safe cursor string
+     */
+    public static String encodeOffset(int offset) {
+        return encode(OFFSET_PREFIX, offset);
+    }
+
+    /**
+     * Decodes a cursor.
+     *
+     * @param cursor the cursor from the client, or null for the first page
+     * @return the ID to continue after (0 for the first page)
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static int decode(String cursor) {
+        return decode(PREFIX, cursor);
+    }
+
+    /**
+     * Decodes a ranked results cursor.
+     *
+     * @param cursor the cursor from the client, or null for the first page
+     * @return the number of results to skip (0 for the first page)
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static int decodeOffset(String cursor) {
+        return decode(OFFSET_PREFIX, cursor);
+    }
+
+    private static String encode(String prefix, int value) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((prefix + value).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static int decode(String prefix, String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+        if (!value.startsWith(prefix)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        try {
+            int id = Integer.parseInt(value.substring(prefix.length()));
+            if (id < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return id;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.jobportal.api;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Error responses of the JSON endpoints: a status with a body of the form
+ * {@code {"error": "message"}}.
+ */
+public class ApiErrors {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private ApiErrors() {
+    }
+
+    /**
+     * Replaces the response with a JSON error. Once part of the body has been streamed the
+     * response is left alone; the truncated body then signals the failure.
+     *
+     * @param response the response
+     * @param status the HTTP status
+     * @param message the error message for the client
+     * @throws IOException if writing the body fails
+     */
+    public static void sendError(HttpServletResponse response, int status, String message) throws IOException {
+        if (response.isCommitted()) {
+            return;
+        }
+        response.reset();
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(response.getOutputStream(), JsonEncoding.UTF8)) {
+            gen.writeStartObject();
+            gen.writeStringField("error", message);
+            gen.writeEndObject();
+        }
+    }
+}
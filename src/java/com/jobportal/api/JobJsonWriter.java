@@ -0,0 +1,125 @@
+package com.jobportal.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.jobportal.models.Job;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Writes {@link Job} objects straight to a streaming {@link JsonGenerator},
+ * restricted to the fields the client selected.
+ */
+public class JobJsonWriter {
+
+    /**
+     * Job fields exposed by the API.
+     */
+    public enum Field {
+        ID("id"),
+        TITLE("title"),
+        DESCRIPTION("description"),
+        LOCATION("location"),
+        REQUIREMENTS("requirements"),
+        EMPLOYER_ID("employerId");
+
+        private final String jsonName;
+
+        Field(String jsonName) {
+            this.jsonName = jsonName;
+        }
+
+        public String getJsonName() {
+            return jsonName;
+        }
+
+        static Field fromJsonName(String name) {
+            for (Field field : values()) {
+                if (field.jsonName.equalsIgnoreCase(name)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unknown field: " + name);
+        }
+    }
+
+    private final Set<Field> fields;
+
+    private JobJsonWriter(Set<Field> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Creates a writer for a comma-separated field list such as "id,title,location".
+     *
+     * @param fieldsParam the requested fields, or null/empty for all fields
+     * @return a writer for the selected fields
+     * @throws IllegalArgumentException if a field is unknown
+     */
+    public static JobJsonWriter forFields(String fieldsParam) {
+        if (fieldsParam == null || fieldsParam.trim().isEmpty()) {
+            return new JobJsonWriter(EnumSet.allOf(Field.class));
+        }
+        Set<Field> selected = EnumSet.noneOf(Field.class);
+        for (String name : fieldsParam.split(",")) {
+            String trimmed = name.trim().toLowerCase(Locale.ROOT);
+            if (!trimmed.isEmpty()) {
+                selected.add(Field.fromJsonName(trimmed));
+            }
+        }
+        return new JobJsonWriter(selected);
+    }
+
+    /**
+     * Writes one job as a JSON object.
+     *
+     * @param gen the generator positioned where a value is expected
+     * @param job the job to write
+     * @throws IOException if writing fails
+     */
+    public void write(JsonGenerator gen, Job job) throws IOException {
+        write(gen, job, null);
+    }
+
+    /**
+     * Writes one job as a JSON object with a search snippet of its description.
+     *
+     * @param gen the generator positioned where a value is expected
+     * @param job the job to write
+     * @param snippet the snippet HTML, written as {@code snippet}; null to leave it out
+     * @throws IOException if writing fails
+     */
+    public void write(JsonGenerator gen, Job job, String snippet) throws IOException {
+        gen.writeStartObject();
+        for (Field field : fields) {
+            switch (field) {
+                case ID:
+                    gen.writeNumberField(field.jsonName, job.getId());
+                    break;
+                case TITLE:
+                    gen.writeStringField(field.jsonName, job.getTitle());
+                    break;
+                case DESCRIPTION:
+                    gen.writeStringField(field.jsonName, job.getDescription());
+                    break;
+                case LOCATION:
+                    gen.writeStringField(field.jsonName, job.getLocation());
+                    break;
+                case REQUIREMENTS:
+                    gen.writeStringField(field.jsonName, job.getRequirements());
+                    break;
+                case EMPLOYER_ID:
+                    gen.writeNumberField(field.jsonName, job.getEmployerId());
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (snippet != null) {
+            gen.writeStringField("snippet", snippet);
+        }
+        gen.writeEndObject();
+    }
+}
@@ -23,6 +23,10 @@ public class AdminDaoImpl implements AdminDao {
         this.connection = DBConnection.getConnection();
     }
 
+    public AdminDaoImpl(Connection connection) {
+        this.connection = connection;
+    }
+
     @Override
     public Admin getAdminById(int id) throws SQLException {
         Admin admin = null;
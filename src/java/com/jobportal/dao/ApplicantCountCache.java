@@ -0,0 +1,224 @@
+package com.jobportal.dao;
+
+import com.jobportal.models.ApplicantCounts;
+import com.jobportal.models.Job;
+import com.jobportal.utils.ConfigManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Optional in-memory applicant counters per job, enabled with {@code applications.countCache.enabled}.
+ * <p>
+ * Entries are filled from the aggregate query and then kept current by the application write paths
+ * ({@code saveApplication}, {@code updateApplicationStatus}, {@code deleteApplication}) instead of
+ * being recounted. Alongside the counters, each employer's job list is kept so that a dashboard
+ * whose jobs are all cached needs no query at all. Entries expire after
+ * {@code applications.countCache.ttlSeconds} so that rows changed outside this application are
+ * picked up again, and the least recently used ones are evicted beyond
+ * {@code applications.countCache.maxJobs} counters or {@code applications.countCache.maxEmployers}
+ * job lists.
+ */
+public class ApplicantCountCache {
+
+    private static final ApplicantCountCache INSTANCE = new ApplicantCountCache(
+            ConfigManager.getBooleanProperty("applications.countCache.enabled", false),
+            ConfigManager.getIntProperty("applications.countCache.maxJobs", 10000),
+            ConfigManager.getIntProperty("applications.countCache.maxEmployers", 1000),
+            ConfigManager.getIntProperty("applications.countCache.ttlSeconds", 300) * 1000L);
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final Map<Integer, CachedCounts> entries;
+    private final Map<Integer, CachedJobs> employerJobs;
+
+    private static final class CachedCounts {
+        final ApplicantCounts counts;
+        final long expiresAt;
+
+        CachedCounts(ApplicantCounts counts, long expiresAt) {
+            this.counts = counts;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class CachedJobs {
+        final List<Job> jobs;
+        final long expiresAt;
+
+        CachedJobs(List<Job> jobs, long expiresAt) {
+            this.jobs = jobs;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public ApplicantCountCache(boolean enabled, int maxJobs, int maxEmployers, long ttlMillis) {
+        this.enabled = enabled;
+        this.ttlMillis = ttlMillis;
+        this.entries = lruMap(maxJobs);
+        this.employerJobs = lruMap(maxEmployers);
+    }
+
+    private static <V> Map<Integer, V> lruMap(int maxEntries) {
+        int limit = Math.max(1, maxEntries);
+        return new LinkedHashMap<Integer, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, V> eldest) {
+                return size() > limit;
+            }
+        };
+    }
+
+    public static ApplicantCountCache getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the cached counts for a job.
+     *
+     * @param jobId the job ID
+     * @return a copy of the counts, or null if not cached, expired or the cache is disabled
+     */
+    public synchronized ApplicantCounts get(int jobId) {
+        if (!enabled) {
+            return null;
+        }
+        CachedCounts cached = entries.get(jobId);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(jobId);
+            return null;
+        }
+        return copy(cached.counts);
+    }
+
+    /**
+     * Stores counts freshly read from the database.
+     *
+     * @param jobId the job ID
+     * @param counts the counts
+     */
+    public synchronized void put(int jobId, ApplicantCounts counts) {
+        if (enabled) {
+            entries.put(jobId, new CachedCounts(copy(counts), System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    /**
+     * Gets an employer's cached jobs. Their counters are cached separately and may have expired.
+     *
+     * @param employerId the employer ID
+     * @return the jobs, newest first and not to be modified, or null if not cached, expired or
+     *         the cache is disabled
+     */
+    public synchronized List<Job> getEmployerJobs(int employerId) {
+        if (!enabled) {
+            return null;
+        }
+        CachedJobs cached = employerJobs.get(employerId);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt <= System.currentTimeMillis()) {
+            employerJobs.remove(employerId);
+            return null;
+        }
+        return cached.jobs;
+    }
+
+    /**
+     * Stores an employer's jobs freshly read from the database.
+     *
+     * @param employerId the employer ID
+     * @param jobs the jobs, newest first
+     */
+    public synchronized void putEmployerJobs(int employerId, List<Job> jobs) {
+        if (enabled) {
+            employerJobs.put(employerId, new CachedJobs(Collections.unmodifiableList(jobs),
+                    System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    /**
+     * Drops an employer's job list, e.g. after they posted a job.
+     *
+     * @param employerId the employer ID
+     */
+    public synchronized void invalidateEmployer(int employerId) {
+        employerJobs.remove(employerId);
+    }
+
+    /**
+     * Records a new application. Jobs that are not cached are left to the next aggregate query.
+     *
+     * @param jobId the job ID
+     * @param status the application's status
+     */
+    public synchronized void applicationAdded(int jobId, String status) {
+        CachedCounts cached = enabled ? entries.get(jobId) : null;
+        if (cached != null) {
+            cached.counts.add(status, 1);
+        }
+    }
+
+    /**
+     * Moves an application from one status to another.
+     *
+     * @param jobId the job ID
+     * @param oldStatus the previous status
+     * @param newStatus the new status
+     */
+    public synchronized void statusChanged(int jobId, String oldStatus, String newStatus) {
+        CachedCounts cached = enabled ? entries.get(jobId) : null;
+        if (cached != null) {
+            cached.counts.add(oldStatus, -1);
+            cached.counts.add(newStatus, 1);
+        }
+    }
+
+    /**
+     * Records a deleted application.
+     *
+     * @param jobId the job ID
+     * @param status the deleted application's status
+     */
+    public synchronized void applicationRemoved(int jobId, String status) {
+        CachedCounts cached = enabled ? entries.get(jobId) : null;
+        if (cached != null) {
+            cached.counts.add(status, -1);
+        }
+    }
+
+    /**
+     * Drops a job's counters, so that an employer list holding the job is reloaded too.
+     *
+     * @param jobId the job ID
+     */
+    public synchronized void invalidate(int jobId) {
+        entries.remove(jobId);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        employerJobs.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static ApplicantCounts copy(ApplicantCounts counts) {
+        return new ApplicantCounts(counts.getApplied(), counts.getInterviewed(),
+                counts.getAccepted(), counts.getRejected());
+    }
+}
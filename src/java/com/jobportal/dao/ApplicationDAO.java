@@ -1,6 +1,7 @@
 package com.jobportal.dao;
 
 import com.jobportal.models.Application;
+import com.jobportal.models.ApplicationStatusChange;
 import java.sql.SQLException;
 import java.util.List;
 
@@ -45,6 +46,16 @@ public interface ApplicationDAO {
      */
     List<Application> getApplicationsByJobId(int jobId) throws SQLException;
     
+    /**
+     * Checks whether a student has applied to any job of an employer.
+     *
+     * @param studentId the student ID
+     * @param employerId the employer ID
+     * @return true if at least one such application exists
+     * @throws SQLException if a database access error occurs
+     */
+    boolean hasAppliedToEmployer(int studentId, int employerId) throws SQLException;
+    
     /**
      * Updates the status of an application.
      *
@@ -55,6 +66,18 @@ public interface ApplicationDAO {
      */
     boolean updateApplicationStatus(int id, String status) throws SQLException;
     
+    /**
+     * Moves many applications of an employer's jobs to one status with a single UPDATE,
+     * in one transaction. Applications that do not belong to the employer are not touched.
+     *
+     * @param employerId the employer whose applications may be updated
+     * @param ids the application IDs; duplicates are ignored
+     * @param status the new status
+     * @return one result per distinct ID, in request order
+     * @throws SQLException if a database access error occurs; no application is updated then
+     */
+    List<ApplicationStatusChange> updateApplicationStatuses(int employerId, List<Integer> ids, String status) throws SQLException;
+    
     /**
      * Deletes an application by its ID.
      *
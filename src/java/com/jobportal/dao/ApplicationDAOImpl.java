@@ -1,6 +1,8 @@
 package com.jobportal.dao;
 
 import com.jobportal.models.Application;
+import com.jobportal.models.ApplicationStatusChange;
+import com.jobportal.models.ApplicationStatusChange.Outcome;
 import com.jobportal.utils.DBConnection;
 
 import java.sql.Connection;
@@ -9,18 +11,28 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class ApplicationDAOImpl implements ApplicationDAO {
     private static final Logger LOGGER = Logger.getLogger(ApplicationDAOImpl.class.getName());
     private Connection connection;
+    private final ApplicantCountCache countCache = ApplicantCountCache.getInstance();
 
     public ApplicationDAOImpl() {
         this.connection = DBConnection.getConnection();
     }
 
+    public ApplicationDAOImpl(Connection connection) {
+        this.connection = connection;
+    }
+
     @Override
     public boolean saveApplication(Application application) throws SQLException {
         String query = "INSERT INTO applications (student_id, job_id, status, application_date, cover_letter_path) VALUES (?, ?, ?, ?, ?)";
@@ -30,7 +42,11 @@ public class ApplicationDAOImpl implements ApplicationDAO {
             pstmt.setString(3, application.getStatus());
             pstmt.setDate(4, Date.valueOf(application.getApplicationDate())); // Convert LocalDate to java.sql.Date
             pstmt.setString(5, application.getCoverLetterPath());
-            return pstmt.executeUpdate() > 0;
+            boolean saved = pstmt.executeUpdate() > 0;
+            if (saved) {
+                countCache.applicationAdded(application.getJobId(), application.getStatus());
+            }
+            return saved;
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error saving application", e);
             throw e;
@@ -111,28 +127,148 @@ public class ApplicationDAOImpl implements ApplicationDAO {
         return applications;
     }
 
+    @Override
+    public boolean hasAppliedToEmployer(int studentId, int employerId) throws SQLException {
+        String query = "SELECT 1 FROM applications a JOIN jobs j ON j.id = a.job_id "
+                + "WHERE a.student_id = ? AND j.employer_id = ? LIMIT 1";
+        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+            pstmt.setInt(1, studentId);
+            pstmt.setInt(2, employerId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error checking applications of student for employer", e);
+            throw e;
+        }
+    }
+
     @Override
     public boolean updateApplicationStatus(int id, String status) throws SQLException {
+        // The previous status is only needed to move the cached counters
+        Application previous = countCache.isEnabled() ? getJobAndStatus(id) : null;
         String query = "UPDATE applications SET status = ? WHERE id = ?";
         try (PreparedStatement pstmt = connection.prepareStatement(query)) {
             pstmt.setString(1, status);
             pstmt.setInt(2, id);
-            return pstmt.executeUpdate() > 0;
+            boolean updated = pstmt.executeUpdate() > 0;
+            if (updated && previous != null) {
+                countCache.statusChanged(previous.getJobId(), previous.getStatus(), status);
+            }
+            return updated;
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error updating application status", e);
             throw e;
         }
     }
 
+    @Override
+    public List<ApplicationStatusChange> updateApplicationStatuses(int employerId, List<Integer> ids, String status) throws SQLException {
+        Set<Integer> requested = new LinkedHashSet<>(ids);
+        List<ApplicationStatusChange> changes = new ArrayList<>(requested.size());
+        if (requested.isEmpty()) {
+            return changes;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(requested.size(), "?"));
+        // Lock the employer's rows first so the reported previous statuses are the ones replaced
+        String selectQuery = "SELECT a.id, a.job_id, a.status, j.title, s.name, s.email FROM applications a "
+                + "JOIN jobs j ON j.id = a.job_id LEFT JOIN students s ON s.id = a.student_id "
+                + "WHERE a.id IN (" + placeholders + ") AND j.employer_id = ? FOR UPDATE";
+        Map<Integer, ApplicationStatusChange> found = new HashMap<>();
+        List<Integer> toUpdate = new ArrayList<>();
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            try (PreparedStatement pstmt = connection.prepareStatement(selectQuery)) {
+                int index = 1;
+                for (int id : requested) {
+                    pstmt.setInt(index++, id);
+                }
+                pstmt.setInt(index, employerId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        int id = rs.getInt("id");
+                        String previousStatus = rs.getString("status");
+                        Outcome outcome = status.equals(previousStatus) ? Outcome.UNCHANGED : Outcome.UPDATED;
+                        found.put(id, new ApplicationStatusChange(id, outcome, rs.getInt("job_id"), previousStatus,
+                                status, rs.getString("title"), rs.getString("name"), rs.getString("email")));
+                        if (outcome == Outcome.UPDATED) {
+                            toUpdate.add(id);
+                        }
+                    }
+                }
+            }
+
+            if (!toUpdate.isEmpty()) {
+                String updateQuery = "UPDATE applications SET status = ? WHERE id IN ("
+                        + String.join(", ", Collections.nCopies(toUpdate.size(), "?")) + ")";
+                try (PreparedStatement pstmt = connection.prepareStatement(updateQuery)) {
+                    pstmt.setString(1, status);
+                    int index = 2;
+                    for (int id : toUpdate) {
+                        pstmt.setInt(index++, id);
+                    }
+                    pstmt.executeUpdate();
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            LOGGER.log(Level.SEVERE, "Error updating application statuses in bulk", e);
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+
+        for (int id : requested) {
+            ApplicationStatusChange change = found.get(id);
+            if (change == null) {
+                changes.add(ApplicationStatusChange.notFound(id));
+            } else {
+                if (change.getOutcome() == Outcome.UPDATED) {
+                    countCache.statusChanged(change.getJobId(), change.getPreviousStatus(), status);
+                }
+                changes.add(change);
+            }
+        }
+        return changes;
+    }
+
     @Override
     public boolean deleteApplication(int id) throws SQLException {
+        Application previous = countCache.isEnabled() ? getJobAndStatus(id) : null;
         String query = "DELETE FROM applications WHERE id = ?";
         try (PreparedStatement pstmt = connection.prepareStatement(query)) {
             pstmt.setInt(1, id);
-            return pstmt.executeUpdate() > 0;
+            boolean deleted = pstmt.executeUpdate() > 0;
+            if (deleted && previous != null) {
+                countCache.applicationRemoved(previous.getJobId(), previous.getStatus());
+            }
+            return deleted;
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error deleting application", e);
             throw e;
         }
     }
+
+    /**
+     * Reads only the job ID and status of an application, for keeping the counter cache current.
+     */
+    private Application getJobAndStatus(int id) throws SQLException {
+        String query = "SELECT job_id, status FROM applications WHERE id = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+            pstmt.setInt(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    Application application = new Application();
+                    application.setJobId(rs.getInt("job_id"));
+                    application.setStatus(rs.getString("status"));
+                    return application;
+                }
+            }
+        }
+        return null;
+    }
 }
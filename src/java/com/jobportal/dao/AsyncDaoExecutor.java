@@ -0,0 +1,155 @@
+package com.jobportal.dao;
+
+import com.jobportal.utils.ConfigManager;
+import com.jobportal.utils.DBConnectionPool;
+import com.jobportal.utils.DBConnectionPool.Workload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs JDBC lookups off the calling thread, e.g. the independent queries behind a dashboard.
+ * <p>
+ * Each call borrows its own connection from the {@link DBConnectionPool} pool of the executor's
+ * workload, so independent lookups really run in parallel. Cancelling a returned future
+ * interrupts the worker if the lookup is still running, or skips it if it has not started.
+ * When the queue is full a call is rejected at once instead of queuing unboundedly.
+ */
+public class AsyncDaoExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncDaoExecutor.class);
+    private static final AsyncDaoExecutor INTERACTIVE = new AsyncDaoExecutor(Workload.INTERACTIVE,
+            ConfigManager.getIntProperty("async.dao.threads", 10),
+            ConfigManager.getIntProperty("async.dao.queueSize", 200));
+
+    /**
+     * Work performed with a borrowed connection.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface ConnectionCallback<T> {
+        T apply(Connection connection) throws SQLException;
+    }
+
+    private final Workload workload;
+    private final ExecutorService executor;
+
+    public AsyncDaoExecutor(Workload workload, int threads, int queueSize) {
+        this.workload = workload;
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "dao-" + workload.getKey() + "-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+    }
+
+    /**
+     * Gets the shared executor for interactive lookups.
+     *
+     * @return the interactive executor
+     */
+    public static AsyncDaoExecutor getInstance() {
+        return INTERACTIVE;
+    }
+
+    /**
+     * Runs a callback on the executor with a connection from this executor's pool.
+     *
+     * @param callback the database work
+     * @param <T> the result type
+     * @return a future completed with the result, or exceptionally with the SQLException, or
+     *         with a RejectedExecutionException if the queue is full
+     */
+    public <T> CompletableFuture<T> supply(ConnectionCallback<T> callback) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                if (result.isDone()) {
+                    return;
+                }
+                try (Connection connection = DBConnectionPool.getConnection(workload)) {
+                    result.complete(callback.apply(connection));
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Async DAO executor '{}' is saturated; lookup rejected", workload.getKey());
+            result.completeExceptionally(e);
+            return result;
+        }
+        result.whenComplete((value, error) -> {
+            if (error instanceof CancellationException) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Waits for all futures up to a deadline. On timeout or interruption every future that
+     * is still running is cancelled, releasing its worker and connection.
+     *
+     * @param timeoutMillis the maximum time to wait
+     * @param futures the lookups to wait for
+     * @throws TimeoutException if the deadline passes
+     * @throws InterruptedException if the waiting thread is interrupted
+     * @throws SQLException if a lookup failed
+     */
+    public static void awaitAll(long timeoutMillis, CompletableFuture<?>... futures)
+            throws TimeoutException, InterruptedException, SQLException {
+        try {
+            CompletableFuture.allOf(futures).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | InterruptedException e) {
+            cancelAll(futures);
+            throw e;
+        } catch (ExecutionException e) {
+            cancelAll(futures);
+            Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw new SQLException("Asynchronous lookup failed", cause);
+        }
+    }
+
+    /**
+     * Cancels every future that has not completed yet.
+     *
+     * @param futures the futures to cancel
+     */
+    public static void cancelAll(CompletableFuture<?>... futures) {
+        for (CompletableFuture<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Stops the executor.
+     * Should be called during application shutdown.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        logger.info("Async DAO executor '{}' stopped", workload.getKey());
+    }
+}
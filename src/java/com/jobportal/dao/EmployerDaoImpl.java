@@ -19,6 +19,10 @@ public class EmployerDaoImpl implements EmployerDao {
         this.connection = DBConnection.getConnection();
     }
 
+    public EmployerDaoImpl(Connection connection) {
+        this.connection = connection;
+    }
+
     @Override
     public Employer getEmployerById(int id) {
         Employer employer = null;
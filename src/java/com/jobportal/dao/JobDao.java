@@ -1,8 +1,13 @@
 package com.jobportal.dao;
 
 import com.jobportal.models.Job;
+import com.jobportal.models.JobApplicantSummary;
+import com.jobportal.search.FuzzyQuery;
+import java.io.IOException;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface for Job DAO operations.
@@ -10,7 +15,7 @@ import java.util.List;
 public interface JobDao {
     
     /**
-     * Saves a new job.
+     * Saves a new job and sets its generated ID.
      *
      * @param job the job object to save
      * @return true if the job was saved successfully, false otherwise
@@ -26,6 +31,25 @@ public interface JobDao {
      * @throws SQLException if a database access error occurs
      */
     Job getJobById(int id) throws SQLException;
+
+    /**
+     * Retrieves several jobs in one query.
+     *
+     * @param ids the job IDs
+     * @return the jobs found, in the order of the given IDs
+     * @throws SQLException if a database access error occurs
+     */
+    List<Job> getJobsByIds(int[] ids) throws SQLException;
+
+    /**
+     * Retrieves only the last modification time of a job, for HTTP validators.
+     * Falls back to the creation time for jobs that were never updated.
+     *
+     * @param id the job ID
+     * @return the last modification time, or null if the job does not exist
+     * @throws SQLException if a database access error occurs
+     */
+    Timestamp getJobLastModified(int id) throws SQLException;
     
     /**
      * Retrieves jobs by employer ID.
@@ -36,6 +60,16 @@ public interface JobDao {
      */
     List<Job> getJobsByEmployerId(int employerId) throws SQLException;
     
+    /**
+     * Retrieves an employer's jobs with their applicant counts per status.
+     * The counts come from one aggregated query instead of loading each job's applications.
+     *
+     * @param employerId the employer ID
+     * @return the employer's jobs with applicant counts, newest first
+     * @throws SQLException if a database access error occurs
+     */
+    List<JobApplicantSummary> getJobsWithApplicantCounts(int employerId) throws SQLException;
+    
     /**
      * Searches for jobs based on title, location, and requirements.
      *
@@ -46,6 +80,99 @@ public interface JobDao {
      * @throws SQLException if a database access error occurs
      */
     List<Job> searchJobs(String title, String location, String requirements) throws SQLException;
+
+    /**
+     * Streams one keyset page of jobs ordered by ID.
+     *
+     * @param afterId only jobs with a greater ID are returned (0 for the first page)
+     * @param limit the maximum number of jobs
+     * @param handler receives each job as it is read
+     * @return the number of jobs handled
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if the handler fails
+     */
+    int streamJobs(int afterId, int limit, RowHandler<Job> handler) throws SQLException, IOException;
+
+    /**
+     * Streams the jobs created or updated at or after a time, e.g. to bring a persisted
+     * index up to date. Meant for small deltas: the rows are read in one query.
+     *
+     * @param since the earliest creation or update time
+     * @param handler receives each job as it is read
+     * @return the number of jobs handled
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if the handler fails
+     */
+    int streamJobsModifiedSince(Timestamp since, RowHandler<Job> handler) throws SQLException, IOException;
+
+    /**
+     * Gets the IDs of all jobs, e.g. to drop the jobs deleted since a persisted index was
+     * saved, without reading the rows themselves.
+     *
+     * @return the job IDs in ascending order
+     * @throws SQLException if a database access error occurs
+     */
+    int[] getAllJobIds() throws SQLException;
+
+    /**
+     * Finds the IDs of all jobs matching the search criteria, e.g. to count them by facet.
+     * Shares the result cache with {@link #searchJobs}.
+     *
+     * @param title the job title
+     * @param location the job location
+     * @param requirements the job requirements
+     * @return the matching job IDs; not to be modified
+     * @throws SQLException if a database access error occurs
+     */
+    int[] searchJobIds(String title, String location, String requirements) throws SQLException;
+
+    /**
+     * Searches for jobs with expanded, typo-tolerant terms.
+     *
+     * @param query the expanded search
+     * @return the matching jobs
+     * @throws SQLException if a database access error occurs
+     */
+    List<Job> searchJobsFuzzy(FuzzyQuery query) throws SQLException;
+
+    /**
+     * Finds the IDs of all jobs matching an expanded search, e.g. to count them by facet.
+     *
+     * @param query the expanded search
+     * @return the matching job IDs
+     * @throws SQLException if a database access error occurs
+     */
+    int[] searchFuzzyJobIds(FuzzyQuery query) throws SQLException;
+
+    /**
+     * Streams one keyset page of jobs matching an expanded search, ordered by ID.
+     *
+     * @param query the expanded search
+     * @param afterId only jobs with a greater ID are returned (0 for the first page)
+     * @param limit the maximum number of jobs
+     * @param handler receives each job as it is read
+     * @return the number of jobs handled
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if the handler fails
+     */
+    int streamFuzzySearchResults(FuzzyQuery query, int afterId, int limit, RowHandler<Job> handler)
+            throws SQLException, IOException;
+
+    /**
+     * Streams one keyset page of jobs matching the search criteria, ordered by ID.
+     *
+     * @param title the job title
+     * @param location the job location
+     * @param requirements the job requirements
+     * @param afterId only jobs with a greater ID are returned (0 for the first page)
+     * @param limit the maximum number of jobs
+     * @param handler receives each job as it is read
+     * @return the number of jobs handled
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if the handler fails
+     */
+    int streamSearchResults(String title, String location, String requirements,
+                            int afterId, int limit, RowHandler<Job> handler) throws SQLException, IOException;
     
     /**
      * Updates an existing job.
@@ -55,6 +182,17 @@ public interface JobDao {
      * @throws SQLException if a database access error occurs
      */
     boolean updateJob(Job job) throws SQLException;
+
+    /**
+     * Stores SimHash fingerprints and duplicate flags computed in bulk, in batches.
+     * Jobs flagged as duplicates are left out of search results.
+     *
+     * @param fingerprints the fingerprint by job ID; every listed job is updated
+     * @param duplicateOf the original's ID by duplicate job ID; listed jobs absent here are unflagged
+     * @return the number of jobs updated
+     * @throws SQLException if a database access error occurs
+     */
+    int updateDuplicates(Map<Integer, Long> fingerprints, Map<Integer, Integer> duplicateOf) throws SQLException;
     
     /**
      * Deletes a job by its ID.
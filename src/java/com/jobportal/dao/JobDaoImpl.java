@@ -1,39 +1,77 @@
 package com.jobportal.dao;
 
+import com.jobportal.models.ApplicantCounts;
 import com.jobportal.models.Job;
+import com.jobportal.models.JobApplicantSummary;
+import com.jobportal.recommend.RecommendationService;
+import com.jobportal.search.FuzzyQuery;
+import com.jobportal.search.JobIndexes;
+import com.jobportal.search.JobSearchCriteria;
+import com.jobportal.search.NearDuplicateIndex;
+import com.jobportal.search.SearchResultCache;
 import com.jobportal.utils.DBConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of JobDao interface for managing job entities.
  */
 public class JobDaoImpl implements JobDao {
     private static final Logger logger = LoggerFactory.getLogger(JobDaoImpl.class);
+    private static final int UPDATE_BATCH_SIZE = 500;
 
     private final Connection connection;
+    private final SearchResultCache searchCache = SearchResultCache.getInstance();
+    private final ApplicantCountCache countCache = ApplicantCountCache.getInstance();
+    private final JobIndexes jobIndexes = JobIndexes.getInstance();
+    private final NearDuplicateIndex nearDuplicates = NearDuplicateIndex.getInstance();
+    private final RecommendationService recommendations = RecommendationService.getInstance();
 
     public JobDaoImpl() {
         this.connection = DBConnection.getConnection();
     }
 
+    public JobDaoImpl(Connection connection) {
+        this.connection = connection;
+    }
+
     @Override
     public boolean saveJob(Job job) {
-        String query = "INSERT INTO jobs (title, description, location, requirements, employer_id) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        String query = "INSERT INTO jobs (title, description, location, requirements, employer_id, simhash, duplicate_of) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
             pstmt.setString(1, job.getTitle());
             pstmt.setString(2, job.getDescription());
             pstmt.setString(3, job.getLocation());
             pstmt.setString(4, job.getRequirements());
             pstmt.setInt(5, job.getEmployerId());
-            return pstmt.executeUpdate() > 0;
+            setFingerprint(pstmt, 6, job);
+            boolean saved = pstmt.executeUpdate() > 0;
+            if (saved) {
+                try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                    if (keys.next()) {
+                        job.setId(keys.getInt(1));
+                    }
+                }
+                searchCache.invalidate(job);
+                countCache.invalidateEmployer(job.getEmployerId());
+                indexStored(job);
+            }
+            return saved;
         } catch (SQLException e) {
             logger.error("Error saving job: {}", job, e);
             return false;
@@ -56,6 +94,23 @@ public class JobDaoImpl implements JobDao {
         return null;
     }
 
+    @Override
+    public Timestamp getJobLastModified(int id) {
+        String query = "SELECT COALESCE(updated_at, created_at) AS last_modified FROM jobs WHERE id = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+            pstmt.setInt(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    Timestamp lastModified = rs.getTimestamp("last_modified");
+                    return lastModified != null ? lastModified : new Timestamp(0L);
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error getting last modified time for job ID: {}", id, e);
+        }
+        return null;
+    }
+
     @Override
     public List<Job> getJobsByEmployerId(int employerId) {
         String query = "SELECT * FROM jobs WHERE employer_id = ?";
@@ -73,47 +128,423 @@ public class JobDaoImpl implements JobDao {
         return jobs;
     }
 
+    @Override
+    public List<JobApplicantSummary> getJobsWithApplicantCounts(int employerId) throws SQLException {
+        if (countCache.isEnabled()) {
+            List<JobApplicantSummary> cached = getCachedApplicantCounts(employerId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // One pass over idx_applications_job; the status sums need no second lookup per job
+        String query = "SELECT j.*, "
+                + "COALESCE(SUM(a.status = 'applied'), 0) AS applied_count, "
+                + "COALESCE(SUM(a.status = 'interviewed'), 0) AS interviewed_count, "
+                + "COALESCE(SUM(a.status = 'accepted'), 0) AS accepted_count, "
+                + "COALESCE(SUM(a.status = 'rejected'), 0) AS rejected_count "
+                + "FROM jobs j LEFT JOIN applications a ON a.job_id = j.id "
+                + "WHERE j.employer_id = ? GROUP BY j.id ORDER BY j.id DESC";
+        List<JobApplicantSummary> summaries = new ArrayList<>();
+        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+            pstmt.setInt(1, employerId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Job job = mapResultSetToJob(rs);
+                    ApplicantCounts counts = new ApplicantCounts(rs.getInt("applied_count"),
+                            rs.getInt("interviewed_count"), rs.getInt("accepted_count"), rs.getInt("rejected_count"));
+                    countCache.put(job.getId(), counts);
+                    summaries.add(new JobApplicantSummary(job, counts));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error getting applicant counts for employer ID: {}", employerId, e);
+            throw e;
+        }
+        if (countCache.isEnabled()) {
+            List<Job> jobs = new ArrayList<>(summaries.size());
+            for (JobApplicantSummary summary : summaries) {
+                jobs.add(summary.getJob());
+            }
+            countCache.putEmployerJobs(employerId, jobs);
+        }
+        return summaries;
+    }
+
+    /**
+     * Builds the summaries from the counter cache without a query, or returns null if the
+     * employer's job list or any job's counts are missing.
+     */
+    private List<JobApplicantSummary> getCachedApplicantCounts(int employerId) {
+        List<Job> jobs = countCache.getEmployerJobs(employerId);
+        if (jobs == null) {
+            return null;
+        }
+        List<JobApplicantSummary> summaries = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            ApplicantCounts counts = countCache.get(job.getId());
+            if (counts == null) {
+                return null;
+            }
+            summaries.add(new JobApplicantSummary(job, counts));
+        }
+        return summaries;
+    }
+
     @Override
     public List<Job> searchJobs(String title, String location, String requirements) {
-        String query = "SELECT * FROM jobs WHERE title LIKE ? AND location LIKE ? AND requirements LIKE ?";
+        JobSearchCriteria criteria = new JobSearchCriteria(title, location, requirements);
+        int[] cachedIds = searchCache.get(criteria);
+        if (cachedIds != null) {
+            return getJobsByIds(cachedIds);
+        }
+        long generation = searchCache.getGeneration();
+
+        String query = "SELECT * FROM jobs WHERE title LIKE ? AND location LIKE ? AND requirements LIKE ? "
+                + "AND duplicate_of IS NULL";
         List<Job> jobs = new ArrayList<>();
         try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setString(1, "%" + title + "%");
-            pstmt.setString(2, "%" + location + "%");
-            pstmt.setString(3, "%" + requirements + "%");
+            pstmt.setString(1, JobSearchCriteria.likePattern(criteria.getTitle()));
+            pstmt.setString(2, JobSearchCriteria.likePattern(criteria.getLocation()));
+            pstmt.setString(3, JobSearchCriteria.likePattern(criteria.getRequirements()));
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
                     jobs.add(mapResultSetToJob(rs));
                 }
             }
+            int[] ids = new int[jobs.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = jobs.get(i).getId();
+            }
+            searchCache.put(criteria, ids, generation);
         } catch (SQLException e) {
             logger.error("Error searching jobs with title: {}, location: {}, requirements: {}", title, location, requirements, e);
         }
         return jobs;
     }
 
+    @Override
+    public int[] searchJobIds(String title, String location, String requirements) throws SQLException {
+        JobSearchCriteria criteria = new JobSearchCriteria(title, location, requirements);
+        int[] cachedIds = searchCache.get(criteria);
+        if (cachedIds != null) {
+            return cachedIds;
+        }
+        long generation = searchCache.getGeneration();
+
+        String query = "SELECT id FROM jobs WHERE title LIKE ? AND location LIKE ? AND requirements LIKE ? "
+                + "AND duplicate_of IS NULL";
+        int[] ids;
+        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+            pstmt.setString(1, JobSearchCriteria.likePattern(criteria.getTitle()));
+            pstmt.setString(2, JobSearchCriteria.likePattern(criteria.getLocation()));
+            pstmt.setString(3, JobSearchCriteria.likePattern(criteria.getRequirements()));
+            ids = readIds(pstmt);
+        }
+        searchCache.put(criteria, ids, generation);
+        return ids;
+    }
+
+    private static int[] readIds(PreparedStatement pstmt) throws SQLException {
+        int[] ids = new int[64];
+        int count = 0;
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                }
+                ids[count++] = rs.getInt(1);
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    @Override
+    public int streamJobs(int afterId, int limit, RowHandler<Job> handler) throws SQLException, IOException {
+        String query = "SELECT * FROM jobs WHERE id > ? ORDER BY id LIMIT ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+            pstmt.setInt(1, afterId);
+            pstmt.setInt(2, limit);
+            return stream(pstmt, handler);
+        }
+    }
+
+    @Override
+    public int streamJobsModifiedSince(Timestamp since, RowHandler<Job> handler) throws SQLException, IOException {
+        // updated_at stays NULL until a job is first updated
+        String query = "SELECT * FROM jobs WHERE updated_at >= ? OR created_at >= ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+            pstmt.setTimestamp(1, since);
+            pstmt.setTimestamp(2, since);
+            return stream(pstmt, handler);
+        }
+    }
+
+    @Override
+    public int[] getAllJobIds() throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement("SELECT id FROM jobs ORDER BY id")) {
+            return readIds(pstmt);
+        }
+    }
+
+    @Override
+    public int streamSearchResults(String title, String location, String requirements,
+                                   int afterId, int limit, RowHandler<Job> handler) throws SQLException, IOException {
+        JobSearchCriteria criteria = new JobSearchCriteria(title, location, requirements);
+        String query = "SELECT * FROM jobs WHERE title LIKE ? AND location LIKE ? AND requirements LIKE ? "
+                + "AND duplicate_of IS NULL AND id > ? ORDER BY id LIMIT ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+            pstmt.setString(1, JobSearchCriteria.likePattern(criteria.getTitle()));
+            pstmt.setString(2, JobSearchCriteria.likePattern(criteria.getLocation()));
+            pstmt.setString(3, JobSearchCriteria.likePattern(criteria.getRequirements()));
+            pstmt.setInt(4, afterId);
+            pstmt.setInt(5, limit);
+            return stream(pstmt, handler);
+        }
+    }
+
+    @Override
+    public List<Job> searchJobsFuzzy(FuzzyQuery query) {
+        List<Job> jobs = new ArrayList<>();
+        try (PreparedStatement pstmt = prepareFuzzySearch(query, "*", "")) {
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    jobs.add(mapResultSetToJob(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error in fuzzy job search: {}", query, e);
+        }
+        return jobs;
+    }
+
+    @Override
+    public int[] searchFuzzyJobIds(FuzzyQuery query) throws SQLException {
+        try (PreparedStatement pstmt = prepareFuzzySearch(query, "id", "")) {
+            return readIds(pstmt);
+        }
+    }
+
+    @Override
+    public int streamFuzzySearchResults(FuzzyQuery query, int afterId, int limit, RowHandler<Job> handler)
+            throws SQLException, IOException {
+        try (PreparedStatement pstmt = prepareFuzzySearch(query, "*", " AND id > ? ORDER BY id LIMIT ?")) {
+            int index = countParameters(query);
+            pstmt.setInt(index + 1, afterId);
+            pstmt.setInt(index + 2, limit);
+            return stream(pstmt, handler);
+        }
+    }
+
+    /**
+     * Prepares a search for the given columns with one group of alternative LIKE conditions per
+     * expanded term, with the suffix appended; the suffix parameters follow the query's parameters.
+     */
+    private PreparedStatement prepareFuzzySearch(FuzzyQuery query, String columns, String suffix) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT ").append(columns)
+                .append(" FROM jobs WHERE requirements LIKE ? AND duplicate_of IS NULL");
+        List<String> params = new ArrayList<>();
+        params.add(JobSearchCriteria.likePattern(query.getRequirements()));
+        appendAlternatives(sql, params, "title", query.getTitleTerms());
+        appendAlternatives(sql, params, "location", query.getLocationTerms());
+        sql.append(suffix);
+        PreparedStatement pstmt = connection.prepareStatement(sql.toString());
+        for (int i = 0; i < params.size(); i++) {
+            pstmt.setString(i + 1, params.get(i));
+        }
+        return pstmt;
+    }
+
+    private static void appendAlternatives(StringBuilder sql, List<String> params, String column,
+                                           List<List<String>> terms) {
+        for (List<String> spellings : terms) {
+            sql.append(" AND (");
+            for (int i = 0; i < spellings.size(); i++) {
+                sql.append(i == 0 ? "" : " OR ").append(column).append(" LIKE ?");
+                params.add(JobSearchCriteria.likePattern(spellings.get(i)));
+            }
+            sql.append(')');
+        }
+    }
+
+    private static int countParameters(FuzzyQuery query) {
+        int count = 1;
+        for (List<String> spellings : query.getTitleTerms()) {
+            count += spellings.size();
+        }
+        for (List<String> spellings : query.getLocationTerms()) {
+            count += spellings.size();
+        }
+        return count;
+    }
+
+    private int stream(PreparedStatement pstmt, RowHandler<Job> handler) throws SQLException, IOException {
+        int count = 0;
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                handler.handle(mapResultSetToJob(rs));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public List<Job> getJobsByIds(int[] ids) {
+        List<Job> jobs = new ArrayList<>(ids.length);
+        if (ids.length == 0) {
+            return jobs;
+        }
+        StringBuilder query = new StringBuilder("SELECT * FROM jobs WHERE id IN (");
+        for (int i = 0; i < ids.length; i++) {
+            query.append(i == 0 ? "?" : ", ?");
+        }
+        query.append(')');
+
+        Map<Integer, Job> byId = new HashMap<>();
+        try (PreparedStatement pstmt = connection.prepareStatement(query.toString())) {
+            for (int i = 0; i < ids.length; i++) {
+                pstmt.setInt(i + 1, ids[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Job job = mapResultSetToJob(rs);
+                    byId.put(job.getId(), job);
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error getting jobs by IDs", e);
+        }
+        for (int id : ids) {
+            Job job = byId.get(id);
+            if (job != null) {
+                jobs.add(job);
+            }
+        }
+        return jobs;
+    }
+
     @Override
     public boolean updateJob(Job job) {
-        String query = "UPDATE jobs SET title = ?, description = ?, location = ?, requirements = ? WHERE id = ?";
+        String query = "UPDATE jobs SET title = ?, description = ?, location = ?, requirements = ?, simhash = ?, "
+                + "duplicate_of = ? WHERE id = ?";
         try (PreparedStatement pstmt = connection.prepareStatement(query)) {
             pstmt.setString(1, job.getTitle());
             pstmt.setString(2, job.getDescription());
             pstmt.setString(3, job.getLocation());
             pstmt.setString(4, job.getRequirements());
-            pstmt.setInt(5, job.getId());
-            return pstmt.executeUpdate() > 0;
+            setFingerprint(pstmt, 5, job);
+            pstmt.setInt(7, job.getId());
+            boolean updated = pstmt.executeUpdate() > 0;
+            if (updated) {
+                searchCache.invalidate(job);
+                countCache.invalidate(job.getId());
+                indexStored(job);
+            }
+            return updated;
         } catch (SQLException e) {
             logger.error("Error updating job: {}", job, e);
             return false;
         }
     }
 
+    /**
+     * Indexes a saved job as it is now stored. The row is read back because job type, salary
+     * range and active flag are not written here, so the caller's Job may not hold their
+     * stored values or column defaults.
+     */
+    private void indexStored(Job job) {
+        Job stored = getJobById(job.getId());
+        Job indexed = stored != null ? stored : job;
+        jobIndexes.jobSaved(indexed);
+        recommendations.jobSaved(indexed);
+    }
+
+    /**
+     * Sets the job's SimHash fingerprint and the original it duplicates, if any, at the given
+     * and the next parameter index.
+     */
+    private void setFingerprint(PreparedStatement pstmt, int index, Job job) throws SQLException {
+        long fingerprint = NearDuplicateIndex.fingerprint(job);
+        // Only reposts by the same employer are flagged, as PostJobServlet rejects them
+        int original = job.getEmployerId() != 0
+                ? nearDuplicates.findOriginal(fingerprint, job.getId(), job.getEmployerId()) : 0;
+        pstmt.setLong(index, fingerprint);
+        job.setDuplicateOf(original);
+        if (original != 0) {
+            pstmt.setInt(index + 1, original);
+        } else {
+            pstmt.setNull(index + 1, Types.INTEGER);
+        }
+    }
+
+    @Override
+    public int updateDuplicates(Map<Integer, Long> fingerprints, Map<Integer, Integer> duplicateOf) throws SQLException {
+        String query = "UPDATE jobs SET simhash = ?, duplicate_of = ? WHERE id = ?";
+        int updated = 0;
+        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+            int batched = 0;
+            for (Map.Entry<Integer, Long> entry : fingerprints.entrySet()) {
+                Integer original = duplicateOf.get(entry.getKey());
+                pstmt.setLong(1, entry.getValue());
+                if (original != null) {
+                    pstmt.setInt(2, original);
+                } else {
+                    pstmt.setNull(2, Types.INTEGER);
+                }
+                pstmt.setInt(3, entry.getKey());
+                pstmt.addBatch();
+                if (++batched % UPDATE_BATCH_SIZE == 0) {
+                    updated += countUpdated(pstmt.executeBatch());
+                }
+            }
+            if (batched % UPDATE_BATCH_SIZE != 0) {
+                updated += countUpdated(pstmt.executeBatch());
+            }
+        }
+        // Flagged jobs drop out of search results, and cached employer job lists hold the old flags
+        searchCache.clear();
+        countCache.clear();
+        return updated;
+    }
+
+    private static int countUpdated(int[] counts) {
+        int updated = 0;
+        for (int count : counts) {
+            if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                updated++;
+            }
+        }
+        return updated;
+    }
+
     @Override
     public boolean deleteJob(int id) {
+        String repostsQuery = "SELECT id FROM jobs WHERE duplicate_of = ?";
         String query = "DELETE FROM jobs WHERE id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try (PreparedStatement reposts = connection.prepareStatement(repostsQuery);
+             PreparedStatement pstmt = connection.prepareStatement(query)) {
+            reposts.setInt(1, id);
+            int[] repostIds = readIds(reposts);
             pstmt.setInt(1, id);
-            return pstmt.executeUpdate() > 0;
+            boolean deleted = pstmt.executeUpdate() > 0;
+            if (deleted) {
+                searchCache.invalidate(id);
+                countCache.invalidate(id);
+                jobIndexes.jobDeleted(id);
+                recommendations.jobDeleted(id);
+                // ON DELETE SET NULL has made the reposts originals, so they are searchable again
+                for (int repostId : repostIds) {
+                    Job repost = getJobById(repostId);
+                    if (repost != null) {
+                        searchCache.invalidate(repost);
+                        countCache.invalidate(repostId);
+                        jobIndexes.jobSaved(repost);
+                        recommendations.jobSaved(repost);
+                    }
+                }
+            }
+            return deleted;
         } catch (SQLException e) {
             logger.error("Error deleting job with ID: {}", id, e);
             return false;
@@ -128,6 +559,12 @@ public class JobDaoImpl implements JobDao {
         job.setLocation(rs.getString("location"));
         job.setRequirements(rs.getString("requirements"));
         job.setEmployerId(rs.getInt("employer_id"));
+        job.setJobType(rs.getString("job_type"));
+        job.setSalaryMin(rs.getBigDecimal("salary_min"));
+        job.setSalaryMax(rs.getBigDecimal("salary_max"));
+        // NULL is treated like the column default
+        job.setActive(rs.getObject("is_active") == null || rs.getBoolean("is_active"));
+        job.setDuplicateOf(rs.getInt("duplicate_of"));
         return job;
     }
 }
@@ -0,0 +1,57 @@
+package com.jobportal.dao;
+
+import com.jobportal.models.ResumeFile;
+import java.sql.SQLException;
+
+/**
+ * Interface for the reference counts of content-addressed resume files.
+ * Callers run these methods inside their own transaction.
+ */
+public interface ResumeFileDao {
+
+    /**
+     * Checks whether a file with the given content hash is stored.
+     *
+     * @param sha256 the content hash
+     * @return true if the file is known
+     * @throws SQLException if a database access error occurs
+     */
+    boolean exists(String sha256) throws SQLException;
+
+    /**
+     * Retrieves a stored file and locks its row until the transaction ends.
+     *
+     * @param sha256 the content hash
+     * @return the file, or null if not stored
+     * @throws SQLException if a database access error occurs
+     */
+    ResumeFile getForUpdate(String sha256) throws SQLException;
+
+    /**
+     * Adds a reference to a file, registering it with one reference if it is new.
+     *
+     * @param sha256 the content hash
+     * @param extension the file extension used if the file is new
+     * @param size the file size in bytes
+     * @throws SQLException if a database access error occurs
+     */
+    void addReference(String sha256, String extension, long size) throws SQLException;
+
+    /**
+     * Removes one reference from a file.
+     *
+     * @param sha256 the content hash
+     * @return true if the count was decremented
+     * @throws SQLException if a database access error occurs
+     */
+    boolean removeReference(String sha256) throws SQLException;
+
+    /**
+     * Deletes a file's record.
+     *
+     * @param sha256 the content hash
+     * @return true if the record was deleted
+     * @throws SQLException if a database access error occurs
+     */
+    boolean delete(String sha256) throws SQLException;
+}
@@ -0,0 +1,100 @@
+package com.jobportal.dao;
+
+import com.jobportal.models.ResumeFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Implementation of ResumeFileDao backed by the resume_files table.
+ */
+public class ResumeFileDaoImpl implements ResumeFileDao {
+    private static final Logger logger = LoggerFactory.getLogger(ResumeFileDaoImpl.class);
+
+    private final Connection connection;
+
+    // Caller-owned connection; reference changes must share the caller's transaction
+    public ResumeFileDaoImpl(Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public boolean exists(String sha256) throws SQLException {
+        String query = "SELECT 1 FROM resume_files WHERE sha256 = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+            pstmt.setString(1, sha256);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            logger.error("Error checking resume file: {}", sha256, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public ResumeFile getForUpdate(String sha256) throws SQLException {
+        String query = "SELECT sha256, extension, size_bytes, ref_count FROM resume_files WHERE sha256 = ? FOR UPDATE";
+        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+            pstmt.setString(1, sha256);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    ResumeFile file = new ResumeFile();
+                    file.setSha256(rs.getString("sha256"));
+                    file.setExtension(rs.getString("extension"));
+                    file.setSize(rs.getLong("size_bytes"));
+                    file.setRefCount(rs.getInt("ref_count"));
+                    return file;
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error locking resume file: {}", sha256, e);
+            throw e;
+        }
+        return null;
+    }
+
+    @Override
+    public void addReference(String sha256, String extension, long size) throws SQLException {
+        // One statement, so concurrent first uploads of the same content cannot both insert
+        String query = "INSERT INTO resume_files (sha256, extension, size_bytes, ref_count) VALUES (?, ?, ?, 1) "
+                + "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1";
+        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+            pstmt.setString(1, sha256);
+            pstmt.setString(2, extension);
+            pstmt.setLong(3, size);
+            pstmt.executeUpdate();
+        } catch (SQLException e) {
+            logger.error("Error adding resume file reference: {}", sha256, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean removeReference(String sha256) throws SQLException {
+        String query = "UPDATE resume_files SET ref_count = ref_count - 1 WHERE sha256 = ? AND ref_count > 0";
+        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+            pstmt.setString(1, sha256);
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            logger.error("Error removing resume file reference: {}", sha256, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean delete(String sha256) throws SQLException {
+        String query = "DELETE FROM resume_files WHERE sha256 = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+            pstmt.setString(1, sha256);
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            logger.error("Error deleting resume file: {}", sha256, e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.jobportal.dao;
+
+import com.jobportal.models.ResumeText;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Interface for extracted resume text.
+ */
+public interface ResumeTextDao {
+
+    /**
+     * Stores the text extracted from a resume, but only if it is still the student's current
+     * resume, so a slow extraction of a replaced upload cannot overwrite the newer text.
+     *
+     * @param studentId the student ID
+     * @param resumePath the upload the text was extracted from
+     * @param content the normalized text
+     * @return true if the text was stored
+     * @throws SQLException if a database access error occurs
+     */
+    boolean saveResumeText(int studentId, String resumePath, String content) throws SQLException;
+
+    /**
+     * Retrieves a student's extracted text together with the student's current major and
+     * graduation year.
+     *
+     * @param studentId the student ID
+     * @return the text, or null if none has been extracted from the current resume
+     * @throws SQLException if a database access error occurs
+     */
+    ResumeText getResumeText(int studentId) throws SQLException;
+
+    /**
+     * Streams the text of every current resume, for building the candidate index.
+     *
+     * @param handler receives each text
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if the handler fails
+     */
+    void forEachResumeText(RowHandler<ResumeText> handler) throws SQLException, IOException;
+
+    /**
+     * Streams every student's major and graduation year with the text of their current
+     * resume, or null content if it has not been extracted.
+     *
+     * @param handler receives each student
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if the handler fails
+     */
+    void forEachStudent(RowHandler<ResumeText> handler) throws SQLException, IOException;
+
+    /**
+     * Finds students whose resume has not been extracted yet or has changed since.
+     *
+     * @param limit the maximum number of students
+     * @return resume paths by student ID
+     * @throws SQLException if a database access error occurs
+     */
+    Map<Integer, String> findUnextractedResumes(int limit) throws SQLException;
+}
@@ -0,0 +1,132 @@
+package com.jobportal.dao;
+
+import com.jobportal.models.ResumeText;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Implementation of ResumeTextDao backed by the resume_texts table.
+ */
+public class ResumeTextDaoImpl implements ResumeTextDao {
+    private static final Logger logger = LoggerFactory.getLogger(ResumeTextDaoImpl.class);
+
+    // Text of a replaced resume is ignored until the new one has been extracted
+    private static final String SELECT_TEXT = "SELECT rt.student_id, rt.resume_path, rt.content, s.major, s.graduation_year "
+            + "FROM resume_texts rt JOIN students s ON s.id = rt.student_id AND s.resume_path = rt.resume_path";
+
+    private final Connection connection;
+
+    // Caller-owned connection; extraction workers borrow one per resume
+    public ResumeTextDaoImpl(Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public boolean saveResumeText(int studentId, String resumePath, String content) throws SQLException {
+        // Selecting from students makes the write conditional on the path still being current
+        String query = "INSERT INTO resume_texts (student_id, resume_path, content) "
+                + "SELECT id, resume_path, ? FROM students WHERE id = ? AND resume_path = ? "
+                + "ON DUPLICATE KEY UPDATE resume_path = VALUES(resume_path), content = VALUES(content)";
+        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+            pstmt.setString(1, content);
+            pstmt.setInt(2, studentId);
+            pstmt.setString(3, resumePath);
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            logger.error("Error saving resume text for student {}", studentId, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public ResumeText getResumeText(int studentId) throws SQLException {
+        String query = SELECT_TEXT + " WHERE rt.student_id = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+            pstmt.setInt(1, studentId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResumeText(rs);
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving resume text for student {}", studentId, e);
+            throw e;
+        }
+        return null;
+    }
+
+    @Override
+    public void forEachResumeText(RowHandler<ResumeText> handler) throws SQLException, IOException {
+        try {
+            stream(SELECT_TEXT, handler);
+        } catch (SQLException e) {
+            logger.error("Error reading resume texts", e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void forEachStudent(RowHandler<ResumeText> handler) throws SQLException, IOException {
+        String query = "SELECT s.id AS student_id, s.resume_path, rt.content, s.major, s.graduation_year "
+                + "FROM students s LEFT JOIN resume_texts rt ON rt.student_id = s.id AND rt.resume_path = s.resume_path";
+        try {
+            stream(query, handler);
+        } catch (SQLException e) {
+            logger.error("Error reading student profiles", e);
+            throw e;
+        }
+    }
+
+    private void stream(String query, RowHandler<ResumeText> handler) throws SQLException, IOException {
+        try (PreparedStatement pstmt = connection.prepareStatement(query,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // Stream rows instead of buffering every resume in the driver
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(mapResumeText(rs));
+                }
+            }
+        }
+    }
+
+    @Override
+    public Map<Integer, String> findUnextractedResumes(int limit) throws SQLException {
+        String query = "SELECT s.id, s.resume_path FROM students s "
+                + "LEFT JOIN resume_texts rt ON rt.student_id = s.id "
+                + "WHERE s.resume_path IS NOT NULL AND s.resume_path <> '' "
+                + "AND (rt.student_id IS NULL OR rt.resume_path <> s.resume_path) "
+                + "ORDER BY s.id LIMIT ?";
+        Map<Integer, String> resumes = new LinkedHashMap<>();
+        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+            pstmt.setInt(1, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    resumes.put(rs.getInt("id"), rs.getString("resume_path"));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error finding unextracted resumes", e);
+            throw e;
+        }
+        return resumes;
+    }
+
+    private ResumeText mapResumeText(ResultSet rs) throws SQLException {
+        ResumeText text = new ResumeText();
+        text.setStudentId(rs.getInt("student_id"));
+        text.setResumePath(rs.getString("resume_path"));
+        text.setContent(rs.getString("content"));
+        text.setMajor(rs.getString("major"));
+        text.setGraduationYear(rs.getString("graduation_year"));
+        return text;
+    }
+}
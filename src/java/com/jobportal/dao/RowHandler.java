@@ -0,0 +1,21 @@
+package com.jobportal.dao;
+
+import java.io.IOException;
+
+/**
+ * Callback that receives rows one at a time as they are read from a result set,
+ * so large results can be written out without building a list first.
+ *
+ * @param <T> the row type
+ */
+@FunctionalInterface
+public interface RowHandler<T> {
+
+    /**
+     * Handles one row.
+     *
+     * @param row the mapped row
+     * @throws IOException if writing the row fails
+     */
+    void handle(T row) throws IOException;
+}
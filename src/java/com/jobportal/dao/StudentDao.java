@@ -2,6 +2,7 @@ package com.jobportal.dao;
 
 import com.jobportal.models.Student;
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * Interface for Student DAO operations.
@@ -43,4 +44,13 @@ public interface StudentDao {
      * @throws SQLException if a database access error occurs
      */
     boolean deleteStudent(int id) throws SQLException;
+
+    /**
+     * Retrieves several students in one query.
+     *
+     * @param ids the student IDs
+     * @return the students found, in the order of the given IDs
+     * @throws SQLException if a database access error occurs
+     */
+    List<Student> getStudentsByIds(List<Integer> ids) throws SQLException;
 }
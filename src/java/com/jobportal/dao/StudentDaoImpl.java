@@ -7,6 +7,10 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -21,6 +25,10 @@ public class StudentDaoImpl implements StudentDao {
         this.connection = DBConnection.getConnection();
     }
 
+    public StudentDaoImpl(Connection connection) {
+        this.connection = connection;
+    }
+
     @Override
     public boolean addStudent(Student student) throws SQLException {
         String sql = "INSERT INTO students (name, email, phone, major, graduation_year, resume_path) VALUES (?, ?, ?, ?, ?, ?)";
@@ -90,6 +98,42 @@ public class StudentDaoImpl implements StudentDao {
         }
     }
 
+    @Override
+    public List<Student> getStudentsByIds(List<Integer> ids) throws SQLException {
+        List<Student> students = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) {
+            return students;
+        }
+        StringBuilder sql = new StringBuilder("SELECT * FROM students WHERE id IN (");
+        for (int i = 0; i < ids.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
+
+        Map<Integer, Student> byId = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < ids.size(); i++) {
+                statement.setInt(i + 1, ids.get(i));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    Student student = mapResultSetToStudent(resultSet);
+                    byId.put(student.getId(), student);
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving students by IDs", e);
+            throw e;
+        }
+        for (int id : ids) {
+            Student student = byId.get(id);
+            if (student != null) {
+                students.add(student);
+            }
+        }
+        return students;
+    }
+
     private Student mapResultSetToStudent(ResultSet resultSet) throws SQLException {
         Student student = new Student();
         student.setId(resultSet.getInt("id"));
@@ -18,6 +18,10 @@ public class UserDaoImpl implements UserDao {
         this.connection = DBConnection.getConnection();
     }
 
+    public UserDaoImpl(Connection connection) {
+        this.connection = connection;
+    }
+
     @Override
     public User getUserByEmail(String email) throws SQLException {
         User user = null;
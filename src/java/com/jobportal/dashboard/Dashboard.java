@@ -0,0 +1,53 @@
+package com.jobportal.dashboard;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Widget data loaded for one dashboard view.
+ * <p>
+ * A widget whose query did not finish before the deadline, or failed, has no value and is
+ * listed in {@link #getStaleWidgets()} so the page can render it as temporarily unavailable.
+ */
+public class Dashboard {
+
+    private final Map<String, Object> widgets = new LinkedHashMap<>();
+    private final Set<String> staleWidgets = new LinkedHashSet<>();
+
+    void put(String widget, Object value) {
+        widgets.put(widget, value);
+    }
+
+    void markStale(String widget) {
+        staleWidgets.add(widget);
+    }
+
+    /**
+     * Gets a widget's value.
+     *
+     * @param widget the widget name
+     * @return the value, or null if the widget is stale
+     */
+    public Object get(String widget) {
+        return widgets.get(widget);
+    }
+
+    public boolean isStale(String widget) {
+        return staleWidgets.contains(widget);
+    }
+
+    public boolean isComplete() {
+        return staleWidgets.isEmpty();
+    }
+
+    public Map<String, Object> getWidgets() {
+        return Collections.unmodifiableMap(widgets);
+    }
+
+    public Set<String> getStaleWidgets() {
+        return Collections.unmodifiableSet(staleWidgets);
+    }
+}
@@ -0,0 +1,160 @@
+package com.jobportal.dashboard;
+
+import com.jobportal.dao.AdminDaoImpl;
+import com.jobportal.dao.ApplicationDAOImpl;
+import com.jobportal.dao.AsyncDaoExecutor;
+import com.jobportal.dao.AsyncDaoExecutor.ConnectionCallback;
+import com.jobportal.dao.EmployerDaoImpl;
+import com.jobportal.dao.JobDaoImpl;
+import com.jobportal.dao.StudentDaoImpl;
+import com.jobportal.recommend.RecommendationService;
+import com.jobportal.utils.ConfigManager;
+import com.jobportal.utils.DBConnectionPool.Workload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Loads the data for each role's dashboard.
+ * <p>
+ * All independent queries of a dashboard are started together on the reporting pool and
+ * joined against one overall deadline, so the page costs the slowest query rather than the
+ * sum of them. A query still running at the deadline is cancelled and its widget is marked
+ * stale; the rest of the dashboard is returned as usual. No query outlives the load call.
+ */
+public class DashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+    private static final DashboardService INSTANCE = new DashboardService(
+            new AsyncDaoExecutor(Workload.REPORTING, ConfigManager.getIntProperty("dashboard.threads", 3),
+                    ConfigManager.getIntProperty("dashboard.queueSize", 100)),
+            ConfigManager.getIntProperty("dashboard.deadlineMs", 2000));
+    private static final int RECOMMENDED_JOBS = 5;
+
+    private final AsyncDaoExecutor executor;
+    private final long deadlineMillis;
+
+    public DashboardService(AsyncDaoExecutor executor, long deadlineMillis) {
+        this.executor = executor;
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    public static DashboardService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Loads the admin dashboard: user and job totals.
+     *
+     * @return the dashboard data
+     */
+    public Dashboard loadAdminDashboard() {
+        Scope scope = new Scope("admin");
+        scope.fork("totalUsers", connection -> new AdminDaoImpl(connection).getTotalUsers());
+        scope.fork("totalJobs", connection -> new AdminDaoImpl(connection).getTotalJobs());
+        return scope.join();
+    }
+
+    /**
+     * Loads a student's dashboard: profile, applications, recommended jobs and the number of
+     * open jobs.
+     *
+     * @param studentId the student ID
+     * @return the dashboard data
+     */
+    public Dashboard loadStudentDashboard(int studentId) {
+        Scope scope = new Scope("student");
+        scope.fork("student", connection -> new StudentDaoImpl(connection).getStudentById(studentId));
+        scope.fork("applications", connection -> new ApplicationDAOImpl(connection).getApplicationsByStudentId(studentId));
+        scope.fork("totalJobs", connection -> new AdminDaoImpl(connection).getTotalJobs());
+        int[] recommendedIds = RecommendationService.getInstance().getRecommendedJobIds(studentId, RECOMMENDED_JOBS);
+        scope.fork("recommendedJobs", connection -> new JobDaoImpl(connection).getJobsByIds(recommendedIds));
+        return scope.join();
+    }
+
+    /**
+     * Loads an employer's dashboard: company profile and posted jobs with applicant counts.
+     *
+     * @param employerId the employer ID
+     * @return the dashboard data
+     */
+    public Dashboard loadEmployerDashboard(int employerId) {
+        Scope scope = new Scope("employer");
+        scope.fork("employer", connection -> new EmployerDaoImpl(connection).getEmployerById(employerId));
+        scope.fork("jobs", connection -> new JobDaoImpl(connection).getJobsWithApplicantCounts(employerId));
+        return scope.join();
+    }
+
+    /**
+     * Stops the dashboard executor.
+     * Should be called during application shutdown.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * The queries of one dashboard load. Every forked query is either joined or cancelled
+     * before {@link #join()} returns.
+     */
+    private final class Scope {
+        private final String name;
+        private final Map<String, CompletableFuture<?>> tasks = new LinkedHashMap<>();
+
+        Scope(String name) {
+            this.name = name;
+        }
+
+        void fork(String widget, ConnectionCallback<?> callback) {
+            tasks.put(widget, executor.supply(callback));
+        }
+
+        Dashboard join() {
+            Dashboard dashboard = new Dashboard();
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+            try {
+                for (Map.Entry<String, CompletableFuture<?>> task : tasks.entrySet()) {
+                    String widget = task.getKey();
+                    try {
+                        long remaining = Math.max(0, deadline - System.nanoTime());
+                        dashboard.put(widget, task.getValue().get(remaining, TimeUnit.NANOSECONDS));
+                    } catch (TimeoutException e) {
+                        task.getValue().cancel(true);
+                        dashboard.markStale(widget);
+                        logger.warn("Dashboard '{}' widget '{}' missed the {} ms deadline", name, widget, deadlineMillis);
+                    } catch (ExecutionException | CancellationException e) {
+                        dashboard.markStale(widget);
+                        logger.error("Dashboard '{}' widget '{}' failed", name, widget, e.getCause());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        markRemainingStale(dashboard);
+                        break;
+                    }
+                }
+            } finally {
+                cancelAll(tasks.values());
+            }
+            return dashboard;
+        }
+
+        private void markRemainingStale(Dashboard dashboard) {
+            for (String widget : tasks.keySet()) {
+                if (!dashboard.getWidgets().containsKey(widget)) {
+                    dashboard.markStale(widget);
+                }
+            }
+        }
+
+        private void cancelAll(Collection<CompletableFuture<?>> futures) {
+            AsyncDaoExecutor.cancelAll(futures.toArray(new CompletableFuture<?>[0]));
+        }
+    }
+}
@@ -0,0 +1,491 @@
+package com.jobportal.filters;
+
+import com.jobportal.utils.HttpCacheUtil;
+
+import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Filter to compress text responses for clients that accept it.
+ * <p>
+ * Static assets with a precompressed sibling ({@code styles.css.br} / {@code styles.css.gz},
+ * produced at build time) are served as-is, so no CPU is spent per request on them. Other
+ * responses are gzip-compressed on the fly when their content type is compressible and the
+ * body reaches {@code minSize} bytes. Output is streamed: only the first {@code minSize} bytes
+ * are held back while deciding. A compressed response gets the {@link HttpCacheUtil#gzipETag gzip
+ * form} of the servlet's entity tag, so the two encodings never share a strong validator; a
+ * 304 answering the gzip form repeats that form.
+ */
+public class CompressionFilter implements Filter {
+
+    private static final String NO_VARIANT = "";
+
+    private int minSize = 1024;
+    private final Set<String> precompressedExtensions = new HashSet<>();
+    private final ConcurrentMap<String, String> variantCache = new ConcurrentHashMap<>();
+    private ServletContext servletContext;
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        servletContext = filterConfig.getServletContext();
+        String minSizeParam = filterConfig.getInitParameter("minSize");
+        if (minSizeParam != null) {
+            minSize = Integer.parseInt(minSizeParam.trim());
+        }
+        String extensionsParam = filterConfig.getInitParameter("precompressedExtensions");
+        for (String ext : (extensionsParam != null ? extensionsParam : "css,js").split(",")) {
+            precompressedExtensions.add(ext.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+
+        String acceptEncoding = httpRequest.getHeader("Accept-Encoding");
+        boolean acceptsGzip = accepts(acceptEncoding, "gzip");
+        boolean acceptsBrotli = accepts(acceptEncoding, "br");
+
+        String path = httpRequest.getServletPath() + (httpRequest.getPathInfo() != null ? httpRequest.getPathInfo() : "");
+        if ((acceptsGzip || acceptsBrotli) && isGetOrHead(httpRequest) && isPrecompressible(path)) {
+            if (acceptsBrotli && servePrecompressed(httpRequest, httpResponse, path, "br")) {
+                return;
+            }
+            if (acceptsGzip && servePrecompressed(httpRequest, httpResponse, path, "gz")) {
+                return;
+            }
+        }
+
+        if (!acceptsGzip) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        httpResponse.addHeader("Vary", "Accept-Encoding");
+        CompressionResponseWrapper wrapper = new CompressionResponseWrapper(httpResponse, minSize,
+                httpRequest.getHeader("If-None-Match"));
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // The body is written later by an async dispatch; finish once it completes
+                request.getAsyncContext().addListener(new FinishOnComplete(wrapper));
+            } else {
+                wrapper.finish();
+            }
+        }
+    }
+
+    /**
+     * Checks whether an Accept-Encoding header allows a coding (present and not q=0).
+     */
+    static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String name = tokens[0].trim();
+            if (name.equalsIgnoreCase(coding) || ("*".equals(name) && "gzip".equals(coding))) {
+                for (int i = 1; i < tokens.length; i++) {
+                    String param = tokens[i].trim();
+                    if (param.startsWith("q=")) {
+                        try {
+                            return Double.parseDouble(param.substring(2)) > 0;
+                        } catch (NumberFormatException e) {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isGetOrHead(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+    }
+
+    private boolean isPrecompressible(String path) {
+        int dot = path.lastIndexOf('.');
+        return dot > path.lastIndexOf('/') && precompressedExtensions.contains(path.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Streams {@code path + "." + suffix} if it exists in the web application.
+     *
+     * @return true if the precompressed variant was served
+     */
+    private boolean servePrecompressed(HttpServletRequest request, HttpServletResponse response,
+                                       String path, String suffix) throws IOException {
+        String variantPath = path + "." + suffix;
+        String known = variantCache.get(variantPath);
+        if (NO_VARIANT.equals(known)) {
+            return false;
+        }
+        URL resource = servletContext.getResource(variantPath);
+        if (resource == null) {
+            variantCache.put(variantPath, NO_VARIANT);
+            return false;
+        }
+        variantCache.put(variantPath, variantPath);
+
+        URLConnection connection = resource.openConnection();
+        long length = connection.getContentLengthLong();
+        long lastModified = connection.getLastModified();
+        String etag = HttpCacheUtil.strongETag(suffix + "-" + Integer.toHexString(path.hashCode()), lastModified);
+
+        response.addHeader("Vary", "Accept-Encoding");
+        if (HttpCacheUtil.isNotModified(request, etag, lastModified)) {
+            connection.getInputStream().close();
+            HttpCacheUtil.sendNotModified(response, etag, lastModified);
+            return true;
+        }
+
+        String mimeType = servletContext.getMimeType(path);
+        if (mimeType != null) {
+            response.setContentType(mimeType);
+        }
+        response.setHeader("Content-Encoding", "br".equals(suffix) ? "br" : "gzip");
+        HttpCacheUtil.setValidators(response, etag, lastModified);
+        if (length >= 0) {
+            response.setContentLengthLong(length);
+        }
+
+        try (InputStream in = connection.getInputStream()) {
+            if ("HEAD".equals(request.getMethod())) {
+                return true;
+            }
+            OutputStream out = response.getOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a content type is worth compressing.
+     * Images, archives, PDFs and other already-compressed formats are excluded.
+     */
+    static boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase(Locale.ROOT);
+        int semicolon = type.indexOf(';');
+        if (semicolon >= 0) {
+            type = type.substring(0, semicolon).trim();
+        }
+        return type.startsWith("text/")
+                || type.equals("application/javascript")
+                || type.equals("application/json")
+                || type.equals("application/xml")
+                || type.endsWith("+json")
+                || type.endsWith("+xml");
+    }
+
+    @Override
+    public void destroy() {
+        variantCache.clear();
+    }
+
+    private static class FinishOnComplete implements AsyncListener {
+
+        private final CompressionResponseWrapper wrapper;
+
+        FinishOnComplete(CompressionResponseWrapper wrapper) {
+            this.wrapper = wrapper;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) throws IOException {
+            wrapper.finish();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // Completion follows
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // Completion follows
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listener stays registered
+        }
+    }
+
+    /**
+     * Response wrapper that defers the compress/plain decision until the first
+     * {@code minSize} bytes are written, the body is flushed, or the response completes.
+     */
+    private static class CompressionResponseWrapper extends HttpServletResponseWrapper {
+
+        private final int minSize;
+        private final String ifNoneMatch;
+        private CompressingOutputStream stream;
+        private PrintWriter writer;
+        private long contentLength = -1;
+
+        CompressionResponseWrapper(HttpServletResponse response, int minSize, String ifNoneMatch) {
+            super(response);
+            this.minSize = minSize;
+            this.ifNoneMatch = ifNoneMatch;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called");
+            }
+            return stream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (stream != null) {
+                    throw new IllegalStateException("getOutputStream() has already been called");
+                }
+                writer = new PrintWriter(new OutputStreamWriter(stream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        private CompressingOutputStream stream() throws IOException {
+            if (stream == null) {
+                stream = new CompressingOutputStream(this, minSize);
+            }
+            return stream;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            contentLength = len;
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            contentLength = len;
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if ("Content-Length".equalsIgnoreCase(name)) {
+                contentLength = value != null ? Long.parseLong(value) : -1;
+            } else if ("ETag".equalsIgnoreCase(name) && value != null && ifNoneMatch != null
+                    && HttpCacheUtil.matchesAny(ifNoneMatch, HttpCacheUtil.gzipETag(value), false)) {
+                // Revalidation of the cached gzip form
+                super.setHeader(name, HttpCacheUtil.gzipETag(value));
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if ("Content-Length".equalsIgnoreCase(name)) {
+                setHeader(name, value);
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            } else if (stream != null) {
+                stream.flush();
+            }
+            super.flushBuffer();
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (stream != null) {
+                stream.resetBuffer();
+            }
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            contentLength = -1;
+            resetBuffer();
+            super.reset();
+        }
+
+        /**
+         * Decides whether to compress, based on the eventual body size when known.
+         */
+        boolean shouldCompress(long knownSize) {
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            long size = contentLength >= 0 ? contentLength : knownSize;
+            return (size < 0 || size >= minSize)
+                    && response.getHeader("Content-Encoding") == null
+                    && isCompressible(response.getContentType());
+        }
+
+        long getDeclaredContentLength() {
+            return contentLength;
+        }
+
+        void finish() throws IOException {
+            if (stream != null) {
+                stream.finishing = true;
+            }
+            if (writer != null) {
+                writer.flush();
+            }
+            if (stream != null) {
+                stream.finish();
+            } else if (contentLength >= 0 && !isCommitted()) {
+                super.setContentLengthLong(contentLength);
+            }
+        }
+    }
+
+    private static class CompressingOutputStream extends ServletOutputStream {
+
+        private final CompressionResponseWrapper wrapper;
+        private final byte[] buffer;
+        private int count;
+        private OutputStream target;
+        private ServletOutputStream raw;
+        private GZIPOutputStream gzip;
+        private boolean finished;
+        boolean finishing;
+
+        CompressingOutputStream(CompressionResponseWrapper wrapper, int minSize) {
+            this.wrapper = wrapper;
+            this.buffer = new byte[Math.max(1, minSize)];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (target == null && count < buffer.length) {
+                buffer[count++] = (byte) b;
+                return;
+            }
+            decide(-1);
+            target.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (target == null && count + len <= buffer.length) {
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
+                return;
+            }
+            decide(-1);
+            target.write(b, off, len);
+        }
+
+        /**
+         * Commits to plain or gzip output and releases the buffered prefix.
+         *
+         * @param knownSize total body size if the response is complete, -1 otherwise
+         */
+        private void decide(long knownSize) throws IOException {
+            if (target != null) {
+                return;
+            }
+            HttpServletResponse response = (HttpServletResponse) wrapper.getResponse();
+            raw = response.getOutputStream();
+            if (wrapper.shouldCompress(knownSize)) {
+                response.setHeader("Content-Encoding", "gzip");
+                String etag = response.getHeader("ETag");
+                if (etag != null) {
+                    response.setHeader("ETag", HttpCacheUtil.gzipETag(etag));
+                }
+                gzip = new GZIPOutputStream(raw, 8192, true);
+                target = gzip;
+            } else {
+                long length = wrapper.getDeclaredContentLength() >= 0 ? wrapper.getDeclaredContentLength() : knownSize;
+                if (length >= 0 && !response.isCommitted()) {
+                    response.setContentLengthLong(length);
+                }
+                target = raw;
+            }
+            if (count > 0) {
+                target.write(buffer, 0, count);
+                count = 0;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // A flush while completing the response must not force compression of a small body
+            if (target == null && (count == 0 || finishing)) {
+                return;
+            }
+            decide(-1);
+            target.flush();
+        }
+
+        void resetBuffer() {
+            if (target == null) {
+                count = 0;
+            }
+        }
+
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            decide(count);
+            if (gzip != null) {
+                gzip.finish();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+            raw.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return raw == null || raw.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            try {
+                decide(-1);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            raw.setWriteListener(writeListener);
+        }
+    }
+}
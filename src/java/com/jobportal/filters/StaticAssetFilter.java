@@ -0,0 +1,71 @@
+package com.jobportal.filters;
+
+import com.jobportal.utils.StaticAssets;
+
+import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Filter to serve content-fingerprinted static assets with immutable caching.
+ * A request for a current fingerprint is rewritten to the underlying file and
+ * marked cacheable for a year; the default servlet then serves the file.
+ */
+public class StaticAssetFilter implements Filter {
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        StaticAssets.initialize(filterConfig.getServletContext());
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        String path = httpRequest.getServletPath() + (httpRequest.getPathInfo() != null ? httpRequest.getPathInfo() : "");
+        String original = StaticAssets.resolve(path);
+
+        if (original == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ((HttpServletResponse) response).setHeader("Cache-Control", IMMUTABLE);
+        chain.doFilter(new AssetRequest(httpRequest, original), response);
+    }
+
+    @Override
+    public void destroy() {
+        // Cleanup if needed
+    }
+
+    private static class AssetRequest extends HttpServletRequestWrapper {
+
+        private final String path;
+
+        AssetRequest(HttpServletRequest request, String path) {
+            super(request);
+            this.path = path;
+        }
+
+        @Override
+        public String getServletPath() {
+            return path;
+        }
+
+        @Override
+        public String getPathInfo() {
+            return null;
+        }
+
+        @Override
+        public String getRequestURI() {
+            return getContextPath() + path;
+        }
+    }
+}
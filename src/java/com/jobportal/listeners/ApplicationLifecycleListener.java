@@ -0,0 +1,48 @@
+package com.jobportal.listeners;
+
+import com.jobportal.dao.AsyncDaoExecutor;
+import com.jobportal.dashboard.DashboardService;
+import com.jobportal.recommend.RecommendationService;
+import com.jobportal.search.JobIndexes;
+import com.jobportal.search.JobSearchIndex;
+import com.jobportal.search.SuggestionIndex;
+import com.jobportal.search.ResumeExtractionService;
+import com.jobportal.utils.AsyncRequestExecutor;
+import com.jobportal.utils.DBConnectionPool;
+import com.jobportal.utils.EmailUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+/**
+ * Releases application-wide resources when the web application is undeployed.
+ */
+public class ApplicationLifecycleListener implements ServletContextListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationLifecycleListener.class);
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        // Resources are created lazily on first use; the extraction sweep needs the context
+        ResumeExtractionService.getInstance().start(sce.getServletContext());
+        JobIndexes.getInstance().start();
+        RecommendationService.getInstance().start();
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        logger.info("Shutting down: releasing worker threads and connection pools");
+        AsyncRequestExecutor.shutdown();
+        AsyncDaoExecutor.getInstance().shutdown();
+        DashboardService.getInstance().shutdown();
+        ResumeExtractionService.getInstance().shutdown();
+        JobIndexes.getInstance().shutdown();
+        JobSearchIndex.getInstance().shutdown();
+        SuggestionIndex.getInstance().shutdown();
+        RecommendationService.getInstance().shutdown();
+        EmailUtil.shutdown();
+        DBConnectionPool.close();
+    }
+}
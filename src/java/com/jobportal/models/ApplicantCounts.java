@@ -0,0 +1,85 @@
+package com.jobportal.models;
+
+import java.io.Serializable;
+
+/**
+ * Number of applications for a job, per application status.
+ */
+public class ApplicantCounts implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private int applied;
+    private int interviewed;
+    private int accepted;
+    private int rejected;
+
+    // No-argument constructor
+    public ApplicantCounts() {}
+
+    // Parameterized constructor
+    public ApplicantCounts(int applied, int interviewed, int accepted, int rejected) {
+        this.applied = applied;
+        this.interviewed = interviewed;
+        this.accepted = accepted;
+        this.rejected = rejected;
+    }
+
+    /**
+     * Gets the count for a status.
+     *
+     * @param status one of applied, interviewed, accepted, rejected
+     * @return the count, or 0 for an unknown status
+     */
+    public int get(String status) {
+        if ("applied".equals(status)) return applied;
+        if ("interviewed".equals(status)) return interviewed;
+        if ("accepted".equals(status)) return accepted;
+        if ("rejected".equals(status)) return rejected;
+        return 0;
+    }
+
+    /**
+     * Adds to the count for a status. Unknown statuses are ignored.
+     *
+     * @param status one of applied, interviewed, accepted, rejected
+     * @param delta the amount to add
+     */
+    public void add(String status, int delta) {
+        if ("applied".equals(status)) applied += delta;
+        else if ("interviewed".equals(status)) interviewed += delta;
+        else if ("accepted".equals(status)) accepted += delta;
+        else if ("rejected".equals(status)) rejected += delta;
+    }
+
+    // Getters
+
+    public int getApplied() {
+        return applied;
+    }
+
+    public int getInterviewed() {
+        return interviewed;
+    }
+
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public int getTotal() {
+        return applied + interviewed + accepted + rejected;
+    }
+
+    @Override
+    public String toString() {
+        return "ApplicantCounts{" +
+                "applied=" + applied +
+                ", interviewed=" + interviewed +
+                ", accepted=" + accepted +
+                ", rejected=" + rejected +
+                '}';
+    }
+}
@@ -0,0 +1,92 @@
+package com.jobportal.models;
+
+import java.io.Serializable;
+
+/**
+ * Result of a bulk status update for one application.
+ * For updated applications it carries what is needed to notify the student.
+ */
+public class ApplicationStatusChange implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * What happened to one requested application.
+     */
+    public enum Outcome {
+        /** The status was changed. */
+        UPDATED,
+        /** The application already had the requested status. */
+        UNCHANGED,
+        /** No such application for one of the employer's jobs. */
+        NOT_FOUND
+    }
+
+    private final int applicationId;
+    private final Outcome outcome;
+    private final int jobId;
+    private final String previousStatus;
+    private final String status;
+    private final String jobTitle;
+    private final String studentName;
+    private final String studentEmail;
+
+    public ApplicationStatusChange(int applicationId, Outcome outcome, int jobId, String previousStatus,
+                                   String status, String jobTitle, String studentName, String studentEmail) {
+        this.applicationId = applicationId;
+        this.outcome = outcome;
+        this.jobId = jobId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.jobTitle = jobTitle;
+        this.studentName = studentName;
+        this.studentEmail = studentEmail;
+    }
+
+    public static ApplicationStatusChange notFound(int applicationId) {
+        return new ApplicationStatusChange(applicationId, Outcome.NOT_FOUND, 0, null, null, null, null, null);
+    }
+
+    // Getters
+
+    public int getApplicationId() {
+        return applicationId;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public int getJobId() {
+        return jobId;
+    }
+
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    public String getStudentName() {
+        return studentName;
+    }
+
+    public String getStudentEmail() {
+        return studentEmail;
+    }
+
+    @Override
+    public String toString() {
+        return "ApplicationStatusChange{" +
+                "applicationId=" + applicationId +
+                ", outcome=" + outcome +
+                ", previousStatus='" + previousStatus + '\'' +
+                ", status='" + status + '\'' +
+                '}';
+    }
+}
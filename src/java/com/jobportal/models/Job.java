@@ -1,6 +1,7 @@
 package com.jobportal.models;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.util.Objects;
 
 public class Job implements Serializable {
@@ -12,6 +13,11 @@ public class Job implements Serializable {
     private String location;
     private String requirements;
     private int employerId;
+    private String jobType;
+    private BigDecimal salaryMin;
+    private BigDecimal salaryMax;
+    private boolean active = true;
+    private int duplicateOf;
 
     // No-argument constructor
     public Job() {}
@@ -82,6 +88,51 @@ public class Job implements Serializable {
         this.employerId = employerId;
     }
 
+    // Optional; null when not stated
+    public String getJobType() {
+        return jobType;
+    }
+
+    public void setJobType(String jobType) {
+        this.jobType = jobType;
+    }
+
+    public BigDecimal getSalaryMin() {
+        return salaryMin;
+    }
+
+    public void setSalaryMin(BigDecimal salaryMin) {
+        if (salaryMin != null && salaryMin.signum() < 0) throw new IllegalArgumentException("Salary cannot be negative");
+        this.salaryMin = salaryMin;
+    }
+
+    public BigDecimal getSalaryMax() {
+        return salaryMax;
+    }
+
+    public void setSalaryMax(BigDecimal salaryMax) {
+        if (salaryMax != null && salaryMax.signum() < 0) throw new IllegalArgumentException("Salary cannot be negative");
+        this.salaryMax = salaryMax;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    // ID of the earlier posting this one repeats; 0 if it is an original
+    public int getDuplicateOf() {
+        return duplicateOf;
+    }
+
+    public void setDuplicateOf(int duplicateOf) {
+        if (duplicateOf < 0) throw new IllegalArgumentException("Duplicate ID cannot be negative");
+        this.duplicateOf = duplicateOf;
+    }
+
     @Override
     public String toString() {
         return "Job{" +
@@ -91,6 +142,11 @@ public class Job implements Serializable {
                 ", location='" + location + '\'' +
                 ", requirements='" + requirements + '\'' +
                 ", employerId=" + employerId +
+                ", jobType='" + jobType + '\'' +
+                ", salaryMin=" + salaryMin +
+                ", salaryMax=" + salaryMax +
+                ", active=" + active +
+                ", duplicateOf=" + duplicateOf +
                 '}';
     }
 
@@ -103,11 +159,16 @@ public class Job implements Serializable {
                Objects.equals(title, job.title) && 
                Objects.equals(description, job.description) && 
                Objects.equals(location, job.location) && 
-               Objects.equals(requirements, job.requirements);
+               Objects.equals(requirements, job.requirements) &&
+               Objects.equals(jobType, job.jobType) &&
+               Objects.equals(salaryMin, job.salaryMin) &&
+               Objects.equals(salaryMax, job.salaryMax) &&
+               active == job.active &&
+               duplicateOf == job.duplicateOf;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, title, description, location, requirements, employerId);
+        return Objects.hash(id, title, description, location, requirements, employerId, jobType, salaryMin, salaryMax, active, duplicateOf);
     }
 }
@@ -0,0 +1,34 @@
+package com.jobportal.models;
+
+import java.io.Serializable;
+
+/**
+ * A job together with its applicant counts, as shown in an employer's job list.
+ */
+public class JobApplicantSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Job job;
+    private final ApplicantCounts counts;
+
+    public JobApplicantSummary(Job job, ApplicantCounts counts) {
+        this.job = job;
+        this.counts = counts;
+    }
+
+    public Job getJob() {
+        return job;
+    }
+
+    public ApplicantCounts getCounts() {
+        return counts;
+    }
+
+    @Override
+    public String toString() {
+        return "JobApplicantSummary{" +
+                "job=" + job +
+                ", counts=" + counts +
+                '}';
+    }
+}
@@ -0,0 +1,64 @@
+package com.jobportal.models;
+
+import java.io.Serializable;
+
+/**
+ * A stored resume file, identified by the SHA-256 of its content and shared by every upload
+ * with the same content.
+ */
+public class ResumeFile implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String sha256;
+    private String extension;
+    private long size;
+    private int refCount;
+
+    // No-argument constructor
+    public ResumeFile() {}
+
+    // Getters and Setters
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        if (sha256 == null || sha256.length() != 64) throw new IllegalArgumentException("SHA-256 must be 64 hex characters");
+        this.sha256 = sha256;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public void setExtension(String extension) {
+        this.extension = extension;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public int getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(int refCount) {
+        this.refCount = refCount;
+    }
+
+    @Override
+    public String toString() {
+        return "ResumeFile{" +
+                "sha256='" + sha256 + '\'' +
+                ", extension='" + extension + '\'' +
+                ", size=" + size +
+                ", refCount=" + refCount +
+                '}';
+    }
+}
@@ -0,0 +1,73 @@
+package com.jobportal.models;
+
+import java.io.Serializable;
+
+/**
+ * Text extracted from a student's resume, with the student fields that candidate search
+ * filters on.
+ */
+public class ResumeText implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private int studentId;
+    private String resumePath;
+    private String major;
+    private String graduationYear;
+    private String content;
+
+    // No-argument constructor
+    public ResumeText() {}
+
+    // Getters and Setters
+
+    public int getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(int studentId) {
+        this.studentId = studentId;
+    }
+
+    /** The upload the text was extracted from. */
+    public String getResumePath() {
+        return resumePath;
+    }
+
+    public void setResumePath(String resumePath) {
+        this.resumePath = resumePath;
+    }
+
+    public String getMajor() {
+        return major;
+    }
+
+    public void setMajor(String major) {
+        this.major = major;
+    }
+
+    public String getGraduationYear() {
+        return graduationYear;
+    }
+
+    public void setGraduationYear(String graduationYear) {
+        this.graduationYear = graduationYear;
+    }
+
+    /** The normalized text; empty if the file could not be read. */
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    @Override
+    public String toString() {
+        return "ResumeText{" +
+                "studentId=" + studentId +
+                ", resumePath='" + resumePath + '\'' +
+                ", length=" + (content != null ? content.length() : 0) +
+                '}';
+    }
+}
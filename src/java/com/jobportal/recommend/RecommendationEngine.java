@@ -0,0 +1,318 @@
+package com.jobportal.recommend;
+
+import com.jobportal.models.Job;
+import com.jobportal.models.ResumeText;
+import com.jobportal.search.TextTokenizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * TF-IDF job recommendations for students.
+ * <p>
+ * Jobs are vectorized from their title (counted twice) and requirements, students from their
+ * major (counted twice) and resume text. Document frequencies come from the jobs, so terms
+ * that every posting uses carry little weight. {@link #build} scores every student against
+ * every job in a fork-join batch over an inverted index of job vectors; afterwards single jobs
+ * and students are scored incrementally against the stored vectors. Recommendations are read
+ * without locking; all updates must be serialized by the caller.
+ */
+public class RecommendationEngine {
+
+    private static final int TITLE_WEIGHT = 2;
+    private static final int MAJOR_WEIGHT = 2;
+    // Students per fork-join task
+    private static final int BATCH_THRESHOLD = 64;
+
+    private final int topK;
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private int[] documentFrequencies = new int[1024];
+    private int jobCount;
+    private final Map<Integer, SparseVector> jobVectors = new HashMap<>();
+    private final Map<Integer, SparseVector> studentVectors = new HashMap<>();
+    private final Map<Integer, Recommendations> recommendations = new ConcurrentHashMap<>();
+
+    RecommendationEngine(int topK) {
+        this.topK = topK;
+    }
+
+    /**
+     * Builds the vectors and everyone's recommendations from scratch.
+     *
+     * @param jobs all jobs
+     * @param students every student's major and current resume text (which may be null)
+     * @param topK the number of jobs to keep per student
+     * @param pool the pool that scores students in parallel
+     * @return the engine
+     */
+    public static RecommendationEngine build(Collection<Job> jobs, Collection<ResumeText> students, int topK,
+                                             ForkJoinPool pool) {
+        RecommendationEngine engine = new RecommendationEngine(topK);
+        Map<Integer, Map<String, Integer>> jobTerms = new HashMap<>();
+        for (Job job : jobs) {
+            Map<String, Integer> terms = jobTerms(job);
+            jobTerms.put(job.getId(), terms);
+            for (String term : terms.keySet()) {
+                engine.documentFrequencies[engine.termId(term)]++;
+            }
+        }
+        engine.jobCount = jobs.size();
+        for (Map.Entry<Integer, Map<String, Integer>> entry : jobTerms.entrySet()) {
+            engine.jobVectors.put(entry.getKey(), engine.vectorize(entry.getValue()));
+        }
+        for (ResumeText student : students) {
+            engine.studentVectors.put(student.getStudentId(), engine.vectorize(studentTerms(student)));
+        }
+        engine.scoreAllStudents(pool);
+        return engine;
+    }
+
+    /**
+     * Gets a student's recommendations.
+     *
+     * @param studentId the student ID
+     * @return the recommendations, empty if there are none
+     */
+    public Recommendations get(int studentId) {
+        Recommendations result = recommendations.get(studentId);
+        return result != null ? result : Recommendations.EMPTY;
+    }
+
+    /**
+     * Adds a new or changed job and offers it to every student whose list it improves.
+     * Document frequencies are updated, but the weights of existing vectors only change with
+     * the next full build.
+     *
+     * @param job the saved job
+     * @param pool the pool that scores students in parallel
+     */
+    public void jobSaved(Job job, ForkJoinPool pool) {
+        if (jobVectors.containsKey(job.getId())) {
+            jobDeleted(job.getId());
+        }
+        Map<String, Integer> terms = jobTerms(job);
+        for (String term : terms.keySet()) {
+            documentFrequencies[termId(term)]++;
+        }
+        jobCount++;
+        SparseVector vector = vectorize(terms);
+        jobVectors.put(job.getId(), vector);
+        if (vector.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Integer, SparseVector>> students = new ArrayList<>(studentVectors.entrySet());
+        pool.submit(() -> students.parallelStream().forEach(student -> {
+            float score = student.getValue().dot(vector);
+            if (score <= 0) {
+                return;
+            }
+            recommendations.compute(student.getKey(), (id, current) -> {
+                if (current == null) {
+                    current = Recommendations.EMPTY;
+                }
+                return current.size() < topK || score > current.minScore() ? current.with(job.getId(), score, topK) : current;
+            });
+        })).join();
+    }
+
+    /**
+     * Removes a job from the vectors and from every student's list. Lists are refilled by the
+     * next full build.
+     *
+     * @param jobId the job ID
+     */
+    public void jobDeleted(int jobId) {
+        SparseVector removed = jobVectors.remove(jobId);
+        if (removed == null) {
+            return;
+        }
+        for (int term : removed.terms) {
+            documentFrequencies[term]--;
+        }
+        jobCount--;
+        for (Map.Entry<Integer, Recommendations> entry : recommendations.entrySet()) {
+            Recommendations without = entry.getValue().without(jobId);
+            if (without != entry.getValue()) {
+                entry.setValue(without);
+            }
+        }
+    }
+
+    /**
+     * Re-vectorizes a student whose major or resume changed and recomputes their list.
+     *
+     * @param student the student's major and current resume text
+     */
+    public void studentUpdated(ResumeText student) {
+        SparseVector vector = vectorize(studentTerms(student));
+        studentVectors.put(student.getStudentId(), vector);
+        TopK top = new TopK(topK);
+        for (Map.Entry<Integer, SparseVector> job : jobVectors.entrySet()) {
+            float score = vector.dot(job.getValue());
+            if (score > 0) {
+                top.offer(job.getKey(), score);
+            }
+        }
+        recommendations.put(student.getStudentId(), top.toRecommendations());
+    }
+
+    /**
+     * Removes a student.
+     *
+     * @param studentId the student ID
+     */
+    public void studentDeleted(int studentId) {
+        studentVectors.remove(studentId);
+        recommendations.remove(studentId);
+    }
+
+    public int getJobCount() {
+        return jobCount;
+    }
+
+    public int getStudentCount() {
+        return studentVectors.size();
+    }
+
+    private void scoreAllStudents(ForkJoinPool pool) {
+        // Inverted index of the job vectors: for each term, the jobs containing it and their weights
+        int[] ordinalToJob = new int[jobVectors.size()];
+        int[] postingCounts = new int[termIds.size()];
+        int ordinal = 0;
+        for (Map.Entry<Integer, SparseVector> job : jobVectors.entrySet()) {
+            ordinalToJob[ordinal++] = job.getKey();
+            for (int term : job.getValue().terms) {
+                postingCounts[term]++;
+            }
+        }
+        int[][] postingJobs = new int[postingCounts.length][];
+        float[][] postingWeights = new float[postingCounts.length][];
+        for (int term = 0; term < postingCounts.length; term++) {
+            postingJobs[term] = new int[postingCounts[term]];
+            postingWeights[term] = new float[postingCounts[term]];
+            postingCounts[term] = 0;
+        }
+        for (int i = 0; i < ordinalToJob.length; i++) {
+            SparseVector vector = jobVectors.get(ordinalToJob[i]);
+            for (int t = 0; t < vector.terms.length; t++) {
+                int term = vector.terms[t];
+                postingJobs[term][postingCounts[term]] = i;
+                postingWeights[term][postingCounts[term]++] = vector.weights[t];
+            }
+        }
+
+        int[] studentIds = new int[studentVectors.size()];
+        int s = 0;
+        for (int id : studentVectors.keySet()) {
+            studentIds[s++] = id;
+        }
+        pool.invoke(new ScoreStudents(studentIds, 0, studentIds.length, ordinalToJob, postingJobs, postingWeights));
+    }
+
+    /**
+     * Scores a range of students, splitting it until it is small enough to score directly.
+     */
+    private final class ScoreStudents extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] studentIds;
+        private final int from;
+        private final int to;
+        private final int[] ordinalToJob;
+        private final int[][] postingJobs;
+        private final float[][] postingWeights;
+
+        ScoreStudents(int[] studentIds, int from, int to, int[] ordinalToJob, int[][] postingJobs, float[][] postingWeights) {
+            this.studentIds = studentIds;
+            this.from = from;
+            this.to = to;
+            this.ordinalToJob = ordinalToJob;
+            this.postingJobs = postingJobs;
+            this.postingWeights = postingWeights;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > BATCH_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ScoreStudents(studentIds, from, middle, ordinalToJob, postingJobs, postingWeights),
+                        new ScoreStudents(studentIds, middle, to, ordinalToJob, postingJobs, postingWeights));
+                return;
+            }
+            // One accumulator per task, reset through the list of jobs it touched
+            float[] scores = new float[ordinalToJob.length];
+            int[] touched = new int[ordinalToJob.length];
+            for (int i = from; i < to; i++) {
+                SparseVector student = studentVectors.get(studentIds[i]);
+                int touchedCount = 0;
+                for (int t = 0; t < student.terms.length; t++) {
+                    int term = student.terms[t];
+                    int[] jobs = postingJobs[term];
+                    float[] weights = postingWeights[term];
+                    for (int p = 0; p < jobs.length; p++) {
+                        if (scores[jobs[p]] == 0) {
+                            touched[touchedCount++] = jobs[p];
+                        }
+                        scores[jobs[p]] += student.weights[t] * weights[p];
+                    }
+                }
+                TopK top = new TopK(topK);
+                for (int j = 0; j < touchedCount; j++) {
+                    top.offer(ordinalToJob[touched[j]], scores[touched[j]]);
+                    scores[touched[j]] = 0;
+                }
+                recommendations.put(studentIds[i], top.toRecommendations());
+            }
+        }
+    }
+
+    private SparseVector vectorize(Map<String, Integer> termCounts) {
+        Map<Integer, Double> weights = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : termCounts.entrySet()) {
+            int term = termId(entry.getKey());
+            double tf = 1 + Math.log(entry.getValue());
+            double idf = Math.log((1.0 + jobCount) / (1.0 + documentFrequencies[term])) + 1;
+            weights.put(term, tf * idf);
+        }
+        return SparseVector.of(weights);
+    }
+
+    private int termId(String term) {
+        Integer id = termIds.get(term);
+        if (id == null) {
+            id = termIds.size();
+            termIds.put(term, id);
+            if (id == documentFrequencies.length) {
+                documentFrequencies = Arrays.copyOf(documentFrequencies, id * 2);
+            }
+        }
+        return id;
+    }
+
+    private static Map<String, Integer> jobTerms(Job job) {
+        Map<String, Integer> counts = new HashMap<>();
+        count(counts, job.getTitle(), TITLE_WEIGHT);
+        count(counts, job.getRequirements(), 1);
+        return counts;
+    }
+
+    private static Map<String, Integer> studentTerms(ResumeText student) {
+        Map<String, Integer> counts = new HashMap<>();
+        count(counts, student.getMajor(), MAJOR_WEIGHT);
+        count(counts, student.getContent(), 1);
+        return counts;
+    }
+
+    private static void count(Map<String, Integer> counts, String text, int weight) {
+        for (String term : TextTokenizer.tokenize(text)) {
+            counts.merge(term, weight, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.jobportal.recommend;
+
+import com.jobportal.dao.JobDaoImpl;
+import com.jobportal.dao.ResumeTextDaoImpl;
+import com.jobportal.models.Job;
+import com.jobportal.models.ResumeText;
+import com.jobportal.utils.ConfigManager;
+import com.jobportal.utils.DBConnectionPool;
+import com.jobportal.utils.DBConnectionPool.Workload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps precomputed job recommendations for every student.
+ * <p>
+ * A full rebuild runs at startup and periodically, so term weights follow the current job
+ * mix. In between, saved and deleted jobs and re-extracted resumes are applied incrementally.
+ * All changes run one at a time on a single updater thread, so changes that arrive during a
+ * rebuild are applied to the new recommendations after it; the scoring itself is spread over
+ * a fork-join pool. Lookups only read the current engine's in-memory lists.
+ */
+public class RecommendationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationService.class);
+    private static final int PAGE_SIZE = 1000;
+    private static final RecommendationService INSTANCE = new RecommendationService(
+            ConfigManager.getIntProperty("recommendations.topK", 20),
+            ConfigManager.getIntProperty("recommendations.threads", 2),
+            ConfigManager.getIntProperty("recommendations.rebuildMinutes", 360));
+
+    private final int topK;
+    private final int rebuildMinutes;
+    private final ForkJoinPool pool;
+    private final ScheduledExecutorService updater;
+    private volatile RecommendationEngine engine;
+
+    public RecommendationService(int topK, int threads, int rebuildMinutes) {
+        this.topK = topK;
+        this.rebuildMinutes = Math.max(1, rebuildMinutes);
+        this.pool = new ForkJoinPool(Math.max(1, threads));
+        this.updater = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "recommendation-updater");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.engine = new RecommendationEngine(topK);
+    }
+
+    /**
+     * Gets the shared service.
+     *
+     * @return the shared service
+     */
+    public static RecommendationService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Schedules the first build right away and periodic rebuilds after it.
+     */
+    public void start() {
+        updater.scheduleWithFixedDelay(this::rebuild, 0, rebuildMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Gets a student's best recommended jobs from memory.
+     *
+     * @param studentId the student ID
+     * @param limit the maximum number of jobs
+     * @return job IDs, best first; empty before the first build
+     */
+    public int[] getRecommendedJobIds(int studentId, int limit) {
+        return engine.get(studentId).getJobIds(limit);
+    }
+
+    /**
+     * Offers a new or changed job to the students it suits. Returns immediately.
+     *
+     * @param job the saved job, with its ID
+     */
+    public void jobSaved(Job job) {
+        update("job " + job.getId(), () -> engine.jobSaved(job, pool));
+    }
+
+    /**
+     * Removes a deleted job from all recommendations. Returns immediately.
+     *
+     * @param jobId the job ID
+     */
+    public void jobDeleted(int jobId) {
+        update("job " + jobId, () -> engine.jobDeleted(jobId));
+    }
+
+    /**
+     * Recomputes a student's recommendations after their major or resume changed.
+     * Returns immediately.
+     *
+     * @param student the student's major and current resume text
+     */
+    public void studentUpdated(ResumeText student) {
+        update("student " + student.getStudentId(), () -> engine.studentUpdated(student));
+    }
+
+    /**
+     * Forgets a deleted student. Returns immediately.
+     *
+     * @param studentId the student ID
+     */
+    public void studentDeleted(int studentId) {
+        update("student " + studentId, () -> engine.studentDeleted(studentId));
+    }
+
+    /**
+     * Stops rebuilds and updates.
+     * Should be called during application shutdown.
+     */
+    public void shutdown() {
+        updater.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    private void update(String subject, Runnable change) {
+        try {
+            updater.execute(() -> {
+                try {
+                    change.run();
+                } catch (RuntimeException e) {
+                    logger.error("Error updating recommendations for {}", subject, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Recommendations shut down, update for {} skipped", subject);
+        }
+    }
+
+    private void rebuild() {
+        long start = System.nanoTime();
+        try {
+            List<Job> jobs = new ArrayList<>();
+            List<ResumeText> students = new ArrayList<>();
+            try (Connection connection = DBConnectionPool.getConnection(Workload.REPORTING)) {
+                JobDaoImpl jobDao = new JobDaoImpl(connection);
+                int afterId = 0;
+                while (jobDao.streamJobs(afterId, PAGE_SIZE, jobs::add) == PAGE_SIZE) {
+                    afterId = jobs.get(jobs.size() - 1).getId();
+                }
+                new ResumeTextDaoImpl(connection).forEachStudent(students::add);
+            }
+            long loaded = System.nanoTime();
+            engine = RecommendationEngine.build(jobs, students, topK, pool);
+            logger.info("Recommendations rebuilt for {} students over {} jobs: loaded in {} ms, scored in {} ms",
+                    students.size(), jobs.size(), TimeUnit.NANOSECONDS.toMillis(loaded - start),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loaded));
+        } catch (SQLException | IOException | RuntimeException e) {
+            // Keep serving the previous recommendations; never cancel the schedule
+            logger.error("Recommendation rebuild failed", e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.jobportal.recommend;
+
+/**
+ * One student's recommended jobs, best first. Immutable; replaced as a whole on update so
+ * readers never need a lock.
+ */
+public final class Recommendations {
+
+    static final Recommendations EMPTY = new Recommendations(new int[0], new float[0]);
+
+    private final int[] jobIds;
+    private final float[] scores;
+
+    Recommendations(int[] jobIds, float[] scores) {
+        this.jobIds = jobIds;
+        this.scores = scores;
+    }
+
+    /**
+     * Gets the best recommended job IDs.
+     *
+     * @param limit the maximum number of IDs
+     * @return job IDs, best first
+     */
+    public int[] getJobIds(int limit) {
+        int n = Math.min(limit, jobIds.length);
+        int[] top = new int[n];
+        System.arraycopy(jobIds, 0, top, 0, n);
+        return top;
+    }
+
+    public int size() {
+        return jobIds.length;
+    }
+
+    int jobIdAt(int index) {
+        return jobIds[index];
+    }
+
+    float scoreAt(int index) {
+        return scores[index];
+    }
+
+    /**
+     * Gets the score a new job must beat to enter a full list.
+     */
+    float minScore() {
+        return scores.length == 0 ? 0 : scores[scores.length - 1];
+    }
+
+    /**
+     * Returns a copy with the job inserted at its rank (replacing an earlier entry for the same
+     * job) and truncated to the given size.
+     */
+    Recommendations with(int jobId, float score, int topK) {
+        TopK top = new TopK(topK);
+        for (int i = 0; i < jobIds.length; i++) {
+            if (jobIds[i] != jobId) {
+                top.offer(jobIds[i], scores[i]);
+            }
+        }
+        top.offer(jobId, score);
+        return top.toRecommendations();
+    }
+
+    /**
+     * Returns a copy without the job, or this list if it does not contain it.
+     */
+    Recommendations without(int jobId) {
+        for (int i = 0; i < jobIds.length; i++) {
+            if (jobIds[i] == jobId) {
+                int[] ids = new int[jobIds.length - 1];
+                float[] values = new float[ids.length];
+                System.arraycopy(jobIds, 0, ids, 0, i);
+                System.arraycopy(scores, 0, values, 0, i);
+                System.arraycopy(jobIds, i + 1, ids, i, ids.length - i);
+                System.arraycopy(scores, i + 1, values, i, ids.length - i);
+                return new Recommendations(ids, values);
+            }
+        }
+        return this;
+    }
+}
@@ -0,0 +1,67 @@
+package com.jobportal.recommend;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * An L2-normalized TF-IDF vector stored as parallel arrays sorted by term id, so the dot
+ * product of two vectors is one merge pass with no hashing or boxing.
+ */
+final class SparseVector {
+
+    static final SparseVector EMPTY = new SparseVector(new int[0], new float[0]);
+
+    final int[] terms;
+    final float[] weights;
+
+    private SparseVector(int[] terms, float[] weights) {
+        this.terms = terms;
+        this.weights = weights;
+    }
+
+    /**
+     * Builds a normalized vector from raw weights by term id.
+     */
+    static SparseVector of(Map<Integer, Double> rawWeights) {
+        if (rawWeights.isEmpty()) {
+            return EMPTY;
+        }
+        int[] terms = new int[rawWeights.size()];
+        int n = 0;
+        double norm = 0;
+        for (Map.Entry<Integer, Double> entry : rawWeights.entrySet()) {
+            terms[n++] = entry.getKey();
+            norm += entry.getValue() * entry.getValue();
+        }
+        Arrays.sort(terms);
+        norm = Math.sqrt(norm);
+        float[] weights = new float[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            weights[i] = (float) (rawWeights.get(terms[i]) / norm);
+        }
+        return new SparseVector(terms, weights);
+    }
+
+    /**
+     * Cosine similarity with another normalized vector.
+     */
+    float dot(SparseVector other) {
+        float sum = 0;
+        int i = 0;
+        int j = 0;
+        while (i < terms.length && j < other.terms.length) {
+            if (terms[i] == other.terms[j]) {
+                sum += weights[i++] * other.weights[j++];
+            } else if (terms[i] < other.terms[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return sum;
+    }
+
+    boolean isEmpty() {
+        return terms.length == 0;
+    }
+}
@@ -0,0 +1,92 @@
+package com.jobportal.recommend;
+
+/**
+ * Keeps the k best (id, score) pairs seen so far in a binary min-heap on primitive arrays,
+ * so selecting the top k of n candidates costs O(n log k). Ties prefer the higher id, i.e.
+ * the newer job.
+ */
+final class TopK {
+
+    private final int[] ids;
+    private final float[] scores;
+    private int size;
+
+    TopK(int k) {
+        this.ids = new int[Math.max(0, k)];
+        this.scores = new float[ids.length];
+    }
+
+    void offer(int id, float score) {
+        if (ids.length == 0) {
+            return;
+        }
+        if (size < ids.length) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (better(id, score, 0)) {
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    Recommendations toRecommendations() {
+        int[] sortedIds = new int[size];
+        float[] sortedScores = new float[size];
+        // Popping the minimum fills the arrays from the back, best first
+        for (int i = size - 1; i >= 0; i--) {
+            sortedIds[i] = ids[0];
+            sortedScores[i] = scores[0];
+            size--;
+            ids[0] = ids[size];
+            scores[0] = scores[size];
+            siftDown(0);
+        }
+        return new Recommendations(sortedIds, sortedScores);
+    }
+
+    /** True if (id, score) ranks above the entry at index. */
+    private boolean better(int id, float score, int index) {
+        return score > scores[index] || (score == scores[index] && id > ids[index]);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!better(ids[parent], scores[parent], index)) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && better(ids[smallest], scores[smallest], left)) {
+                smallest = left;
+            }
+            if (right < size && better(ids[smallest], scores[smallest], right)) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        float score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
@@ -0,0 +1,201 @@
+package com.jobportal.search;
+
+import com.jobportal.models.ResumeText;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index of extracted resume text, for employers searching students by
+ * skills.
+ * <p>
+ * Each term maps to the students whose resume contains it, with the number of occurrences.
+ * A search returns the students whose resume contains every query term, optionally filtered
+ * by major and graduation year, ranked by how often and how rare the matched terms are.
+ * The index is rebuilt from the resume_texts table at startup and updated as resumes are
+ * extracted.
+ */
+public class CandidateIndex {
+
+    private static final CandidateIndex INSTANCE = new CandidateIndex();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+    private final Map<Integer, Candidate> candidates = new HashMap<>();
+
+    private static final class Candidate {
+        final String major;
+        final String graduationYear;
+        final Set<String> terms;
+
+        Candidate(String major, String graduationYear, Set<String> terms) {
+            this.major = major;
+            this.graduationYear = graduationYear;
+            this.terms = terms;
+        }
+
+        boolean matches(String major, String graduationYear) {
+            return (major == null || major.equalsIgnoreCase(this.major))
+                    && (graduationYear == null || graduationYear.equals(this.graduationYear));
+        }
+    }
+
+    /**
+     * Gets the shared index.
+     *
+     * @return the shared index
+     */
+    public static CandidateIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Adds a student's resume to the index, replacing any earlier version.
+     *
+     * @param text the extracted text with the student's major and graduation year
+     */
+    public void index(ResumeText text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : TextTokenizer.tokenize(text.getContent())) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(text.getStudentId());
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(text.getStudentId(), entry.getValue());
+            }
+            candidates.put(text.getStudentId(), new Candidate(trimToNull(text.getMajor()),
+                    trimToNull(text.getGraduationYear()), frequencies.keySet()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a student from the index.
+     *
+     * @param studentId the student ID
+     */
+    public void remove(int studentId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(studentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches for students whose resume contains every term of the query.
+     *
+     * @param query the search terms; if blank, all students matching the filters are returned
+     * @param major the major to filter by (case-insensitive), or null
+     * @param graduationYear the graduation year to filter by, or null
+     * @param limit the maximum number of results
+     * @return student IDs, best match first
+     */
+    public List<Integer> search(String query, String major, String graduationYear, int limit) {
+        Set<String> terms = new LinkedHashSet<>(TextTokenizer.tokenize(query));
+        String majorFilter = trimToNull(major);
+        String yearFilter = trimToNull(graduationYear);
+        lock.readLock().lock();
+        try {
+            if (terms.isEmpty()) {
+                List<Integer> ids = new ArrayList<>();
+                for (Map.Entry<Integer, Candidate> entry : candidates.entrySet()) {
+                    if (entry.getValue().matches(majorFilter, yearFilter)) {
+                        ids.add(entry.getKey());
+                    }
+                }
+                Collections.sort(ids);
+                return ids.size() > limit ? new ArrayList<>(ids.subList(0, limit)) : ids;
+            }
+
+            // Walk the rarest term's students and look the others up
+            List<Map<Integer, Integer>> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Integer, Integer> list = postings.get(term);
+                if (list == null) {
+                    return new ArrayList<>();
+                }
+                lists.add(list);
+            }
+            lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+            int total = candidates.size();
+            List<double[]> scored = new ArrayList<>();
+            for (Map.Entry<Integer, Integer> entry : lists.get(0).entrySet()) {
+                int studentId = entry.getKey();
+                if (!candidates.get(studentId).matches(majorFilter, yearFilter)) {
+                    continue;
+                }
+                double score = 0;
+                boolean all = true;
+                for (Map<Integer, Integer> list : lists) {
+                    Integer frequency = list.get(studentId);
+                    if (frequency == null) {
+                        all = false;
+                        break;
+                    }
+                    score += (1 + Math.log(frequency)) * Math.log(1 + (double) total / list.size());
+                }
+                if (all) {
+                    scored.add(new double[] {score, studentId});
+                }
+            }
+            scored.sort((a, b) -> a[0] != b[0] ? Double.compare(b[0], a[0]) : Double.compare(a[1], b[1]));
+            List<Integer> ids = new ArrayList<>(Math.min(limit, scored.size()));
+            for (int i = 0; i < scored.size() && i < limit; i++) {
+                ids.add((int) scored.get(i)[1]);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of indexed students.
+     *
+     * @return the number of students
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return candidates.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(int studentId) {
+        Candidate previous = candidates.remove(studentId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms) {
+            Map<Integer, Integer> list = postings.get(term);
+            if (list != null) {
+                list.remove(studentId);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
@@ -0,0 +1,290 @@
+package com.jobportal.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * An immutable, path-compressed trie with weighted entries, for top-k prefix completion.
+ * <p>
+ * Nodes live in parallel primitive arrays and all edge labels in one {@code char[]}; the
+ * children of a node are stored next to each other, sorted by their first character. Every
+ * node also records the highest weight below it, so the best completions of a prefix are
+ * found best-first: only the branches that can still beat the current k-th entry are opened,
+ * however many keys share the prefix.
+ * <p>
+ * A key may lead to several entries and an entry may have several keys; entries are
+ * identified by their index in the weight array given to the builder.
+ */
+public final class CompactTrie {
+
+    private static final int[] NO_ENTRIES = new int[0];
+
+    private final char[] labels;
+    private final int[] labelStart;
+    private final int[] labelEnd;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] entryStart;
+    private final int[] entryCount;
+    private final int[] maxWeight;
+    private final int[] entries;
+    private final int[] weights;
+
+    private CompactTrie(char[] labels, int[] labelStart, int[] labelEnd, int[] firstChild, int[] childCount,
+                        int[] entryStart, int[] entryCount, int[] maxWeight, int[] entries, int[] weights) {
+        this.labels = labels;
+        this.labelStart = labelStart;
+        this.labelEnd = labelEnd;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.entryStart = entryStart;
+        this.entryCount = entryCount;
+        this.maxWeight = maxWeight;
+        this.entries = entries;
+        this.weights = weights;
+    }
+
+    /**
+     * Finds the heaviest entries with a key starting with the prefix.
+     *
+     * @param prefix the prefix, in the same form as the keys
+     * @param limit the maximum number of entries
+     * @return entry indexes, heaviest first; each entry at most once
+     */
+    public int[] complete(String prefix, int limit) {
+        int node = find(prefix);
+        if (node < 0 || limit <= 0) {
+            return NO_ENTRIES;
+        }
+        // Queue items pack (weight, kind, index); entries sort before nodes of equal weight
+        PriorityQueue<Long> queue = new PriorityQueue<>(Comparator.reverseOrder());
+        queue.add(pack(maxWeight[node], false, node));
+        Set<Integer> seen = new HashSet<>();
+        int[] result = new int[limit];
+        int n = 0;
+        while (n < limit && !queue.isEmpty()) {
+            long item = queue.poll();
+            int index = (int) (item & 0x7FFFFFFF);
+            if ((item & 0x80000000L) != 0) {
+                if (seen.add(index)) {
+                    result[n++] = index;
+                }
+                continue;
+            }
+            for (int i = entryStart[index]; i < entryStart[index] + entryCount[index]; i++) {
+                queue.add(pack(weights[entries[i]], true, entries[i]));
+            }
+            for (int child = firstChild[index]; child < firstChild[index] + childCount[index]; child++) {
+                queue.add(pack(maxWeight[child], false, child));
+            }
+        }
+        return n == limit ? result : Arrays.copyOf(result, n);
+    }
+
+    /**
+     * Gets the number of nodes, a measure of the trie's size.
+     *
+     * @return the node count
+     */
+    public int nodeCount() {
+        return labelStart.length;
+    }
+
+    /**
+     * Finds the node whose subtree holds exactly the keys starting with the prefix.
+     */
+    private int find(String prefix) {
+        int node = 0;
+        int i = 0;
+        while (i < prefix.length()) {
+            int child = findChild(node, prefix.charAt(i));
+            if (child < 0) {
+                return -1;
+            }
+            for (int j = labelStart[child]; j < labelEnd[child] && i < prefix.length(); j++, i++) {
+                if (labels[j] != prefix.charAt(i)) {
+                    return -1;
+                }
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    private int findChild(int node, char c) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char first = labels[labelStart[mid]];
+            if (first < c) {
+                low = mid + 1;
+            } else if (first > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static long pack(int weight, boolean entry, int index) {
+        return ((long) weight << 32) | (entry ? 0x80000000L : 0) | index;
+    }
+
+    /**
+     * Collects keys and builds a trie.
+     */
+    public static final class Builder {
+        private final List<String> keys = new ArrayList<>();
+        private final List<Integer> keyEntries = new ArrayList<>();
+
+        /**
+         * Adds a key for an entry.
+         *
+         * @param key the key
+         * @param entry the entry index
+         * @return this builder
+         */
+        public Builder add(String key, int entry) {
+            keys.add(key);
+            keyEntries.add(entry);
+            return this;
+        }
+
+        /**
+         * Builds the trie.
+         *
+         * @param weights the weight of each entry, not negative
+         * @return the trie
+         */
+        public CompactTrie build(int[] weights) {
+            Integer[] order = new Integer[keys.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> keys.get(a).compareTo(keys.get(b)));
+            String[] sorted = new String[order.length];
+            int[] sortedEntries = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sorted[i] = keys.get(order[i]);
+                sortedEntries[i] = keyEntries.get(order[i]);
+            }
+            return new Assembly(sorted, sortedEntries, weights).build();
+        }
+    }
+
+    /**
+     * Lays out the nodes breadth-first from the sorted keys, so siblings are adjacent.
+     */
+    private static final class Assembly {
+        private final String[] keys;
+        private final int[] keyEntries;
+        private final int[] weights;
+
+        private final StringBuilder labels = new StringBuilder();
+        private int[] labelStart = new int[16];
+        private int[] labelEnd = new int[16];
+        private int[] firstChild = new int[16];
+        private int[] childCount = new int[16];
+        private int[] entryStart = new int[16];
+        private int[] entryCount = new int[16];
+        private int nodes;
+
+        Assembly(String[] keys, int[] keyEntries, int[] weights) {
+            this.keys = keys;
+            this.keyEntries = keyEntries;
+            this.weights = weights;
+        }
+
+        CompactTrie build() {
+            // A pending node: {node, first key, end of keys, depth}
+            Deque<int[]> pending = new ArrayDeque<>();
+            pending.add(new int[] {newNode(0, 0), 0, keys.length, 0});
+            while (!pending.isEmpty()) {
+                int[] task = pending.poll();
+                int node = task[0];
+                int lo = task[1];
+                int hi = task[2];
+                int depth = task[3];
+
+                // Keys ending here sort first
+                entryStart[node] = lo;
+                while (lo < hi && keys[lo].length() == depth) {
+                    lo++;
+                }
+                entryCount[node] = lo - entryStart[node];
+
+                firstChild[node] = nodes;
+                List<int[]> children = new ArrayList<>();
+                while (lo < hi) {
+                    char c = keys[lo].charAt(depth);
+                    int end = lo + 1;
+                    while (end < hi && keys[end].charAt(depth) == c) {
+                        end++;
+                    }
+                    int shared = commonPrefix(keys[lo], keys[end - 1], depth + 1);
+                    int labelAt = labels.length();
+                    labels.append(keys[lo], depth, shared);
+                    children.add(new int[] {newNode(labelAt, labels.length()), lo, end, shared});
+                    lo = end;
+                }
+                childCount[node] = children.size();
+                pending.addAll(children);
+            }
+
+            int[] maxWeight = new int[nodes];
+            for (int node = nodes - 1; node >= 0; node--) {
+                int max = 0;
+                for (int i = entryStart[node]; i < entryStart[node] + entryCount[node]; i++) {
+                    max = Math.max(max, weights[keyEntries[i]]);
+                }
+                for (int child = firstChild[node]; child < firstChild[node] + childCount[node]; child++) {
+                    max = Math.max(max, maxWeight[child]);
+                }
+                maxWeight[node] = max;
+            }
+            char[] labelChars = new char[labels.length()];
+            labels.getChars(0, labelChars.length, labelChars, 0);
+            return new CompactTrie(labelChars, Arrays.copyOf(labelStart, nodes), Arrays.copyOf(labelEnd, nodes),
+                    Arrays.copyOf(firstChild, nodes), Arrays.copyOf(childCount, nodes),
+                    Arrays.copyOf(entryStart, nodes), Arrays.copyOf(entryCount, nodes), maxWeight,
+                    keyEntries, weights.clone());
+        }
+
+        private int newNode(int start, int end) {
+            if (nodes == labelStart.length) {
+                int capacity = nodes * 2;
+                labelStart = Arrays.copyOf(labelStart, capacity);
+                labelEnd = Arrays.copyOf(labelEnd, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                childCount = Arrays.copyOf(childCount, capacity);
+                entryStart = Arrays.copyOf(entryStart, capacity);
+                entryCount = Arrays.copyOf(entryCount, capacity);
+            }
+            labelStart[nodes] = start;
+            labelEnd[nodes] = end;
+            return nodes++;
+        }
+
+        /**
+         * Length of the common prefix of the first and last key of a sorted group, which is
+         * shared by every key between them.
+         */
+        private static int commonPrefix(String first, String last, int from) {
+            int max = Math.min(first.length(), last.length());
+            int i = from;
+            while (i < max && first.charAt(i) == last.charAt(i)) {
+                i++;
+            }
+            return i;
+        }
+    }
+}
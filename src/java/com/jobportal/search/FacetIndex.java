@@ -0,0 +1,295 @@
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+import com.jobportal.utils.ConfigManager;
+
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Counts search results per location, job type, salary band and active flag.
+ * <p>
+ * Every indexed job gets a dense ordinal, and every facet value keeps a bitset of the ordinals
+ * of its jobs. To count a result set its job IDs are turned into one bitset, and each value's
+ * count is the population count of the intersection, 64 jobs per machine word, instead of a
+ * GROUP BY per facet over the search query. Ordinals of deleted jobs are reused.
+ */
+public class FacetIndex implements JobIndex {
+
+    /** The facets, with their names in API responses. */
+    public enum Facet {
+        LOCATION("location"), JOB_TYPE("jobType"), SALARY("salary"), ACTIVE("active");
+
+        private final String jsonName;
+
+        Facet(String jsonName) {
+            this.jsonName = jsonName;
+        }
+
+        public String getJsonName() {
+            return jsonName;
+        }
+    }
+
+    private static final String NOT_STATED = "Not stated";
+    private static final FacetIndex INSTANCE = new FacetIndex(
+            parseBands(ConfigManager.getProperty("search.facets.salaryBands", "25000,50000,100000,200000")));
+
+    /** Jobs with one facet value. */
+    private static final class Value {
+        final String label;
+        long[] bits = new long[0];
+        int size;
+
+        Value(String label) {
+            this.label = label;
+        }
+    }
+
+    private final long[] salaryBands;
+    private final String[] bandLabels;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Integer> ordinals = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final Map<Integer, String[]> jobValues = new HashMap<>();
+    private final Map<Facet, Map<String, Value>> values = new EnumMap<>(Facet.class);
+    private int ordinalLimit;
+
+    /**
+     * @param salaryBands ascending lower bounds of the salary bands after the first
+     */
+    public FacetIndex(long[] salaryBands) {
+        this.salaryBands = salaryBands.clone();
+        this.bandLabels = bandLabels(this.salaryBands);
+        for (Facet facet : Facet.values()) {
+            values.put(facet, new HashMap<>());
+        }
+    }
+
+    /**
+     * Gets the shared index.
+     *
+     * @return the shared index
+     */
+    public static FacetIndex getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void index(Job job) {
+        String[] keys = new String[Facet.values().length];
+        String[] labels = new String[keys.length];
+        String location = job.getLocation() != null ? job.getLocation().trim() : "";
+        if (!location.isEmpty()) {
+            keys[Facet.LOCATION.ordinal()] = location.toLowerCase(Locale.ROOT);
+            labels[Facet.LOCATION.ordinal()] = location;
+        }
+        if (job.getJobType() != null && !job.getJobType().isEmpty()) {
+            keys[Facet.JOB_TYPE.ordinal()] = job.getJobType();
+            labels[Facet.JOB_TYPE.ordinal()] = job.getJobType();
+        }
+        String band = bandLabels[salaryBand(job)];
+        keys[Facet.SALARY.ordinal()] = band;
+        labels[Facet.SALARY.ordinal()] = band;
+        String active = job.isActive() ? "active" : "inactive";
+        keys[Facet.ACTIVE.ordinal()] = active;
+        labels[Facet.ACTIVE.ordinal()] = active;
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(job.getId());
+            Integer free = freeOrdinals.poll();
+            int ordinal = free != null ? free : ordinalLimit++;
+            ordinals.put(job.getId(), ordinal);
+            jobValues.put(job.getId(), keys);
+            for (Facet facet : Facet.values()) {
+                String key = keys[facet.ordinal()];
+                if (key != null) {
+                    String label = labels[facet.ordinal()];
+                    Value value = values.get(facet).computeIfAbsent(key, k -> new Value(label));
+                    int word = ordinal >>> 6;
+                    if (word >= value.bits.length) {
+                        value.bits = Arrays.copyOf(value.bits, Math.max(word + 1, value.bits.length * 2));
+                    }
+                    value.bits[word] |= 1L << ordinal;
+                    value.size++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(int jobId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            freeOrdinals.clear();
+            jobValues.clear();
+            for (Map<String, Value> facetValues : values.values()) {
+                facetValues.clear();
+            }
+            ordinalLimit = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the given jobs per facet value. Values without jobs in the set are left out;
+     * locations and job types are ordered by count, salary bands from low to high.
+     *
+     * @param jobIds the jobs of a result set; jobs not indexed are ignored
+     * @return the counts by label, per facet
+     */
+    public Map<Facet, Map<String, Integer>> count(int[] jobIds) {
+        Map<Facet, Map<String, Integer>> counts = new EnumMap<>(Facet.class);
+        lock.readLock().lock();
+        try {
+            long[] results = new long[(ordinalLimit + 63) >>> 6];
+            for (int jobId : jobIds) {
+                Integer ordinal = ordinals.get(jobId);
+                if (ordinal != null) {
+                    results[ordinal >>> 6] |= 1L << ordinal;
+                }
+            }
+            for (Facet facet : Facet.values()) {
+                List<Map.Entry<String, Integer>> found = new ArrayList<>();
+                for (Value value : values.get(facet).values()) {
+                    int count = intersectionSize(results, value.bits);
+                    if (count > 0) {
+                        found.add(new AbstractMap.SimpleEntry<>(value.label, count));
+                    }
+                }
+                if (facet == Facet.SALARY) {
+                    found.sort(Comparator.comparingInt(entry -> bandIndex(entry.getKey())));
+                } else {
+                    found.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()));
+                }
+                Map<String, Integer> facetCounts = new LinkedHashMap<>();
+                for (Map.Entry<String, Integer> entry : found) {
+                    facetCounts.put(entry.getKey(), entry.getValue());
+                }
+                counts.put(facet, facetCounts);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return counts;
+    }
+
+    /**
+     * Gets the number of indexed jobs.
+     *
+     * @return the number of jobs
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int intersectionSize(long[] a, long[] b) {
+        int count = 0;
+        for (int i = 0, n = Math.min(a.length, b.length); i < n; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+
+    /**
+     * The band of the job's advertised maximum salary, or its minimum if no maximum is given;
+     * band 0 is "Not stated".
+     */
+    private int salaryBand(Job job) {
+        BigDecimal salary = job.getSalaryMax() != null ? job.getSalaryMax() : job.getSalaryMin();
+        if (salary == null) {
+            return 0;
+        }
+        int band = 1;
+        while (band <= salaryBands.length && salary.compareTo(BigDecimal.valueOf(salaryBands[band - 1])) >= 0) {
+            band++;
+        }
+        return band;
+    }
+
+    private int bandIndex(String label) {
+        return Arrays.asList(bandLabels).indexOf(label);
+    }
+
+    private void removeLocked(int jobId) {
+        Integer ordinal = ordinals.remove(jobId);
+        if (ordinal == null) {
+            return;
+        }
+        String[] keys = jobValues.remove(jobId);
+        for (Facet facet : Facet.values()) {
+            String key = keys[facet.ordinal()];
+            if (key == null) {
+                continue;
+            }
+            Map<String, Value> facetValues = values.get(facet);
+            Value value = facetValues.get(key);
+            value.bits[ordinal >>> 6] &= ~(1L << ordinal);
+            if (--value.size == 0) {
+                facetValues.remove(key);
+            }
+        }
+        freeOrdinals.push(ordinal);
+    }
+
+    private static String[] bandLabels(long[] bands) {
+        NumberFormat format = NumberFormat.getIntegerInstance(Locale.ENGLISH);
+        String[] labels = new String[bands.length + 2];
+        labels[0] = NOT_STATED;
+        for (int band = 1; band < labels.length; band++) {
+            if (band == 1) {
+                labels[band] = "Under " + format.format(bands[0]);
+            } else if (band == labels.length - 1) {
+                labels[band] = format.format(bands[band - 2]) + "+";
+            } else {
+                labels[band] = format.format(bands[band - 2]) + " - " + format.format(bands[band - 1]);
+            }
+        }
+        return labels;
+    }
+
+    static long[] parseBands(String value) {
+        String[] parts = value.split(",");
+        long[] bands = new long[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            bands[i] = Long.parseLong(parts[i].trim());
+        }
+        Arrays.sort(bands);
+        return bands;
+    }
+}
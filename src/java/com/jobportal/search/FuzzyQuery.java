@@ -0,0 +1,63 @@
+package com.jobportal.search;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A job search whose title and location terms have been expanded to the spellings found in
+ * indexed jobs. A job matches if its title contains, for every title term, at least one of the
+ * term's spellings, likewise for the location, and its requirements contain the requirements
+ * text.
+ */
+public final class FuzzyQuery {
+
+    private final List<List<String>> titleTerms;
+    private final List<List<String>> locationTerms;
+    private final String requirements;
+    private final boolean complete;
+
+    public FuzzyQuery(List<List<String>> titleTerms, List<List<String>> locationTerms, String requirements,
+                      boolean complete) {
+        this.titleTerms = Collections.unmodifiableList(titleTerms);
+        this.locationTerms = Collections.unmodifiableList(locationTerms);
+        this.requirements = JobSearchCriteria.normalize(requirements);
+        this.complete = complete;
+    }
+
+    /**
+     * @return per title term, the spellings to accept
+     */
+    public List<List<String>> getTitleTerms() {
+        return titleTerms;
+    }
+
+    /**
+     * @return per location term, the spellings to accept
+     */
+    public List<List<String>> getLocationTerms() {
+        return locationTerms;
+    }
+
+    /**
+     * @return the normalized requirements text, matched as typed
+     */
+    public String getRequirements() {
+        return requirements;
+    }
+
+    /**
+     * Tells whether every term was fully expanded. False if the time budget ran out, in which
+     * case some terms only have the spellings found until then.
+     *
+     * @return true if the expansion is complete
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public String toString() {
+        return "FuzzyQuery{title=" + titleTerms + ", location=" + locationTerms
+                + ", requirements='" + requirements + "', complete=" + complete + '}';
+    }
+}
@@ -0,0 +1,373 @@
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+import com.jobportal.utils.ConfigManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Expands misspelled search terms to the words used in job titles and locations.
+ * <p>
+ * Every word of the titles and of the locations is kept with the number of jobs using it and
+ * is indexed by its character trigrams, padded with two boundary marks on each side. One edit
+ * changes at most three trigrams, so a word within k edits of a query term shares at least
+ * (trigrams - 3k) of them; only words passing that count, and whose length is within k, are
+ * checked with a Levenshtein distance computation bounded to k, which gives up as soon as a
+ * row of the table exceeds k. Short terms allow fewer edits: none up to 2 characters, one up
+ * to 5, two beyond.
+ * <p>
+ * Expansion is capped at {@value #MAX_TERMS} terms per field and {@value #MAX_SPELLINGS}
+ * spellings per term, so the SQL it produces stays small, and stops when the time budget is
+ * spent, keeping what it has found and the remaining terms as typed.
+ */
+public class FuzzyTermIndex implements JobIndex {
+
+    /** The job field a term is taken from. */
+    public enum Field {
+        TITLE, LOCATION
+    }
+
+    static final int MAX_TERMS = 5;
+    static final int MAX_SPELLINGS = 4;
+    private static final char PAD = '\u0001';
+    private static final int CHECK_INTERVAL = 1024;
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private static final FuzzyTermIndex INSTANCE = new FuzzyTermIndex(
+            TimeUnit.MILLISECONDS.toNanos(ConfigManager.getIntProperty("search.fuzzy.budgetMs", 20)));
+
+    private final long budgetNanos;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, List<List<String>>> jobTerms = new HashMap<>();
+    private final Vocabulary titles = new Vocabulary();
+    private final Vocabulary locations = new Vocabulary();
+
+    public FuzzyTermIndex(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Gets the shared index.
+     *
+     * @return the shared index
+     */
+    public static FuzzyTermIndex getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void index(Job job) {
+        List<String> titleTerms = new ArrayList<>(new LinkedHashSet<>(TextTokenizer.tokenize(job.getTitle())));
+        List<String> locationTerms = new ArrayList<>(new LinkedHashSet<>(TextTokenizer.tokenize(job.getLocation())));
+        lock.writeLock().lock();
+        try {
+            removeLocked(job.getId());
+            jobTerms.put(job.getId(), Arrays.asList(titleTerms, locationTerms));
+            titles.addAll(titleTerms, 1);
+            locations.addAll(locationTerms, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(int jobId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            jobTerms.clear();
+            titles.clear();
+            locations.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Expands the terms of a search within the time budget.
+     *
+     * @param title the title search text
+     * @param location the location search text
+     * @param requirements the requirements search text, kept as typed
+     * @return the expanded query
+     */
+    public FuzzyQuery expand(String title, String location, String requirements) {
+        long deadline = System.nanoTime() + budgetNanos;
+        boolean[] complete = {true};
+        lock.readLock().lock();
+        try {
+            List<List<String>> titleTerms = expandAll(titles, title, deadline, complete);
+            List<List<String>> locationTerms = expandAll(locations, location, deadline, complete);
+            return new FuzzyQuery(titleTerms, locationTerms, requirements, complete[0]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the known spellings of one term.
+     *
+     * @param field the field whose words are searched
+     * @param term the term, lower-case
+     * @return the closest words, nearest and most used first; the term itself if none is close
+     */
+    public List<String> spellings(Field field, String term) {
+        lock.readLock().lock();
+        try {
+            return (field == Field.TITLE ? titles : locations)
+                    .spellings(term, System.nanoTime() + budgetNanos, new boolean[] {true});
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<List<String>> expandAll(Vocabulary vocabulary, String text, long deadline, boolean[] complete) {
+        List<List<String>> expanded = new ArrayList<>();
+        for (String term : new LinkedHashSet<>(TextTokenizer.tokenize(text))) {
+            if (expanded.size() == MAX_TERMS) {
+                break;
+            }
+            if (System.nanoTime() > deadline) {
+                complete[0] = false;
+                expanded.add(Collections.singletonList(term));
+            } else {
+                expanded.add(vocabulary.spellings(term, deadline, complete));
+            }
+        }
+        return expanded;
+    }
+
+    private void removeLocked(int jobId) {
+        List<List<String>> previous = jobTerms.remove(jobId);
+        if (previous != null) {
+            titles.addAll(previous.get(0), -1);
+            locations.addAll(previous.get(1), -1);
+        }
+    }
+
+    static int maxEdits(int length) {
+        return length <= 2 ? 0 : length <= 5 ? 1 : 2;
+    }
+
+    /**
+     * Levenshtein distance of two strings if it is at most {@code max}, otherwise max + 1.
+     * Only the diagonal band of width 2 * max + 1 is computed.
+     */
+    static int boundedDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = Math.min(j, max + 1);
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            Arrays.fill(current, max + 1);
+            int from = Math.max(1, i - max);
+            int to = Math.min(b.length(), i + max);
+            current[0] = Math.min(i, max + 1);
+            int rowMin = from == 1 ? current[0] : max + 1;
+            for (int j = from; j <= to; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(previous[j - 1] + cost, Math.min(previous[j], current[j - 1]) + 1);
+                current[j] = Math.min(value, max + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Distinct trigrams of the padded term, three chars packed into a long.
+     */
+    static long[] trigrams(String term) {
+        String padded = "" + PAD + PAD + term + PAD + PAD;
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+        }
+        long[] result = new long[grams.size()];
+        int n = 0;
+        for (long gram : grams) {
+            result[n++] = gram;
+        }
+        return result;
+    }
+
+    /** The IDs of the words containing one trigram. */
+    private static final class Postings {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+
+    /**
+     * Per-thread counters of the trigrams each word shares with the term being expanded, reused
+     * across calls. Only the touched entries are reset afterwards.
+     */
+    private static final class Scratch {
+        int[] shared = new int[64];
+        int[] touched = new int[64];
+        int touchedSize;
+
+        void ensureWords(int words) {
+            if (shared.length < words) {
+                shared = new int[Math.max(words, shared.length * 2)];
+            }
+        }
+
+        void count(int id) {
+            if (shared[id]++ == 0) {
+                if (touchedSize == touched.length) {
+                    touched = Arrays.copyOf(touched, touchedSize * 2);
+                }
+                touched[touchedSize++] = id;
+            }
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedSize; i++) {
+                shared[touched[i]] = 0;
+            }
+            touchedSize = 0;
+        }
+    }
+
+    /**
+     * The words of one field. Word IDs are never reused; words no job uses any more stay in the
+     * trigram postings with a count of zero until the next full reload.
+     */
+    private static final class Vocabulary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> words = new ArrayList<>();
+        private int[] counts = new int[64];
+        private final Map<Long, Postings> postings = new HashMap<>();
+
+        void addAll(List<String> terms, int delta) {
+            for (String term : terms) {
+                Integer id = ids.get(term);
+                if (id == null) {
+                    id = words.size();
+                    ids.put(term, id);
+                    words.add(term);
+                    if (id == counts.length) {
+                        counts = Arrays.copyOf(counts, id * 2);
+                    }
+                    for (long gram : trigrams(term)) {
+                        postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+                    }
+                }
+                counts[id] += delta;
+            }
+        }
+
+        void clear() {
+            ids.clear();
+            words.clear();
+            counts = new int[64];
+            postings.clear();
+        }
+
+        List<String> spellings(String term, long deadline, boolean[] complete) {
+            int maxEdits = maxEdits(term.length());
+            if (maxEdits == 0) {
+                return Collections.singletonList(term);
+            }
+            long[] grams = trigrams(term);
+            Scratch scratch = SCRATCH.get();
+            scratch.ensureWords(words.size());
+            List<int[]> matches = new ArrayList<>();
+            try {
+                if (!countShared(grams, scratch, deadline)) {
+                    complete[0] = false;
+                    return Collections.singletonList(term);
+                }
+                int required = grams.length - 3 * maxEdits;
+                int checked = 0;
+                for (int i = 0; i < scratch.touchedSize; i++) {
+                    int id = scratch.touched[i];
+                    String word = words.get(id);
+                    if (scratch.shared[id] < required || counts[id] <= 0
+                            || Math.abs(word.length() - term.length()) > maxEdits) {
+                        continue;
+                    }
+                    if ((++checked & 63) == 0 && System.nanoTime() > deadline) {
+                        complete[0] = false;
+                        break;
+                    }
+                    int distance = boundedDistance(term, word, maxEdits);
+                    if (distance <= maxEdits) {
+                        matches.add(new int[] {id, distance});
+                    }
+                }
+            } finally {
+                scratch.reset();
+            }
+            if (matches.isEmpty()) {
+                return Collections.singletonList(term);
+            }
+            matches.sort((a, b) -> a[1] != b[1] ? Integer.compare(a[1], b[1])
+                    : counts[a[0]] != counts[b[0]] ? Integer.compare(counts[b[0]], counts[a[0]])
+                    : words.get(a[0]).compareTo(words.get(b[0])));
+            List<String> spellings = new ArrayList<>(Math.min(MAX_SPELLINGS, matches.size()));
+            for (int i = 0; i < matches.size() && spellings.size() < MAX_SPELLINGS; i++) {
+                spellings.add(words.get(matches.get(i)[0]));
+            }
+            return spellings;
+        }
+
+        /**
+         * Counts the trigrams each word shares with the term into the scratch counters.
+         *
+         * @return false if the deadline passed before all postings were merged
+         */
+        private boolean countShared(long[] grams, Scratch scratch, long deadline) {
+            int merged = 0;
+            for (long gram : grams) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    continue;
+                }
+                for (int i = 0; i < list.size; i++) {
+                    if (++merged % CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                        return false;
+                    }
+                    scratch.count(list.ids[i]);
+                }
+            }
+            return System.nanoTime() <= deadline;
+        }
+    }
+}
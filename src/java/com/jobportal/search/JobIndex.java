@@ -0,0 +1,30 @@
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+
+/**
+ * An in-memory index over jobs, kept up to date by {@link JobIndexes}.
+ * Calls are made from one updater thread at a time; implementations must still allow
+ * concurrent reads from request threads.
+ */
+public interface JobIndex {
+
+    /**
+     * Adds a job, replacing an earlier version with the same ID.
+     *
+     * @param job the job
+     */
+    void index(Job job);
+
+    /**
+     * Removes a job if present.
+     *
+     * @param jobId the job ID
+     */
+    void remove(int jobId);
+
+    /**
+     * Removes all jobs, before a full reload.
+     */
+    void clear();
+}
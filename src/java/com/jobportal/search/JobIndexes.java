@@ -0,0 +1,272 @@
+package com.jobportal.search;
+
+import com.jobportal.dao.JobDaoImpl;
+import com.jobportal.models.Job;
+import com.jobportal.utils.ConfigManager;
+import com.jobportal.utils.DBConnectionPool;
+import com.jobportal.utils.DBConnectionPool.Workload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the in-memory job indexes in step with the jobs table.
+ * <p>
+ * At startup all jobs are streamed from the database once and fed to the in-memory indexes.
+ * After that the job DAO reports each saved, updated and deleted job here. All changes,
+ * including the initial load, are applied on a single updater thread, so a change made while
+ * the load is running is applied after it and always wins.
+ * <p>
+ * Only a {@link PersistentJobIndex}, currently just the BM25 {@link JobSearchIndex}, warm-starts:
+ * it is opened from disk, gets only the jobs created or updated since its checkpoint, and loses
+ * the jobs deleted meanwhile, found from the job IDs alone. The other indexes are not persisted
+ * and still read every job at each start. Persisted indexes are committed every
+ * {@code search.index.commitSeconds} and at shutdown, on the updater thread, with a
+ * checkpoint {@code search.index.replayMarginSeconds} in the past. The margin covers changes
+ * still on their way from the DAO and clock differences with the database; replaying a job
+ * twice is harmless.
+ */
+public class JobIndexes {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobIndexes.class);
+    private static final int PAGE_SIZE = 1000;
+    private static final int COMMIT_SECONDS = ConfigManager.getIntProperty("search.index.commitSeconds", 60);
+    private static final long REPLAY_MARGIN_MS =
+            TimeUnit.SECONDS.toMillis(ConfigManager.getIntProperty("search.index.replayMarginSeconds", 300));
+    private static final int SHUTDOWN_SECONDS = 10;
+    private static final JobIndexes INSTANCE = new JobIndexes(Arrays.<JobIndex>asList(
+            SimilarJobIndex.getInstance(), NearDuplicateIndex.getInstance(), SuggestionIndex.getInstance(),
+            FacetIndex.getInstance(), FuzzyTermIndex.getInstance(), JobSearchIndex.getInstance()));
+
+    private final List<JobIndex> indexes;
+    private final ScheduledExecutorService updater;
+    private volatile boolean loaded;
+
+    public JobIndexes(List<JobIndex> indexes) {
+        this.indexes = Collections.unmodifiableList(new ArrayList<>(indexes));
+        this.updater = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-index-updater");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the shared set of job indexes.
+     *
+     * @return the shared instance
+     */
+    public static JobIndexes getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts loading the indexes in the background: persisted indexes from disk plus the
+     * jobs changed since, the others with all jobs.
+     */
+    public void start() {
+        update("initial load", this::openAndLoad);
+        if (COMMIT_SECONDS > 0) {
+            updater.scheduleWithFixedDelay(() -> run("commit", this::commit),
+                    COMMIT_SECONDS, COMMIT_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Streams all jobs into the indexes again in the background, replacing what they hold,
+     * after jobs were changed in bulk without passing through the DAO one by one.
+     */
+    public void reindexAll() {
+        update("reindex", this::loadAll);
+    }
+
+    /**
+     * Checks whether the initial load has completed.
+     *
+     * @return true once every index holds all jobs
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Indexes a saved or updated job. Returns immediately.
+     *
+     * @param job the job, with its ID
+     */
+    public void jobSaved(Job job) {
+        update("job " + job.getId(), () -> {
+            for (JobIndex index : indexes) {
+                index.index(job);
+            }
+        });
+    }
+
+    /**
+     * Removes a deleted job from the indexes. Returns immediately.
+     *
+     * @param jobId the job ID
+     */
+    public void jobDeleted(int jobId) {
+        update("job " + jobId, () -> {
+            for (JobIndex index : indexes) {
+                index.remove(jobId);
+            }
+        });
+    }
+
+    /**
+     * Applies the changes already queued, commits the persisted indexes and stops the updater.
+     * Should be called during application shutdown.
+     */
+    public void shutdown() {
+        update("final commit", this::commit);
+        updater.shutdown();
+        try {
+            if (!updater.awaitTermination(SHUTDOWN_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Job index updates still running after {} s, abandoned", SHUTDOWN_SECONDS);
+                updater.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            updater.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void update(String subject, Runnable change) {
+        try {
+            updater.execute(() -> run(subject, change));
+        } catch (RejectedExecutionException e) {
+            logger.debug("Job indexes shut down, update for {} skipped", subject);
+        }
+    }
+
+    private static void run(String subject, Runnable change) {
+        try {
+            change.run();
+        } catch (RuntimeException e) {
+            logger.error("Error updating job indexes for {}", subject, e);
+        }
+    }
+
+    private void openAndLoad() {
+        long start = System.nanoTime();
+        List<JobIndex> fullLoad = new ArrayList<>();
+        List<PersistentJobIndex> opened = new ArrayList<>();
+        long since = Long.MAX_VALUE;
+        for (JobIndex index : indexes) {
+            long checkpoint = index instanceof PersistentJobIndex ? open((PersistentJobIndex) index) : -1;
+            if (checkpoint >= 0) {
+                opened.add((PersistentJobIndex) index);
+                since = Math.min(since, checkpoint);
+            } else {
+                index.clear();
+                fullLoad.add(index);
+            }
+        }
+
+        int[] count = {0};
+        try (Connection connection = DBConnectionPool.getConnection(Workload.BATCH)) {
+            JobDaoImpl jobDao = new JobDaoImpl(connection);
+            if (!fullLoad.isEmpty()) {
+                stream(jobDao, fullLoad, count);
+            }
+            if (!opened.isEmpty()) {
+                BitSet jobIds = new BitSet();
+                for (int id : jobDao.getAllJobIds()) {
+                    jobIds.set(id);
+                }
+                int removed = 0;
+                for (PersistentJobIndex index : opened) {
+                    removed += index.retainAll(jobIds);
+                }
+                int replayed = jobDao.streamJobsModifiedSince(new Timestamp(since), job -> {
+                    for (JobIndex index : opened) {
+                        index.index(job);
+                    }
+                });
+                logger.info("Persisted job indexes caught up: {} jobs changed since {}, {} deleted",
+                        replayed, new Timestamp(since), removed);
+            }
+            loaded = true;
+            logger.info("Job indexes loaded with {} jobs in {} ms", count[0],
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (SQLException | IOException e) {
+            logger.error("Loading job indexes failed after {} jobs", count[0], e);
+            return;
+        }
+        commit();
+    }
+
+    private static long open(PersistentJobIndex index) {
+        try {
+            return index.open();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Persisted job index could not be opened, rebuilding it", e);
+            return -1;
+        }
+    }
+
+    private void loadAll() {
+        long start = System.nanoTime();
+        int[] count = {0};
+        try (Connection connection = DBConnectionPool.getConnection(Workload.BATCH)) {
+            stream(new JobDaoImpl(connection), indexes, count);
+            loaded = true;
+            logger.info("Job indexes loaded with {} jobs in {} ms", count[0],
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (SQLException | IOException e) {
+            logger.error("Loading job indexes failed after {} jobs", count[0], e);
+        }
+    }
+
+    /**
+     * Streams all jobs into some indexes, counting them.
+     */
+    private static void stream(JobDaoImpl jobDao, List<? extends JobIndex> targets, int[] count)
+            throws SQLException, IOException {
+        int[] lastId = {0};
+        int page;
+        do {
+            page = jobDao.streamJobs(lastId[0], PAGE_SIZE, job -> {
+                for (JobIndex index : targets) {
+                    index.index(job);
+                }
+                lastId[0] = job.getId();
+            });
+            count[0] += page;
+        } while (page == PAGE_SIZE);
+    }
+
+    /**
+     * Commits the persisted indexes once loaded; a partial load is never given a checkpoint.
+     */
+    private void commit() {
+        if (!loaded) {
+            return;
+        }
+        long checkpoint = System.currentTimeMillis() - REPLAY_MARGIN_MS;
+        for (JobIndex index : indexes) {
+            if (index instanceof PersistentJobIndex) {
+                try {
+                    ((PersistentJobIndex) index).commit(checkpoint);
+                } catch (IOException e) {
+                    logger.error("Committing a persisted job index failed", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Normalized job search criteria (trimmed, case-folded, null-safe).
+ * Two searches that differ only in case or surrounding whitespace produce equal criteria,
+ * which makes this class usable as a cache key.
+ */
+public final class JobSearchCriteria {
+
+    private final String title;
+    private final String location;
+    private final String requirements;
+    // Accent-folded, for matching as the database's accent-insensitive collation does
+    private final String foldedTitle;
+    private final String foldedLocation;
+    private final String foldedRequirements;
+
+    public JobSearchCriteria(String title, String location, String requirements) {
+        this.title = normalize(title);
+        this.location = normalize(location);
+        this.requirements = normalize(requirements);
+        this.foldedTitle = TokenFilters.foldDiacritics(this.title);
+        this.foldedLocation = TokenFilters.foldDiacritics(this.location);
+        this.foldedRequirements = TokenFilters.foldDiacritics(this.requirements);
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Builds a {@code LIKE} pattern that finds a term anywhere in a column. The term's
+     * {@code %}, {@code _} and backslash are escaped, so they match literally.
+     *
+     * @param term the term, may be null
+     * @return the pattern
+     */
+    public static String likePattern(String term) {
+        StringBuilder pattern = new StringBuilder("%");
+        if (term != null) {
+            for (int i = 0; i < term.length(); i++) {
+                char c = term.charAt(i);
+                if (c == '%' || c == '_' || c == '\\') {
+                    pattern.append('\\');
+                }
+                pattern.append(c);
+            }
+        }
+        return pattern.append('%').toString();
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getRequirements() {
+        return requirements;
+    }
+
+    /**
+     * Checks whether a job would be returned by a {@code LIKE %term%} search with these criteria.
+     * Case and Latin accents are ignored, as in the database collation.
+     *
+     * @param job the job to test
+     * @return true if every non-empty term is contained in the corresponding job field
+     */
+    public boolean matches(Job job) {
+        return contains(job.getTitle(), foldedTitle)
+                && contains(job.getLocation(), foldedLocation)
+                && contains(job.getRequirements(), foldedRequirements);
+    }
+
+    private static boolean contains(String field, String term) {
+        if (term.isEmpty()) {
+            return true;
+        }
+        return field != null && TokenFilters.foldDiacritics(field.toLowerCase(Locale.ROOT)).contains(term);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        JobSearchCriteria that = (JobSearchCriteria) o;
+        return title.equals(that.title) && location.equals(that.location) && requirements.equals(that.requirements);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(title, location, requirements);
+    }
+
+    @Override
+    public String toString() {
+        return "JobSearchCriteria{" +
+                "title='" + title + '\'' +
+                ", location='" + location + '\'' +
+                ", requirements='" + requirements + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,1247 @@
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+import com.jobportal.utils.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Ranks jobs for free-text searches with BM25F.
+ * <p>
+ * Every term of a job's title, requirements, description and location, as produced by the
+ * shared {@link TextAnalyzer}, has a postings list of (job ordinal, term frequency per field),
+ * the four frequencies packed into one int. Each job's field lengths are kept for the length
+ * norms. A job's score sums, over the query terms it contains, the term's inverse document
+ * frequency times its saturated frequency, where the frequency is the boosted sum of the
+ * per-field frequencies, each normalized by the field's length against its average length.
+ * Title matches count three times, requirements twice, description once; the location is
+ * not scored, it filters. The best k of n matching jobs are kept in a heap, so ranking costs
+ * O(n log k).
+ * <p>
+ * The index is a list of segments searched together with shared term statistics. Changes go
+ * to a segment in memory. With a directory configured, a commit writes that segment to an
+ * immutable {@link SegmentFile}, which is memory-mapped from then on, and records the segment
+ * list, each segment's removed jobs and a checkpoint in a new manifest file. After a restart
+ * {@link #open} maps the segments of the last manifest instead of analyzing every job again,
+ * so only jobs changed since the checkpoint need replaying. A background thread merges the
+ * smallest segments once there are {@code mergeFactor} of them, and rewrites a segment once
+ * most of its jobs are removed.
+ * <p>
+ * Removing a job only marks it dead. In memory its postings are purged, and the live
+ * ordinals renumbered, once a quarter of the ordinals are dead; on disk a merge drops them.
+ * Until then term statistics still count the removed jobs, which shifts scores very little.
+ */
+public class JobSearchIndex implements PersistentJobIndex {
+
+    /** The indexed job fields, with their score boosts. */
+    public enum Field {
+        TITLE(3f), REQUIREMENTS(2f), DESCRIPTION(1f), LOCATION(0f);
+
+        private final float boost;
+
+        Field(float boost) {
+            this.boost = boost;
+        }
+
+        public float getBoost() {
+            return boost;
+        }
+    }
+
+    static final float K1 = 1.2f;
+    static final float B = 0.75f;
+    // Distinct query terms scored; the rest are ignored
+    static final int MAX_QUERY_TERMS = 32;
+    private static final Field[] FIELDS = Field.values();
+    private static final int MAX_FREQUENCY = 0xFF;
+    private static final int MIN_PURGE = 1024;
+    private static final int MANIFEST_MAGIC = 0x4A534D31;
+    private static final String MANIFEST_PREFIX = "manifest_";
+    private static final String SEGMENT_PREFIX = "segment_";
+    private static final String SEGMENT_SUFFIX = ".idx";
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final int SHUTDOWN_SECONDS = 10;
+
+    private static final Logger logger = LoggerFactory.getLogger(JobSearchIndex.class);
+    private static final JobSearchIndex INSTANCE = fromConfig();
+
+    private final TextAnalyzer analyzer;
+    private final Path directory;
+    private final int maxBufferedJobs;
+    private final int mergeFactor;
+    private final ExecutorService merger;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Held while segment files are renamed into place and the manifest is written
+    private final Object commitLock = new Object();
+    private final Object mergeLock = new Object();
+    private final AtomicInteger nextSegment = new AtomicInteger();
+
+    private MemorySegment buffer = new MemorySegment();
+    private final List<StoredSegment> segments = new ArrayList<>();
+    private final long[] totalLengths = new long[FIELDS.length];
+    private int liveJobs;
+    private int flushThreshold;
+    // Guarded by commitLock
+    private long checkpoint = -1;
+    private long generation;
+
+    /**
+     * Creates an index kept in memory only.
+     *
+     * @param analyzer the analyzer for jobs and queries
+     */
+    public JobSearchIndex(TextAnalyzer analyzer) {
+        this(analyzer, null, 0, 0);
+    }
+
+    /**
+     * Creates an index persisted in a directory.
+     *
+     * @param analyzer the analyzer for jobs and queries
+     * @param directory the directory of the segment and manifest files; null to keep the index
+     *                  in memory only
+     * @param maxBufferedJobs the number of changed jobs held in memory before they are written
+     *                        to a segment between commits
+     * @param mergeFactor the number of segments that are merged into one
+     */
+    public JobSearchIndex(TextAnalyzer analyzer, Path directory, int maxBufferedJobs, int mergeFactor) {
+        this.analyzer = analyzer;
+        this.directory = directory;
+        this.maxBufferedJobs = Math.max(1, maxBufferedJobs);
+        this.mergeFactor = Math.max(2, mergeFactor);
+        this.flushThreshold = this.maxBufferedJobs;
+        this.merger = directory == null ? null : Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-index-merger");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the shared index.
+     *
+     * @return the shared index
+     */
+    public static JobSearchIndex getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void index(Job job) {
+        if (job.getDuplicateOf() != 0) {
+            // Duplicates are hidden from search, as in the SQL search
+            remove(job.getId());
+            return;
+        }
+        Map<String, int[]> frequencies = new HashMap<>();
+        int[] fieldLengths = new int[FIELDS.length];
+        analyzeField(job.getTitle(), Field.TITLE, frequencies, fieldLengths);
+        analyzeField(job.getRequirements(), Field.REQUIREMENTS, frequencies, fieldLengths);
+        analyzeField(job.getDescription(), Field.DESCRIPTION, frequencies, fieldLengths);
+        analyzeField(job.getLocation(), Field.LOCATION, frequencies, fieldLengths);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(job.getId());
+            buffer.add(job.getId(), fieldLengths, frequencies);
+            for (int f = 0; f < FIELDS.length; f++) {
+                totalLengths[f] += fieldLengths[f];
+            }
+            liveJobs++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (directory != null && buffer.size() >= flushThreshold) {
+            try {
+                synchronized (commitLock) {
+                    flush();
+                    writeManifest();
+                }
+                flushThreshold = maxBufferedJobs;
+                scheduleMerge();
+            } catch (IOException e) {
+                flushThreshold = buffer.size() + maxBufferedJobs;
+                logger.error("Writing a search index segment to {} failed; changes stay in memory", directory, e);
+            }
+        }
+    }
+
+    @Override
+    public void remove(int jobId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (commitLock) {
+            lock.writeLock().lock();
+            try {
+                buffer = new MemorySegment();
+                segments.clear();
+                Arrays.fill(totalLengths, 0);
+                liveJobs = 0;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            // Until the next commit the files on disk no longer match a checkpoint
+            checkpoint = -1;
+        }
+    }
+
+    /**
+     * Maps the segments of the last manifest in the directory, replacing what the index holds.
+     * An index written with other analyzer filters, or whose initial load never completed, is
+     * not used.
+     *
+     * @return the checkpoint of the last commit; -1 if there is none or no directory is set
+     * @throws IOException if the manifest or a segment cannot be read
+     */
+    @Override
+    public long open() throws IOException {
+        if (directory == null) {
+            return -1;
+        }
+        synchronized (commitLock) {
+            Files.createDirectories(directory);
+            long latest = -1;
+            int maxSegment = -1;
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(TMP_SUFFIX)) {
+                        // Left by a write that did not complete
+                        Files.deleteIfExists(file);
+                    } else if (name.startsWith(MANIFEST_PREFIX)) {
+                        latest = Math.max(latest, number(name, MANIFEST_PREFIX, ""));
+                    } else if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                        maxSegment = (int) Math.max(maxSegment, number(name, SEGMENT_PREFIX, SEGMENT_SUFFIX));
+                    }
+                }
+            }
+            nextSegment.set(maxSegment + 1);
+            generation = Math.max(latest, 0);
+            if (latest < 0) {
+                return -1;
+            }
+            List<StoredSegment> stored = new ArrayList<>();
+            long persisted = readManifest(directory.resolve(MANIFEST_PREFIX + latest), stored);
+            if (persisted < 0) {
+                return -1;
+            }
+
+            long[] lengths = new long[FIELDS.length];
+            int live = 0;
+            for (StoredSegment segment : stored) {
+                for (int ordinal = 0; ordinal < segment.maxOrdinal(); ordinal++) {
+                    if (!segment.isDeleted(ordinal)) {
+                        for (int f = 0; f < FIELDS.length; f++) {
+                            lengths[f] += segment.length(f, ordinal);
+                        }
+                        live++;
+                    }
+                }
+            }
+            lock.writeLock().lock();
+            try {
+                buffer = new MemorySegment();
+                segments.clear();
+                segments.addAll(stored);
+                System.arraycopy(lengths, 0, totalLengths, 0, lengths.length);
+                liveJobs = live;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            checkpoint = persisted;
+            logger.info("Search index opened from {}: {} jobs in {} segments, checkpoint {}",
+                    directory, live, stored.size(), Instant.ofEpochMilli(persisted));
+            return persisted;
+        }
+    }
+
+    /**
+     * Writes the jobs changed since the last commit to a new segment and records it in a new
+     * manifest with the checkpoint. Does nothing without a directory.
+     *
+     * @param checkpoint every job change made before this time, in epoch milliseconds, has
+     *                   been applied to the index
+     * @throws IOException if writing fails; the changes stay in memory
+     */
+    @Override
+    public void commit(long checkpoint) throws IOException {
+        if (directory == null) {
+            return;
+        }
+        synchronized (commitLock) {
+            flush();
+            this.checkpoint = checkpoint;
+            writeManifest();
+        }
+        scheduleMerge();
+    }
+
+    @Override
+    public int retainAll(BitSet jobIds) {
+        lock.writeLock().lock();
+        try {
+            List<Integer> missing = new ArrayList<>();
+            for (Segment part : parts()) {
+                for (int ordinal = 0; ordinal < part.maxOrdinal(); ordinal++) {
+                    int jobId = part.jobId(ordinal);
+                    if (jobId != 0 && !jobIds.get(jobId)) {
+                        missing.add(jobId);
+                    }
+                }
+            }
+            for (int jobId : missing) {
+                removeLocked(jobId);
+            }
+            return missing.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stops background merges and waits for them to end. A merge in progress is abandoned;
+     * its file is deleted on the next open. Should be called during application shutdown,
+     * after the last commit.
+     */
+    public void shutdown() {
+        if (merger == null) {
+            return;
+        }
+        merger.shutdownNow();
+        try {
+            if (!merger.awaitTermination(SHUTDOWN_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Search index merge still running after {} s", SHUTDOWN_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Finds the jobs best matching a search. The words of the title and requirements criteria
+     * are ranked against all scored fields, and a job matches if it contains any of them; the
+     * location criterion's words must all occur in the job's location.
+     *
+     * @param criteria the search
+     * @param limit the maximum number of jobs to return
+     * @return the best matches, best first
+     */
+    public RankedResults search(JobSearchCriteria criteria, int limit) {
+        Set<String> terms = new LinkedHashSet<>(analyzer.terms(criteria.getTitle()));
+        terms.addAll(analyzer.terms(criteria.getRequirements()));
+        Set<String> locationTerms = new LinkedHashSet<>(analyzer.terms(criteria.getLocation()));
+        if (terms.isEmpty()) {
+            return RankedResults.EMPTY;
+        }
+        List<String> scoredTerms = new ArrayList<>(terms).subList(0, Math.min(terms.size(), MAX_QUERY_TERMS));
+        lock.readLock().lock();
+        try {
+            if (liveJobs == 0) {
+                return RankedResults.EMPTY;
+            }
+            List<Segment> parts = parts();
+            int documents = 0;
+            for (Segment part : parts) {
+                documents += part.maxOrdinal();
+            }
+            float[] averages = new float[FIELDS.length];
+            for (Field field : FIELDS) {
+                averages[field.ordinal()] = Math.max(1f, (float) totalLengths[field.ordinal()] / liveJobs);
+            }
+            PostingsList[][] lists = postings(scoredTerms, parts);
+            PostingsList[][] locationLists = postings(new ArrayList<>(locationTerms), parts);
+            float[] idfs = new float[scoredTerms.size()];
+            for (int t = 0; t < idfs.length; t++) {
+                int documentFrequency = 0;
+                for (PostingsList list : lists[t]) {
+                    documentFrequency += list != null ? list.size() : 0;
+                }
+                idfs[t] = idf(documentFrequency, documents);
+            }
+
+            RankedResults.Collector top = new RankedResults.Collector(limit);
+            for (int p = 0; p < parts.size(); p++) {
+                score(parts.get(p), p, lists, idfs, locationLists, averages, top);
+            }
+            return top.toResults();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of indexed jobs.
+     *
+     * @return the number of jobs
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveJobs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of segment files the index is made of, besides the jobs in memory.
+     *
+     * @return the number of stored segments
+     */
+    int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inverse document frequency, never negative even for terms in most jobs.
+     */
+    static float idf(int documentFrequency, int documents) {
+        return (float) Math.log(1 + (documents - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    /**
+     * Scores the jobs of one segment and offers them to the collector.
+     */
+    private static void score(Segment part, int p, PostingsList[][] lists, float[] idfs,
+                              PostingsList[][] locationLists, float[] averages, RankedResults.Collector top) {
+        long[] allowed = null;
+        for (PostingsList[] locationList : locationLists) {
+            allowed = intersect(allowed, locationBits(locationList[p], part.maxOrdinal()));
+        }
+        float[] scores = new float[part.maxOrdinal()];
+        int[] matched = new int[64];
+        int matches = 0;
+        for (int t = 0; t < lists.length; t++) {
+            PostingsList list = lists[t][p];
+            if (list == null) {
+                continue;
+            }
+            for (int i = 0; i < list.size(); i++) {
+                int ordinal = list.ordinal(i);
+                if (part.jobId(ordinal) == 0 || (allowed != null && (allowed[ordinal >>> 6] & (1L << ordinal)) == 0)) {
+                    continue;
+                }
+                float frequency = weightedFrequency(part, list.frequencies(i), ordinal, averages);
+                if (frequency == 0) {
+                    continue;
+                }
+                if (scores[ordinal] == 0) {
+                    if (matches == matched.length) {
+                        matched = Arrays.copyOf(matched, matches * 2);
+                    }
+                    matched[matches++] = ordinal;
+                }
+                scores[ordinal] += idfs[t] * frequency / (K1 + frequency);
+            }
+        }
+        for (int i = 0; i < matches; i++) {
+            top.offer(part.jobId(matched[i]), scores[matched[i]]);
+        }
+    }
+
+    /**
+     * The boosted sum of a job's frequencies of one term over the scored fields, each divided
+     * by the field's length norm.
+     */
+    private static float weightedFrequency(Segment part, int packed, int ordinal, float[] averages) {
+        float frequency = 0;
+        for (int f = 0; f < FIELDS.length; f++) {
+            int count = (packed >>> (8 * f)) & MAX_FREQUENCY;
+            if (count > 0 && FIELDS[f].boost > 0) {
+                float norm = 1 - B + B * part.length(f, ordinal) / averages[f];
+                frequency += FIELDS[f].boost * count / norm;
+            }
+        }
+        return frequency;
+    }
+
+    private static PostingsList[][] postings(List<String> terms, List<Segment> parts) {
+        PostingsList[][] lists = new PostingsList[terms.size()][parts.size()];
+        for (int t = 0; t < lists.length; t++) {
+            byte[] utf8 = terms.get(t).getBytes(StandardCharsets.UTF_8);
+            for (int p = 0; p < parts.size(); p++) {
+                lists[t][p] = parts.get(p).postings(terms.get(t), utf8);
+            }
+        }
+        return lists;
+    }
+
+    private static long[] locationBits(PostingsList list, int ordinals) {
+        long[] bits = new long[(ordinals + 63) >>> 6];
+        if (list != null) {
+            int shift = 8 * Field.LOCATION.ordinal();
+            for (int i = 0; i < list.size(); i++) {
+                if (((list.frequencies(i) >>> shift) & MAX_FREQUENCY) != 0) {
+                    bits[list.ordinal(i) >>> 6] |= 1L << list.ordinal(i);
+                }
+            }
+        }
+        return bits;
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        if (a == null) {
+            return b;
+        }
+        for (int i = 0; i < a.length; i++) {
+            a[i] &= b[i];
+        }
+        return a;
+    }
+
+    private void analyzeField(String text, Field field, Map<String, int[]> frequencies, int[] fieldLengths) {
+        int shift = 8 * field.ordinal();
+        analyzer.analyze(text, (term, start, end) -> {
+            fieldLengths[field.ordinal()]++;
+            int[] packed = frequencies.computeIfAbsent(term, t -> new int[1]);
+            if (((packed[0] >>> shift) & MAX_FREQUENCY) < MAX_FREQUENCY) {
+                packed[0] += 1 << shift;
+            }
+        });
+    }
+
+    /** The segment in memory first, then the stored ones. Called with the lock held. */
+    private List<Segment> parts() {
+        List<Segment> parts = new ArrayList<>(segments.size() + 1);
+        parts.add(buffer);
+        parts.addAll(segments);
+        return parts;
+    }
+
+    private void removeLocked(int jobId) {
+        // A job is live in at most one segment
+        int ordinal = buffer.ordinal(jobId);
+        if (ordinal >= 0) {
+            subtractLengths(buffer, ordinal);
+            buffer.remove(ordinal);
+            return;
+        }
+        for (StoredSegment segment : segments) {
+            ordinal = segment.file.ordinal(jobId);
+            if (ordinal >= 0 && !segment.isDeleted(ordinal)) {
+                subtractLengths(segment, ordinal);
+                segment.delete(ordinal);
+                return;
+            }
+        }
+    }
+
+    private void subtractLengths(Segment part, int ordinal) {
+        for (int f = 0; f < FIELDS.length; f++) {
+            totalLengths[f] -= part.length(f, ordinal);
+        }
+        liveJobs--;
+    }
+
+    /**
+     * Writes the segment in memory to a file and swaps in the mapped file. Called on the
+     * updater thread, the only one that changes the segment in memory, with the commit lock.
+     */
+    private void flush() throws IOException {
+        if (buffer.size() == 0) {
+            return;
+        }
+        Path path = newSegmentPath();
+        Path tmp = tmpPath(path);
+        try {
+            buffer.write(tmp);
+            Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        StoredSegment stored = new StoredSegment(SegmentFile.open(path), null);
+        lock.writeLock().lock();
+        try {
+            segments.add(stored);
+            buffer = new MemorySegment();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void scheduleMerge() {
+        try {
+            merger.execute(() -> {
+                try {
+                    while (!merger.isShutdown() && mergeOnce()) {
+                        // Merged segments may themselves be due for a merge
+                    }
+                } catch (IOException | RuntimeException e) {
+                    if (merger.isShutdown() || Thread.currentThread().isInterrupted()
+                            || e instanceof ClosedByInterruptException) {
+                        // shutdown() interrupted the merge, closing its channels; nothing is lost
+                        logger.debug("Search index merge in {} abandoned at shutdown: {}", directory, e.toString());
+                    } else {
+                        logger.error("Merging search index segments in {} failed", directory, e);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Search index merger shut down, merge skipped");
+        }
+    }
+
+    /**
+     * Runs one merge if the merge policy selects one.
+     *
+     * @return true if segments were merged
+     * @throws IOException if the merged segment cannot be written
+     */
+    boolean mergeOnce() throws IOException {
+        synchronized (mergeLock) {
+            List<StoredSegment> sources;
+            List<long[]> deletedAtStart = new ArrayList<>();
+            lock.readLock().lock();
+            try {
+                sources = selectMerge();
+                if (sources == null) {
+                    return false;
+                }
+                for (StoredSegment source : sources) {
+                    deletedAtStart.add(source.deleted.clone());
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            // The merged segment holds the jobs that were live at the start, ordered by ID
+            int[][] renumbered = new int[sources.size()][];
+            int live = 0;
+            for (int s = 0; s < sources.size(); s++) {
+                live += sources.get(s).maxOrdinal() - bitCount(deletedAtStart.get(s));
+            }
+            int[] sourceOf = new int[live];
+            int[] ordinalOf = new int[live];
+            long[] byJobId = new long[live];
+            int n = 0;
+            for (int s = 0; s < sources.size(); s++) {
+                SegmentFile file = sources.get(s).file;
+                renumbered[s] = new int[file.getDocCount()];
+                Arrays.fill(renumbered[s], -1);
+                for (int ordinal = 0; ordinal < file.getDocCount(); ordinal++) {
+                    if (!isSet(deletedAtStart.get(s), ordinal)) {
+                        sourceOf[n] = s;
+                        ordinalOf[n] = ordinal;
+                        byJobId[n] = (long) file.jobId(ordinal) << 32 | n;
+                        n++;
+                    }
+                }
+            }
+            Arrays.sort(byJobId);
+            int[] jobIds = new int[live];
+            int[][] lengths = new int[FIELDS.length][live];
+            for (int i = 0; i < live; i++) {
+                int s = sourceOf[(int) byJobId[i]];
+                int ordinal = ordinalOf[(int) byJobId[i]];
+                renumbered[s][ordinal] = i;
+                jobIds[i] = (int) (byJobId[i] >>> 32);
+                for (int f = 0; f < FIELDS.length; f++) {
+                    lengths[f][i] = sources.get(s).length(f, ordinal);
+                }
+            }
+
+            Path path = null;
+            if (live > 0) {
+                path = newSegmentPath();
+                Path tmp = tmpPath(path);
+                try {
+                    writeMerged(tmp, sources, renumbered, jobIds, lengths);
+                    synchronized (commitLock) {
+                        Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE);
+                        swapMerged(sources, deletedAtStart, renumbered, SegmentFile.open(path));
+                    }
+                } finally {
+                    Files.deleteIfExists(tmp);
+                }
+            } else {
+                synchronized (commitLock) {
+                    swapMerged(sources, deletedAtStart, renumbered, null);
+                }
+            }
+            logger.debug("Merged {} search index segments into {} jobs", sources.size(), live);
+            return true;
+        }
+    }
+
+    /**
+     * Picks the segments to merge: a segment with more removed than live jobs on its own, or
+     * the {@code mergeFactor} smallest segments once there are that many. Called with the lock.
+     */
+    private List<StoredSegment> selectMerge() {
+        for (StoredSegment segment : segments) {
+            if (segment.deletedCount * 2 > segment.maxOrdinal()) {
+                return new ArrayList<>(Arrays.asList(segment));
+            }
+        }
+        if (segments.size() < mergeFactor) {
+            return null;
+        }
+        List<StoredSegment> bySize = new ArrayList<>(segments);
+        bySize.sort((a, b) -> Integer.compare(a.liveCount(), b.liveCount()));
+        return new ArrayList<>(bySize.subList(0, mergeFactor));
+    }
+
+    /**
+     * Writes the union of the sources' terms, in order, with their postings renumbered.
+     */
+    private static void writeMerged(Path path, List<StoredSegment> sources, int[][] renumbered,
+                                    int[] jobIds, int[][] lengths) throws IOException {
+        PriorityQueue<TermCursor> queue = new PriorityQueue<>((a, b) -> SegmentFile.compare(a.term, b.term));
+        for (int s = 0; s < sources.size(); s++) {
+            SegmentFile file = sources.get(s).file;
+            if (file.getTermCount() > 0) {
+                queue.add(new TermCursor(s, file));
+            }
+        }
+        int[] ordinals = new int[1024];
+        int[] frequencies = new int[1024];
+        try (SegmentFile.Writer writer = new SegmentFile.Writer(path, jobIds, lengths, jobIds.length)) {
+            while (!queue.isEmpty()) {
+                byte[] term = queue.peek().term;
+                int count = 0;
+                while (!queue.isEmpty() && SegmentFile.compare(queue.peek().term, term) == 0) {
+                    TermCursor cursor = queue.poll();
+                    PostingsList list = cursor.file.postings(cursor.termNumber);
+                    if (count + list.size() > ordinals.length) {
+                        int capacity = Math.max(ordinals.length * 2, count + list.size());
+                        ordinals = Arrays.copyOf(ordinals, capacity);
+                        frequencies = Arrays.copyOf(frequencies, capacity);
+                    }
+                    int[] map = renumbered[cursor.source];
+                    for (int i = 0; i < list.size(); i++) {
+                        int ordinal = map[list.ordinal(i)];
+                        if (ordinal >= 0) {
+                            ordinals[count] = ordinal;
+                            frequencies[count++] = list.frequencies(i);
+                        }
+                    }
+                    if (cursor.advance()) {
+                        queue.add(cursor);
+                    }
+                }
+                writer.addTerm(term, ordinals, frequencies, count);
+            }
+            writer.finish();
+        }
+    }
+
+    /**
+     * Replaces the sources with the merged segment, carrying over removals made during the
+     * merge, unless the index was cleared meanwhile. Called with the commit lock.
+     */
+    private void swapMerged(List<StoredSegment> sources, List<long[]> deletedAtStart, int[][] renumbered,
+                            SegmentFile merged) throws IOException {
+        StoredSegment replacement = merged != null ? new StoredSegment(merged, null) : null;
+        lock.writeLock().lock();
+        try {
+            if (!segments.containsAll(sources)) {
+                // Cleared; the unused file is deleted with the manifest below
+                return;
+            }
+            for (int s = 0; s < sources.size(); s++) {
+                StoredSegment source = sources.get(s);
+                for (int ordinal = 0; ordinal < source.maxOrdinal(); ordinal++) {
+                    if (replacement != null && source.isDeleted(ordinal) && !isSet(deletedAtStart.get(s), ordinal)) {
+                        replacement.delete(renumbered[s][ordinal]);
+                    }
+                }
+            }
+            segments.removeAll(sources);
+            if (replacement != null) {
+                segments.add(replacement);
+            }
+        } finally {
+            lock.writeLock().unlock();
+            writeManifest();
+        }
+    }
+
+    /**
+     * Writes a new manifest listing the segments with their removed jobs and the checkpoint,
+     * then deletes older manifests and unlisted segment files. Called with the commit lock.
+     */
+    private void writeManifest() throws IOException {
+        List<String> names = new ArrayList<>();
+        List<long[]> deletes = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (StoredSegment segment : segments) {
+                names.add(segment.file.getPath().getFileName().toString());
+                deletes.add(segment.deleted.clone());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Path path = directory.resolve(MANIFEST_PREFIX + (++generation));
+        Path tmp = tmpPath(path);
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                CRC32 crc = new CRC32();
+                DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                        new BufferedOutputStream(Channels.newOutputStream(channel)), crc));
+                out.writeInt(MANIFEST_MAGIC);
+                out.writeInt(SegmentFile.VERSION);
+                out.writeUTF(analyzer.getName() != null ? analyzer.getName() : "");
+                out.writeLong(checkpoint);
+                out.writeInt(names.size());
+                for (int i = 0; i < names.size(); i++) {
+                    out.writeUTF(names.get(i));
+                    out.writeInt(deletes.get(i).length);
+                    for (long word : deletes.get(i)) {
+                        out.writeLong(word);
+                    }
+                }
+                out.writeLong(crc.getValue());
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        deleteUnlisted(path, new HashSet<>(names));
+    }
+
+    /**
+     * Reads a manifest and maps its segments.
+     *
+     * @return the checkpoint; -1 if the index must be rebuilt
+     */
+    private long readManifest(Path path, List<StoredSegment> stored) throws IOException {
+        CRC32 crc = new CRC32();
+        List<String> names = new ArrayList<>();
+        List<long[]> deletes = new ArrayList<>();
+        String filters;
+        long persisted;
+        try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(path)), crc))) {
+            if (in.readInt() != MANIFEST_MAGIC || in.readInt() != SegmentFile.VERSION) {
+                throw new IOException("Not a search index manifest of this version: " + path);
+            }
+            filters = in.readUTF();
+            persisted = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                names.add(in.readUTF());
+                long[] words = new long[in.readInt()];
+                for (int w = 0; w < words.length; w++) {
+                    words[w] = in.readLong();
+                }
+                deletes.add(words);
+            }
+            long expected = crc.getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("Corrupt search index manifest: " + path);
+            }
+        }
+        if (analyzer.getName() == null || !analyzer.getName().equals(filters)) {
+            logger.info("Search index in {} was built with filters '{}', rebuilding", directory, filters);
+            return -1;
+        }
+        if (persisted < 0) {
+            logger.info("Search index in {} was not fully loaded, rebuilding", directory);
+            return -1;
+        }
+        for (int i = 0; i < names.size(); i++) {
+            SegmentFile file = SegmentFile.open(directory.resolve(names.get(i)));
+            if (deletes.get(i).length != (file.getDocCount() + 63) >>> 6) {
+                throw new IOException("Removed jobs do not match segment " + file.getPath());
+            }
+            stored.add(new StoredSegment(file, deletes.get(i)));
+        }
+        return persisted;
+    }
+
+    private void deleteUnlisted(Path manifest, Set<String> listed) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                boolean stale = name.endsWith(TMP_SUFFIX) ? false
+                        : name.startsWith(MANIFEST_PREFIX) ? !file.equals(manifest)
+                        : name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX) && !listed.contains(name);
+                if (stale) {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        // A file still mapped cannot be deleted on some systems; retried next time
+                        logger.debug("Could not delete {} yet: {}", file, e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    private Path newSegmentPath() {
+        return directory.resolve(SEGMENT_PREFIX + nextSegment.getAndIncrement() + SEGMENT_SUFFIX);
+    }
+
+    private static Path tmpPath(Path path) {
+        return path.resolveSibling(path.getFileName() + TMP_SUFFIX);
+    }
+
+    private static long number(String name, String prefix, String suffix) {
+        try {
+            return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static int bitCount(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private static JobSearchIndex fromConfig() {
+        TextAnalyzer analyzer = TextAnalyzer.getDefault();
+        String directory = ConfigManager.getProperty("search.index.directory", "").trim();
+        if (directory.isEmpty()) {
+            return new JobSearchIndex(analyzer);
+        }
+        return new JobSearchIndex(analyzer, Paths.get(directory),
+                ConfigManager.getIntProperty("search.index.maxBufferedJobs", 10000),
+                ConfigManager.getIntProperty("search.index.mergeFactor", 10));
+    }
+
+    /** A part of the index that is searched. Read with the lock held. */
+    private interface Segment {
+
+        /** @return the number of ordinals, live or not */
+        int maxOrdinal();
+
+        /** @return the job ID at the ordinal, 0 once removed */
+        int jobId(int ordinal);
+
+        int length(int field, int ordinal);
+
+        /** @return the term's postings, or null if no job in the segment has it */
+        PostingsList postings(String term, byte[] utf8);
+    }
+
+    /** The segment that takes changes, in memory until the next commit. */
+    private static final class MemorySegment implements Segment {
+        private final Map<String, Postings> postings = new HashMap<>();
+        private final Map<Integer, Integer> ordinals = new HashMap<>();
+        // Job ID per ordinal, 0 once removed
+        private int[] jobIds = new int[1024];
+        private final int[][] lengths = new int[FIELDS.length][1024];
+        private int ordinalLimit;
+
+        @Override
+        public int maxOrdinal() {
+            return ordinalLimit;
+        }
+
+        @Override
+        public int jobId(int ordinal) {
+            return jobIds[ordinal];
+        }
+
+        @Override
+        public int length(int field, int ordinal) {
+            return lengths[field][ordinal];
+        }
+
+        @Override
+        public PostingsList postings(String term, byte[] utf8) {
+            return postings.get(term);
+        }
+
+        int size() {
+            return ordinals.size();
+        }
+
+        int ordinal(int jobId) {
+            Integer ordinal = ordinals.get(jobId);
+            return ordinal != null ? ordinal : -1;
+        }
+
+        void add(int jobId, int[] fieldLengths, Map<String, int[]> frequencies) {
+            if (ordinalLimit == jobIds.length) {
+                int capacity = ordinalLimit * 2;
+                jobIds = Arrays.copyOf(jobIds, capacity);
+                for (int f = 0; f < FIELDS.length; f++) {
+                    lengths[f] = Arrays.copyOf(lengths[f], capacity);
+                }
+            }
+            int ordinal = ordinalLimit++;
+            jobIds[ordinal] = jobId;
+            ordinals.put(jobId, ordinal);
+            for (int f = 0; f < FIELDS.length; f++) {
+                lengths[f][ordinal] = fieldLengths[f];
+            }
+            for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new Postings()).add(ordinal, entry.getValue()[0]);
+            }
+        }
+
+        void remove(int ordinal) {
+            ordinals.remove(jobIds[ordinal]);
+            jobIds[ordinal] = 0;
+            int dead = ordinalLimit - ordinals.size();
+            if (dead >= MIN_PURGE && dead * 4 >= ordinalLimit) {
+                purge();
+            }
+        }
+
+        /**
+         * Drops the postings of removed jobs and renumbers the live ordinals densely.
+         */
+        private void purge() {
+            int[] renumbered = new int[ordinalLimit];
+            int live = 0;
+            for (int ordinal = 0; ordinal < ordinalLimit; ordinal++) {
+                if (jobIds[ordinal] != 0) {
+                    renumbered[ordinal] = live;
+                    jobIds[live] = jobIds[ordinal];
+                    for (int f = 0; f < FIELDS.length; f++) {
+                        lengths[f][live] = lengths[f][ordinal];
+                    }
+                    ordinals.put(jobIds[live], live);
+                    live++;
+                } else {
+                    renumbered[ordinal] = -1;
+                }
+            }
+            Arrays.fill(jobIds, live, ordinalLimit, 0);
+            ordinalLimit = live;
+            for (Iterator<Postings> it = postings.values().iterator(); it.hasNext();) {
+                Postings list = it.next();
+                list.renumber(renumbered);
+                if (list.size == 0) {
+                    it.remove();
+                }
+            }
+        }
+
+        /**
+         * Writes the live jobs to a segment file, ordered by job ID.
+         */
+        void write(Path path) throws IOException {
+            long[] byJobId = new long[ordinals.size()];
+            int n = 0;
+            for (int ordinal = 0; ordinal < ordinalLimit; ordinal++) {
+                if (jobIds[ordinal] != 0) {
+                    byJobId[n++] = (long) jobIds[ordinal] << 32 | ordinal;
+                }
+            }
+            Arrays.sort(byJobId);
+            int[] renumbered = new int[ordinalLimit];
+            Arrays.fill(renumbered, -1);
+            int[] sortedIds = new int[n];
+            int[][] sortedLengths = new int[FIELDS.length][n];
+            for (int i = 0; i < n; i++) {
+                int ordinal = (int) byJobId[i];
+                renumbered[ordinal] = i;
+                sortedIds[i] = jobIds[ordinal];
+                for (int f = 0; f < FIELDS.length; f++) {
+                    sortedLengths[f][i] = lengths[f][ordinal];
+                }
+            }
+
+            List<Map.Entry<byte[], Postings>> terms = new ArrayList<>(postings.size());
+            for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+                terms.add(new AbstractMap.SimpleImmutableEntry<>(
+                        entry.getKey().getBytes(StandardCharsets.UTF_8), entry.getValue()));
+            }
+            terms.sort((a, b) -> SegmentFile.compare(a.getKey(), b.getKey()));
+            int[] termOrdinals = new int[1024];
+            int[] frequencies = new int[1024];
+            try (SegmentFile.Writer writer = new SegmentFile.Writer(path, sortedIds, sortedLengths, n)) {
+                for (Map.Entry<byte[], Postings> term : terms) {
+                    Postings list = term.getValue();
+                    if (list.size > termOrdinals.length) {
+                        termOrdinals = new int[list.size];
+                        frequencies = new int[list.size];
+                    }
+                    int count = 0;
+                    for (int i = 0; i < list.size; i++) {
+                        int ordinal = renumbered[list.ordinals[i]];
+                        if (ordinal >= 0) {
+                            termOrdinals[count] = ordinal;
+                            frequencies[count++] = list.frequencies[i];
+                        }
+                    }
+                    writer.addTerm(term.getKey(), termOrdinals, frequencies, count);
+                }
+                writer.finish();
+            }
+        }
+    }
+
+    /** A mapped segment file with the jobs removed from it since it was written. */
+    private static final class StoredSegment implements Segment {
+        final SegmentFile file;
+        final long[] deleted;
+        int deletedCount;
+
+        StoredSegment(SegmentFile file, long[] deleted) {
+            this.file = file;
+            this.deleted = deleted != null ? deleted : new long[(file.getDocCount() + 63) >>> 6];
+            this.deletedCount = bitCount(this.deleted);
+        }
+
+        @Override
+        public int maxOrdinal() {
+            return file.getDocCount();
+        }
+
+        @Override
+        public int jobId(int ordinal) {
+            return isDeleted(ordinal) ? 0 : file.jobId(ordinal);
+        }
+
+        @Override
+        public int length(int field, int ordinal) {
+            return file.length(field, ordinal);
+        }
+
+        @Override
+        public PostingsList postings(String term, byte[] utf8) {
+            int termNumber = file.findTerm(utf8);
+            return termNumber >= 0 ? file.postings(termNumber) : null;
+        }
+
+        boolean isDeleted(int ordinal) {
+            return isSet(deleted, ordinal);
+        }
+
+        void delete(int ordinal) {
+            if (!isDeleted(ordinal)) {
+                deleted[ordinal >>> 6] |= 1L << ordinal;
+                deletedCount++;
+            }
+        }
+
+        int liveCount() {
+            return file.getDocCount() - deletedCount;
+        }
+    }
+
+    /** The jobs containing one term, with the term's frequency per field. */
+    private static final class Postings implements PostingsList {
+        int[] ordinals = new int[2];
+        int[] frequencies = new int[2];
+        int size;
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int ordinal(int i) {
+            return ordinals[i];
+        }
+
+        @Override
+        public int frequencies(int i) {
+            return frequencies[i];
+        }
+
+        void add(int ordinal, int packedFrequencies) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size++] = packedFrequencies;
+        }
+
+        void renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int ordinal = renumbered[ordinals[i]];
+                if (ordinal >= 0) {
+                    ordinals[kept] = ordinal;
+                    frequencies[kept++] = frequencies[i];
+                }
+            }
+            size = kept;
+        }
+    }
+
+    /** Walks the terms of one merge source in order. */
+    private static final class TermCursor {
+        final int source;
+        final SegmentFile file;
+        int termNumber;
+        byte[] term;
+
+        TermCursor(int source, SegmentFile file) {
+            this.source = source;
+            this.file = file;
+            this.term = file.term(0);
+        }
+
+        boolean advance() {
+            if (++termNumber == file.getTermCount()) {
+                return false;
+            }
+            term = file.term(termNumber);
+            return true;
+        }
+    }
+}
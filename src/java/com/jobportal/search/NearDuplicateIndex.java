@@ -0,0 +1,302 @@
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Detects reposted jobs with 64-bit SimHash fingerprints.
+ * <p>
+ * A job's fingerprint sums the hashes of its words, weighted by frequency, bit by bit; small
+ * edits to a long posting flip only a few bits, so near-duplicates are fingerprints within a
+ * Hamming distance of {@value #MAX_DISTANCE}; a one-line addition to a typical posting flips
+ * four to six bits, while unrelated postings differ in about 32. The fingerprint is cut into
+ * {@value #TABLES} blocks of 9 or 10 bits. Two fingerprints that differ in at most
+ * {@value #MAX_DISTANCE} bits agree exactly on at least one block, so each block value indexes
+ * one table, and a lookup compares only the jobs sharing one of its blocks instead of every
+ * job.
+ * <p>
+ * The older job is the original: a job is a duplicate of the lowest-ID near-duplicate that was
+ * posted before it.
+ */
+public class NearDuplicateIndex implements JobIndex {
+
+    static final int MAX_DISTANCE = 6;
+    static final int TABLES = MAX_DISTANCE + 1;
+    private static final Entry[] EMPTY = new Entry[0];
+
+    private static final NearDuplicateIndex INSTANCE = new NearDuplicateIndex();
+
+    private static final class Entry {
+        final int jobId;
+        final int employerId;
+        final long fingerprint;
+
+        Entry(int jobId, int employerId, long fingerprint) {
+            this.jobId = jobId;
+            this.employerId = employerId;
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final Entry[][][] tables = new Entry[TABLES][][];
+
+    public NearDuplicateIndex() {
+        for (int table = 0; table < TABLES; table++) {
+            tables[table] = new Entry[1 << (blockStart(table + 1) - blockStart(table))][];
+        }
+    }
+
+    /**
+     * Gets the shared index.
+     *
+     * @return the shared index
+     */
+    public static NearDuplicateIndex getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void index(Job job) {
+        Entry entry = new Entry(job.getId(), job.getEmployerId(), fingerprint(job));
+        lock.writeLock().lock();
+        try {
+            removeLocked(job.getId());
+            entries.put(job.getId(), entry);
+            for (int table = 0; table < TABLES; table++) {
+                int block = block(entry.fingerprint, table);
+                Entry[] bucket = tables[table][block];
+                bucket = bucket == null ? new Entry[1] : Arrays.copyOf(bucket, bucket.length + 1);
+                bucket[bucket.length - 1] = entry;
+                tables[table][block] = bucket;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(int jobId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            for (Entry[][] table : tables) {
+                Arrays.fill(table, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the original a job duplicates: the oldest indexed near-duplicate posted before it.
+     * A job without an ID yet is checked against all indexed jobs.
+     *
+     * @param job the job
+     * @param sameEmployerOnly true to consider only jobs of the same employer
+     * @return the ID of the original, or 0 if the job is not a duplicate
+     */
+    public int findOriginal(Job job, boolean sameEmployerOnly) {
+        return findOriginal(fingerprint(job), job.getId(), sameEmployerOnly ? job.getEmployerId() : 0);
+    }
+
+    /**
+     * Finds the original for a fingerprint. Jobs without words have fingerprint 0 and are
+     * never duplicates of each other.
+     *
+     * @param fingerprint the SimHash fingerprint
+     * @param jobId the job's own ID, or 0 for a job not saved yet
+     * @param employerId only jobs of this employer are considered, or 0 for all employers
+     * @return the ID of the original, or 0 if there is none
+     */
+    public int findOriginal(long fingerprint, int jobId, int employerId) {
+        if (fingerprint == 0) {
+            return 0;
+        }
+        int original = Integer.MAX_VALUE;
+        lock.readLock().lock();
+        try {
+            for (int table = 0; table < TABLES; table++) {
+                Entry[] bucket = tables[table][block(fingerprint, table)];
+                if (bucket == null) {
+                    continue;
+                }
+                for (Entry candidate : bucket) {
+                    if (candidate.jobId < original
+                            && (jobId == 0 || candidate.jobId < jobId)
+                            && (employerId == 0 || candidate.employerId == employerId)
+                            && candidate.fingerprint != 0
+                            && Long.bitCount(candidate.fingerprint ^ fingerprint) <= MAX_DISTANCE) {
+                        original = candidate.jobId;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return original == Integer.MAX_VALUE ? 0 : original;
+    }
+
+    /**
+     * Finds the original of every indexed job in parallel, for deduplicating jobs posted before
+     * fingerprints were checked. As when a job is saved, only reposts by the same employer are
+     * duplicates; near-identical jobs of different employers are separate openings.
+     *
+     * @param pool the pool that runs the lookups
+     * @return the original's ID by duplicate job ID; jobs that are not duplicates are absent
+     */
+    public Map<Integer, Integer> findAllDuplicates(ForkJoinPool pool) {
+        Entry[] snapshot;
+        lock.readLock().lock();
+        try {
+            snapshot = entries.values().toArray(EMPTY);
+        } finally {
+            lock.readLock().unlock();
+        }
+        Map<Integer, Integer> duplicates = new ConcurrentHashMap<>();
+        pool.submit(() -> IntStream.range(0, snapshot.length).parallel().forEach(i -> {
+            Entry entry = snapshot[i];
+            int original = entry.employerId != 0 ? findOriginal(entry.fingerprint, entry.jobId, entry.employerId) : 0;
+            if (original != 0) {
+                duplicates.put(entry.jobId, original);
+            }
+        })).join();
+        return duplicates;
+    }
+
+    /**
+     * Gets the fingerprints of all indexed jobs.
+     *
+     * @return the fingerprint by job ID
+     */
+    public Map<Integer, Long> getFingerprints() {
+        lock.readLock().lock();
+        try {
+            Map<Integer, Long> fingerprints = new HashMap<>(entries.size() * 2);
+            for (Entry entry : entries.values()) {
+                fingerprints.put(entry.jobId, entry.fingerprint);
+            }
+            return fingerprints;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of indexed jobs.
+     *
+     * @return the number of jobs
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Computes the SimHash fingerprint of a job's title, description and requirements.
+     * Words of the title count twice, as reposts rarely change it.
+     *
+     * @param job the job
+     * @return the fingerprint, 0 if the job has no words
+     */
+    public static long fingerprint(Job job) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String token : TextTokenizer.tokenize(job.getTitle())) {
+            weights.merge(token, 2, Integer::sum);
+        }
+        addAll(weights, TextTokenizer.tokenize(job.getDescription()));
+        addAll(weights, TextTokenizer.tokenize(job.getRequirements()));
+
+        int[] sums = new int[Long.SIZE];
+        for (Map.Entry<String, Integer> term : weights.entrySet()) {
+            long hash = hash(term.getKey());
+            int weight = term.getValue();
+            for (int bit = 0; bit < Long.SIZE; bit++) {
+                sums[bit] += (hash >>> bit & 1) != 0 ? weight : -weight;
+            }
+        }
+        long fingerprint = 0;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (sums[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    private static void addAll(Map<String, Integer> weights, List<String> tokens) {
+        for (String token : tokens) {
+            weights.merge(token, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a over the characters, finished with the MurmurHash3 mixer so that every bit
+     * depends on every character. Fixed, so fingerprints stored in the database stay valid.
+     */
+    static long hash(String token) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < token.length(); i++) {
+            hash ^= token.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static int blockStart(int table) {
+        return table * Long.SIZE / TABLES;
+    }
+
+    private static int block(long fingerprint, int table) {
+        int start = blockStart(table);
+        return (int) (fingerprint >>> start) & ((1 << (blockStart(table + 1) - start)) - 1);
+    }
+
+    private void removeLocked(int jobId) {
+        Entry entry = entries.remove(jobId);
+        if (entry == null) {
+            return;
+        }
+        for (int table = 0; table < TABLES; table++) {
+            int block = block(entry.fingerprint, table);
+            Entry[] bucket = tables[table][block];
+            Entry[] remaining = new Entry[bucket.length - 1];
+            int n = 0;
+            for (Entry other : bucket) {
+                if (other != entry) {
+                    remaining[n++] = other;
+                }
+            }
+            tables[table][block] = n == 0 ? null : remaining;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.jobportal.search;
+
+import java.io.IOException;
+import java.util.BitSet;
+
+/**
+ * A {@link JobIndex} that keeps its content on disk, so a restart only replays the jobs
+ * changed since the last commit instead of loading every job again.
+ */
+public interface PersistentJobIndex extends JobIndex {
+
+    /**
+     * Loads the content of the last commit. Called once at startup, before any change.
+     *
+     * @return the checkpoint of that commit in epoch milliseconds; -1 if there is no usable
+     *         content and the index must be loaded from scratch
+     * @throws IOException if the stored content cannot be read
+     */
+    long open() throws IOException;
+
+    /**
+     * Persists the current content.
+     *
+     * @param checkpoint every job change made before this time, in epoch milliseconds, has
+     *                   been applied to the index
+     * @throws IOException if writing fails
+     */
+    void commit(long checkpoint) throws IOException;
+
+    /**
+     * Removes every job not in a set, after jobs were deleted while the application was down.
+     *
+     * @param jobIds the IDs of all existing jobs
+     * @return the number of jobs removed
+     */
+    int retainAll(BitSet jobIds);
+}
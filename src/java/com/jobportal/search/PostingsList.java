@@ -0,0 +1,25 @@
+package com.jobportal.search;
+
+/**
+ * The jobs containing one term in one part of the {@link JobSearchIndex}, as (job ordinal,
+ * term frequency per field) pairs, the four frequencies packed into one int.
+ */
+interface PostingsList {
+
+    /**
+     * @return the number of jobs
+     */
+    int size();
+
+    /**
+     * @param i the entry, from 0
+     * @return the job ordinal of the entry
+     */
+    int ordinal(int i);
+
+    /**
+     * @param i the entry, from 0
+     * @return the packed per-field frequencies of the entry
+     */
+    int frequencies(int i);
+}
@@ -0,0 +1,147 @@
+package com.jobportal.search;
+
+import java.util.Arrays;
+
+/**
+ * The best matches of a ranked search, best first. Immutable.
+ */
+public final class RankedResults {
+
+    static final RankedResults EMPTY = new RankedResults(new int[0], new float[0], 0);
+
+    private final int[] jobIds;
+    private final float[] scores;
+    private final int matches;
+
+    RankedResults(int[] jobIds, float[] scores, int matches) {
+        this.jobIds = jobIds;
+        this.scores = scores;
+        this.matches = matches;
+    }
+
+    /**
+     * Gets a range of the ranked job IDs.
+     *
+     * @param from the rank to start at, 0 for the best
+     * @param limit the maximum number of IDs
+     * @return job IDs, best first
+     */
+    public int[] getJobIds(int from, int limit) {
+        int start = Math.min(Math.max(from, 0), jobIds.length);
+        return Arrays.copyOfRange(jobIds, start, start + Math.min(limit, jobIds.length - start));
+    }
+
+    /**
+     * @param rank the rank, 0 for the best
+     * @return the score of the job at that rank
+     */
+    public float getScore(int rank) {
+        return scores[rank];
+    }
+
+    /**
+     * @return the number of ranked jobs, at most the requested limit
+     */
+    public int size() {
+        return jobIds.length;
+    }
+
+    /**
+     * @return the number of jobs that matched, including those beyond the limit
+     */
+    public int getMatches() {
+        return matches;
+    }
+
+    /**
+     * Keeps the k best (ID, score) pairs seen so far in a binary min-heap on primitive arrays,
+     * so selecting the top k of n matches costs O(n log k). Ties prefer the higher ID, i.e.
+     * the newer job.
+     */
+    static final class Collector {
+        private final int[] ids;
+        private final float[] heapScores;
+        private int size;
+        private int offered;
+
+        Collector(int k) {
+            this.ids = new int[Math.max(0, k)];
+            this.heapScores = new float[ids.length];
+        }
+
+        void offer(int id, float score) {
+            offered++;
+            if (ids.length == 0) {
+                return;
+            }
+            if (size < ids.length) {
+                ids[size] = id;
+                heapScores[size] = score;
+                siftUp(size++);
+            } else if (better(id, score, 0)) {
+                ids[0] = id;
+                heapScores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        RankedResults toResults() {
+            int[] sortedIds = new int[size];
+            float[] sortedScores = new float[size];
+            // Popping the minimum fills the arrays from the back, best first
+            for (int i = size - 1; i >= 0; i--) {
+                sortedIds[i] = ids[0];
+                sortedScores[i] = heapScores[0];
+                size--;
+                ids[0] = ids[size];
+                heapScores[0] = heapScores[size];
+                siftDown(0);
+            }
+            return new RankedResults(sortedIds, sortedScores, offered);
+        }
+
+        /** True if (id, score) ranks above the entry at index. */
+        private boolean better(int id, float score, int index) {
+            return score > heapScores[index] || (score == heapScores[index] && id > ids[index]);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!better(ids[parent], heapScores[parent], index)) {
+                    break;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int smallest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && better(ids[smallest], heapScores[smallest], left)) {
+                    smallest = left;
+                }
+                if (right < size && better(ids[smallest], heapScores[smallest], right)) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            float score = heapScores[a];
+            heapScores[a] = heapScores[b];
+            heapScores[b] = score;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.jobportal.search;
+
+import com.jobportal.dao.ResumeTextDao;
+import com.jobportal.dao.ResumeTextDaoImpl;
+import com.jobportal.models.ResumeText;
+import com.jobportal.recommend.RecommendationService;
+import com.jobportal.utils.ConfigManager;
+import com.jobportal.utils.DBConnectionPool;
+import com.jobportal.utils.DBConnectionPool.Workload;
+import com.jobportal.utils.FileUploadUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.ServletContext;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background pipeline that extracts the text of uploaded resumes, stores it in resume_texts
+ * and feeds the {@link CandidateIndex} and the job recommendations.
+ * <p>
+ * Resumes are queued with {@link #submit}, which never blocks: the worker pool has a bounded
+ * queue, and a resume that does not fit is left to the periodic sweep, which re-queues
+ * resumes that have no current text only as far as the queue has room. Repeated submissions
+ * for a student who is already queued collapse into one extraction of the latest resume.
+ */
+public class ResumeExtractionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeExtractionService.class);
+    private static final ResumeExtractionService INSTANCE = new ResumeExtractionService(
+            ConfigManager.getIntProperty("resume.extraction.threads", 2),
+            ConfigManager.getIntProperty("resume.extraction.queueCapacity", 100),
+            ConfigManager.getIntProperty("resume.extraction.maxChars", 100000),
+            ConfigManager.getIntProperty("resume.extraction.sweepMinutes", 10),
+            CandidateIndex.getInstance());
+
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService sweeper;
+    private final int maxChars;
+    private final int sweepMinutes;
+    private final CandidateIndex index;
+    // Latest resume path per queued student; an entry exists exactly while a task is queued
+    private final ConcurrentMap<Integer, String> pending = new ConcurrentHashMap<>();
+    private volatile ServletContext context;
+    private volatile boolean indexLoaded;
+
+    public ResumeExtractionService(int threads, int queueCapacity, int maxChars, int sweepMinutes, CandidateIndex index) {
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "resume-extractor-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.workers.allowCoreThreadTimeOut(true);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "resume-extraction-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maxChars = maxChars;
+        this.sweepMinutes = Math.max(1, sweepMinutes);
+        this.index = index;
+    }
+
+    /**
+     * Gets the shared service.
+     *
+     * @return the shared service
+     */
+    public static ResumeExtractionService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts the periodic sweep. The first run loads the candidate index from the database,
+     * then queues resumes that were never extracted.
+     *
+     * @param context the servlet context, to locate uploaded files
+     */
+    public synchronized void start(ServletContext context) {
+        if (this.context != null) {
+            return;
+        }
+        this.context = context;
+        sweeper.scheduleWithFixedDelay(this::sweep, 0, sweepMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Queues a student's resume for extraction without waiting. If the resume was already
+     * extracted only the student's index entry is refreshed.
+     *
+     * @param studentId the student ID
+     * @param resumePath the student's current resume path
+     * @return true if queued, false if the queue is full and the sweep will pick it up later
+     */
+    public boolean submit(int studentId, String resumePath) {
+        if (resumePath == null || resumePath.isEmpty()) {
+            index.remove(studentId);
+            return true;
+        }
+        boolean[] queued = {true};
+        // Queued while the entry is locked, so a concurrent submit either sees no entry or
+        // one whose task really is queued; a rejected task leaves no entry behind
+        pending.compute(studentId, (id, queuedPath) -> {
+            if (queuedPath != null) {
+                // The queued task has not started yet and will extract the new path
+                return resumePath;
+            }
+            try {
+                workers.execute(() -> process(studentId));
+                return resumePath;
+            } catch (RejectedExecutionException e) {
+                queued[0] = false;
+                return null;
+            }
+        });
+        if (!queued[0]) {
+            logger.debug("Extraction queue full, resume of student {} left for the next sweep", studentId);
+        }
+        return queued[0];
+    }
+
+    /**
+     * Removes a deleted student from the index. The stored text is deleted with the student.
+     *
+     * @param studentId the student ID
+     */
+    public void studentDeleted(int studentId) {
+        pending.remove(studentId);
+        index.remove(studentId);
+        RecommendationService.getInstance().studentDeleted(studentId);
+    }
+
+    /**
+     * Gets the number of resumes waiting for a worker.
+     *
+     * @return the queue length
+     */
+    public int getQueueSize() {
+        return workers.getQueue().size();
+    }
+
+    /**
+     * Stops the sweep and the workers; queued extractions are dropped and redone by the sweep
+     * after the next start. Should be called during application shutdown.
+     */
+    public void shutdown() {
+        sweeper.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void process(int studentId) {
+        String resumePath = pending.remove(studentId);
+        if (resumePath == null) {
+            return;
+        }
+        try {
+            try (Connection connection = DBConnectionPool.getConnection(Workload.BATCH)) {
+                ResumeText existing = new ResumeTextDaoImpl(connection).getResumeText(studentId);
+                if (existing != null && resumePath.equals(existing.getResumePath())) {
+                    // Same upload; only the student's major or graduation year may have changed
+                    index.index(existing);
+                    RecommendationService.getInstance().studentUpdated(existing);
+                    return;
+                }
+            }
+            // No connection is held while the file is parsed
+            String content = extractText(studentId, resumePath);
+            try (Connection connection = DBConnectionPool.getConnection(Workload.BATCH)) {
+                ResumeTextDao dao = new ResumeTextDaoImpl(connection);
+                if (dao.saveResumeText(studentId, resumePath, content)) {
+                    ResumeText saved = dao.getResumeText(studentId);
+                    if (saved != null) {
+                        index.index(saved);
+                        RecommendationService.getInstance().studentUpdated(saved);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error storing resume text for student {}", studentId, e);
+        }
+    }
+
+    /**
+     * Extracts and normalizes a resume's text. Unreadable files give empty text, which is
+     * stored so that they are not retried until the student uploads another resume.
+     */
+    private String extractText(int studentId, String resumePath) {
+        Path file = context != null ? FileUploadUtil.resolveUpload(context, resumePath) : null;
+        if (file == null || !Files.isRegularFile(file)) {
+            logger.warn("Resume of student {} not found: {}", studentId, resumePath);
+            return "";
+        }
+        long start = System.nanoTime();
+        try {
+            String text = ResumeTextExtractor.normalize(ResumeTextExtractor.extract(file), maxChars);
+            logger.debug("Extracted {} characters from resume of student {} in {} ms", text.length(), studentId,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return text;
+        } catch (IOException | RuntimeException e) {
+            // Parsers throw runtime exceptions on malformed documents as well
+            logger.warn("Could not extract text from resume of student {}: {}", studentId, file, e);
+            return "";
+        }
+    }
+
+    private void sweep() {
+        try {
+            if (!indexLoaded) {
+                loadIndex();
+            }
+            int room = workers.getQueue().remainingCapacity();
+            if (room == 0) {
+                return;
+            }
+            Map<Integer, String> resumes;
+            try (Connection connection = DBConnectionPool.getConnection(Workload.BATCH)) {
+                resumes = new ResumeTextDaoImpl(connection).findUnextractedResumes(room);
+            }
+            int queued = 0;
+            for (Map.Entry<Integer, String> entry : resumes.entrySet()) {
+                if (!submit(entry.getKey(), entry.getValue())) {
+                    break;
+                }
+                queued++;
+            }
+            if (queued > 0) {
+                logger.info("Queued {} resumes for text extraction", queued);
+            }
+        } catch (SQLException | IOException | RuntimeException e) {
+            // Never let an exception cancel the scheduled sweep
+            logger.error("Resume extraction sweep failed", e);
+        }
+    }
+
+    private void loadIndex() throws SQLException, IOException {
+        long start = System.nanoTime();
+        try (Connection connection = DBConnectionPool.getConnection(Workload.BATCH)) {
+            new ResumeTextDaoImpl(connection).forEachResumeText(index::index);
+        }
+        indexLoaded = true;
+        logger.info("Candidate index loaded with {} resumes in {} ms", index.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
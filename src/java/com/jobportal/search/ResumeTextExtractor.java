@@ -0,0 +1,119 @@
+package com.jobportal.search;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.poi.extractor.ExtractorFactory;
+import org.apache.poi.extractor.POITextExtractor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Extracts plain text from uploaded resumes (PDF, DOC and DOCX).
+ */
+public final class ResumeTextExtractor {
+
+    // Resumes are short; anything beyond this is not worth indexing
+    private static final int MAX_PDF_PAGES = 20;
+
+    private ResumeTextExtractor() {
+    }
+
+    /**
+     * Extracts the raw text of a resume, choosing the parser by file extension.
+     *
+     * @param file the resume file
+     * @return the text as laid out in the document
+     * @throws IOException if the file cannot be read or its format is not supported
+     */
+    public static String extract(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        String extension = name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        switch (extension) {
+            case "pdf":
+                // Parse with temp files rather than heap buffers, so large uploads cannot exhaust memory
+                try (PDDocument document = PDDocument.load(file.toFile(), MemoryUsageSetting.setupTempFileOnly())) {
+                    PDFTextStripper stripper = new PDFTextStripper();
+                    stripper.setEndPage(MAX_PDF_PAGES);
+                    return stripper.getText(document);
+                }
+            case "doc":
+            case "docx":
+                try (POITextExtractor extractor = ExtractorFactory.createExtractor(file.toFile())) {
+                    return extractor.getText();
+                }
+            default:
+                throw new IOException("Unsupported resume format: " + extension);
+        }
+    }
+
+    /**
+     * Normalizes extracted text for storage and indexing: applies NFKC (folding ligatures and
+     * full-width forms common in PDFs), rejoins words hyphenated across line breaks, replaces
+     * control characters and runs of whitespace with a single space, and truncates.
+     *
+     * @param text the raw text
+     * @param maxChars the maximum length of the result
+     * @return the normalized text, never null
+     */
+    public static String normalize(String text, int maxChars) {
+        if (text == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKC);
+        StringBuilder result = new StringBuilder(Math.min(folded.length(), maxChars));
+        boolean pendingSpace = false;
+        int i = 0;
+        while (i < folded.length() && result.length() < maxChars) {
+            int codePoint = folded.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (codePoint == '-' && isLineBreakBeforeLetter(folded, i) && endsWithLetter(result) && !pendingSpace) {
+                // "develop-\nment" is one word split by the layout
+                i = skipWhitespace(folded, i);
+                continue;
+            }
+            if (Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint)
+                    || Character.isISOControl(codePoint) || codePoint == 0xFFFD) {
+                pendingSpace = result.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                result.append(' ');
+                pendingSpace = false;
+            }
+            result.appendCodePoint(codePoint);
+        }
+        if (result.length() > maxChars) {
+            // Never leave half of a surrogate pair at the cut
+            int cut = Character.isHighSurrogate(result.charAt(maxChars - 1)) ? maxChars - 1 : maxChars;
+            result.setLength(cut);
+        }
+        return result.toString();
+    }
+
+    private static boolean isLineBreakBeforeLetter(String text, int index) {
+        int next = index;
+        while (next < text.length() && (text.charAt(next) == ' ' || text.charAt(next) == '\t')) {
+            next++;
+        }
+        if (next >= text.length() || (text.charAt(next) != '\n' && text.charAt(next) != '\r')) {
+            return false;
+        }
+        next = skipWhitespace(text, next);
+        return next < text.length() && Character.isLetter(text.codePointAt(next));
+    }
+
+    private static boolean endsWithLetter(StringBuilder text) {
+        return text.length() > 0 && Character.isLetter(text.codePointBefore(text.length()));
+    }
+
+    private static int skipWhitespace(String text, int index) {
+        while (index < text.length() && Character.isWhitespace(text.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+}
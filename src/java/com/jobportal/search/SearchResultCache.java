@@ -0,0 +1,203 @@
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+import com.jobportal.utils.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of job search results keyed by {@link JobSearchCriteria}.
+ * <p>
+ * Only the matching job ids are stored, not the {@link Job} objects, so an entry costs a few
+ * bytes per result and rows are always read fresh by primary key. Entries expire after a TTL
+ * and are evicted as soon as a job that they contain, or that their criteria would now match,
+ * is saved, updated or deleted.
+ */
+public class SearchResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchResultCache.class);
+    private static final SearchResultCache INSTANCE = new SearchResultCache(
+            ConfigManager.getIntProperty("search.cache.maxEntries", 1000),
+            ConfigManager.getIntProperty("search.cache.ttlSeconds", 300) * 1000L);
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<JobSearchCriteria, CachedResult> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+
+    private static final class CachedResult {
+        final int[] jobIds;
+        final long expiresAt;
+
+        CachedResult(int[] jobIds, long expiresAt) {
+            this.jobIds = jobIds;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean contains(int jobId) {
+            for (int id : jobIds) {
+                if (id == jobId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    public SearchResultCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<JobSearchCriteria, CachedResult>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<JobSearchCriteria, CachedResult> eldest) {
+                return size() > SearchResultCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Gets the shared cache used by the job DAO.
+     *
+     * @return the shared cache
+     */
+    public static SearchResultCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Looks up cached result ids.
+     *
+     * @param criteria the normalized search criteria
+     * @return the matching job ids in result order, or null on a miss
+     */
+    public int[] get(JobSearchCriteria criteria) {
+        synchronized (entries) {
+            CachedResult entry = entries.get(criteria);
+            if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+                hits.incrementAndGet();
+                return entry.jobIds;
+            }
+            if (entry != null) {
+                entries.remove(criteria);
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Gets the invalidation generation. Read it before running a search and pass it to
+     * {@link #put} so results computed concurrently with a job change are not cached.
+     *
+     * @return the current generation
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Stores result ids for a search.
+     *
+     * @param criteria the normalized search criteria
+     * @param jobIds the matching job ids in result order
+     * @param observedGeneration the generation read before the search ran
+     */
+    public void put(JobSearchCriteria criteria, int[] jobIds, long observedGeneration) {
+        if (ttlMillis <= 0) {
+            return;
+        }
+        synchronized (entries) {
+            if (generation.get() == observedGeneration) {
+                entries.put(criteria, new CachedResult(jobIds, System.currentTimeMillis() + ttlMillis));
+            }
+        }
+    }
+
+    /**
+     * Evicts searches affected by a new or changed job: those that already list it
+     * and those whose criteria match its current values.
+     *
+     * @param job the saved or updated job
+     */
+    public void invalidate(Job job) {
+        int removed = 0;
+        synchronized (entries) {
+            generation.incrementAndGet();
+            Iterator<Map.Entry<JobSearchCriteria, CachedResult>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<JobSearchCriteria, CachedResult> e = it.next();
+                if ((job.getId() > 0 && e.getValue().contains(job.getId())) || e.getKey().matches(job)) {
+                    it.remove();
+                    removed++;
+                }
+            }
+        }
+        logger.debug("Invalidated {} cached searches for job {}", removed, job.getId());
+    }
+
+    /**
+     * Evicts searches whose results contain a deleted job.
+     *
+     * @param jobId the deleted job ID
+     */
+    public void invalidate(int jobId) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.values().removeIf(entry -> entry.contains(jobId));
+        }
+    }
+
+    /**
+     * Removes all cached searches.
+     */
+    public void clear() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the fraction of lookups served from the cache.
+     *
+     * @return hit ratio between 0 and 1
+     */
+    public double getHitRatio() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    /**
+     * Gets cache statistics for monitoring.
+     *
+     * @return cache statistics as string
+     */
+    public String getStats() {
+        return String.format("Entries: %d, Hits: %d, Misses: %d, Hit ratio: %.1f%%",
+                size(), getHits(), getMisses(), getHitRatio() * 100);
+    }
+}
@@ -0,0 +1,400 @@
+package com.jobportal.search;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * An immutable part of the {@link JobSearchIndex}, stored in one file and memory-mapped, so
+ * opening it reads only its footer and a search pages in just the postings it touches.
+ * <p>
+ * Layout, ints and longs big-endian:
+ * <pre>
+ * magic, version
+ * job IDs [docs], ascending; a job's ordinal is its position
+ * field lengths [fields][docs]
+ * postings, per term: ordinals [n], then packed frequencies [n]
+ * postings starts [terms + 1], in ints from the first posting
+ * term offsets [terms + 1], in bytes from the first term byte
+ * term bytes: the terms in UTF-8, sorted as unsigned bytes, padded to a multiple of 4
+ * footer: docs, terms, postings offset (long), dictionary offset (long), fields, magic
+ * </pre>
+ * Terms are found by binary search over the mapped dictionary. A mapping is limited to 2 GB,
+ * and so is a segment.
+ */
+final class SegmentFile {
+
+    static final int MAGIC = 0x4A535331;
+    static final int VERSION = 1;
+    private static final int FIELDS = JobSearchIndex.Field.values().length;
+    private static final int HEADER_BYTES = 8;
+    private static final int FOOTER_BYTES = 32;
+
+    private final Path path;
+    private final int docCount;
+    private final int termCount;
+    private final IntBuffer jobIds;
+    private final IntBuffer[] lengths = new IntBuffer[FIELDS];
+    private final IntBuffer postings;
+    private final IntBuffer postingStarts;
+    private final IntBuffer termOffsets;
+    private final ByteBuffer termBytes;
+
+    private SegmentFile(Path path, ByteBuffer map) throws IOException {
+        this.path = path;
+        int footer = map.capacity() - FOOTER_BYTES;
+        if (map.getInt(0) != MAGIC || map.getInt(4) != VERSION || map.getInt(footer + 28) != MAGIC
+                || map.getInt(footer + 24) != FIELDS) {
+            throw new IOException("Not a search segment of this version: " + path);
+        }
+        this.docCount = map.getInt(footer);
+        this.termCount = map.getInt(footer + 4);
+        long postingsOffset = map.getLong(footer + 8);
+        long dictionaryOffset = map.getLong(footer + 16);
+        try {
+            this.jobIds = slice(map, HEADER_BYTES, 4L * docCount).asIntBuffer();
+            for (int f = 0; f < FIELDS; f++) {
+                lengths[f] = slice(map, HEADER_BYTES + 4L * docCount * (f + 1), 4L * docCount).asIntBuffer();
+            }
+            this.postings = slice(map, postingsOffset, dictionaryOffset - postingsOffset).asIntBuffer();
+            this.postingStarts = slice(map, dictionaryOffset, 4L * (termCount + 1)).asIntBuffer();
+            this.termOffsets = slice(map, dictionaryOffset + 4L * (termCount + 1), 4L * (termCount + 1)).asIntBuffer();
+            long termBytesOffset = dictionaryOffset + 8L * (termCount + 1);
+            this.termBytes = slice(map, termBytesOffset, footer - termBytesOffset);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException("Corrupt search segment: " + path, e);
+        }
+    }
+
+    /**
+     * Maps a segment file.
+     *
+     * @param path the file
+     * @return the segment
+     * @throws IOException if the file cannot be read or is not a segment
+     */
+    static SegmentFile open(Path path) throws IOException {
+        MappedByteBuffer map;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + FOOTER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a search segment: " + path + " has " + size + " bytes");
+            }
+            // The mapping stays valid after the channel is closed
+            map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        return new SegmentFile(path, map);
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    int getDocCount() {
+        return docCount;
+    }
+
+    int getTermCount() {
+        return termCount;
+    }
+
+    /**
+     * @param ordinal the job ordinal
+     * @return the job ID; IDs ascend with the ordinals
+     */
+    int jobId(int ordinal) {
+        return jobIds.get(ordinal);
+    }
+
+    /**
+     * Finds the ordinal of a job.
+     *
+     * @param jobId the job ID
+     * @return the ordinal, or -1 if the segment has no such job
+     */
+    int ordinal(int jobId) {
+        int low = 0;
+        int high = docCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int id = jobIds.get(mid);
+            if (id < jobId) {
+                low = mid + 1;
+            } else if (id > jobId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    int length(int field, int ordinal) {
+        return lengths[field].get(ordinal);
+    }
+
+    /**
+     * Finds a term in the dictionary.
+     *
+     * @param term the term in UTF-8
+     * @return the term number, or -1 if no job contains the term
+     */
+    int findTerm(byte[] term) {
+        int low = 0;
+        int high = termCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareTerm(mid, term);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param termNumber the term number, from 0 in term order
+     * @return the term in UTF-8
+     */
+    byte[] term(int termNumber) {
+        int from = termOffsets.get(termNumber);
+        byte[] term = new byte[termOffsets.get(termNumber + 1) - from];
+        for (int i = 0; i < term.length; i++) {
+            term[i] = termBytes.get(from + i);
+        }
+        return term;
+    }
+
+    /**
+     * @param termNumber the term number
+     * @return a view of the term's postings in the mapping
+     */
+    PostingsList postings(int termNumber) {
+        int start = postingStarts.get(termNumber);
+        return new MappedPostings(start, (postingStarts.get(termNumber + 1) - start) / 2);
+    }
+
+    /**
+     * Compares two terms in UTF-8 as unsigned bytes, which orders them by code point.
+     */
+    static int compare(byte[] a, byte[] b) {
+        int n = Math.min(a.length, b.length);
+        for (int i = 0; i < n; i++) {
+            int cmp = (a[i] & 0xFF) - (b[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return a.length - b.length;
+    }
+
+    private int compareTerm(int termNumber, byte[] term) {
+        int from = termOffsets.get(termNumber);
+        int length = termOffsets.get(termNumber + 1) - from;
+        int n = Math.min(length, term.length);
+        for (int i = 0; i < n; i++) {
+            int cmp = (termBytes.get(from + i) & 0xFF) - (term[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return length - term.length;
+    }
+
+    private static ByteBuffer slice(ByteBuffer map, long offset, long length) {
+        if (offset < 0 || length < 0 || offset + length > map.capacity()) {
+            throw new IndexOutOfBoundsException("Section " + offset + "+" + length + " of " + map.capacity());
+        }
+        ByteBuffer copy = map.duplicate();
+        // Casts keep the Java 8 Buffer signatures when built on a newer JDK
+        ((Buffer) copy).position((int) offset);
+        ((Buffer) copy).limit((int) (offset + length));
+        return copy.slice();
+    }
+
+    private final class MappedPostings implements PostingsList {
+        private final int start;
+        private final int size;
+
+        MappedPostings(int start, int size) {
+            this.start = start;
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int ordinal(int i) {
+            return postings.get(start + i);
+        }
+
+        @Override
+        public int frequencies(int i) {
+            return postings.get(start + size + i);
+        }
+    }
+
+    /**
+     * Writes a segment file: the job table first, then the terms one by one in
+     * {@link #compare} order. Not thread-safe.
+     */
+    static final class Writer implements Closeable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        private final int docCount;
+        private final long postingsOffset;
+        private final ByteArrayOutputStream termBytes = new ByteArrayOutputStream();
+        private int[] postingStarts = new int[1024];
+        private int[] termOffsets = new int[1024];
+        private int termCount;
+        private long postingInts;
+        private byte[] lastTerm;
+        private long position;
+
+        /**
+         * Creates the file and writes the job table.
+         *
+         * @param path the new file
+         * @param jobIds the job ID per ordinal, ascending
+         * @param lengths the field lengths, per field and ordinal
+         * @param docCount the number of jobs
+         * @throws IOException if the file exists or cannot be written
+         */
+        Writer(Path path, int[] jobIds, int[][] lengths, int docCount) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            this.docCount = docCount;
+            writeInt(MAGIC);
+            writeInt(VERSION);
+            writeInts(jobIds, docCount);
+            for (int f = 0; f < FIELDS; f++) {
+                writeInts(lengths[f], docCount);
+            }
+            this.postingsOffset = position;
+        }
+
+        /**
+         * Appends a term and its postings; a term without postings is skipped.
+         *
+         * @param term the term in UTF-8, after the previous term
+         * @param ordinals the job ordinals
+         * @param frequencies the packed frequencies per ordinal
+         * @param count the number of postings
+         * @throws IOException if writing fails
+         */
+        void addTerm(byte[] term, int[] ordinals, int[] frequencies, int count) throws IOException {
+            if (count == 0) {
+                return;
+            }
+            if (lastTerm != null && compare(lastTerm, term) >= 0) {
+                throw new IllegalArgumentException("Terms must be added in order");
+            }
+            if (termCount + 1 == postingStarts.length) {
+                postingStarts = Arrays.copyOf(postingStarts, postingStarts.length * 2);
+                termOffsets = Arrays.copyOf(termOffsets, termOffsets.length * 2);
+            }
+            postingStarts[termCount] = (int) postingInts;
+            termOffsets[termCount++] = termBytes.size();
+            termBytes.write(term, 0, term.length);
+            writeInts(ordinals, count);
+            writeInts(frequencies, count);
+            postingInts += 2L * count;
+            if (postingInts > Integer.MAX_VALUE) {
+                throw new IOException("Search segment too large");
+            }
+            lastTerm = term;
+        }
+
+        /**
+         * Writes the dictionary and footer and syncs the file to disk.
+         *
+         * @throws IOException if writing fails or the segment exceeds 2 GB
+         */
+        void finish() throws IOException {
+            long dictionaryOffset = position;
+            postingStarts[termCount] = (int) postingInts;
+            termOffsets[termCount] = termBytes.size();
+            writeInts(postingStarts, termCount + 1);
+            writeInts(termOffsets, termCount + 1);
+            byte[] bytes = termBytes.toByteArray();
+            for (int from = 0; from < bytes.length; from += buffer.capacity()) {
+                drain();
+                int length = Math.min(buffer.capacity(), bytes.length - from);
+                buffer.put(bytes, from, length);
+                position += length;
+            }
+            while (position % 4 != 0) {
+                writeByte();
+            }
+            writeInt(docCount);
+            writeInt(termCount);
+            writeLong(postingsOffset);
+            writeLong(dictionaryOffset);
+            writeInt(FIELDS);
+            writeInt(MAGIC);
+            if (position > Integer.MAX_VALUE) {
+                throw new IOException("Search segment too large");
+            }
+            drain();
+            channel.force(true);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        private void writeInts(int[] values, int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                writeInt(values[i]);
+            }
+        }
+
+        private void writeInt(int value) throws IOException {
+            if (buffer.remaining() < 4) {
+                drain();
+            }
+            buffer.putInt(value);
+            position += 4;
+        }
+
+        private void writeLong(long value) throws IOException {
+            if (buffer.remaining() < 8) {
+                drain();
+            }
+            buffer.putLong(value);
+            position += 8;
+        }
+
+        private void writeByte() throws IOException {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            buffer.put((byte) 0);
+            position++;
+        }
+
+        private void drain() throws IOException {
+            ((Buffer) buffer).flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            ((Buffer) buffer).clear();
+        }
+    }
+}
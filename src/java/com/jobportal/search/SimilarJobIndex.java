@@ -0,0 +1,295 @@
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+import com.jobportal.utils.ConfigManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Finds jobs similar to a given job with MinHash signatures and locality-sensitive hashing.
+ * <p>
+ * Each job's title, description and requirements are cut into word bigrams ("shingles"); the
+ * MinHash signature keeps, for each of {@value #NUM_HASHES} hash functions, the smallest hash
+ * of any shingle. Two signatures agree in a position with probability equal to the Jaccard
+ * similarity of the shingle sets. The signature is split into {@value #BANDS} bands of
+ * {@value #ROWS} rows, and jobs whose band values collide share a bucket, so a lookup only
+ * compares the jobs in its own buckets instead of every job. With these sizes a pair with
+ * similarity 0.5 is found with probability about 0.87, a pair with 0.2 with about 0.05.
+ */
+public class SimilarJobIndex implements JobIndex {
+
+    static final int BANDS = 32;
+    static final int ROWS = 4;
+    static final int NUM_HASHES = BANDS * ROWS;
+    private static final int SHINGLE_SIZE = 2;
+
+    private static final long[] MULTIPLIERS = new long[NUM_HASHES];
+    private static final long[] INCREMENTS = new long[NUM_HASHES];
+
+    static {
+        // Fixed seed: signatures must not change between restarts
+        Random random = new Random(0x5EED_1DEAL);
+        for (int i = 0; i < NUM_HASHES; i++) {
+            MULTIPLIERS[i] = random.nextLong() | 1;
+            INCREMENTS[i] = random.nextLong();
+        }
+    }
+
+    private static final SimilarJobIndex INSTANCE = new SimilarJobIndex(
+            ConfigManager.getIntProperty("search.similar.minPercent", 20) / 100.0);
+
+    private final double minSimilarity;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, int[]> signatures = new HashMap<>();
+    private final Map<Integer, Long> stamps = new HashMap<>();
+    private final List<Map<Long, int[]>> buckets = new ArrayList<>(BANDS);
+    private long sequence;
+
+    public SimilarJobIndex(double minSimilarity) {
+        this.minSimilarity = minSimilarity;
+        for (int band = 0; band < BANDS; band++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Gets the shared index.
+     *
+     * @return the shared index
+     */
+    public static SimilarJobIndex getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void index(Job job) {
+        int[] signature = signature(job);
+        lock.writeLock().lock();
+        try {
+            removeLocked(job.getId());
+            if (signature != null) {
+                signatures.put(job.getId(), signature);
+                for (int band = 0; band < BANDS; band++) {
+                    buckets.get(band).merge(bandKey(signature, band), new int[] {job.getId()}, SimilarJobIndex::append);
+                }
+            }
+            stamps.put(job.getId(), ++sequence);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(int jobId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(jobId);
+            stamps.remove(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            signatures.clear();
+            stamps.clear();
+            for (Map<Long, int[]> band : buckets) {
+                band.clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the jobs most similar to a job.
+     *
+     * @param jobId the job ID
+     * @param limit the maximum number of jobs
+     * @return similar job IDs, most similar first; empty if the job is not indexed
+     */
+    public int[] findSimilar(int jobId, int limit) {
+        lock.readLock().lock();
+        try {
+            int[] signature = signatures.get(jobId);
+            if (signature == null) {
+                return new int[0];
+            }
+            Set<Integer> candidates = new HashSet<>();
+            for (int band = 0; band < BANDS; band++) {
+                int[] bucket = buckets.get(band).get(bandKey(signature, band));
+                for (int candidate : bucket) {
+                    if (candidate != jobId) {
+                        candidates.add(candidate);
+                    }
+                }
+            }
+            int minAgreement = (int) Math.ceil(minSimilarity * NUM_HASHES);
+            List<int[]> matches = new ArrayList<>();
+            for (int candidate : candidates) {
+                int agreement = agreement(signature, signatures.get(candidate));
+                if (agreement >= minAgreement) {
+                    matches.add(new int[] {candidate, agreement});
+                }
+            }
+            // Most similar first, newer job first on ties
+            matches.sort((a, b) -> a[1] != b[1] ? Integer.compare(b[1], a[1]) : Integer.compare(b[0], a[0]));
+            int[] result = new int[Math.min(limit, matches.size())];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = matches.get(i)[0];
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimates the Jaccard similarity of two indexed jobs.
+     *
+     * @param jobId one job ID
+     * @param otherJobId the other job ID
+     * @return the estimated similarity from 0 to 1, or 0 if either job is not indexed
+     */
+    public double similarity(int jobId, int otherJobId) {
+        lock.readLock().lock();
+        try {
+            int[] a = signatures.get(jobId);
+            int[] b = signatures.get(otherJobId);
+            return a == null || b == null ? 0 : agreement(a, b) / (double) NUM_HASHES;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Combines the index versions of the given jobs into one value, which changes whenever any
+     * of them is re-indexed. Pages that show these jobs fold it into their ETag.
+     *
+     * @param jobIds the job IDs
+     * @return the combined version
+     */
+    public long versionOf(int[] jobIds) {
+        lock.readLock().lock();
+        try {
+            long version = 17;
+            for (int jobId : jobIds) {
+                Long stamp = stamps.get(jobId);
+                version = version * 31 + jobId;
+                version = version * 31 + (stamp != null ? stamp : 0);
+            }
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of indexed jobs with a signature.
+     *
+     * @return the number of jobs
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return signatures.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Computes the MinHash signature of a job, or null if it has no words.
+     */
+    static int[] signature(Job job) {
+        List<String> tokens = new ArrayList<>();
+        tokens.addAll(TextTokenizer.tokenize(job.getTitle()));
+        tokens.addAll(TextTokenizer.tokenize(job.getDescription()));
+        tokens.addAll(TextTokenizer.tokenize(job.getRequirements()));
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, tokens.size() - SHINGLE_SIZE + 1);
+        for (int i = 0; i < shingles; i++) {
+            long shingle = 0;
+            for (int j = i; j < Math.min(i + SHINGLE_SIZE, tokens.size()); j++) {
+                shingle = shingle * 0x9E3779B97F4A7C15L + tokens.get(j).hashCode();
+            }
+            for (int h = 0; h < NUM_HASHES; h++) {
+                // Multiply-add hashing; the high half is the well-mixed part
+                int value = (int) ((MULTIPLIERS[h] * shingle + INCREMENTS[h]) >>> 33);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long key = 0;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            key = key * 0x9E3779B97F4A7C15L + signature[row];
+        }
+        return key;
+    }
+
+    private static int agreement(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return same;
+    }
+
+    private void removeLocked(int jobId) {
+        int[] signature = signatures.remove(jobId);
+        if (signature == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            Map<Long, int[]> table = buckets.get(band);
+            long key = bandKey(signature, band);
+            int[] bucket = table.get(key);
+            int[] remaining = without(bucket, jobId);
+            if (remaining.length == 0) {
+                table.remove(key);
+            } else {
+                table.put(key, remaining);
+            }
+        }
+    }
+
+    private static int[] append(int[] bucket, int[] added) {
+        int[] result = Arrays.copyOf(bucket, bucket.length + added.length);
+        System.arraycopy(added, 0, result, bucket.length, added.length);
+        return result;
+    }
+
+    private static int[] without(int[] bucket, int jobId) {
+        int[] result = new int[bucket.length];
+        int n = 0;
+        for (int id : bucket) {
+            if (id != jobId) {
+                result[n++] = id;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+}
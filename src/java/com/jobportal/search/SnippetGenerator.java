@@ -0,0 +1,254 @@
+package com.jobportal.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cuts the passage of a text that best matches a search and highlights the matched words.
+ * <p>
+ * The text is split into words once, recording the character offsets of every word and which
+ * query term, if any, it matches, in arrays reused from row to row. Only words that may match
+ * are filtered into terms: with the built-in filters an ASCII word can only become its lower
+ * case, so its lower-case hash is compared with the query terms' first, and the rest of the
+ * words cost no allocation. A window of {@value #DEFAULT_WINDOW} words then slides over the
+ * offsets keeping per-query-term counts;
+ * the best window covers the most distinct query terms, then the most matches, and is
+ * re-centered on its matches. The snippet is HTML: the text is escaped and matches are
+ * wrapped in {@code <mark>} elements, with an ellipsis where text was cut.
+ * <p>
+ * Create one generator per search; it is not thread-safe.
+ */
+public final class SnippetGenerator {
+
+    public static final int DEFAULT_WINDOW = 30;
+    static final String MARK_START = "<mark>";
+    static final String MARK_END = "</mark>";
+    static final String ELLIPSIS = "\u2026";
+    // Texts without any term are shown up to this many chars
+    private static final int MAX_PLAIN_CHARS = 200;
+
+    private final TextAnalyzer analyzer;
+    private final Map<String, Integer> queryTerms = new HashMap<>();
+    private final int window;
+    private final int[] windowCounts;
+    private final boolean prefilter;
+    // Sorted hash codes of the ASCII query terms
+    private final int[] asciiHashes;
+    private String text;
+
+    private int[] starts = new int[256];
+    private int[] ends = new int[256];
+    private int[] matches = new int[256];
+    private int tokens;
+
+    /**
+     * @param analyzer the analyzer the texts and query are analyzed with
+     * @param window the snippet length in words
+     * @param queries the query texts whose words are highlighted; null entries are ignored
+     */
+    public SnippetGenerator(TextAnalyzer analyzer, int window, String... queries) {
+        this.analyzer = analyzer;
+        this.window = Math.max(1, window);
+        for (String query : queries) {
+            for (String term : analyzer.terms(query)) {
+                queryTerms.putIfAbsent(term, queryTerms.size());
+            }
+        }
+        this.windowCounts = new int[queryTerms.size()];
+        this.prefilter = analyzer.isAsciiLowerCaseOnly();
+        this.asciiHashes = queryTerms.keySet().stream()
+                .filter(term -> term.chars().allMatch(c -> c < 0x80))
+                .mapToInt(String::hashCode).sorted().toArray();
+    }
+
+    /**
+     * Creates a generator with the shared analyzer and the default window.
+     *
+     * @param queries the query texts whose words are highlighted
+     * @return the generator
+     */
+    public static SnippetGenerator forQueries(String... queries) {
+        return new SnippetGenerator(TextAnalyzer.getDefault(), DEFAULT_WINDOW, queries);
+    }
+
+    /**
+     * Creates a generator for a fuzzy search, highlighting every accepted spelling of its
+     * title terms and the requirements text.
+     *
+     * @param query the expanded search
+     * @return the generator
+     */
+    public static SnippetGenerator forQuery(FuzzyQuery query) {
+        List<String> queries = new ArrayList<>();
+        for (List<String> spellings : query.getTitleTerms()) {
+            queries.addAll(spellings);
+        }
+        queries.add(query.getRequirements());
+        return forQueries(queries.toArray(new String[0]));
+    }
+
+    /**
+     * Builds the snippet of a text.
+     *
+     * @param text the text, may be null
+     * @return escaped HTML; empty for a null text
+     */
+    public String snippet(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        tokens = 0;
+        this.text = text;
+        analyzer.split(text, this::record);
+        this.text = null;
+        StringBuilder html = new StringBuilder(Math.min(text.length(), 512) + 64);
+        if (tokens == 0) {
+            int end = Math.min(text.length(), MAX_PLAIN_CHARS);
+            appendEscaped(html, text, 0, end);
+            return end < text.length() ? html.append(ELLIPSIS).toString() : html.toString();
+        }
+
+        int start = bestWindow();
+        int end = Math.min(tokens, start + window);
+        if (start > 0) {
+            html.append(ELLIPSIS);
+        }
+        int from = start > 0 ? starts[start] : 0;
+        for (int i = start; i < end; i++) {
+            appendEscaped(html, text, from, starts[i]);
+            if (matches[i] >= 0) {
+                html.append(MARK_START);
+                appendEscaped(html, text, starts[i], ends[i]);
+                html.append(MARK_END);
+            } else {
+                appendEscaped(html, text, starts[i], ends[i]);
+            }
+            from = ends[i];
+        }
+        if (end < tokens) {
+            html.append(ELLIPSIS);
+        } else {
+            appendEscaped(html, text, from, text.length());
+        }
+        return html.toString();
+    }
+
+    private void record(int start, int end) {
+        if (tokens == starts.length) {
+            int capacity = tokens * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            matches = Arrays.copyOf(matches, capacity);
+        }
+        Integer match = null;
+        if (mayMatch(start, end)) {
+            String term = analyzer.filter(text, start, end);
+            match = term != null ? queryTerms.get(term) : null;
+        }
+        starts[tokens] = start;
+        ends[tokens] = end;
+        matches[tokens++] = match != null ? match : -1;
+    }
+
+    private boolean mayMatch(int start, int end) {
+        if (queryTerms.isEmpty()) {
+            return false;
+        }
+        if (!prefilter) {
+            return true;
+        }
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                return true;
+            }
+            hash = 31 * hash + (c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c);
+        }
+        return Arrays.binarySearch(asciiHashes, hash) >= 0;
+    }
+
+    /**
+     * Slides the window over the words and returns the start of the best one, moved so that
+     * its matches sit in the middle.
+     */
+    private int bestWindow() {
+        if (queryTerms.isEmpty() || tokens <= window) {
+            return 0;
+        }
+        Arrays.fill(windowCounts, 0);
+        int distinct = 0;
+        int total = 0;
+        long bestScore = -1;
+        int best = 0;
+        for (int i = 0; i < tokens; i++) {
+            if (matches[i] >= 0) {
+                total++;
+                if (windowCounts[matches[i]]++ == 0) {
+                    distinct++;
+                }
+            }
+            int leaving = i - window;
+            if (leaving >= 0 && matches[leaving] >= 0) {
+                total--;
+                if (--windowCounts[matches[leaving]] == 0) {
+                    distinct--;
+                }
+            }
+            long score = ((long) distinct << 32) | total;
+            if (i >= window - 1 && score > bestScore) {
+                bestScore = score;
+                best = i - window + 1;
+            }
+        }
+        int first = -1;
+        int last = -1;
+        for (int i = best; i < best + window; i++) {
+            if (matches[i] >= 0) {
+                first = first < 0 ? i : first;
+                last = i;
+            }
+        }
+        if (first < 0) {
+            return 0;
+        }
+        int slack = window - (last - first + 1);
+        return Math.max(0, Math.min(first - slack / 2, tokens - window));
+    }
+
+    /**
+     * Appends part of a text escaped for HTML content and attribute values, as
+     * {@code ValidationUtil.sanitizeForHTML} does.
+     */
+    static void appendEscaped(StringBuilder html, String text, int from, int to) {
+        int clean = from;
+        for (int i = from; i < to; i++) {
+            String entity;
+            switch (text.charAt(i)) {
+                case '&':
+                    entity = "&amp;";
+                    break;
+                case '<':
+                    entity = "&lt;";
+                    break;
+                case '>':
+                    entity = "&gt;";
+                    break;
+                case '"':
+                    entity = "&#34;";
+                    break;
+                case '\'':
+                    entity = "&#39;";
+                    break;
+                default:
+                    continue;
+            }
+            html.append(text, clean, i).append(entity);
+            clean = i + 1;
+        }
+        html.append(text, clean, to);
+    }
+}
@@ -0,0 +1,292 @@
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+import com.jobportal.utils.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Typeahead suggestions for job titles and locations.
+ * <p>
+ * Every distinct title and location, compared case-insensitively, is a suggestion weighted by
+ * the number of jobs that use it. It can be found from the start of any of its words, so
+ * "eng" suggests "Software Engineer". Job changes only adjust the counts; the
+ * {@link CompactTrie} that answers lookups is rebuilt from them in the background shortly
+ * after a change, so a burst of changes costs one rebuild and lookups never wait for one.
+ */
+public class SuggestionIndex implements JobIndex {
+
+    /** The job field suggestions are taken from. */
+    public enum Field {
+        TITLE, LOCATION
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionIndex.class);
+    // Keys per suggestion, bounding the trie for long titles
+    private static final int MAX_WORD_KEYS = 8;
+
+    private static final SuggestionIndex INSTANCE = new SuggestionIndex(
+            ConfigManager.getIntProperty("search.suggest.rebuildDelayMs", 2000));
+
+    private final Map<Integer, String[]> jobs = new HashMap<>();
+    private final Vocabulary titles = new Vocabulary();
+    private final Vocabulary locations = new Vocabulary();
+    private final long rebuildDelayMillis;
+    private final ScheduledExecutorService rebuilder;
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    public SuggestionIndex(long rebuildDelayMillis) {
+        this.rebuildDelayMillis = rebuildDelayMillis;
+        this.rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "suggestion-rebuilder");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the shared index.
+     *
+     * @return the shared index
+     */
+    public static SuggestionIndex getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void index(Job job) {
+        synchronized (jobs) {
+            removeLocked(job.getId());
+            jobs.put(job.getId(), new String[] {job.getTitle(), job.getLocation()});
+            titles.add(job.getTitle());
+            locations.add(job.getLocation());
+        }
+        scheduleRebuild();
+    }
+
+    @Override
+    public void remove(int jobId) {
+        synchronized (jobs) {
+            removeLocked(jobId);
+        }
+        scheduleRebuild();
+    }
+
+    @Override
+    public void clear() {
+        synchronized (jobs) {
+            jobs.clear();
+            titles.clear();
+            locations.clear();
+        }
+        scheduleRebuild();
+    }
+
+    /**
+     * Suggests completions for what the user has typed so far.
+     *
+     * @param field the field to complete
+     * @param prefix the typed text
+     * @param limit the maximum number of suggestions
+     * @return suggestions, most used first
+     */
+    public List<String> suggest(Field field, String prefix, int limit) {
+        String key = normalizePrefix(prefix);
+        if (key.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Snapshot snapshot = (field == Field.TITLE ? titles : locations).snapshot;
+        int[] found = snapshot.trie.complete(key, limit);
+        List<String> suggestions = new ArrayList<>(found.length);
+        for (int entry : found) {
+            suggestions.add(snapshot.texts[entry]);
+        }
+        return suggestions;
+    }
+
+    /**
+     * Rebuilds the tries of changed fields now.
+     */
+    void refresh() {
+        titles.rebuildIfChanged();
+        locations.rebuildIfChanged();
+    }
+
+    /**
+     * Stops the background rebuilds.
+     * Should be called during application shutdown.
+     */
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            try {
+                rebuilder.schedule(() -> {
+                    rebuildScheduled.set(false);
+                    try {
+                        refresh();
+                    } catch (RuntimeException e) {
+                        logger.error("Error rebuilding job suggestions", e);
+                    }
+                }, rebuildDelayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                logger.debug("Suggestion index shut down, rebuild skipped");
+            }
+        }
+    }
+
+    private void removeLocked(int jobId) {
+        String[] previous = jobs.remove(jobId);
+        if (previous != null) {
+            titles.remove(previous[0]);
+            locations.remove(previous[1]);
+        }
+    }
+
+    /**
+     * Lower-cases and collapses whitespace; leading whitespace is dropped, a trailing space is
+     * kept so that "java " only completes to longer phrases.
+     */
+    static String normalizePrefix(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder result = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = result.length() > 0;
+            } else {
+                if (space) {
+                    result.append(' ');
+                    space = false;
+                }
+                result.append(c);
+            }
+        }
+        if (space) {
+            result.append(' ');
+        }
+        return result.toString().toLowerCase(Locale.ROOT);
+    }
+
+    static String normalize(String text) {
+        return normalizePrefix(text).trim();
+    }
+
+    /**
+     * The phrase itself and its suffixes from each later word start.
+     */
+    static List<String> keys(String normalized) {
+        List<String> keys = new ArrayList<>();
+        keys.add(normalized);
+        for (int i = 1; i < normalized.length() && keys.size() < MAX_WORD_KEYS; i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i)) && !Character.isLetterOrDigit(normalized.charAt(i - 1))) {
+                keys.add(normalized.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    private static final class Term {
+        final String text;
+        int count;
+
+        Term(String text) {
+            this.text = text;
+        }
+    }
+
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new CompactTrie.Builder().build(new int[0]), new String[0]);
+
+        final CompactTrie trie;
+        final String[] texts;
+
+        Snapshot(CompactTrie trie, String[] texts) {
+            this.trie = trie;
+            this.texts = texts;
+        }
+    }
+
+    /**
+     * Usage counts of one field's values, with the trie last built from them.
+     */
+    private static final class Vocabulary {
+        private final Map<String, Term> terms = new HashMap<>();
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private final ReentrantLock rebuild = new ReentrantLock();
+        private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+        synchronized void add(String text) {
+            String key = normalize(text);
+            if (!key.isEmpty()) {
+                terms.computeIfAbsent(key, k -> new Term(text.trim())).count++;
+                dirty.set(true);
+            }
+        }
+
+        synchronized void remove(String text) {
+            String key = normalize(text);
+            Term term = terms.get(key);
+            if (term != null && --term.count == 0) {
+                terms.remove(key);
+            }
+            dirty.set(true);
+        }
+
+        synchronized void clear() {
+            terms.clear();
+            dirty.set(true);
+        }
+
+        void rebuildIfChanged() {
+            rebuild.lock();
+            try {
+                // Changes made while building set the flag again
+                if (dirty.getAndSet(false)) {
+                    snapshot = build();
+                }
+            } finally {
+                rebuild.unlock();
+            }
+        }
+
+        private Snapshot build() {
+            List<Map.Entry<String, Term>> copy;
+            int[] weights;
+            synchronized (this) {
+                copy = new ArrayList<>(terms.entrySet());
+                weights = new int[copy.size()];
+                for (int i = 0; i < weights.length; i++) {
+                    weights[i] = copy.get(i).getValue().count;
+                }
+            }
+            CompactTrie.Builder builder = new CompactTrie.Builder();
+            String[] texts = new String[copy.size()];
+            for (int i = 0; i < texts.length; i++) {
+                texts[i] = copy.get(i).getValue().text;
+                for (String key : keys(copy.get(i).getKey())) {
+                    builder.add(key, i);
+                }
+            }
+            return new Snapshot(builder.build(weights), texts);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.jobportal.search;
+
+import com.jobportal.utils.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Turns free text into search terms: a tokenizer followed by a chain of {@link TokenFilter}s.
+ * <p>
+ * The tokenizer splits on everything but letters, digits and combining marks, so the vowel
+ * signs of Sinhala and Tamil stay with their consonants. Zero-width joiners and similar
+ * invisible characters inside a word don't split it; a filter removes them later. A trailing
+ * '+' or '#' stays part of the term, so skills such as "C++" and "C#" are searchable.
+ * <p>
+ * The shared analyzer runs the filters named by the {@code search.analyzer.filters} property,
+ * by default {@value #STANDARD_FILTERS}.
+ */
+public final class TextAnalyzer {
+
+    /** Receives the terms of a text. */
+    public interface TokenSink {
+
+        /**
+         * Accepts one term.
+         *
+         * @param term the filtered term
+         * @param start the offset of the term's first char in the text
+         * @param end the offset after the term's last char in the text
+         */
+        void accept(String term, int start, int end);
+    }
+
+    /** Receives the positions of the words of a text, before filtering. */
+    public interface SpanSink {
+
+        /**
+         * Accepts one word.
+         *
+         * @param start the offset of the word's first char in the text
+         * @param end the offset after the word's last char in the text
+         */
+        void accept(int start, int end);
+    }
+
+    public static final String STANDARD_FILTERS = "unicode,lowercase,diacritics,stopwords";
+
+    private static final Logger logger = LoggerFactory.getLogger(TextAnalyzer.class);
+    private static final TextAnalyzer DEFAULT = fromConfig();
+
+    private final TokenFilter[] filters;
+    private final boolean asciiLowerCaseOnly;
+    private final String name;
+
+    /**
+     * @param filters the filters, applied in order
+     */
+    public TextAnalyzer(List<TokenFilter> filters) {
+        this(filters, null);
+    }
+
+    private TextAnalyzer(List<TokenFilter> filters, String name) {
+        this.name = name;
+        this.filters = filters.toArray(new TokenFilter[0]);
+        boolean builtIn = true;
+        for (TokenFilter filter : this.filters) {
+            builtIn &= TokenFilters.isBuiltIn(filter);
+        }
+        this.asciiLowerCaseOnly = builtIn;
+    }
+
+    /**
+     * Gets the analyzer shared by the in-memory indexes.
+     *
+     * @return the shared analyzer
+     */
+    public static TextAnalyzer getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Creates an analyzer from a list of filter names.
+     *
+     * @param names comma separated names of {@link TokenFilters}; blank for none
+     * @return the analyzer
+     * @throws IllegalArgumentException if a name is unknown
+     */
+    public static TextAnalyzer of(String names) {
+        List<TokenFilter> filters = new ArrayList<>();
+        List<String> normalized = new ArrayList<>();
+        for (String name : names.split(",")) {
+            if (!name.trim().isEmpty()) {
+                filters.add(TokenFilters.byName(name));
+                normalized.add(name.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return new TextAnalyzer(filters, String.join(",", normalized));
+    }
+
+    /**
+     * Gets the names of the filters, e.g. to tell whether terms stored on disk were produced
+     * by the same analyzer.
+     *
+     * @return the comma separated filter names; null for an analyzer built from filter instances
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Analyzes text, passing each term to the sink in text order.
+     *
+     * @param text the text, may be null
+     * @param sink receives the terms, with repetitions
+     */
+    public void analyze(String text, TokenSink sink) {
+        split(text, (start, end) -> {
+            String term = filter(text, start, end);
+            if (term != null) {
+                sink.accept(term, start, end);
+            }
+        });
+    }
+
+    /**
+     * Finds the words of a text without filtering them; allocates nothing.
+     *
+     * @param text the text, may be null
+     * @param sink receives the word positions in text order
+     */
+    public void split(String text, SpanSink sink) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = text.codePointAt(i);
+            if (!isTermChar(codePoint)) {
+                i += Character.charCount(codePoint);
+                continue;
+            }
+            int start = i;
+            i += Character.charCount(codePoint);
+            while (i < length) {
+                codePoint = text.codePointAt(i);
+                if (!isTermChar(codePoint) && !TokenFilters.isIgnorable(codePoint)) {
+                    break;
+                }
+                i += Character.charCount(codePoint);
+            }
+            while (i < length && (text.charAt(i) == '+' || text.charAt(i) == '#')) {
+                i++;
+            }
+            sink.accept(start, i);
+        }
+    }
+
+    /**
+     * Filters one word found by {@link #split}.
+     *
+     * @param text the text
+     * @param start the offset of the word's first char
+     * @param end the offset after the word's last char
+     * @return the term, or null if a filter dropped it
+     */
+    public String filter(String text, int start, int end) {
+        String term = text.substring(start, end);
+        for (TokenFilter filter : filters) {
+            term = filter.apply(term);
+            if (term == null || term.isEmpty()) {
+                return null;
+            }
+        }
+        return term;
+    }
+
+    /**
+     * Analyzes text into a list of terms.
+     *
+     * @param text the text, may be null
+     * @return the terms in text order, with repetitions
+     */
+    public List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        analyze(text, (term, start, end) -> terms.add(term));
+        return terms;
+    }
+
+    /**
+     * Tells whether every filter turns a word of ASCII chars into itself, its lower case or
+     * nothing, so such a word can only become a term equal to its lower case.
+     */
+    boolean isAsciiLowerCaseOnly() {
+        return asciiLowerCaseOnly;
+    }
+
+    private static boolean isTermChar(int codePoint) {
+        if (codePoint < 0x80) {
+            return (codePoint >= 'a' && codePoint <= 'z') || (codePoint >= 'A' && codePoint <= 'Z')
+                    || (codePoint >= '0' && codePoint <= '9');
+        }
+        if (Character.isLetterOrDigit(codePoint)) {
+            return true;
+        }
+        int type = Character.getType(codePoint);
+        // Vowel signs of Sinhala and Tamil are combining marks, not letters
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK;
+    }
+
+    private static TextAnalyzer fromConfig() {
+        String names = ConfigManager.getProperty("search.analyzer.filters", STANDARD_FILTERS);
+        try {
+            return of(names);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid search.analyzer.filters '{}', using {}: {}", names, STANDARD_FILTERS, e.getMessage());
+            return of(STANDARD_FILTERS);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.jobportal.search;
+
+import java.util.List;
+
+/**
+ * Splits free text into search terms. Shared by the in-memory indexes so that documents and
+ * queries are always tokenized the same way.
+ */
+public final class TextTokenizer {
+
+    private TextTokenizer() {
+    }
+
+    /**
+     * Splits text into terms with the shared {@link TextAnalyzer}: normalized, lower-case
+     * terms of letters, digits and combining marks, without stop words. A trailing '+' or '#'
+     * stays part of the term, so skills such as "C++" and "C#" are searchable.
+     *
+     * @param text the text, may be null
+     * @return the terms in text order, with repetitions
+     */
+    public static List<String> tokenize(String text) {
+        return TextAnalyzer.getDefault().terms(text);
+    }
+}
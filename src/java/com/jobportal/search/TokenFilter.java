@@ -0,0 +1,15 @@
+package com.jobportal.search;
+
+/**
+ * One step of a {@link TextAnalyzer}, applied to every term the tokenizer produces.
+ */
+public interface TokenFilter {
+
+    /**
+     * Transforms a term.
+     *
+     * @param term the term as produced by the previous step, never empty
+     * @return the transformed term, or null (or empty) to drop it
+     */
+    String apply(String term);
+}
@@ -0,0 +1,196 @@
+package com.jobportal.search;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The token filters available to a {@link TextAnalyzer}, by name:
+ * <ul>
+ *   <li>{@code unicode}: drops zero-width joiners and other invisible format characters, then
+ *       applies Unicode NFC, so Sinhala and Tamil words typed with different key sequences
+ *       or input methods become the same term</li>
+ *   <li>{@code lowercase}: folds case</li>
+ *   <li>{@code diacritics}: strips accents from Latin letters, so "café" matches "cafe"; the
+ *       vowel signs of Sinhala and Tamil are left alone, they are part of the letter</li>
+ *   <li>{@code stopwords}: drops common English, Sinhala and Tamil function words</li>
+ * </ul>
+ * Filters only look at the characters that need work, so ASCII terms pass through them
+ * without copying.
+ */
+public final class TokenFilters {
+
+    /** Common English words that don't help find a job. "it" is kept, as in "IT". */
+    static final Set<String> ENGLISH_STOP_WORDS = words(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "if", "in", "into",
+            "is", "no", "not", "of", "on", "or", "our", "such", "that", "the", "their", "then", "there",
+            "these", "they", "this", "to", "was", "we", "will", "with", "you", "your");
+
+    /** Sinhala conjunctions, postpositions and particles, in NFC without joiners. */
+    static final Set<String> SINHALA_STOP_WORDS = words(
+            "සහ", "හා", "හෝ", "ද", "ය", "යි", "වේ", "ඇත", "ඇති", "සඳහා", "මෙම", "එම", "මේ", "ඒ",
+            "නිසා", "විසින්", "සමග", "සමඟ", "තුළ", "මත", "බව", "අතර", "ලෙස", "නමුත්", "වැනි", "පමණ");
+
+    /** Tamil conjunctions, postpositions and particles, in NFC. */
+    static final Set<String> TAMIL_STOP_WORDS = words(
+            "மற்றும்", "அல்லது", "ஒரு", "இந்த", "அந்த", "இது", "அது", "என்று", "என்ற", "உள்ள",
+            "போன்ற", "மூலம்", "பற்றி", "இருந்து", "உடன்", "மேலும்", "ஆகும்", "ஆக");
+
+    private static final TokenFilter UNICODE = TokenFilters::normalizeUnicode;
+    private static final TokenFilter LOWERCASE = term -> term.toLowerCase(Locale.ROOT);
+    private static final TokenFilter DIACRITICS = TokenFilters::foldDiacritics;
+    private static final TokenFilter STOP_WORDS = stopWords(union(ENGLISH_STOP_WORDS, SINHALA_STOP_WORDS, TAMIL_STOP_WORDS));
+
+    private TokenFilters() {
+    }
+
+    /**
+     * Gets a filter by name.
+     *
+     * @param name one of {@code unicode}, {@code lowercase}, {@code diacritics}, {@code stopwords}
+     * @return the filter
+     * @throws IllegalArgumentException if there is no filter with that name
+     */
+    public static TokenFilter byName(String name) {
+        switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "unicode":
+                return UNICODE;
+            case "lowercase":
+                return LOWERCASE;
+            case "diacritics":
+                return DIACRITICS;
+            case "stopwords":
+                return STOP_WORDS;
+            default:
+                throw new IllegalArgumentException("Unknown token filter: " + name);
+        }
+    }
+
+    /**
+     * Creates a filter dropping the given words.
+     *
+     * @param words the words, in the form earlier filters produce
+     * @return the filter
+     */
+    public static TokenFilter stopWords(Set<String> words) {
+        return new StopWordFilter(words);
+    }
+
+    /**
+     * Tells whether a filter is one of these, which leave ASCII terms as they are, lower-case
+     * them or drop them.
+     */
+    static boolean isBuiltIn(TokenFilter filter) {
+        return filter == UNICODE || filter == LOWERCASE || filter == DIACRITICS || filter instanceof StopWordFilter;
+    }
+
+    static String normalizeUnicode(String term) {
+        StringBuilder visible = null;
+        boolean mayCompose = false;
+        char previous = 0;
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (isIgnorable(c)) {
+                if (visible == null) {
+                    visible = new StringBuilder(term.length()).append(term, 0, i);
+                }
+                continue;
+            }
+            if (visible != null) {
+                visible.append(c);
+            }
+            mayCompose |= mayCompose(previous, c);
+            previous = c;
+        }
+        String result = visible != null ? visible.toString() : term;
+        return mayCompose && !Normalizer.isNormalized(result, Normalizer.Form.NFC)
+                ? Normalizer.normalize(result, Normalizer.Form.NFC) : result;
+    }
+
+    /**
+     * Tells whether NFC might change a char after the previous one. Below the combining
+     * diacritical marks it never does. In Sinhala and Tamil the only compositions are the
+     * two-part vowel signs, so those blocks are answered exactly; anything else is left to
+     * the normalizer's own check.
+     */
+    static boolean mayCompose(char previous, char c) {
+        if (c < '\u0300') {
+            return false;
+        }
+        if (c >= '\u0B80' && c <= '\u0BFF') {
+            return (c == '\u0BBE' && (previous == '\u0BC6' || previous == '\u0BC7'))
+                    || (c == '\u0BD7' && (previous == '\u0BC6' || previous == '\u0B92'));
+        }
+        if (c >= '\u0D80' && c <= '\u0DFF') {
+            return (previous == '\u0DD9' && (c == '\u0DCA' || c == '\u0DCF' || c == '\u0DDF'))
+                    || (previous == '\u0DDC' && c == '\u0DCA');
+        }
+        return true;
+    }
+
+    static String foldDiacritics(String term) {
+        int i = 0;
+        while (i < term.length() && !isAccentable(term.charAt(i))) {
+            i++;
+        }
+        if (i == term.length()) {
+            return term;
+        }
+        String decomposed = Normalizer.normalize(term, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        boolean changed = false;
+        for (int j = 0; j < decomposed.length(); j++) {
+            char c = decomposed.charAt(j);
+            if (c >= '\u0300' && c <= '\u036F') {
+                changed = true;
+            } else {
+                folded.append(c);
+            }
+        }
+        return changed ? Normalizer.normalize(folded, Normalizer.Form.NFC) : term;
+    }
+
+    /**
+     * Latin letters that may carry an accent, and the accents themselves.
+     */
+    private static boolean isAccentable(char c) {
+        return (c >= '\u00C0' && c <= '\u036F') || (c >= '\u1E00' && c <= '\u1EFF');
+    }
+
+    /**
+     * Zero-width joiners and non-joiners only steer how Sinhala conjuncts are rendered, and
+     * soft hyphens, word joiners and byte order marks are invisible too.
+     */
+    static boolean isIgnorable(int c) {
+        return c == '\u200C' || c == '\u200D' || c == '\u00AD' || c == '\u2060' || c == '\uFEFF';
+    }
+
+    private static final class StopWordFilter implements TokenFilter {
+        private final Set<String> words;
+
+        StopWordFilter(Set<String> words) {
+            this.words = new HashSet<>(words);
+        }
+
+        @Override
+        public String apply(String term) {
+            return words.contains(term) ? null : term;
+        }
+    }
+
+    private static Set<String> words(String... words) {
+        return Collections.unmodifiableSet(new HashSet<>(Arrays.asList(words)));
+    }
+
+    @SafeVarargs
+    private static Set<String> union(Set<String>... sets) {
+        Set<String> union = new HashSet<>();
+        for (Set<String> set : sets) {
+            union.addAll(set);
+        }
+        return union;
+    }
+}
@@ -6,30 +6,25 @@ import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import com.jobportal.dao.AdminDao;
-import com.jobportal.dao.AdminDaoImpl;
-import com.jobportal.models.Admin;
+import com.jobportal.dashboard.Dashboard;
+import com.jobportal.dashboard.DashboardService;
+import com.jobportal.search.SearchResultCache;
 
 @WebServlet("/adminDashboard")
 public class AdminDashboardServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
-    private AdminDao adminDao;
-
-    @Override
-    public void init() throws ServletException {
-        adminDao = new AdminDaoImpl();
-    }
-
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
         try {
-            // Example of fetching some statistics or data
-            int totalUsers = adminDao.getTotalUsers();
-            int totalJobs = adminDao.getTotalJobs();
+            // Independent statistics are loaded concurrently; late ones are marked stale
+            Dashboard dashboard = DashboardService.getInstance().loadAdminDashboard();
             
-            request.setAttribute("totalUsers", totalUsers);
-            request.setAttribute("totalJobs", totalJobs);
+            request.setAttribute("totalUsers", dashboard.get("totalUsers"));
+            request.setAttribute("totalJobs", dashboard.get("totalJobs"));
+            request.setAttribute("staleWidgets", dashboard.getStaleWidgets());
+            request.setAttribute("searchCacheStats", SearchResultCache.getInstance().getStats());
+            request.setAttribute("jobDetailsCacheStats", JobDetailsServlet.getConditionalStats());
             request.getRequestDispatcher("adminDashboard.jsp").forward(request, response);
         } catch (Exception e) {
             e.printStackTrace();
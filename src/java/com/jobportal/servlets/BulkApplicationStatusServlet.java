@@ -0,0 +1,121 @@
+package com.jobportal.servlets;
+
+import java.io.IOException;
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.jobportal.api.ApiErrors;
+import com.jobportal.dao.ApplicationDAOImpl;
+import com.jobportal.models.ApplicationStatusChange;
+import com.jobportal.utils.DBConnectionPool;
+import com.jobportal.utils.DBConnectionPool.Workload;
+import com.jobportal.utils.EmailUtil;
+import com.jobportal.utils.ValidationUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Bulk application status transitions for employers.
+ * <p>
+ * {@code POST /api/v1/applications/status} with {@code status} and {@code ids} (repeated or
+ * comma-separated) moves all listed applications of the employer's jobs to the status in one
+ * transaction, queues one batch of notification emails and returns a result per ID.
+ */
+@WebServlet("/api/v1/applications/status")
+public class BulkApplicationStatusServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+    private static final Logger logger = LoggerFactory.getLogger(BulkApplicationStatusServlet.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int MAX_IDS = 1000;
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        Integer employerId = session != null ? (Integer) session.getAttribute("userId") : null;
+        if (employerId == null || !"employer".equals(session.getAttribute("userRole"))) {
+            ApiErrors.sendError(response, HttpServletResponse.SC_FORBIDDEN, "Only employers can update applications");
+            return;
+        }
+
+        String status = request.getParameter("status");
+        if (!ValidationUtil.isValidApplicationStatus(status)) {
+            ApiErrors.sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid status");
+            return;
+        }
+        List<Integer> ids;
+        try {
+            ids = parseIds(request.getParameterValues("ids"));
+        } catch (IllegalArgumentException e) {
+            ApiErrors.sendError(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        List<ApplicationStatusChange> changes;
+        try (Connection connection = DBConnectionPool.getConnection(Workload.BATCH)) {
+            changes = new ApplicationDAOImpl(connection).updateApplicationStatuses(employerId, ids, status);
+        } catch (SQLException e) {
+            logger.error("Bulk status update to '{}' failed for employer {}", status, employerId, e);
+            ApiErrors.sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Database error; no application was updated");
+            return;
+        }
+        int emailsQueued = EmailUtil.queueApplicationStatusEmails(changes);
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(response.getOutputStream(), JsonEncoding.UTF8)) {
+            gen.writeStartObject();
+            gen.writeStringField("status", status);
+            gen.writeArrayFieldStart("results");
+            for (ApplicationStatusChange change : changes) {
+                gen.writeStartObject();
+                gen.writeNumberField("id", change.getApplicationId());
+                gen.writeStringField("result", change.getOutcome().name().toLowerCase(Locale.ROOT));
+                if (change.getPreviousStatus() != null) {
+                    gen.writeStringField("previousStatus", change.getPreviousStatus());
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeNumberField("emailsQueued", emailsQueued);
+            gen.writeEndObject();
+        }
+    }
+
+    private static List<Integer> parseIds(String[] values) {
+        List<Integer> ids = new ArrayList<>();
+        if (values != null) {
+            for (String value : values) {
+                for (String part : value.split(",")) {
+                    String trimmed = part.trim();
+                    if (trimmed.isEmpty()) {
+                        continue;
+                    }
+                    try {
+                        ids.add(Integer.valueOf(trimmed));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid application ID: " + trimmed);
+                    }
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("No application IDs given");
+        }
+        if (ids.size() > MAX_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_IDS + " applications can be updated at once");
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,88 @@
+package com.jobportal.servlets;
+
+import java.io.IOException;
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.jobportal.api.ApiErrors;
+import com.jobportal.dao.StudentDaoImpl;
+import com.jobportal.models.Student;
+import com.jobportal.search.CandidateIndex;
+import com.jobportal.utils.DBConnectionPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Candidate search for employers: {@code GET /api/v1/candidates?q=java+spring&major=&graduationYear=}.
+ * <p>
+ * Matches the text extracted from students' resumes, filtered by major and graduation year,
+ * and returns the best matches as JSON.
+ */
+@WebServlet("/api/v1/candidates")
+public class CandidateSearchServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+    private static final Logger logger = LoggerFactory.getLogger(CandidateSearchServlet.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        Object role = session != null ? session.getAttribute("userRole") : null;
+        if (!"employer".equals(role) && !"admin".equals(role)) {
+            ApiErrors.sendError(response, HttpServletResponse.SC_FORBIDDEN, "Only employers can search candidates");
+            return;
+        }
+
+        int limit = DEFAULT_LIMIT;
+        String limitParam = request.getParameter("limit");
+        if (limitParam != null) {
+            try {
+                limit = Math.max(1, Math.min(MAX_LIMIT, Integer.parseInt(limitParam)));
+            } catch (NumberFormatException e) {
+                ApiErrors.sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid limit");
+                return;
+            }
+        }
+
+        List<Integer> ids = CandidateIndex.getInstance().search(request.getParameter("q"),
+                request.getParameter("major"), request.getParameter("graduationYear"), limit);
+        List<Student> students;
+        try (Connection connection = DBConnectionPool.getConnection()) {
+            students = new StudentDaoImpl(connection).getStudentsByIds(ids);
+        } catch (SQLException e) {
+            logger.error("Error loading candidates", e);
+            ApiErrors.sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Error loading candidates");
+            return;
+        }
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "private, no-store");
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(response.getOutputStream(), JsonEncoding.UTF8)) {
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("candidates");
+            for (Student student : students) {
+                gen.writeStartObject();
+                gen.writeNumberField("id", student.getId());
+                gen.writeStringField("name", student.getName());
+                gen.writeStringField("major", student.getMajor());
+                gen.writeStringField("graduationYear", student.getGraduationYear());
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.jobportal.servlets;
+
+import java.io.IOException;
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import com.jobportal.dashboard.Dashboard;
+import com.jobportal.dashboard.DashboardService;
+
+/**
+ * Landing page for logged-in students and employers.
+ * Loads the role's dashboard widgets concurrently and renders dashboard.jsp or employer.jsp.
+ */
+@WebServlet("/dashboard")
+public class DashboardServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        Integer userId = session != null ? (Integer) session.getAttribute("userId") : null;
+        if (userId == null) {
+            response.sendRedirect("login.jsp?error=Please log in to access this page");
+            return;
+        }
+
+        String view;
+        Dashboard dashboard;
+        if ("employer".equals(session.getAttribute("userRole"))) {
+            dashboard = DashboardService.getInstance().loadEmployerDashboard(userId);
+            view = "employer.jsp";
+        } else {
+            dashboard = DashboardService.getInstance().loadStudentDashboard(userId);
+            view = "dashboard.jsp";
+        }
+
+        for (String widget : dashboard.getWidgets().keySet()) {
+            Object value = dashboard.get(widget);
+            if (value != null) {
+                request.setAttribute(widget, value);
+            }
+        }
+        request.setAttribute("staleWidgets", dashboard.getStaleWidgets());
+        request.getRequestDispatcher(view).forward(request, response);
+    }
+}
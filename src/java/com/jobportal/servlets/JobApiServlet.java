@@ -0,0 +1,298 @@
+package com.jobportal.servlets;
+
+import java.io.IOException;
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.jobportal.api.ApiCursor;
+import com.jobportal.api.ApiErrors;
+import com.jobportal.api.JobJsonWriter;
+import com.jobportal.dao.JobDao;
+import com.jobportal.dao.JobDaoImpl;
+import com.jobportal.dao.RowHandler;
+import com.jobportal.models.Job;
+import com.jobportal.search.FacetIndex;
+import com.jobportal.search.FacetIndex.Facet;
+import com.jobportal.search.FuzzyQuery;
+import com.jobportal.search.FuzzyTermIndex;
+import com.jobportal.search.JobIndexes;
+import com.jobportal.search.JobSearchCriteria;
+import com.jobportal.search.JobSearchIndex;
+import com.jobportal.search.RankedResults;
+import com.jobportal.search.SnippetGenerator;
+import com.jobportal.utils.DBConnectionPool;
+import com.jobportal.utils.HttpCacheUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned JSON API for jobs.
+ * <ul>
+ *   <li>{@code GET /api/v1/jobs?cursor=&limit=&fields=} - jobs ordered by ID</li>
+ *   <li>{@code GET /api/v1/jobs/search?title=&location=&requirements=&cursor=&limit=&fields=&facets=&fuzzy=&sort=&snippets=}</li>
+ *   <li>{@code GET /api/v1/jobs/{id}?fields=}</li>
+ * </ul>
+ * Rows are written to the response as they are read from the database; no list or tree
+ * of the result is built. Pages use keyset cursors, returned as {@code nextCursor}.
+ * With {@code facets=true} a search also returns {@code facets}: the number of matching jobs
+ * per location, job type, salary band and active flag, over all pages. With {@code fuzzy=true}
+ * misspelled title and location words also match, and the spellings searched for are returned
+ * as {@code expanded}. Facets are counted by the in-memory indexes; while those are still loading
+ * a search asking for facets is answered with 503. With {@code sort=relevance}
+ * jobs containing any title or requirements word are ranked by BM25, best first, and
+ * {@code matches} gives their number; the first {@value #MAX_RANKED_RESULTS} can be paged through.
+ * With {@code snippets=true} every job found also gets a {@code snippet}: the passage of its
+ * description best matching the searched words, as escaped HTML with {@code <mark>} around
+ * the matches.
+ */
+@WebServlet("/api/v1/jobs/*")
+public class JobApiServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+    private static final Logger logger = LoggerFactory.getLogger(JobApiServlet.class);
+    // Leave a failed stream visibly truncated rather than auto-closing it into valid JSON
+    private static final JsonFactory JSON_FACTORY =
+            new JsonFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+    private static final int MAX_RANKED_RESULTS = 1000;
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        String pathInfo = request.getPathInfo();
+        // The connection stays open while the rows are streamed to the response
+        try (Connection connection = DBConnectionPool.getConnection()) {
+            JobDao jobDao = new JobDaoImpl(connection);
+            JobJsonWriter writer = JobJsonWriter.forFields(request.getParameter("fields"));
+            if (pathInfo == null || "/".equals(pathInfo)) {
+                writePage(request, response, jobDao, writer, false);
+            } else if ("/search".equals(pathInfo) && "relevance".equals(request.getParameter("sort"))) {
+                writeRankedPage(request, response, jobDao, writer);
+            } else if ("/search".equals(pathInfo)) {
+                writePage(request, response, jobDao, writer, true);
+            } else {
+                writeJob(request, response, jobDao, writer, Integer.parseInt(pathInfo.substring(1)));
+            }
+        } catch (NumberFormatException e) {
+            ApiErrors.sendError(response, HttpServletResponse.SC_NOT_FOUND, "Not found");
+        } catch (IllegalArgumentException e) {
+            ApiErrors.sendError(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        } catch (SQLException e) {
+            logger.error("Database error serving {}", request.getRequestURI(), e);
+            ApiErrors.sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Database error");
+        }
+    }
+
+    private static void writePage(HttpServletRequest request, HttpServletResponse response, JobDao jobDao,
+                                  JobJsonWriter writer, boolean search) throws IOException, SQLException {
+        int afterId = ApiCursor.decode(request.getParameter("cursor"));
+        int limit = parseLimit(request.getParameter("limit"));
+        boolean facets = search && "true".equals(request.getParameter("facets"));
+        if (facets && !JobIndexes.getInstance().isLoaded()) {
+            ApiErrors.sendError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Search index is still loading");
+            return;
+        }
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(response.getOutputStream(), JsonEncoding.UTF8)) {
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("data");
+
+            FuzzyQuery fuzzyQuery = search && "true".equals(request.getParameter("fuzzy"))
+                    ? FuzzyTermIndex.getInstance().expand(request.getParameter("title"),
+                            request.getParameter("location"), request.getParameter("requirements"))
+                    : null;
+            SnippetGenerator snippets = null;
+            if (search && "true".equals(request.getParameter("snippets"))) {
+                snippets = fuzzyQuery != null ? SnippetGenerator.forQuery(fuzzyQuery) : SnippetGenerator.forQueries(
+                        request.getParameter("title"), request.getParameter("requirements"));
+            }
+            // One extra row is fetched to learn whether another page exists
+            PageHandler page = new PageHandler(gen, writer, limit, snippets);
+            if (fuzzyQuery != null) {
+                jobDao.streamFuzzySearchResults(fuzzyQuery, afterId, limit + 1, page);
+            } else if (search) {
+                jobDao.streamSearchResults(request.getParameter("title"), request.getParameter("location"),
+                        request.getParameter("requirements"), afterId, limit + 1, page);
+            } else {
+                jobDao.streamJobs(afterId, limit + 1, page);
+            }
+
+            gen.writeEndArray();
+            if (page.hasMore) {
+                gen.writeStringField("nextCursor", ApiCursor.encode(page.lastId));
+            } else {
+                gen.writeNullField("nextCursor");
+            }
+            if (fuzzyQuery != null) {
+                writeExpanded(gen, fuzzyQuery);
+            }
+            if (facets) {
+                writeFacets(gen, fuzzyQuery != null ? jobDao.searchFuzzyJobIds(fuzzyQuery)
+                        : jobDao.searchJobIds(request.getParameter("title"), request.getParameter("location"),
+                                request.getParameter("requirements")));
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeRankedPage(HttpServletRequest request, HttpServletResponse response, JobDao jobDao,
+                                        JobJsonWriter writer) throws IOException, SQLException {
+        int offset = ApiCursor.decodeOffset(request.getParameter("cursor"));
+        int limit = parseLimit(request.getParameter("limit"));
+        if (offset >= MAX_RANKED_RESULTS) {
+            throw new IllegalArgumentException("Only the first " + MAX_RANKED_RESULTS + " ranked results can be paged");
+        }
+        if (!JobIndexes.getInstance().isLoaded()) {
+            ApiErrors.sendError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Search index is still loading");
+            return;
+        }
+        JobSearchCriteria criteria = new JobSearchCriteria(request.getParameter("title"),
+                request.getParameter("location"), request.getParameter("requirements"));
+        int end = Math.min(offset + limit, MAX_RANKED_RESULTS);
+        RankedResults results = JobSearchIndex.getInstance().search(criteria, end + 1);
+        List<Job> jobs = jobDao.getJobsByIds(results.getJobIds(offset, end - offset));
+        SnippetGenerator snippets = "true".equals(request.getParameter("snippets"))
+                ? SnippetGenerator.forQueries(criteria.getTitle(), criteria.getRequirements()) : null;
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(response.getOutputStream(), JsonEncoding.UTF8)) {
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("data");
+            for (Job job : jobs) {
+                writer.write(gen, job, snippets != null ? snippets.snippet(job.getDescription()) : null);
+            }
+            gen.writeEndArray();
+            if (results.size() > end && end < MAX_RANKED_RESULTS) {
+                gen.writeStringField("nextCursor", ApiCursor.encodeOffset(end));
+            } else {
+                gen.writeNullField("nextCursor");
+            }
+            gen.writeNumberField("matches", results.getMatches());
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeExpanded(JsonGenerator gen, FuzzyQuery query) throws IOException {
+        gen.writeObjectFieldStart("expanded");
+        writeTerms(gen, "title", query.getTitleTerms());
+        writeTerms(gen, "location", query.getLocationTerms());
+        gen.writeBooleanField("complete", query.isComplete());
+        gen.writeEndObject();
+    }
+
+    private static void writeTerms(JsonGenerator gen, String name, List<List<String>> terms) throws IOException {
+        gen.writeArrayFieldStart(name);
+        for (List<String> spellings : terms) {
+            gen.writeStartArray();
+            for (String spelling : spellings) {
+                gen.writeString(spelling);
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeFacets(JsonGenerator gen, int[] jobIds) throws IOException {
+        gen.writeObjectFieldStart("facets");
+        for (Map.Entry<Facet, Map<String, Integer>> facet : FacetIndex.getInstance().count(jobIds).entrySet()) {
+            gen.writeObjectFieldStart(facet.getKey().getJsonName());
+            for (Map.Entry<String, Integer> value : facet.getValue().entrySet()) {
+                gen.writeNumberField(value.getKey(), value.getValue());
+            }
+            gen.writeEndObject();
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeJob(HttpServletRequest request, HttpServletResponse response, JobDao jobDao,
+                                 JobJsonWriter writer, int jobId) throws IOException, SQLException {
+        Timestamp lastModified = jobDao.getJobLastModified(jobId);
+        if (lastModified == null) {
+            ApiErrors.sendError(response, HttpServletResponse.SC_NOT_FOUND, "Job not found");
+            return;
+        }
+        String etag = HttpCacheUtil.strongETag(
+                "api-job-" + jobId + "-" + Integer.toHexString(String.valueOf(request.getParameter("fields")).hashCode()),
+                lastModified.getTime());
+        if (HttpCacheUtil.isNotModified(request, etag, lastModified.getTime())) {
+            HttpCacheUtil.sendNotModified(response, etag, lastModified.getTime());
+            return;
+        }
+
+        Job job = jobDao.getJobById(jobId);
+        if (job == null) {
+            ApiErrors.sendError(response, HttpServletResponse.SC_NOT_FOUND, "Job not found");
+            return;
+        }
+        HttpCacheUtil.setValidators(response, etag, lastModified.getTime());
+        response.setHeader("Cache-Control", "no-cache");
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(response.getOutputStream(), JsonEncoding.UTF8)) {
+            gen.writeStartObject();
+            gen.writeFieldName("data");
+            writer.write(gen, job);
+            gen.writeEndObject();
+        }
+    }
+
+    private static int parseLimit(String limitParam) {
+        if (limitParam == null || limitParam.isEmpty()) {
+            return DEFAULT_LIMIT;
+        }
+        int limit;
+        try {
+            limit = Integer.parseInt(limitParam);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid limit");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    /**
+     * Writes up to {@code limit} rows and records whether a further row exists.
+     */
+    private static class PageHandler implements RowHandler<Job> {
+        private final JsonGenerator gen;
+        private final JobJsonWriter writer;
+        private final int limit;
+        private final SnippetGenerator snippets;
+        private int written;
+        private int lastId;
+        private boolean hasMore;
+
+        PageHandler(JsonGenerator gen, JobJsonWriter writer, int limit, SnippetGenerator snippets) {
+            this.gen = gen;
+            this.writer = writer;
+            this.limit = limit;
+            this.snippets = snippets;
+        }
+
+        @Override
+        public void handle(Job job) throws IOException {
+            if (written == limit) {
+                hasMore = true;
+                return;
+            }
+            writer.write(gen, job, snippets != null ? snippets.snippet(job.getDescription()) : null);
+            lastId = job.getId();
+            written++;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.jobportal.servlets;
+
+import java.io.IOException;
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.jobportal.api.ApiErrors;
+import com.jobportal.dao.JobDaoImpl;
+import com.jobportal.search.JobIndexes;
+import com.jobportal.search.NearDuplicateIndex;
+import com.jobportal.utils.ConfigManager;
+import com.jobportal.utils.DBConnectionPool;
+import com.jobportal.utils.DBConnectionPool.Workload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Deduplicates the jobs posted before near-duplicates were checked at post time.
+ * <p>
+ * {@code POST /api/v1/admin/jobs/dedupe} looks up every indexed job's SimHash fingerprint in
+ * parallel, then stores all fingerprints and flags each duplicate with its original in one
+ * batched pass. Jobs that are no longer near any older job are unflagged. Admins only; one run
+ * at a time.
+ */
+@WebServlet("/api/v1/admin/jobs/dedupe")
+public class JobDedupeServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+    private static final Logger logger = LoggerFactory.getLogger(JobDedupeServlet.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int THREADS = ConfigManager.getIntProperty("jobs.duplicates.scanThreads", 4);
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        if (session == null || !"admin".equals(session.getAttribute("userRole"))) {
+            ApiErrors.sendError(response, HttpServletResponse.SC_FORBIDDEN, "Only admins can deduplicate jobs");
+            return;
+        }
+        if (!JobIndexes.getInstance().isLoaded()) {
+            ApiErrors.sendError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Job indexes are still loading");
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            ApiErrors.sendError(response, HttpServletResponse.SC_CONFLICT, "Deduplication is already running");
+            return;
+        }
+
+        long start = System.nanoTime();
+        NearDuplicateIndex index = NearDuplicateIndex.getInstance();
+        Map<Integer, Long> fingerprints = index.getFingerprints();
+        Map<Integer, Integer> duplicates;
+        int updated;
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, THREADS));
+        try (Connection connection = DBConnectionPool.getConnection(Workload.BATCH)) {
+            duplicates = index.findAllDuplicates(pool);
+            updated = new JobDaoImpl(connection).updateDuplicates(fingerprints, duplicates);
+            // Flags changed outside the DAO's per-job path; the search index picks them up
+            JobIndexes.getInstance().reindexAll();
+        } catch (SQLException e) {
+            logger.error("Job deduplication failed", e);
+            ApiErrors.sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Database error during deduplication");
+            return;
+        } finally {
+            pool.shutdown();
+            running.set(false);
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info("Deduplicated {} jobs in {} ms: {} duplicates", fingerprints.size(), millis, duplicates.size());
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(response.getOutputStream(), JsonEncoding.UTF8)) {
+            gen.writeStartObject();
+            gen.writeNumberField("scanned", fingerprints.size());
+            gen.writeNumberField("updated", updated);
+            gen.writeNumberField("duplicates", duplicates.size());
+            gen.writeNumberField("millis", millis);
+            gen.writeEndObject();
+        }
+    }
+}
@@ -9,37 +9,88 @@ import javax.servlet.http.HttpServletResponse;
 import com.jobportal.dao.JobDao;
 import com.jobportal.dao.JobDaoImpl;
 import com.jobportal.models.Job;
+import com.jobportal.search.SimilarJobIndex;
+import com.jobportal.utils.AsyncRequestExecutor;
+import com.jobportal.utils.DBConnectionPool;
+import com.jobportal.utils.HttpCacheUtil;
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.atomic.AtomicLong;
 
-@WebServlet("/jobDetails")
+@WebServlet(urlPatterns = "/jobDetails", asyncSupported = true)
 public class JobDetailsServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
-    private JobDao jobDao;
 
-    @Override
-    public void init() throws ServletException {
-        jobDao = new JobDaoImpl();
-    }
+    private static final int SIMILAR_JOBS = 5;
+
+    // Conditional GET counters: each 304 skips the full row load and JSP render
+    private static final AtomicLong notModifiedResponses = new AtomicLong();
+    private static final AtomicLong fullResponses = new AtomicLong();
 
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
+        int jobId;
         try {
-            int jobId = Integer.parseInt(request.getParameter("id"));
-            Job job = jobDao.getJobById(jobId);
-            if (job == null) {
-                request.setAttribute("error", "Job not found.");
-                request.getRequestDispatcher("error.jsp").forward(request, response);
-            } else {
-                request.setAttribute("job", job);
-                request.getRequestDispatcher("jobDetails.jsp").forward(request, response);
-            }
+            jobId = Integer.parseInt(request.getParameter("id"));
         } catch (NumberFormatException e) {
             request.setAttribute("error", "Invalid job ID.");
             request.getRequestDispatcher("error.jsp").forward(request, response);
-        } catch (SQLException e) {
-            request.setAttribute("error", "Database error: " + e.getMessage());
-            request.getRequestDispatcher("error.jsp").forward(request, response);
+            return;
         }
+
+        // The lookups run on a request worker; this container thread is released immediately
+        AsyncRequestExecutor.execute(request, response, "/error.jsp", (req, resp) -> {
+            try (Connection connection = DBConnectionPool.getConnection()) {
+                return loadJob(new JobDaoImpl(connection), jobId, req, resp);
+            } catch (SQLException e) {
+                req.setAttribute("error", "Database error: " + e.getMessage());
+                return "/error.jsp";
+            }
+        });
+    }
+
+    private String loadJob(JobDao jobDao, int jobId, HttpServletRequest request, HttpServletResponse response)
+            throws SQLException {
+        // Answer revalidations from a primary-key metadata lookup before loading the row
+        Timestamp lastModified = jobDao.getJobLastModified(jobId);
+        SimilarJobIndex similarIndex = SimilarJobIndex.getInstance();
+        int[] similarIds = similarIndex.findSimilar(jobId, SIMILAR_JOBS);
+        if (lastModified != null) {
+            // The similar-jobs panel changes with other jobs, so its version is part of the ETag.
+            // Last-Modified only covers the job row: If-Modified-Since alone must not give a 304
+            String etag = HttpCacheUtil.strongETag("job-" + jobId + "-"
+                    + Long.toHexString(similarIndex.versionOf(similarIds)), lastModified.getTime());
+            if (HttpCacheUtil.isNotModified(request, etag, -1)) {
+                notModifiedResponses.incrementAndGet();
+                HttpCacheUtil.sendNotModified(response, etag, lastModified.getTime());
+                return null;
+            }
+            HttpCacheUtil.setValidators(response, etag, lastModified.getTime());
+            response.setHeader("Cache-Control", "no-cache");
+        }
+
+        Job job = lastModified == null ? null : jobDao.getJobById(jobId);
+        if (job == null) {
+            request.setAttribute("error", "Job not found.");
+            return "/error.jsp";
+        }
+        fullResponses.incrementAndGet();
+        request.setAttribute("job", job);
+        request.setAttribute("similarJobs", jobDao.getJobsByIds(similarIds));
+        return "/jobDetails.jsp";
+    }
+
+    /**
+     * Gets conditional GET statistics for monitoring.
+     *
+     * @return counts of 304 and full responses
+     */
+    public static String getConditionalStats() {
+        long notModified = notModifiedResponses.get();
+        long total = notModified + fullResponses.get();
+        return String.format("Not modified: %d, Full: %d, Revalidation rate: %.1f%%",
+                notModified, total - notModified, total == 0 ? 0.0 : notModified * 100.0 / total);
     }
 }
@@ -102,10 +102,8 @@ public class LoginServlet extends HttpServlet {
     private String getRedirectPage(String role) {
         if ("admin".equals(role)) {
             return "adminDashboard.jsp";
-        } else if ("employer".equals(role)) {
-            return "employer.jsp";
         } else {
-            return "dashboard.jsp";
+            return "dashboard";
         }
     }
 
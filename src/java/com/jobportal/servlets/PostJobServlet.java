@@ -9,10 +9,15 @@ import javax.servlet.http.HttpServletResponse;
 import com.jobportal.dao.JobDao;
 import com.jobportal.dao.JobDaoImpl;
 import com.jobportal.models.Job;
+import com.jobportal.search.NearDuplicateIndex;
+import com.jobportal.utils.ConfigManager;
 
 @WebServlet("/postJob")
 public class PostJobServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
+    // "reject" refuses reposts of the employer's own jobs; "flag" saves them hidden from search
+    private static final boolean REJECT_DUPLICATES =
+            "reject".equalsIgnoreCase(ConfigManager.getProperty("jobs.duplicates.action", "flag"));
     private JobDao jobDao;
 
     @Override
@@ -42,9 +47,14 @@ public class PostJobServlet extends HttpServlet {
         job.setRequirements(requirements);
         job.setEmployerId(employerId);
 
+        if (REJECT_DUPLICATES && NearDuplicateIndex.getInstance().findOriginal(job, true) != 0) {
+            response.sendRedirect("postJob.jsp?error=This job repeats one of your existing postings");
+            return;
+        }
+
         try {
             jobDao.saveJob(job);
-            response.sendRedirect("dashboard.jsp");
+            response.sendRedirect("dashboard");
         } catch (Exception e) {
             throw new ServletException("Error saving job posting", e);
         }
@@ -9,7 +9,12 @@ import javax.servlet.http.HttpServletResponse;
 import com.jobportal.dao.StudentDao;
 import com.jobportal.dao.StudentDaoImpl;
 import com.jobportal.models.Student;
+import com.jobportal.search.ResumeExtractionService;
+import com.jobportal.utils.FileUploadUtil;
+import com.jobportal.utils.FileUploadUtil.UploadedFile;
+import org.apache.commons.fileupload.servlet.ServletFileUpload;
 import java.sql.SQLException;
+import java.util.Objects;
 
 @WebServlet("/profile")
 public class ProfileServlet extends HttpServlet {
@@ -40,6 +45,10 @@ public class ProfileServlet extends HttpServlet {
     protected void doPost(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
         int studentId = (int) request.getSession().getAttribute("userId");
+        if (ServletFileUpload.isMultipartContent(request)) {
+            uploadResume(request, response, studentId);
+            return;
+        }
         Student student = new Student();
         student.setId(studentId);
         student.setName(request.getParameter("name"));
@@ -50,7 +59,15 @@ public class ProfileServlet extends HttpServlet {
         student.setResumePath(request.getParameter("resume_path"));
 
         try {
-            studentDao.updateStudent(student);
+            Student existing = studentDao.getStudentById(studentId);
+            String oldResumePath = existing != null ? existing.getResumePath() : null;
+            if (Objects.equals(oldResumePath, student.getResumePath())) {
+                studentDao.updateStudent(student);
+            } else {
+                updateWithNewResume(studentDao, request, student, oldResumePath);
+            }
+            // Queued only; the text is extracted in the background
+            ResumeExtractionService.getInstance().submit(studentId, student.getResumePath());
             response.sendRedirect("profile.jsp");
         } catch (SQLException e) {
             e.printStackTrace();
@@ -58,4 +75,59 @@ public class ProfileServlet extends HttpServlet {
             request.getRequestDispatcher("profile.jsp").forward(request, response);
         }
     }
+
+    // A multipart post replaces only the resume, with the file in the "resume" field
+    private void uploadResume(HttpServletRequest request, HttpServletResponse response, int studentId)
+            throws ServletException, IOException {
+        UploadedFile uploaded;
+        try {
+            uploaded = FileUploadUtil.storeUpload(request, "resume");
+        } catch (Exception e) {
+            request.setAttribute("errorMessage", e.getMessage());
+            request.getRequestDispatcher("profile.jsp").forward(request, response);
+            return;
+        }
+        if (uploaded == null) {
+            request.setAttribute("errorMessage", "Please choose a resume file to upload.");
+            request.getRequestDispatcher("profile.jsp").forward(request, response);
+            return;
+        }
+
+        try {
+            Student student = studentDao.getStudentById(studentId);
+            if (student == null) {
+                FileUploadUtil.releaseUpload(request, uploaded.getPath());
+                response.sendError(HttpServletResponse.SC_NOT_FOUND, "Student not found");
+                return;
+            }
+            String oldResumePath = student.getResumePath();
+            student.setResumePath(uploaded.getPath());
+            studentDao.updateStudent(student);
+            // Re-uploading the same file drops the reference the upload just added
+            FileUploadUtil.releaseUpload(request, oldResumePath);
+            ResumeExtractionService.getInstance().submit(studentId, uploaded.getPath());
+            response.sendRedirect("profile.jsp");
+        } catch (SQLException e) {
+            FileUploadUtil.releaseUpload(request, uploaded.getPath());
+            e.printStackTrace();
+            request.setAttribute("errorMessage", "An error occurred while uploading your resume.");
+            request.getRequestDispatcher("profile.jsp").forward(request, response);
+        }
+    }
+
+    /**
+     * Saves a student whose resume path was changed by hand, moving the stored-file reference
+     * from the old path to the new one. Also used by {@link StudentServlet}.
+     */
+    static void updateWithNewResume(StudentDao studentDao, HttpServletRequest request, Student student,
+                                    String oldResumePath) throws SQLException {
+        FileUploadUtil.retainUpload(request, student.getResumePath());
+        try {
+            studentDao.updateStudent(student);
+        } catch (SQLException e) {
+            FileUploadUtil.releaseUpload(request, student.getResumePath());
+            throw e;
+        }
+        FileUploadUtil.releaseUpload(request, oldResumePath);
+    }
 }
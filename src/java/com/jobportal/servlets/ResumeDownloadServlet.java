@@ -0,0 +1,200 @@
+package com.jobportal.servlets;
+
+import java.io.IOException;
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import com.jobportal.dao.ApplicationDAOImpl;
+import com.jobportal.dao.StudentDaoImpl;
+import com.jobportal.models.Student;
+import com.jobportal.utils.ByteRange;
+import com.jobportal.utils.DBConnectionPool;
+import com.jobportal.utils.FileUploadUtil;
+import com.jobportal.utils.HttpCacheUtil;
+import com.jobportal.utils.ResumeStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Serves a student's resume: {@code GET /resume?studentId=N}.
+ * <p>
+ * Students may download their own resume, employers the resumes of students who applied to
+ * one of their jobs, and admins any resume. Files are sent without being read into the heap:
+ * through the container's sendfile support when available, otherwise with
+ * {@link FileChannel#transferTo}. Single byte ranges (with If-Range) and conditional requests
+ * are supported; responses are private to the user.
+ */
+@WebServlet("/resume")
+public class ResumeDownloadServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+    private static final Logger logger = LoggerFactory.getLogger(ResumeDownloadServlet.class);
+
+    // Tomcat's sendfile request attributes
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        Integer userId = session != null ? (Integer) session.getAttribute("userId") : null;
+        if (userId == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Please log in to download resumes");
+            return;
+        }
+
+        int studentId;
+        try {
+            studentId = Integer.parseInt(request.getParameter("studentId"));
+        } catch (NumberFormatException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid student ID");
+            return;
+        }
+
+        // The connection is only held for the checks, not while the file is sent
+        String resumePath;
+        try (Connection connection = DBConnectionPool.getConnection()) {
+            if (!isAuthorized(connection, (String) session.getAttribute("userRole"), userId, studentId)) {
+                response.sendError(HttpServletResponse.SC_FORBIDDEN, "You may not download this resume");
+                return;
+            }
+            Student student = new StudentDaoImpl(connection).getStudentById(studentId);
+            resumePath = student != null ? student.getResumePath() : null;
+        } catch (SQLException e) {
+            logger.error("Error loading resume for student {}", studentId, e);
+            response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Error loading resume");
+            return;
+        }
+
+        Path file = FileUploadUtil.resolveUpload(request, resumePath);
+        if (file == null || !Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Resume not found");
+            return;
+        }
+        serve(request, response, file, ResumeStorage.hashOf(resumePath), "resume-" + studentId);
+    }
+
+    private static boolean isAuthorized(Connection connection, String role, int userId, int studentId) throws SQLException {
+        if ("admin".equals(role)) {
+            return true;
+        }
+        if ("employer".equals(role)) {
+            return new ApplicationDAOImpl(connection).hasAppliedToEmployer(studentId, userId);
+        }
+        return userId == studentId;
+    }
+
+    private void serve(HttpServletRequest request, HttpServletResponse response, Path file, String sha256,
+                       String downloadName) throws IOException {
+        long size = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        String fileName = file.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        String extension = dot >= 0 ? fileName.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+        // The content hash of a content-addressed file is already a perfect validator
+        String etag = sha256 != null ? "\"" + sha256 + "\""
+                : HttpCacheUtil.strongETag("resume-" + Long.toHexString(size), lastModified);
+
+        // Every request re-checks access; the validators keep revalidation cheap
+        response.setHeader("Cache-Control", "private, no-cache");
+        response.setHeader("Accept-Ranges", "bytes");
+        if (HttpCacheUtil.isNotModified(request, etag, lastModified)) {
+            HttpCacheUtil.sendNotModified(response, etag, lastModified);
+            return;
+        }
+        HttpCacheUtil.setValidators(response, etag, lastModified);
+
+        ByteRange range = ifRangeMatches(request, etag, lastModified)
+                ? ByteRange.parse(request.getHeader("Range"), size) : null;
+        if (range == ByteRange.UNSATISFIABLE) {
+            response.setHeader("Content-Range", range.toContentRange(size));
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+
+        long start = 0;
+        long length = size;
+        if (range != null) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader("Content-Range", range.toContentRange(size));
+            start = range.getStart();
+            length = range.getLength();
+        }
+        response.setContentType(contentType(extension));
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + downloadName
+                + (extension.isEmpty() ? "" : "." + extension) + "\"");
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // The container sends the file from the kernel after this method returns
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * Evaluates If-Range: a Range is honored only if the client's copy is still current.
+     */
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return HttpCacheUtil.matchesAny(ifRange, etag, false);
+        }
+        try {
+            long date = request.getDateHeader("If-Range");
+            return date >= 0 && lastModified / 1000 == date / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static String contentType(String extension) {
+        switch (extension) {
+            case "pdf":
+                return "application/pdf";
+            case "doc":
+                return "application/msword";
+            case "docx":
+                return "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+            default:
+                return "application/octet-stream";
+        }
+    }
+}
@@ -6,20 +6,23 @@ import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import com.jobportal.dao.JobDao;
 import com.jobportal.dao.JobDaoImpl;
 import com.jobportal.models.Job;
+import com.jobportal.search.FuzzyQuery;
+import com.jobportal.search.FuzzyTermIndex;
+import com.jobportal.search.JobIndexes;
+import com.jobportal.search.JobSearchCriteria;
+import com.jobportal.search.JobSearchIndex;
+import com.jobportal.search.RankedResults;
+import com.jobportal.utils.AsyncRequestExecutor;
+import com.jobportal.utils.DBConnectionPool;
+import java.sql.Connection;
 import java.util.List;
 
-@WebServlet("/searchJobs")
+@WebServlet(urlPatterns = "/searchJobs", asyncSupported = true)
 public class SearchJobServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
-    private JobDao jobDao;
-
-    @Override
-    public void init() throws ServletException {
-        jobDao = new JobDaoImpl();
-    }
+    private static final int MAX_RANKED_RESULTS = 100;
 
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response)
@@ -27,15 +30,32 @@ public class SearchJobServlet extends HttpServlet {
         String title = request.getParameter("title");
         String location = request.getParameter("location");
         String requirements = request.getParameter("requirements");
+        boolean fuzzy = "true".equals(request.getParameter("fuzzy"));
+        // Ranking needs the in-memory index; until it is loaded the plain search answers
+        boolean ranked = "relevance".equals(request.getParameter("sort")) && JobIndexes.getInstance().isLoaded();
 
-        try {
-            List<Job> jobs = jobDao.searchJobs(title, location, requirements);
-            request.setAttribute("jobs", jobs);
-            request.getRequestDispatcher("searchResults.jsp").forward(request, response);
-        } catch (Exception e) {
-            e.printStackTrace();
-            request.setAttribute("errorMessage", "An error occurred while searching for jobs.");
-            request.getRequestDispatcher("error.jsp").forward(request, response);
-        }
+        // The query runs on a request worker; this container thread is released immediately
+        AsyncRequestExecutor.execute(request, response, "/error.jsp", (req, resp) -> {
+            try (Connection connection = DBConnectionPool.getConnection()) {
+                JobDaoImpl jobDao = new JobDaoImpl(connection);
+                List<Job> jobs;
+                if (ranked) {
+                    // Title and requirements words are ranked by BM25, the location filters
+                    RankedResults results = JobSearchIndex.getInstance().search(
+                            new JobSearchCriteria(title, location, requirements), MAX_RANKED_RESULTS);
+                    jobs = jobDao.getJobsByIds(results.getJobIds(0, results.size()));
+                    req.setAttribute("ranked", Boolean.TRUE);
+                } else if (fuzzy) {
+                    // Misspelled title and location words are matched to the words jobs use
+                    FuzzyQuery query = FuzzyTermIndex.getInstance().expand(title, location, requirements);
+                    jobs = jobDao.searchJobsFuzzy(query);
+                    req.setAttribute("fuzzyQuery", query);
+                } else {
+                    jobs = jobDao.searchJobs(title, location, requirements);
+                }
+                req.setAttribute("jobs", jobs);
+                return "/searchResults.jsp";
+            }
+        });
     }
 }
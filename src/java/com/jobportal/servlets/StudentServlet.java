@@ -9,7 +9,10 @@ import javax.servlet.http.HttpServletResponse;
 import com.jobportal.dao.StudentDao;
 import com.jobportal.dao.StudentDaoImpl;
 import com.jobportal.models.Student;
+import com.jobportal.search.ResumeExtractionService;
+import com.jobportal.utils.FileUploadUtil;
 import java.sql.SQLException;
+import java.util.Objects;
 
 @WebServlet("/student")
 public class StudentServlet extends HttpServlet {
@@ -34,7 +37,11 @@ public class StudentServlet extends HttpServlet {
                 request.getRequestDispatcher("student.jsp").forward(request, response);
             } else if ("delete".equals(action)) {
                 int id = Integer.parseInt(request.getParameter("id"));
-                studentDao.deleteStudent(id);
+                Student student = studentDao.getStudentById(id);
+                if (studentDao.deleteStudent(id) && student != null) {
+                    FileUploadUtil.releaseUpload(request, student.getResumePath());
+                }
+                ResumeExtractionService.getInstance().studentDeleted(id);
                 response.sendRedirect("students.jsp");
             }
         } catch (SQLException e) {
@@ -67,7 +74,13 @@ public class StudentServlet extends HttpServlet {
                     return;
                 }
 
-                studentDao.addStudent(student);
+                FileUploadUtil.retainUpload(request, student.getResumePath());
+                try {
+                    studentDao.addStudent(student);
+                } catch (SQLException e) {
+                    FileUploadUtil.releaseUpload(request, student.getResumePath());
+                    throw e;
+                }
                 response.sendRedirect("students.jsp");
             } else if ("update".equals(action)) {
                 Student student = new Student();
@@ -87,7 +100,15 @@ public class StudentServlet extends HttpServlet {
                     return;
                 }
 
-                studentDao.updateStudent(student);
+                Student existing = studentDao.getStudentById(student.getId());
+                String oldResumePath = existing != null ? existing.getResumePath() : null;
+                if (Objects.equals(oldResumePath, student.getResumePath())) {
+                    studentDao.updateStudent(student);
+                } else {
+                    ProfileServlet.updateWithNewResume(studentDao, request, student, oldResumePath);
+                }
+                // New students are picked up by the extraction sweep
+                ResumeExtractionService.getInstance().submit(student.getId(), student.getResumePath());
                 response.sendRedirect("students.jsp");
             }
         } catch (SQLException e) {
@@ -0,0 +1,73 @@
+package com.jobportal.servlets;
+
+import java.io.IOException;
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.jobportal.api.ApiErrors;
+import com.jobportal.search.SuggestionIndex;
+import com.jobportal.search.SuggestionIndex.Field;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Typeahead for the job search form.
+ * <p>
+ * {@code GET /api/v1/suggest?field=title|location&q=&limit=} returns the most used job titles
+ * or locations that have a word starting with {@code q}, from memory. Suggestions may be
+ * cached briefly by the browser, as they only change when jobs are posted.
+ */
+@WebServlet("/api/v1/suggest")
+public class SuggestServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 20;
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        Field field;
+        int limit;
+        try {
+            field = Field.valueOf(String.valueOf(request.getParameter("field")).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            ApiErrors.sendError(response, HttpServletResponse.SC_BAD_REQUEST, "field must be title or location");
+            return;
+        }
+        try {
+            String limitParam = request.getParameter("limit");
+            limit = limitParam == null || limitParam.isEmpty() ? DEFAULT_LIMIT : Integer.parseInt(limitParam);
+        } catch (NumberFormatException e) {
+            limit = 0;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            ApiErrors.sendError(response, HttpServletResponse.SC_BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+            return;
+        }
+        String query = request.getParameter("q");
+        if (query != null && query.length() > MAX_QUERY_LENGTH) {
+            query = query.substring(0, MAX_QUERY_LENGTH);
+        }
+
+        List<String> suggestions = SuggestionIndex.getInstance().suggest(field, query, limit);
+        response.setHeader("Cache-Control", "public, max-age=60");
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(response.getOutputStream(), JsonEncoding.UTF8)) {
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("suggestions");
+            for (String suggestion : suggestions) {
+                gen.writeString(suggestion);
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.jobportal.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs blocking request work (JDBC) off the container's request threads using servlet async processing.
+ * <p>
+ * The request thread only starts the async context and returns; the work runs on a small dedicated
+ * pool sized to the database pool, and the view is rendered by an async dispatch. Each request has
+ * a timeout after which the client gets 503 and the work is cancelled. When the queue is full the
+ * request is rejected with 503 immediately instead of queuing unboundedly.
+ * <p>
+ * The work sees a deferred view of the request and response: attributes, headers and status it
+ * sets are recorded and applied only if the request has not timed out meanwhile, as the
+ * container may already have recycled the real objects.
+ */
+public class AsyncRequestExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncRequestExecutor.class);
+    private static final long TIMEOUT_MS = ConfigManager.getIntProperty("async.request.timeoutMs", 10000);
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+    /**
+     * Request work that runs on the executor.
+     */
+    @FunctionalInterface
+    public interface Work {
+        /**
+         * Performs the blocking part of the request.
+         *
+         * @param request the request; attributes set here are visible to the view
+         * @param response the response, for work that answers directly with headers and a
+         *                 status (e.g. 304); the body is written by the view only
+         * @return the context-relative view to dispatch to, or null if the response is complete
+         * @throws Exception if the work fails
+         */
+        String run(HttpServletRequest request, HttpServletResponse response) throws Exception;
+    }
+
+    private AsyncRequestExecutor() {
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        int threads = ConfigManager.getIntProperty("async.executor.threads",
+                ConfigManager.getIntProperty("db.pool.maximumPoolSize", 10));
+        int queueSize = ConfigManager.getIntProperty("async.executor.queueSize", 500);
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "request-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), factory, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Starts async processing and runs the work on the executor.
+     *
+     * @param request the request
+     * @param response the response
+     * @param errorView view to dispatch to when the work throws, with "errorMessage" set
+     * @param work the blocking work
+     */
+    public static void execute(HttpServletRequest request, HttpServletResponse response,
+                               String errorView, Work work) {
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(TIMEOUT_MS);
+
+        AtomicBoolean finished = new AtomicBoolean();
+        AtomicReference<Future<?>> task = new AtomicReference<>();
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) throws IOException {
+                if (finished.compareAndSet(false, true)) {
+                    Future<?> future = task.get();
+                    if (future != null) {
+                        future.cancel(true);
+                    }
+                    logger.warn("Request timed out after {} ms: {}", TIMEOUT_MS, request.getRequestURI());
+                    response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "The request timed out.");
+                    asyncContext.complete();
+                }
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+                // Nothing to release
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                finished.set(true);
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+                // Not re-registered on nested async starts
+            }
+        });
+
+        String uri = request.getRequestURI();
+        try {
+            task.set(EXECUTOR.submit(() -> {
+                DeferredRequest deferredRequest = new DeferredRequest(request);
+                DeferredResponse deferredResponse = new DeferredResponse(response);
+                String view;
+                try {
+                    view = work.run(deferredRequest, deferredResponse);
+                } catch (Exception e) {
+                    logger.error("Error processing async request: {}", uri, e);
+                    deferredRequest.setAttribute("errorMessage", "An error occurred while processing your request.");
+                    view = errorView;
+                }
+                if (finished.compareAndSet(false, true)) {
+                    try {
+                        deferredRequest.apply();
+                        deferredResponse.apply();
+                    } catch (IOException e) {
+                        logger.debug("Could not apply the response of {}", uri, e);
+                    }
+                    if (view != null) {
+                        asyncContext.dispatch(view);
+                    } else {
+                        asyncContext.complete();
+                    }
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            finished.set(true);
+            logger.warn("Request worker queue full, rejecting: {}", request.getRequestURI());
+            try {
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "The server is busy. Please try again.");
+            } catch (IOException ioe) {
+                logger.debug("Could not send busy response", ioe);
+            }
+            asyncContext.complete();
+        }
+    }
+
+    /**
+     * Request view whose attribute changes are kept until {@link #apply()}; removals are recorded
+     * as null values.
+     */
+    private static final class DeferredRequest extends HttpServletRequestWrapper {
+        private final Map<String, Object> attributes = new LinkedHashMap<>();
+
+        DeferredRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            return attributes.containsKey(name) ? attributes.get(name) : super.getAttribute(name);
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+            attributes.put(name, value);
+        }
+
+        @Override
+        public void removeAttribute(String name) {
+            attributes.put(name, null);
+        }
+
+        void apply() {
+            HttpServletRequest target = (HttpServletRequest) getRequest();
+            for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+                if (attribute.getValue() == null) {
+                    target.removeAttribute(attribute.getKey());
+                } else {
+                    target.setAttribute(attribute.getKey(), attribute.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Response view that records headers and status until {@link #apply()}. The body belongs to
+     * the view, so the work may not open the output.
+     */
+    private static final class DeferredResponse extends HttpServletResponseWrapper {
+        private interface Change {
+            void apply(HttpServletResponse response) throws IOException;
+        }
+
+        private final List<Change> changes = new ArrayList<>();
+        private final Map<String, String> headers = new LinkedHashMap<>();
+        private int status = SC_OK;
+
+        DeferredResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            headers.put(name.toLowerCase(), value);
+            changes.add(target -> target.setHeader(name, value));
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            headers.putIfAbsent(name.toLowerCase(), value);
+            changes.add(target -> target.addHeader(name, value));
+        }
+
+        @Override
+        public void setDateHeader(String name, long date) {
+            headers.put(name.toLowerCase(), String.valueOf(date));
+            changes.add(target -> target.setDateHeader(name, date));
+        }
+
+        @Override
+        public void addDateHeader(String name, long date) {
+            headers.putIfAbsent(name.toLowerCase(), String.valueOf(date));
+            changes.add(target -> target.addDateHeader(name, date));
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            headers.put(name.toLowerCase(), String.valueOf(value));
+            changes.add(target -> target.setIntHeader(name, value));
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            headers.putIfAbsent(name.toLowerCase(), String.valueOf(value));
+            changes.add(target -> target.addIntHeader(name, value));
+        }
+
+        @Override
+        public boolean containsHeader(String name) {
+            return headers.containsKey(name.toLowerCase()) || super.containsHeader(name);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            String value = headers.get(name.toLowerCase());
+            return value != null ? value : super.getHeader(name);
+        }
+
+        @Override
+        public void setStatus(int sc) {
+            status = sc;
+            changes.add(target -> target.setStatus(sc));
+        }
+
+        @Override
+        public int getStatus() {
+            return status;
+        }
+
+        @Override
+        public void sendError(int sc) {
+            status = sc;
+            changes.add(target -> target.sendError(sc));
+        }
+
+        @Override
+        public void sendError(int sc, String msg) {
+            status = sc;
+            changes.add(target -> target.sendError(sc, msg));
+        }
+
+        @Override
+        public void sendRedirect(String location) {
+            status = SC_FOUND;
+            changes.add(target -> target.sendRedirect(location));
+        }
+
+        @Override
+        public void setContentType(String type) {
+            changes.add(target -> target.setContentType(type));
+        }
+
+        @Override
+        public void setCharacterEncoding(String charset) {
+            changes.add(target -> target.setCharacterEncoding(charset));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            throw new IllegalStateException("Async work may not write the response body");
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            throw new IllegalStateException("Async work may not write the response body");
+        }
+
+        void apply() throws IOException {
+            HttpServletResponse target = (HttpServletResponse) getResponse();
+            for (Change change : changes) {
+                change.apply(target);
+            }
+        }
+    }
+
+    /**
+     * Gets executor statistics for monitoring.
+     *
+     * @return executor statistics as string
+     */
+    public static String getStats() {
+        return String.format("Active: %d, Queued: %d, Completed: %d, Pool size: %d",
+                EXECUTOR.getActiveCount(), EXECUTOR.getQueue().size(),
+                EXECUTOR.getCompletedTaskCount(), EXECUTOR.getPoolSize());
+    }
+
+    /**
+     * Stops accepting work and waits briefly for running requests.
+     * Should be called during application shutdown.
+     */
+    public static void shutdown() {
+        EXECUTOR.shutdown();
+        try {
+            if (!EXECUTOR.awaitTermination(5, TimeUnit.SECONDS)) {
+                EXECUTOR.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            EXECUTOR.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
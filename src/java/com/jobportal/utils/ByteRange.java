@@ -0,0 +1,87 @@
+package com.jobportal.utils;
+
+/**
+ * A single HTTP byte range (RFC 7233) resolved against a resource size.
+ */
+public final class ByteRange {
+
+    /** Returned when the Range header is valid but no range overlaps the resource. */
+    public static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+    private final long start;
+    private final long end;
+
+    private ByteRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Parses a Range header for a resource of the given size.
+     * Only a single range is served; multiple ranges, other units and malformed headers
+     * yield null, meaning the full resource should be sent with 200.
+     *
+     * @param header the Range header value, or null
+     * @param size the resource size in bytes
+     * @return the range, {@link #UNSATISFIABLE}, or null to ignore the header
+     */
+    public static ByteRange parse(String header, long size) {
+        if (header == null || !header.startsWith("bytes=")) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        if (spec.indexOf(',') >= 0) {
+            return null;
+        }
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+        try {
+            if (first.isEmpty()) {
+                // Suffix range: the last N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new ByteRange(Math.max(0, size - suffix), size - 1);
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null;
+            }
+            if (start >= size) {
+                return UNSATISFIABLE;
+            }
+            return new ByteRange(start, Math.min(end, size - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    /** Last byte position, inclusive. */
+    public long getEnd() {
+        return end;
+    }
+
+    public long getLength() {
+        return end - start + 1;
+    }
+
+    /**
+     * Builds the Content-Range header value.
+     *
+     * @param size the resource size in bytes
+     * @return e.g. "bytes 0-499/1234", or "bytes *&#47;1234" for {@link #UNSATISFIABLE}
+     */
+    public String toContentRange(long size) {
+        return this == UNSATISFIABLE ? "bytes */" + size : "bytes " + start + "-" + end + "/" + size;
+    }
+}
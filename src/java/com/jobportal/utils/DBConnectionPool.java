@@ -2,32 +2,88 @@ package com.jobportal.utils;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Database connection pool manager using HikariCP.
  * This replaces the old singleton connection pattern with proper connection pooling.
+ * <p>
+ * Work is split across named pools (bulkheads) so that a long-running export or
+ * batch job can only exhaust its own connections and never stalls interactive
+ * requests such as logins. Each pool reads {@code db.pool.<name>.*} properties
+ * and falls back to the shared {@code db.pool.*} values.
+ * <p>
+ * A DAO constructed with a connection from here only uses it; the caller closes it, so one
+ * connection can span several DAO calls or a transaction.
  */
 public class DBConnectionPool {
     private static final Logger logger = LoggerFactory.getLogger(DBConnectionPool.class);
-    private static HikariDataSource dataSource;
+    private static final String POOL_NAME_PREFIX = "JobPortalHikariCP";
+
+    /**
+     * Workload classes, each backed by its own connection pool.
+     */
+    public enum Workload {
+        /** Page requests and logins; the default pool. */
+        INTERACTIVE("interactive", 10, 5, 30000),
+        /** Scheduled jobs, digests, bulk updates and in-memory index loads. */
+        BATCH("batch", 4, 0, 60000),
+        /** CSV exports and dashboard/report queries. */
+        REPORTING("reporting", 3, 0, 60000);
+
+        private final String key;
+        private final int defaultMaximumPoolSize;
+        private final int defaultMinimumIdle;
+        private final int defaultConnectionTimeout;
+
+        Workload(String key, int defaultMaximumPoolSize, int defaultMinimumIdle, int defaultConnectionTimeout) {
+            this.key = key;
+            this.defaultMaximumPoolSize = defaultMaximumPoolSize;
+            this.defaultMinimumIdle = defaultMinimumIdle;
+            this.defaultConnectionTimeout = defaultConnectionTimeout;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
+    private static final Map<Workload, HikariDataSource> dataSources = new EnumMap<>(Workload.class);
 
     static {
         try {
-            initializeDataSource();
+            dataSource(Workload.INTERACTIVE);
         } catch (Exception e) {
             logger.error("Failed to initialize database connection pool", e);
             throw new RuntimeException("Database initialization failed", e);
         }
     }
 
-    private static void initializeDataSource() {
+    /**
+     * Returns the pool for a workload, creating it on first use so that
+     * deployments which never run batch or reporting work never open those connections.
+     */
+    private static synchronized HikariDataSource dataSource(Workload workload) {
+        HikariDataSource dataSource = dataSources.get(workload);
+        if (dataSource == null) {
+            dataSource = new HikariDataSource(buildConfig(workload));
+            dataSources.put(workload, dataSource);
+            logger.info("HikariCP connection pool '{}' initialized successfully", workload.getKey());
+        }
+        return dataSource;
+    }
+
+    private static HikariConfig buildConfig(Workload workload) {
         HikariConfig config = new HikariConfig();
-        
+
         // Basic configuration
         config.setJdbcUrl(ConfigManager.getProperty("db.url"));
         config.setUsername(ConfigManager.getProperty("db.username"));
@@ -35,68 +91,118 @@ public class DBConnectionPool {
         config.setDriverClassName(ConfigManager.getProperty("db.driver"));
 
         // Pool configuration
-        config.setMaximumPoolSize(ConfigManager.getIntProperty("db.pool.maximumPoolSize", 10));
-        config.setMinimumIdle(ConfigManager.getIntProperty("db.pool.minimumIdle", 5));
-        config.setConnectionTimeout(ConfigManager.getIntProperty("db.pool.connectionTimeout", 30000));
-        config.setIdleTimeout(ConfigManager.getIntProperty("db.pool.idleTimeout", 600000));
-        config.setMaxLifetime(ConfigManager.getIntProperty("db.pool.maxLifetime", 1800000));
+        config.setMaximumPoolSize(poolInt(workload, "maximumPoolSize", workload.defaultMaximumPoolSize));
+        config.setMinimumIdle(poolInt(workload, "minimumIdle", workload.defaultMinimumIdle));
+        config.setConnectionTimeout(poolInt(workload, "connectionTimeout", workload.defaultConnectionTimeout));
+        config.setIdleTimeout(poolInt(workload, "idleTimeout", 600000));
+        config.setMaxLifetime(poolInt(workload, "maxLifetime", 1800000));
 
         // Performance optimization
-        config.addDataSourceProperty("cachePrepStmts", 
+        config.addDataSourceProperty("cachePrepStmts",
             ConfigManager.getProperty("db.pool.cachePrepStmts", "true"));
-        config.addDataSourceProperty("prepStmtCacheSize", 
+        config.addDataSourceProperty("prepStmtCacheSize",
             ConfigManager.getProperty("db.pool.prepStmtCacheSize", "250"));
-        config.addDataSourceProperty("prepStmtCacheSqlLimit", 
+        config.addDataSourceProperty("prepStmtCacheSqlLimit",
             ConfigManager.getProperty("db.pool.prepStmtCacheSqlLimit", "2048"));
 
-        // Pool name for monitoring
-        config.setPoolName("JobPortalHikariCP");
+        // Pool name for monitoring; the interactive pool keeps the historical name
+        config.setPoolName(workload == Workload.INTERACTIVE
+            ? POOL_NAME_PREFIX : POOL_NAME_PREFIX + "-" + workload.getKey());
 
         // Connection test query
         config.setConnectionTestQuery("SELECT 1");
 
-        dataSource = new HikariDataSource(config);
-        logger.info("HikariCP connection pool initialized successfully");
+        return config;
+    }
+
+    /**
+     * Reads {@code db.pool.<workload>.<name>}, falling back to the shared
+     * {@code db.pool.<name>} for the interactive pool and to the built-in default otherwise.
+     */
+    private static int poolInt(Workload workload, String name, int defaultValue) {
+        if (workload == Workload.INTERACTIVE) {
+            defaultValue = ConfigManager.getIntProperty("db.pool." + name, defaultValue);
+        }
+        return ConfigManager.getIntProperty("db.pool." + workload.getKey() + "." + name, defaultValue);
     }
 
     /**
-     * Gets a database connection from the pool.
+     * Gets a database connection from the interactive pool.
      *
      * @return a database connection
      * @throws SQLException if unable to get connection
      */
     public static Connection getConnection() throws SQLException {
-        if (dataSource == null || dataSource.isClosed()) {
-            logger.error("DataSource is null or closed");
-            throw new SQLException("Database connection pool is not available");
+        return getConnection(Workload.INTERACTIVE);
+    }
+
+    /**
+     * Gets a database connection from the pool dedicated to the given workload.
+     *
+     * @param workload the workload the connection is used for
+     * @return a database connection
+     * @throws SQLException if unable to get connection
+     */
+    public static Connection getConnection(Workload workload) throws SQLException {
+        HikariDataSource dataSource = dataSource(workload);
+        if (dataSource.isClosed()) {
+            logger.error("DataSource '{}' is closed", workload.getKey());
+            throw new SQLException("Database connection pool is not available: " + workload.getKey());
         }
         return dataSource.getConnection();
     }
 
     /**
-     * Closes the connection pool.
+     * Closes all connection pools.
      * Should be called during application shutdown.
      */
-    public static void close() {
-        if (dataSource != null && !dataSource.isClosed()) {
-            dataSource.close();
-            logger.info("HikariCP connection pool closed");
+    public static synchronized void close() {
+        for (Map.Entry<Workload, HikariDataSource> entry : dataSources.entrySet()) {
+            if (!entry.getValue().isClosed()) {
+                entry.getValue().close();
+                logger.info("HikariCP connection pool '{}' closed", entry.getKey().getKey());
+            }
         }
     }
 
     /**
-     * Gets pool statistics for monitoring.
+     * Gets interactive pool statistics for monitoring.
      *
      * @return pool statistics as string
      */
     public static String getPoolStats() {
-        if (dataSource != null) {
+        return getPoolStats(Workload.INTERACTIVE);
+    }
+
+    /**
+     * Gets statistics for one workload pool.
+     *
+     * @param workload the workload pool
+     * @return pool statistics as string
+     */
+    public static synchronized String getPoolStats(Workload workload) {
+        HikariDataSource dataSource = dataSources.get(workload);
+        if (dataSource != null && !dataSource.isClosed()) {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
             return String.format("Active: %d, Idle: %d, Total: %d, Waiting: %d",
-                dataSource.getHikariPoolMXBean().getActiveConnections(),
-                dataSource.getHikariPoolMXBean().getIdleConnections(),
-                dataSource.getHikariPoolMXBean().getTotalConnections(),
-                dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection());
+                pool.getActiveConnections(),
+                pool.getIdleConnections(),
+                pool.getTotalConnections(),
+                pool.getThreadsAwaitingConnection());
         }
         return "Pool not initialized";
     }
+
+    /**
+     * Gets statistics for every workload pool, keyed by pool name.
+     *
+     * @return pool statistics per workload
+     */
+    public static Map<String, String> getAllPoolStats() {
+        Map<String, String> stats = new LinkedHashMap<>();
+        for (Workload workload : Workload.values()) {
+            stats.put(workload.getKey(), getPoolStats(workload));
+        }
+        return stats;
+    }
 }
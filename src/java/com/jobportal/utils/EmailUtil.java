@@ -1,12 +1,18 @@
 package com.jobportal.utils;
 
+import com.jobportal.models.ApplicationStatusChange;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.mail.*;
 import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Email utility for sending notifications.
@@ -15,6 +21,12 @@ public class EmailUtil {
     
     private static final Logger logger = LoggerFactory.getLogger(EmailUtil.class);
     private static Session session;
+    // Batches are sent one after another in the background so bulk actions never wait on SMTP
+    private static final ExecutorService BATCH_SENDER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "email-batch-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     static {
         initializeMailSession();
@@ -80,6 +92,36 @@ public class EmailUtil {
         return sendEmail(studentEmail, subject, body);
     }
 
+    /**
+     * Queues status update notifications for a bulk status change as a single background batch.
+     * Only applications that were actually updated and have a student email are notified.
+     *
+     * @param changes the per-application results of the bulk update
+     * @return the number of emails queued
+     */
+    public static int queueApplicationStatusEmails(List<ApplicationStatusChange> changes) {
+        List<ApplicationStatusChange> batch = new ArrayList<>();
+        for (ApplicationStatusChange change : changes) {
+            if (change.getOutcome() == ApplicationStatusChange.Outcome.UPDATED && change.getStudentEmail() != null) {
+                batch.add(change);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        BATCH_SENDER.execute(() -> {
+            int sent = 0;
+            for (ApplicationStatusChange change : batch) {
+                if (sendApplicationStatusEmail(change.getStudentEmail(), change.getStudentName(),
+                        change.getJobTitle(), change.getStatus())) {
+                    sent++;
+                }
+            }
+            logger.info("Application status email batch finished: {} of {} sent", sent, batch.size());
+        });
+        return batch.size();
+    }
+
     /**
      * Sends new application notification to employer.
      */
@@ -99,6 +141,23 @@ public class EmailUtil {
         return sendEmail(userEmail, subject, body);
     }
 
+    /**
+     * Stops the batch sender after the queued batches have been sent, waiting a short time.
+     * Should be called during application shutdown.
+     */
+    public static void shutdown() {
+        BATCH_SENDER.shutdown();
+        try {
+            if (!BATCH_SENDER.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Email batches still pending at shutdown were dropped");
+                BATCH_SENDER.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            BATCH_SENDER.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private static String buildApplicationStatusEmailBody(String studentName, String jobTitle, String status) {
         return String.format(
             "<html><body>" +
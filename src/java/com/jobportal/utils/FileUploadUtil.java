@@ -1,27 +1,89 @@
 package com.jobportal.utils;
 
-import org.apache.commons.fileupload.FileItem;
-import org.apache.commons.fileupload.disk.DiskFileItemFactory;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
 import org.apache.commons.fileupload.servlet.ServletFileUpload;
 import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
 import java.io.File;
 import java.io.IOException;
-import java.util.List;
-import java.util.UUID;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
 
 /**
  * File upload utility for handling resume uploads.
+ * <p>
+ * Uploads are streamed: the multipart body is read part by part and the file is copied straight
+ * to disk through one fixed buffer, so heap use per upload does not grow with the file size.
+ * The file type is checked against the first bytes before anything is kept, and a SHA-256
+ * checksum is computed while the file is written. Files are kept in {@link ResumeStorage}
+ * under that checksum, so identical uploads share one copy.
  */
 public class FileUploadUtil {
     
     private static final Logger logger = LoggerFactory.getLogger(FileUploadUtil.class);
-    private static final int MEMORY_THRESHOLD = 1024 * 1024 * 3;  // 3MB
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int SIGNATURE_LENGTH = 8;
     private static final long MAX_FILE_SIZE = ConfigManager.getIntProperty("app.upload.maxFileSize", 5242880); // 5MB
     private static final long MAX_REQUEST_SIZE = MAX_FILE_SIZE * 2;
+    private static final String UPLOAD_PATH_PREFIX = "uploads/resumes/";
+    private static final String CHECKSUM_FIELD = "sha256";
+    private static final int CHECKSUM_FIELD_MAX = 128;
+
+    private static final byte[] PDF_SIGNATURE = {'%', 'P', 'D', 'F', '-'};
+    private static final byte[] OLE2_SIGNATURE = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0,
+                                                  (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+    private static final byte[] ZIP_SIGNATURE = {'P', 'K', 0x03, 0x04};
+
+    /**
+     * A file stored by {@link #storeUpload(HttpServletRequest, String)}.
+     */
+    public static class UploadedFile {
+        private final String path;
+        private final Path file;
+        private final long size;
+        private final String sha256;
+
+        UploadedFile(String path, Path file, long size, String sha256) {
+            this.path = path;
+            this.file = file;
+            this.size = size;
+            this.sha256 = sha256;
+        }
+
+        /** Relative path as stored in the database. */
+        public String getPath() {
+            return path;
+        }
+
+        /** Absolute location on disk. */
+        public Path getFile() {
+            return file;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        /** Lower-case hex SHA-256 of the file content. */
+        public String getSha256() {
+            return sha256;
+        }
+    }
 
     /**
      * Uploads a file and returns the saved file path.
@@ -32,30 +94,48 @@ public class FileUploadUtil {
      * @throws Exception if upload fails
      */
     public static String uploadFile(HttpServletRequest request, String fieldName) throws Exception {
+        UploadedFile uploaded = storeUpload(request, fieldName);
+        return uploaded != null ? uploaded.getPath() : null;
+    }
+
+    /**
+     * Streams the file in the given field into content-addressed storage.
+     * <p>
+     * Identical files are stored once. A client that knows the file's SHA-256 can send it in a
+     * {@code sha256} form field before the file; if that content is already stored the upload
+     * is only hashed to verify it, and nothing is written to disk.
+     *
+     * @param request the HTTP request containing the file
+     * @param fieldName the form field name containing the file
+     * @return the stored file, or null if the request has no file in that field
+     * @throws Exception if upload fails
+     */
+    public static UploadedFile storeUpload(HttpServletRequest request, String fieldName) throws Exception {
         
         if (!ServletFileUpload.isMultipartContent(request)) {
             throw new IllegalArgumentException("Request is not multipart");
         }
 
-        DiskFileItemFactory factory = new DiskFileItemFactory();
-        factory.setSizeThreshold(MEMORY_THRESHOLD);
-        factory.setRepository(new File(System.getProperty("java.io.tmpdir")));
-
-        ServletFileUpload upload = new ServletFileUpload(factory);
+        // No item factory: parts are read from the request stream instead of being buffered
+        ServletFileUpload upload = new ServletFileUpload();
         upload.setFileSizeMax(MAX_FILE_SIZE);
         upload.setSizeMax(MAX_REQUEST_SIZE);
 
-        String uploadPath = getUploadDirectory(request);
-        File uploadDir = new File(uploadPath);
-        if (!uploadDir.exists()) {
-            uploadDir.mkdirs();
-        }
+        ResumeStorage storage = getStorage(request);
 
         try {
-            List<FileItem> formItems = upload.parseRequest(request);
+            FileItemIterator items = upload.getItemIterator(request);
+            String expectedSha256 = null;
 
-            for (FileItem item : formItems) {
-                if (!item.isFormField() && item.getFieldName().equals(fieldName)) {
+            while (items.hasNext()) {
+                FileItemStream item = items.next();
+                if (item.isFormField()) {
+                    if (CHECKSUM_FIELD.equals(item.getFieldName())) {
+                        expectedSha256 = readChecksum(item);
+                    }
+                    continue;
+                }
+                if (item.getFieldName().equals(fieldName)) {
                     String fileName = item.getName();
                     
                     if (fileName == null || fileName.isEmpty()) {
@@ -70,16 +150,14 @@ public class FileUploadUtil {
                                                           String.join(", ", allowedExtensions));
                     }
 
-                    // Generate unique filename
-                    String extension = FilenameUtils.getExtension(fileName);
-                    String uniqueFileName = UUID.randomUUID().toString() + "." + extension;
-                    String filePath = uploadPath + File.separator + uniqueFileName;
-
-                    File storeFile = new File(filePath);
-                    item.write(storeFile);
-
-                    logger.info("File uploaded successfully: {}", uniqueFileName);
-                    return "uploads/resumes/" + uniqueFileName; // Return relative path for database
+                    String extension = FilenameUtils.getExtension(fileName).toLowerCase(Locale.ROOT);
+                    try (InputStream in = item.openStream()) {
+                        UploadedFile uploaded = expectedSha256 != null && storage.contains(expectedSha256)
+                                ? referenceStored(in, extension, expectedSha256, storage)
+                                : writeAndStore(in, extension, storage);
+                        logger.info("File uploaded successfully: {} ({} bytes)", uploaded.getPath(), uploaded.getSize());
+                        return uploaded;
+                    }
                 }
             }
         } catch (Exception e) {
@@ -90,14 +168,243 @@ public class FileUploadUtil {
         return null;
     }
 
+    /**
+     * Adds a reference to a stored upload that is now also referred to elsewhere, e.g. a resume
+     * path entered by hand. Paths outside content-addressed storage are not counted.
+     *
+     * @param request any request of this application, to locate the upload directory
+     * @param path the relative path of the stored file
+     * @return true if a reference was added
+     */
+    public static boolean retainUpload(HttpServletRequest request, String path) {
+        String sha256 = ResumeStorage.hashOf(path);
+        if (sha256 == null) {
+            return false;
+        }
+        try {
+            return getStorage(request).addReference(sha256) != null;
+        } catch (Exception e) {
+            logger.error("Error retaining upload: " + path, e);
+            return false;
+        }
+    }
+
+    /**
+     * Releases a stored upload. The file is deleted once no upload refers to it any more.
+     *
+     * @param request any request of this application, to locate the upload directory
+     * @param path the relative path returned when the file was uploaded
+     * @return true if a reference was released
+     */
+    public static boolean releaseUpload(HttpServletRequest request, String path) {
+        try {
+            return getStorage(request).release(path);
+        } catch (Exception e) {
+            logger.error("Error releasing upload: " + path, e);
+            return false;
+        }
+    }
+
+    private static UploadedFile writeAndStore(InputStream in, String extension, ResumeStorage storage) throws Exception {
+        Path staged = storage.newStagingFile(extension);
+        UploadedFile written = streamToFile(in, extension, staged, null);
+        String path = storage.commit(staged, written.getSha256(), extension, written.getSize());
+        return new UploadedFile(path, storage.resolve(path), written.getSize(), written.getSha256());
+    }
+
+    private static UploadedFile referenceStored(InputStream in, String extension, String expectedSha256,
+                                                ResumeStorage storage) throws Exception {
+        MessageDigest digest = sha256();
+        long size = copy(in, extension, digest, null);
+        String sha256 = toHex(digest.digest());
+        if (!sha256.equals(expectedSha256)) {
+            throw new IllegalArgumentException("Uploaded file does not match the given checksum");
+        }
+        String path = storage.addReference(sha256);
+        if (path == null) {
+            throw new IOException("The stored copy of this file was removed; please upload it again");
+        }
+        logger.info("Resume {} already stored, write skipped", sha256);
+        return new UploadedFile(path, storage.resolve(path), size, sha256);
+    }
+
+    private static String readChecksum(FileItemStream item) throws IOException {
+        byte[] value = new byte[CHECKSUM_FIELD_MAX];
+        int length;
+        try (InputStream in = item.openStream()) {
+            length = readAtLeast(in, value, value.length);
+        }
+        String checksum = new String(value, 0, length, StandardCharsets.US_ASCII).trim().toLowerCase(Locale.ROOT);
+        return ResumeStorage.isSha256(checksum) ? checksum : null;
+    }
+
+    /**
+     * Copies a stream to {@code target}, checking the file signature on the first chunk and
+     * hashing while writing. The data goes to a temporary sibling that is renamed into place
+     * only when complete, so a failed upload never leaves a partial file under the final name.
+     */
+    static UploadedFile streamToFile(InputStream in, String extension, Path target, String path) throws IOException {
+        MessageDigest digest = sha256();
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        long size;
+        boolean complete = false;
+
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            size = copy(in, extension, digest, channel);
+            channel.force(false);
+            complete = true;
+        } finally {
+            if (!complete) {
+                Files.deleteIfExists(partial);
+            }
+        }
+
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        return new UploadedFile(path, target, size, toHex(digest.digest()));
+    }
+
+    /**
+     * Reads the whole stream through one buffer, validating the signature on the first chunk,
+     * enforcing the size limit and updating the digest; writes to {@code channel} unless null.
+     *
+     * @return the number of bytes read
+     */
+    private static long copy(InputStream in, String extension, MessageDigest digest, FileChannel channel) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long size = 0;
+        int read = readAtLeast(in, buffer, SIGNATURE_LENGTH);
+        if (!hasValidSignature(extension, buffer, read)) {
+            throw new IllegalArgumentException("File content does not match its ." + extension + " extension");
+        }
+        while (read > 0) {
+            if (size + read > MAX_FILE_SIZE) {
+                throw new IllegalArgumentException("File exceeds the maximum size of " + formatFileSize(MAX_FILE_SIZE));
+            }
+            digest.update(buffer, 0, read);
+            if (channel != null) {
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    channel.write(chunk);
+                }
+            }
+            size += read;
+            read = in.read(buffer);
+        }
+        return size;
+    }
+
+    /**
+     * Checks the leading bytes of a file against the signature expected for its extension.
+     * PDF files start with "%PDF-", legacy Word files are OLE2 compound documents and
+     * .docx files are ZIP archives. Other extensions are not checked.
+     */
+    static boolean hasValidSignature(String extension, byte[] head, int length) {
+        switch (extension.toLowerCase(Locale.ROOT)) {
+            case "pdf":
+                return startsWith(head, length, PDF_SIGNATURE);
+            case "doc":
+                return startsWith(head, length, OLE2_SIGNATURE);
+            case "docx":
+                return startsWith(head, length, ZIP_SIGNATURE);
+            default:
+                return length > 0;
+        }
+    }
+
+    private static boolean startsWith(byte[] head, int length, byte[] signature) {
+        if (length < signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if (head[i] != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads until at least {@code min} bytes are buffered or the stream ends.
+     */
+    private static int readAtLeast(InputStream in, byte[] buffer, int min) throws IOException {
+        int filled = 0;
+        while (filled < min) {
+            int read = in.read(buffer, filled, buffer.length - filled);
+            if (read < 0) {
+                break;
+            }
+            filled += read;
+        }
+        return filled;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Resolves a stored upload path to its file, for serving it.
+     * Content-addressed paths and older flat paths under the upload directory are accepted.
+     *
+     * @param request any request of this application, to locate the upload directory
+     * @param path the relative path as stored in the database
+     * @return the file, or null if the path does not point into the upload directory
+     */
+    public static Path resolveUpload(HttpServletRequest request, String path) {
+        return resolveUpload(request.getServletContext(), path);
+    }
+
+    /**
+     * Resolves a stored upload path to its file, outside of a request.
+     *
+     * @param context the servlet context, to locate the upload directory
+     * @param path the relative path as stored in the database
+     * @return the file, or null if the path does not point into the upload directory
+     */
+    public static Path resolveUpload(ServletContext context, String path) {
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+        if (ResumeStorage.hashOf(path) != null) {
+            try {
+                return getStorage(context).resolve(path);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        Path uploadDir = Paths.get(getUploadDirectory(context)).normalize();
+        Path file = Paths.get(context.getRealPath("/")).resolve(path).normalize();
+        return file.startsWith(uploadDir) ? file : null;
+    }
+
+    private static ResumeStorage getStorage(HttpServletRequest request) {
+        return getStorage(request.getServletContext());
+    }
+
+    private static ResumeStorage getStorage(ServletContext context) {
+        return new ResumeStorage(Paths.get(getUploadDirectory(context)), UPLOAD_PATH_PREFIX);
+    }
+
     /**
      * Gets the upload directory path.
      */
-    private static String getUploadDirectory(HttpServletRequest request) {
+    private static String getUploadDirectory(ServletContext context) {
         String uploadDir = ConfigManager.getProperty("app.upload.directory", "uploads/resumes");
         
         // Get the real path in the web application
-        String realPath = request.getServletContext().getRealPath("/");
+        String realPath = context.getRealPath("/");
         return realPath + File.separator + uploadDir;
     }
 
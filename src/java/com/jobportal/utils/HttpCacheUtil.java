@@ -0,0 +1,131 @@
+package com.jobportal.utils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Utility for HTTP validators (ETag / Last-Modified) and conditional requests.
+ */
+public class HttpCacheUtil {
+
+    private static final String GZIP_SUFFIX = "-gzip\"";
+
+    private HttpCacheUtil() {
+    }
+
+    /**
+     * Builds a strong entity tag from a resource name and version.
+     *
+     * @param resource resource identifier, e.g. "job-42"
+     * @param version version stamp, e.g. last-modified millis
+     * @return quoted entity tag
+     */
+    public static String strongETag(String resource, long version) {
+        return "\"" + resource + "-" + Long.toHexString(version) + "\"";
+    }
+
+    /**
+     * Gets the entity tag of the gzip-encoded form of a representation, which must differ
+     * from the identity form's strong tag.
+     *
+     * @param etag the entity tag of the identity form
+     * @return the tag with "-gzip" appended inside the quotes
+     */
+    public static String gzipETag(String etag) {
+        if (etag.endsWith(GZIP_SUFFIX) || !etag.endsWith("\"")) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + GZIP_SUFFIX;
+    }
+
+    /**
+     * Sets validator headers on the response.
+     *
+     * @param response the HTTP response
+     * @param etag the entity tag, or null
+     * @param lastModified last modification time in millis, or -1
+     */
+    public static void setValidators(HttpServletResponse response, String etag, long lastModified) {
+        if (etag != null) {
+            response.setHeader("ETag", etag);
+        }
+        if (lastModified >= 0) {
+            response.setDateHeader("Last-Modified", lastModified);
+        }
+    }
+
+    /**
+     * Evaluates If-None-Match and If-Modified-Since as described in RFC 7232.
+     * If-Modified-Since is ignored when If-None-Match is present.
+     *
+     * @param request the HTTP request
+     * @param etag the current entity tag, or null
+     * @param lastModified last modification time in millis, or -1
+     * @return true if the client's cached copy is current and 304 can be sent
+     */
+    public static boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            return etag != null && matchesAny(ifNoneMatch, etag, true);
+        }
+        if (lastModified >= 0) {
+            long ifModifiedSince;
+            try {
+                ifModifiedSince = request.getDateHeader("If-Modified-Since");
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+            // HTTP dates have one-second resolution
+            return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+        }
+        return false;
+    }
+
+    /**
+     * Checks an entity-tag list header such as If-None-Match or If-Match. Weak comparison
+     * also accepts the {@link #gzipETag gzip form} of the current tag.
+     *
+     * @param header comma-separated entity tags or "*"
+     * @param etag the current entity tag
+     * @param weak true for weak comparison (If-None-Match), false for strong comparison
+     * @return true if the header matches the current entity tag
+     */
+    public static boolean matchesAny(String header, String etag, boolean weak) {
+        String current = weak ? stripGzip(stripWeak(etag)) : etag;
+        for (String candidate : header.split(",")) {
+            candidate = candidate.trim();
+            if ("*".equals(candidate)) {
+                return true;
+            }
+            if (weak) {
+                candidate = stripGzip(stripWeak(candidate));
+            } else if (candidate.startsWith("W/")) {
+                continue;
+            }
+            if (candidate.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static String stripGzip(String etag) {
+        return etag.endsWith(GZIP_SUFFIX) ? etag.substring(0, etag.length() - GZIP_SUFFIX.length()) + "\"" : etag;
+    }
+
+    /**
+     * Sends 304 Not Modified with the validators repeated, as clients expect.
+     *
+     * @param response the HTTP response
+     * @param etag the entity tag, or null
+     * @param lastModified last modification time in millis, or -1
+     */
+    public static void sendNotModified(HttpServletResponse response, String etag, long lastModified) {
+        setValidators(response, etag, lastModified);
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+    }
+}
@@ -0,0 +1,230 @@
+package com.jobportal.utils;
+
+import com.jobportal.dao.ResumeFileDao;
+import com.jobportal.dao.ResumeFileDaoImpl;
+import com.jobportal.models.ResumeFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Content-addressed storage for resume files.
+ * <p>
+ * Each distinct file is stored once, named by the SHA-256 of its content, under two levels of
+ * shard directories taken from the hash ({@code ab/cd/abcd...}), so no directory grows beyond
+ * a few thousand entries. The {@code resume_files} table counts the uploads that refer to each
+ * file; the file is deleted when its last reference is released. Reference changes and the file
+ * operations that depend on them happen while the file's row is locked.
+ */
+public class ResumeStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeStorage.class);
+    private static final String STAGING_DIR = "tmp";
+
+    private final Path root;
+    private final String pathPrefix;
+
+    /**
+     * @param root the storage directory
+     * @param pathPrefix prefix of the relative paths stored in the database, e.g. "uploads/resumes/"
+     */
+    public ResumeStorage(Path root, String pathPrefix) {
+        this.root = root;
+        this.pathPrefix = pathPrefix.endsWith("/") ? pathPrefix : pathPrefix + "/";
+    }
+
+    @FunctionalInterface
+    private interface Transaction<T> {
+        T run(ResumeFileDao dao) throws SQLException, IOException;
+    }
+
+    /**
+     * Gets a new staging file for an upload in progress. Staging lives under the storage root
+     * so that committing it is a rename on the same file system.
+     *
+     * @param extension the file extension
+     * @return a path that does not exist yet
+     * @throws IOException if the staging directory cannot be created
+     */
+    public Path newStagingFile(String extension) throws IOException {
+        Path staging = Files.createDirectories(root.resolve(STAGING_DIR));
+        return staging.resolve(UUID.randomUUID().toString() + "." + extension);
+    }
+
+    /**
+     * Checks whether content with this hash is already stored.
+     *
+     * @param sha256 the content hash
+     * @return true if stored
+     * @throws SQLException if a database access error occurs
+     */
+    public boolean contains(String sha256) throws SQLException {
+        try (Connection connection = DBConnectionPool.getConnection()) {
+            return new ResumeFileDaoImpl(connection).exists(sha256);
+        }
+    }
+
+    /**
+     * Adds a reference to already stored content without writing anything.
+     *
+     * @param sha256 the content hash
+     * @return the relative path of the stored file, or null if it is no longer stored
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if the file cannot be checked
+     */
+    public String addReference(String sha256) throws SQLException, IOException {
+        return inTransaction(dao -> {
+            ResumeFile existing = dao.getForUpdate(sha256);
+            if (existing == null || !Files.exists(blobPath(sha256, existing.getExtension()))) {
+                return null;
+            }
+            dao.addReference(sha256, existing.getExtension(), existing.getSize());
+            return relativePath(sha256, existing.getExtension());
+        });
+    }
+
+    /**
+     * Stores a fully written staging file under its content hash. If the content is already
+     * stored the staging file is discarded and only a reference is added.
+     *
+     * @param staged the staging file
+     * @param sha256 the content hash
+     * @param extension the file extension
+     * @param size the file size in bytes
+     * @return the relative path of the stored file
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if the file cannot be moved into place
+     */
+    public String commit(Path staged, String sha256, String extension, long size) throws SQLException, IOException {
+        try {
+            return inTransaction(dao -> {
+                dao.addReference(sha256, extension, size);
+                String storedExtension = dao.getForUpdate(sha256).getExtension();
+                Path blob = blobPath(sha256, storedExtension);
+                if (Files.exists(blob)) {
+                    logger.info("Resume {} already stored, upload deduplicated", sha256);
+                } else {
+                    Files.createDirectories(blob.getParent());
+                    Files.move(staged, blob, StandardCopyOption.ATOMIC_MOVE);
+                }
+                return relativePath(sha256, storedExtension);
+            });
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    /**
+     * Releases one reference to a stored file, deleting the file with its last reference.
+     *
+     * @param relativePath the relative path as returned when the file was stored
+     * @return true if a reference was released
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if the file cannot be deleted
+     */
+    public boolean release(String relativePath) throws SQLException, IOException {
+        String sha256 = hashOf(relativePath);
+        if (sha256 == null) {
+            return false;
+        }
+        return inTransaction(dao -> {
+            ResumeFile existing = dao.getForUpdate(sha256);
+            if (existing == null) {
+                return false;
+            }
+            if (existing.getRefCount() > 1) {
+                return dao.removeReference(sha256);
+            }
+            // Deleted while the row is locked, so a concurrent upload of the same content
+            // waits and then finds neither row nor file and stores it again
+            dao.delete(sha256);
+            Files.deleteIfExists(blobPath(sha256, existing.getExtension()));
+            logger.info("Resume {} deleted with its last reference", sha256);
+            return true;
+        });
+    }
+
+    /**
+     * Gets the on-disk location of stored content.
+     *
+     * @param sha256 the content hash
+     * @param extension the file extension
+     * @return the file path
+     */
+    public Path blobPath(String sha256, String extension) {
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4))
+                .resolve(sha256 + "." + extension);
+    }
+
+    /**
+     * Resolves a relative path returned by this storage to its file.
+     *
+     * @param relativePath the relative path
+     * @return the file path
+     * @throws IllegalArgumentException if the path is not a content-addressed path of this storage
+     */
+    public Path resolve(String relativePath) {
+        String sha256 = hashOf(relativePath);
+        if (sha256 == null || !relativePath.startsWith(pathPrefix)) {
+            throw new IllegalArgumentException("Not a stored resume path: " + relativePath);
+        }
+        String extension = relativePath.substring(relativePath.lastIndexOf('.') + 1);
+        if (!relativePath.equals(relativePath(sha256, extension))) {
+            throw new IllegalArgumentException("Not a stored resume path: " + relativePath);
+        }
+        return blobPath(sha256, extension);
+    }
+
+    String relativePath(String sha256, String extension) {
+        return pathPrefix + sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256 + "." + extension;
+    }
+
+    /**
+     * Extracts the content hash from a relative path, or null if it is not content-addressed.
+     */
+    public static String hashOf(String relativePath) {
+        if (relativePath == null) {
+            return null;
+        }
+        String name = relativePath.substring(relativePath.lastIndexOf('/') + 1);
+        int dot = name.indexOf('.');
+        String hash = dot < 0 ? name : name.substring(0, dot);
+        return isSha256(hash) ? hash : null;
+    }
+
+    static boolean isSha256(String value) {
+        if (value == null || value.length() != 64) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private <T> T inTransaction(Transaction<T> work) throws SQLException, IOException {
+        try (Connection connection = DBConnectionPool.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                T result = work.run(new ResumeFileDaoImpl(connection));
+                connection.commit();
+                return result;
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+}
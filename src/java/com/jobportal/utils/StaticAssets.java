@@ -0,0 +1,130 @@
+package com.jobportal.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registry of content-fingerprinted static asset URLs.
+ * <p>
+ * At startup every static file is hashed and given a versioned name, e.g.
+ * {@code /css/styles.css -> /css/styles.3fa4c1d9e02b.css}. Pages link to the versioned
+ * name through {@link #url(HttpServletRequest, String)}; since the name changes whenever
+ * the content does, responses for it can be cached as immutable for a year.
+ */
+public class StaticAssets {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaticAssets.class);
+    private static final int HASH_LENGTH = 12;
+    private static final Set<String> EXTENSIONS = new HashSet<>();
+
+    static {
+        Collections.addAll(EXTENSIONS, "css", "js", "jpg", "jpeg", "png", "gif", "svg", "ico", "woff", "woff2");
+    }
+
+    private static volatile Map<String, String> fingerprinted = Collections.emptyMap();
+    private static volatile Map<String, String> originals = Collections.emptyMap();
+
+    private StaticAssets() {
+    }
+
+    /**
+     * Hashes all static assets of the web application.
+     *
+     * @param context the servlet context
+     */
+    public static void initialize(ServletContext context) {
+        Map<String, String> forward = new HashMap<>();
+        Map<String, String> reverse = new HashMap<>();
+        scan(context, "/", forward, reverse);
+        fingerprinted = forward;
+        originals = reverse;
+        logger.info("Fingerprinted {} static assets", forward.size());
+    }
+
+    private static void scan(ServletContext context, String dir, Map<String, String> forward, Map<String, String> reverse) {
+        Set<String> paths = context.getResourcePaths(dir);
+        if (paths == null) {
+            return;
+        }
+        for (String path : paths) {
+            if (path.endsWith("/")) {
+                if (!path.startsWith("/WEB-INF/") && !path.startsWith("/META-INF/") && !path.startsWith("/uploads/")) {
+                    scan(context, path, forward, reverse);
+                }
+                continue;
+            }
+            int dot = path.lastIndexOf('.');
+            if (dot <= path.lastIndexOf('/') || !EXTENSIONS.contains(path.substring(dot + 1).toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            try (InputStream in = context.getResourceAsStream(path)) {
+                if (in == null) {
+                    continue;
+                }
+                String versioned = path.substring(0, dot) + "." + hash(in) + path.substring(dot);
+                forward.put(path, versioned);
+                reverse.put(versioned, path);
+            } catch (IOException e) {
+                logger.warn("Could not fingerprint static asset: {}", path, e);
+            }
+        }
+    }
+
+    private static String hash(InputStream in) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        StringBuilder hex = new StringBuilder(HASH_LENGTH);
+        for (byte b : digest.digest()) {
+            if (hex.length() >= HASH_LENGTH) {
+                break;
+            }
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Gets the context-relative URL for an asset, fingerprinted when known.
+     *
+     * @param request the current request
+     * @param path the asset path relative to the web root, e.g. "/css/styles.css"
+     * @return the URL to use in markup
+     */
+    public static String url(HttpServletRequest request, String path) {
+        String normalized = path.startsWith("/") ? path : "/" + path;
+        String versioned = fingerprinted.get(normalized);
+        return request.getContextPath() + (versioned != null ? versioned : normalized);
+    }
+
+    /**
+     * Resolves a fingerprinted path back to the asset it names.
+     *
+     * @param versionedPath a path such as "/css/styles.3fa4c1d9e02b.css"
+     * @return the original asset path, or null if the path is not a current fingerprint
+     */
+    public static String resolve(String versionedPath) {
+        return originals.get(versionedPath);
+    }
+}
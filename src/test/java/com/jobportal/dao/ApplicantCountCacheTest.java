@@ -0,0 +1,86 @@
+package com.jobportal.dao;
+
+import com.jobportal.models.ApplicantCounts;
+import com.jobportal.models.Job;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ApplicantCountCache.
+ */
+class ApplicantCountCacheTest {
+
+    @Test
+    void testWritesUpdateCachedCounts() {
+        ApplicantCountCache cache = new ApplicantCountCache(true, 100, 10, 60000);
+        cache.put(7, new ApplicantCounts(2, 1, 0, 0));
+
+        cache.applicationAdded(7, "applied");
+        cache.statusChanged(7, "applied", "accepted");
+        cache.applicationRemoved(7, "interviewed");
+
+        ApplicantCounts counts = cache.get(7);
+        assertEquals(2, counts.getApplied());
+        assertEquals(0, counts.getInterviewed());
+        assertEquals(1, counts.getAccepted());
+        assertEquals(3, counts.getTotal());
+    }
+
+    @Test
+    void testUncachedJobsAreLeftToTheQuery() {
+        ApplicantCountCache cache = new ApplicantCountCache(true, 100, 10, 60000);
+        cache.applicationAdded(3, "applied");
+        assertNull(cache.get(3));
+    }
+
+    @Test
+    void testReturnedCountsAreCopies() {
+        ApplicantCountCache cache = new ApplicantCountCache(true, 100, 10, 60000);
+        cache.put(1, new ApplicantCounts(1, 0, 0, 0));
+        cache.get(1).add("applied", 5);
+        assertEquals(1, cache.get(1).getApplied());
+    }
+
+    @Test
+    void testLeastRecentlyUsedJobsAreEvicted() {
+        ApplicantCountCache cache = new ApplicantCountCache(true, 2, 10, 60000);
+        cache.put(1, new ApplicantCounts(1, 0, 0, 0));
+        cache.put(2, new ApplicantCounts(2, 0, 0, 0));
+        cache.get(1);
+        cache.put(3, new ApplicantCounts(3, 0, 0, 0));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(1));
+        assertNull(cache.get(2));
+        assertNotNull(cache.get(3));
+    }
+
+    @Test
+    void testEmployerJobs() {
+        ApplicantCountCache cache = new ApplicantCountCache(true, 100, 1, 60000);
+        Job job = new Job();
+        job.setId(5);
+        cache.putEmployerJobs(7, Collections.singletonList(job));
+        assertEquals(1, cache.getEmployerJobs(7).size());
+
+        cache.putEmployerJobs(8, Collections.<Job>emptyList());
+        assertNull(cache.getEmployerJobs(7));
+
+        cache.invalidateEmployer(8);
+        assertNull(cache.getEmployerJobs(8));
+    }
+
+    @Test
+    void testExpiryAndDisabled() {
+        ApplicantCountCache expired = new ApplicantCountCache(true, 100, 10, 0);
+        expired.put(1, new ApplicantCounts(1, 0, 0, 0));
+        assertNull(expired.get(1));
+
+        ApplicantCountCache disabled = new ApplicantCountCache(false, 100, 10, 60000);
+        disabled.put(1, new ApplicantCounts(1, 0, 0, 0));
+        assertNull(disabled.get(1));
+        assertEquals(0, disabled.size());
+    }
+}
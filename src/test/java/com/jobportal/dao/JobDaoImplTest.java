@@ -0,0 +1,136 @@
+package com.jobportal.dao;
+
+import com.jobportal.models.Job;
+import com.jobportal.search.FacetIndex;
+import com.jobportal.search.FacetIndex.Facet;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JobDaoImpl, against a stub connection that returns one stored row.
+ */
+class JobDaoImplTest {
+
+    private static final int JOB_ID = 900001;
+
+    @Test
+    void testSavedJobIsFacetedAsStored() throws Exception {
+        // Columns saveJob does not write, as the database fills them in
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", JOB_ID);
+        row.put("title", "Site Engineer");
+        row.put("description", "Supervise building works");
+        row.put("location", "Kurunegala");
+        row.put("requirements", "BSc in Civil Engineering");
+        row.put("employer_id", 7);
+        row.put("job_type", "contract");
+        row.put("salary_max", new BigDecimal("150000"));
+        row.put("is_active", Boolean.FALSE);
+
+        Job job = new Job(0, "Site Engineer", "Supervise building works", "Kurunegala", "BSc in Civil Engineering", 7);
+        assertTrue(new JobDaoImpl(connection(row)).saveJob(job));
+        assertEquals(JOB_ID, job.getId());
+
+        Map<Facet, Map<String, Integer>> counts = awaitFacets(JOB_ID);
+        assertEquals(Integer.valueOf(1), counts.get(Facet.JOB_TYPE).get("contract"));
+        assertEquals(Integer.valueOf(1), counts.get(Facet.ACTIVE).get("inactive"));
+        assertNull(counts.get(Facet.SALARY).get("Not stated"));
+    }
+
+    @Test
+    void testDeletingOriginalReindexesReposts() throws Exception {
+        int repostId = JOB_ID + 1;
+        Map<String, Object> row = new HashMap<>();
+        row.put("1", repostId);
+        row.put("id", repostId);
+        row.put("title", "Site Engineer");
+        row.put("description", "Supervise building works");
+        row.put("location", "Kurunegala");
+        row.put("requirements", "BSc in Civil Engineering");
+        row.put("employer_id", 7);
+        row.put("job_type", "permanent");
+
+        assertTrue(new JobDaoImpl(connection(row)).deleteJob(JOB_ID + 2));
+
+        Map<Facet, Map<String, Integer>> counts = awaitFacets(repostId);
+        assertEquals(Integer.valueOf(1), counts.get(Facet.JOB_TYPE).get("permanent"));
+    }
+
+    private static Map<Facet, Map<String, Integer>> awaitFacets(int jobId) throws InterruptedException {
+        // Job indexes are updated on their own thread
+        long deadline = System.currentTimeMillis() + 5000;
+        Map<Facet, Map<String, Integer>> counts = FacetIndex.getInstance().count(new int[] {jobId});
+        while (counts.get(Facet.JOB_TYPE).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            counts = FacetIndex.getInstance().count(new int[] {jobId});
+        }
+        return counts;
+    }
+
+    private static Connection connection(Map<String, Object> row) {
+        return stub(Connection.class, (method, args) -> method.getName().equals("prepareStatement")
+                ? statement(row) : null);
+    }
+
+    private static PreparedStatement statement(Map<String, Object> row) {
+        return stub(PreparedStatement.class, (method, args) -> {
+            switch (method.getName()) {
+                case "executeUpdate":
+                    return 1;
+                case "getGeneratedKeys":
+                    return resultSet(Collections.<String, Object>singletonMap("1", row.get("id")));
+                case "executeQuery":
+                    return resultSet(row);
+                default:
+                    return null;
+            }
+        });
+    }
+
+    private static ResultSet resultSet(Map<String, Object> row) {
+        boolean[] read = {false};
+        return stub(ResultSet.class, (method, args) -> {
+            if (method.getName().equals("next")) {
+                boolean hasRow = !read[0];
+                read[0] = true;
+                return hasRow;
+            }
+            if (method.getName().startsWith("get") && args != null && args.length == 1) {
+                Object value = row.get(String.valueOf(args[0]));
+                if (value == null || method.getReturnType() == Object.class) {
+                    return value;
+                }
+                return method.getReturnType() == String.class ? value.toString() : value;
+            }
+            return null;
+        });
+    }
+
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Exception;
+    }
+
+    private static <T> T stub(Class<T> type, Handler handler) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (self, method, args) -> {
+            Object result = handler.handle(method, args);
+            if (result == null && method.getReturnType().isPrimitive() && method.getReturnType() != void.class) {
+                // Unset primitives read as SQL NULL would: zero or false
+                return Array.get(Array.newInstance(method.getReturnType(), 1), 0);
+            }
+            return result;
+        });
+        return type.cast(proxy);
+    }
+}
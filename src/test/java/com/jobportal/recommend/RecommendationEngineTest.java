@@ -0,0 +1,135 @@
+package com.jobportal.recommend;
+
+import com.jobportal.models.Job;
+import com.jobportal.models.ResumeText;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RecommendationEngine.
+ */
+class RecommendationEngineTest {
+
+    private ForkJoinPool pool;
+    private RecommendationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(2);
+        List<Job> jobs = Arrays.asList(
+                job(1, "Java Developer", "Java, Spring, SQL"),
+                job(2, "Accountant", "CIMA, bookkeeping, Excel"),
+                job(3, "Data Analyst", "Python, SQL, Excel"));
+        List<ResumeText> students = Arrays.asList(
+                student(10, "Computer Science", "Built Java and Spring services"),
+                student(11, "Accounting", "CIMA part qualified, Excel"),
+                student(12, "Fine Arts", null));
+        engine = RecommendationEngine.build(jobs, students, 2, pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testBuildRanksMatchingJobsFirst() {
+        assertArrayEquals(new int[] {1}, engine.get(10).getJobIds(5));
+        assertEquals(2, engine.get(11).getJobIds(5)[0]);
+        assertEquals(0, engine.get(12).size());
+        assertEquals(0, engine.get(99).size());
+    }
+
+    @Test
+    void testTopKLimit() {
+        assertTrue(engine.get(11).size() <= 2);
+        assertEquals(1, engine.get(11).getJobIds(1).length);
+    }
+
+    @Test
+    void testNewJobIsOfferedIncrementally() {
+        engine.jobSaved(job(4, "Senior Java Engineer", "Java, Spring Boot, microservices"), pool);
+        int[] ids = engine.get(10).getJobIds(5);
+        assertEquals(2, ids.length);
+        assertTrue(contains(ids, 4));
+        assertEquals(4, engine.getJobCount());
+    }
+
+    @Test
+    void testDeletedJobIsRemoved() {
+        engine.jobDeleted(1);
+        assertFalse(contains(engine.get(10).getJobIds(5), 1));
+        assertEquals(2, engine.getJobCount());
+    }
+
+    @Test
+    void testStudentUpdateRecomputes() {
+        engine.studentUpdated(student(12, "Data Science", "Python and SQL"));
+        assertEquals(3, engine.get(12).getJobIds(5)[0]);
+    }
+
+    @Test
+    void testShortExactMatchOutranksLongLooseMatch() {
+        List<Job> jobs = Arrays.asList(
+                job(1, "Java Developer", "Java"),
+                job(2, "Java Developer", "Java, Java EE, Docker, Kubernetes, Terraform, AWS, Azure, Linux, "
+                        + "networking, security, testing, agile, leadership, mentoring"),
+                job(3, "Accountant", "CIMA, Excel"));
+        RecommendationEngine lengthTest = RecommendationEngine.build(jobs,
+                Arrays.asList(student(10, "Computer Science", "Java developer")), 5, pool);
+        // Job 2 mentions Java more often, but most of its weight is on unrelated terms
+        assertArrayEquals(new int[] {1, 2}, lengthTest.get(10).getJobIds(5));
+    }
+
+    @Test
+    void testVectorsHaveUnitLength() {
+        Map<Integer, Double> raw = new HashMap<>();
+        raw.put(3, 4.0);
+        raw.put(1, 3.0);
+        SparseVector vector = SparseVector.of(raw);
+        assertArrayEquals(new int[] {1, 3}, vector.terms);
+        assertEquals(1.0f, vector.dot(vector), 1e-6f);
+        assertEquals(0.6f, vector.weights[0], 1e-6f);
+    }
+
+    @Test
+    void testTopKKeepsBestInOrder() {
+        TopK top = new TopK(3);
+        float[] scores = {0.1f, 0.9f, 0.5f, 0.7f, 0.2f};
+        for (int i = 0; i < scores.length; i++) {
+            top.offer(i, scores[i]);
+        }
+        assertArrayEquals(new int[] {1, 3, 2}, top.toRecommendations().getJobIds(10));
+    }
+
+    private static boolean contains(int[] ids, int id) {
+        for (int value : ids) {
+            if (value == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Job job(int id, String title, String requirements) {
+        return new Job(id, title, "Description", "Colombo", requirements, 1);
+    }
+
+    private static ResumeText student(int id, String major, String content) {
+        ResumeText text = new ResumeText();
+        text.setStudentId(id);
+        text.setMajor(major);
+        text.setContent(content);
+        return text;
+    }
+}
@@ -0,0 +1,72 @@
+package com.jobportal.search;
+
+import com.jobportal.models.ResumeText;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CandidateIndex.
+ */
+class CandidateIndexTest {
+
+    private CandidateIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CandidateIndex();
+        index.index(resume(1, "Computer Science", "2024", "Java developer, Spring Boot and SQL. Java certified."));
+        index.index(resume(2, "Computer Science", "2025", "Python and SQL data analyst"));
+        index.index(resume(3, "Engineering", "2024", "Embedded C++ and Java"));
+    }
+
+    @Test
+    void testAllTermsMustMatch() {
+        assertEquals(Arrays.asList(1, 3), index.search("java", null, null, 10));
+        assertEquals(Collections.singletonList(1), index.search("java sql", null, null, 10));
+        assertTrue(index.search("java cobol", null, null, 10).isEmpty());
+    }
+
+    @Test
+    void testFiltersByMajorAndGraduationYear() {
+        assertEquals(Collections.singletonList(1), index.search("java", "computer science", null, 10));
+        assertEquals(Collections.singletonList(2), index.search("sql", null, "2025", 10));
+        assertEquals(Arrays.asList(1, 3), index.search("", null, "2024", 10));
+    }
+
+    @Test
+    void testSymbolSkills() {
+        assertEquals(Collections.singletonList(3), index.search("C++", null, null, 10));
+        assertTrue(index.search("c", null, null, 10).isEmpty());
+    }
+
+    @Test
+    void testReindexAndRemove() {
+        index.index(resume(2, "Computer Science", "2025", "Java and Kotlin"));
+        assertTrue(index.search("python", null, null, 10).isEmpty());
+        assertEquals(Collections.singletonList(2), index.search("kotlin", null, null, 10));
+
+        index.remove(1);
+        assertEquals(2, index.size());
+        assertFalse(index.search("java", null, null, 10).contains(1));
+    }
+
+    @Test
+    void testLimit() {
+        assertEquals(1, index.search("java", null, null, 1).size());
+    }
+
+    private static ResumeText resume(int studentId, String major, String graduationYear, String content) {
+        ResumeText text = new ResumeText();
+        text.setStudentId(studentId);
+        text.setResumePath("uploads/resumes/" + studentId + ".pdf");
+        text.setMajor(major);
+        text.setGraduationYear(graduationYear);
+        text.setContent(content);
+        return text;
+    }
+}
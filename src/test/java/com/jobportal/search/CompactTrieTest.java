@@ -0,0 +1,56 @@
+package com.jobportal.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CompactTrie.
+ */
+class CompactTrieTest {
+
+    private static CompactTrie trie() {
+        return new CompactTrie.Builder()
+                .add("software engineer", 0)
+                .add("engineer", 0)
+                .add("software tester", 1)
+                .add("tester", 1)
+                .add("sales executive", 2)
+                .add("executive", 2)
+                .add("soft", 3)
+                .build(new int[] {10, 3, 7, 1});
+    }
+
+    @Test
+    void testCompletesHeaviestFirst() {
+        assertArrayEquals(new int[] {0, 2, 1, 3}, trie().complete("s", 10));
+        assertArrayEquals(new int[] {0, 1, 3}, trie().complete("soft", 10));
+        assertArrayEquals(new int[] {0, 1}, trie().complete("software ", 10));
+        assertArrayEquals(new int[] {1}, trie().complete("software t", 10));
+    }
+
+    @Test
+    void testPrefixEndingInsideEdge() {
+        assertArrayEquals(new int[] {0}, trie().complete("softw", 1));
+        assertArrayEquals(new int[] {2}, trie().complete("exec", 10));
+    }
+
+    @Test
+    void testLimitAndMisses() {
+        assertArrayEquals(new int[] {0, 2}, trie().complete("", 2));
+        assertEquals(0, trie().complete("softx", 10).length);
+        assertEquals(0, trie().complete("software engineers", 10).length);
+        assertEquals(0, trie().complete("z", 10).length);
+    }
+
+    @Test
+    void testEachEntryOnce() {
+        // "engineer" and "software engineer" both lead to entry 0
+        CompactTrie trie = new CompactTrie.Builder()
+                .add("engineer", 0)
+                .add("engineer", 1)
+                .add("engineering manager", 0)
+                .build(new int[] {5, 2});
+        assertArrayEquals(new int[] {0, 1}, trie.complete("eng", 10));
+    }
+}
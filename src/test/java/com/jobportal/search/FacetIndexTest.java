@@ -0,0 +1,80 @@
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+import com.jobportal.search.FacetIndex.Facet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FacetIndex.
+ */
+class FacetIndexTest {
+
+    private FacetIndex index;
+
+    private static Job job(int id, String location, String jobType, Integer salaryMax, boolean active) {
+        Job job = new Job(id, "Title", "Description", location, "Requirements", 1);
+        job.setJobType(jobType);
+        job.setSalaryMax(salaryMax != null ? BigDecimal.valueOf(salaryMax) : null);
+        job.setActive(active);
+        return job;
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new FacetIndex(new long[] {50000, 100000});
+        index.index(job(1, "Colombo", "full-time", 60000, true));
+        index.index(job(2, "colombo ", "part-time", 30000, true));
+        index.index(job(3, "Kandy", "full-time", null, true));
+        index.index(job(4, "Galle", "contract", 150000, false));
+        // Enough jobs to span several words of the bitsets
+        for (int id = 100; id < 300; id++) {
+            index.index(job(id, "Jaffna", "internship", 100000, true));
+        }
+    }
+
+    @Test
+    void testCountsResultSet() {
+        Map<Facet, Map<String, Integer>> counts = index.count(new int[] {1, 2, 3, 4, 42});
+        assertEquals(Arrays.asList("Colombo", "Galle", "Kandy"), new ArrayList<>(counts.get(Facet.LOCATION).keySet()));
+        assertEquals(Integer.valueOf(2), counts.get(Facet.LOCATION).get("Colombo"));
+        assertEquals(Integer.valueOf(2), counts.get(Facet.JOB_TYPE).get("full-time"));
+        assertEquals(Arrays.asList("Not stated", "Under 50,000", "50,000 - 100,000", "100,000+"),
+                new ArrayList<>(counts.get(Facet.SALARY).keySet()));
+        assertEquals(Integer.valueOf(3), counts.get(Facet.ACTIVE).get("active"));
+        assertEquals(Integer.valueOf(1), counts.get(Facet.ACTIVE).get("inactive"));
+    }
+
+    @Test
+    void testCountsAcrossWords() {
+        int[] ids = new int[150];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 100 + 2 * i % 200;
+        }
+        Map<Facet, Map<String, Integer>> counts = index.count(ids);
+        assertEquals(Integer.valueOf(100), counts.get(Facet.LOCATION).get("Jaffna"));
+        assertEquals(Integer.valueOf(100), counts.get(Facet.SALARY).get("100,000+"));
+        assertFalse(counts.get(Facet.LOCATION).containsKey("Colombo"));
+    }
+
+    @Test
+    void testRemoveAndReindex() {
+        index.remove(1);
+        index.index(job(2, "Matara", "part-time", 30000, false));
+        index.index(job(5, "Colombo", null, null, true));
+        assertEquals(204, index.size());
+
+        Map<Facet, Map<String, Integer>> counts = index.count(new int[] {1, 2, 5});
+        assertEquals(Integer.valueOf(1), counts.get(Facet.LOCATION).get("Colombo"));
+        assertEquals(Integer.valueOf(1), counts.get(Facet.LOCATION).get("Matara"));
+        assertEquals(1, counts.get(Facet.JOB_TYPE).size());
+        assertEquals(Integer.valueOf(1), counts.get(Facet.ACTIVE).get("inactive"));
+    }
+}
@@ -0,0 +1,83 @@
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+import com.jobportal.search.FuzzyTermIndex.Field;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FuzzyTermIndex.
+ */
+class FuzzyTermIndexTest {
+
+    private FuzzyTermIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FuzzyTermIndex(Long.MAX_VALUE / 2);
+        index.index(new Job(1, "Software Engineer", "d", "Colombo", "r", 1));
+        index.index(new Job(2, "Senior Software Engineer", "d", "Colombo 07", "r", 1));
+        index.index(new Job(3, "Civil Engineers", "d", "Kandy", "r", 2));
+        index.index(new Job(4, "Sales Executive", "d", "Galle", "r", 3));
+    }
+
+    @Test
+    void testExpandsMisspellings() {
+        FuzzyQuery query = index.expand("sofware  enginer", "Colmbo", "Java");
+        assertEquals(Arrays.asList(Collections.singletonList("software"), Arrays.asList("engineer", "engineers")),
+                query.getTitleTerms());
+        assertEquals(Collections.singletonList(Collections.singletonList("colombo")), query.getLocationTerms());
+        assertEquals("java", query.getRequirements());
+        assertTrue(query.isComplete());
+    }
+
+    @Test
+    void testShortAndUnknownTermsKept() {
+        assertEquals(Collections.singletonList("07"), index.spellings(Field.LOCATION, "07"));
+        assertEquals(Collections.singletonList("plumber"), index.spellings(Field.TITLE, "plumber"));
+        // "kandy" is two edits from "candi", but five-letter terms allow one
+        assertEquals(Collections.singletonList("candi"), index.spellings(Field.LOCATION, "candi"));
+        assertEquals(Collections.singletonList("kandy"), index.spellings(Field.LOCATION, "kady"));
+    }
+
+    @Test
+    void testRemovedWordsNotSuggested() {
+        index.remove(3);
+        assertEquals(Collections.singletonList("engineer"), index.spellings(Field.TITLE, "enginers"));
+        index.remove(4);
+        assertEquals(Collections.singletonList("galle"), index.spellings(Field.LOCATION, "galle"));
+    }
+
+    @Test
+    void testTermLimit() {
+        FuzzyQuery query = index.expand("a b c d e f g", null, null);
+        assertEquals(FuzzyTermIndex.MAX_TERMS, query.getTitleTerms().size());
+        assertTrue(query.getLocationTerms().isEmpty());
+    }
+
+    @Test
+    void testSpentBudgetKeepsTermsAsTyped() {
+        FuzzyTermIndex spent = new FuzzyTermIndex(-1);
+        spent.index(new Job(1, "Software Engineer", "d", "Colombo", "r", 1));
+        FuzzyQuery query = spent.expand("sofware enginer", "Colmbo", null);
+        assertEquals(Arrays.asList(Collections.singletonList("sofware"), Collections.singletonList("enginer")),
+                query.getTitleTerms());
+        assertEquals(Collections.singletonList(Collections.singletonList("colmbo")), query.getLocationTerms());
+        assertFalse(query.isComplete());
+    }
+
+    @Test
+    void testBoundedDistance() {
+        assertEquals(0, FuzzyTermIndex.boundedDistance("colombo", "colombo", 2));
+        assertEquals(1, FuzzyTermIndex.boundedDistance("colmbo", "colombo", 2));
+        assertEquals(2, FuzzyTermIndex.boundedDistance("enginer", "engineers", 2));
+        assertEquals(3, FuzzyTermIndex.boundedDistance("engineer", "manager", 2));
+        assertEquals(2, FuzzyTermIndex.boundedDistance("abc", "xyz", 1));
+        assertEquals(3, FuzzyTermIndex.boundedDistance("", "abc", 3));
+    }
+}
@@ -0,0 +1,28 @@
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JobSearchCriteria.
+ */
+class JobSearchCriteriaTest {
+
+    @Test
+    void testLikePatternEscapesWildcards() {
+        assertEquals("%java%", JobSearchCriteria.likePattern("java"));
+        assertEquals("%100\\% remote\\_ok\\\\%", JobSearchCriteria.likePattern("100% remote_ok\\"));
+        assertEquals("%%", JobSearchCriteria.likePattern(null));
+    }
+
+    @Test
+    void testMatchesIgnoresCaseAndAccents() {
+        Job job = new Job(1, "Café Manager", "d", "Colombo", "Résumé required", 1);
+        assertTrue(new JobSearchCriteria("cafe", "COLOMBO", "resume").matches(job));
+        assertTrue(new JobSearchCriteria("CAFÉ", null, null).matches(job));
+        assertFalse(new JobSearchCriteria("chef", null, null).matches(job));
+        assertFalse(new JobSearchCriteria("caf_", null, null).matches(job), "wildcards match literally");
+    }
+}
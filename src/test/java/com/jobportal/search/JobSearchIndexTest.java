@@ -0,0 +1,226 @@
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JobSearchIndex.
+ */
+class JobSearchIndexTest {
+
+    private static final TextAnalyzer ANALYZER = TextAnalyzer.of(TextAnalyzer.STANDARD_FILTERS);
+
+    private JobSearchIndex index;
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index = new JobSearchIndex(ANALYZER);
+        directory = Files.createTempDirectory("search-index-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.shutdown();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    private JobSearchIndex persisted(int maxBufferedJobs, int mergeFactor) {
+        index.shutdown();
+        index = new JobSearchIndex(ANALYZER, directory, maxBufferedJobs, mergeFactor);
+        return index;
+    }
+
+    private static JobSearchCriteria criteria(String title, String location, String requirements) {
+        return new JobSearchCriteria(title, location, requirements);
+    }
+
+    private int[] search(String title, String location, int limit) {
+        RankedResults results = index.search(criteria(title, location, null), limit);
+        return results.getJobIds(0, results.size());
+    }
+
+    @Test
+    void testFieldBoosts() {
+        index.index(new Job(1, "Accountant", "We need a Java developer", "Colombo", "Excel", 1));
+        index.index(new Job(2, "Office Assistant", "Filing and typing", "Colombo", "Java", 1));
+        index.index(new Job(3, "Java Developer", "Build web applications", "Colombo", "SQL", 1));
+        assertArrayEquals(new int[] {3, 2, 1}, search("java", null, 10));
+    }
+
+    @Test
+    void testShorterFieldRanksHigher() {
+        index.index(new Job(1, "Senior Java Developer for Payments and Banking Platforms", "d", "Kandy", "r", 1));
+        index.index(new Job(2, "Java Developer", "d", "Kandy", "r", 1));
+        assertArrayEquals(new int[] {2, 1}, search("java", null, 10));
+    }
+
+    @Test
+    void testRareTermsWeighMore() {
+        index.index(new Job(1, "Developer", "Kotlin", "Galle", "r", 1));
+        index.index(new Job(2, "Developer", "Java", "Galle", "r", 1));
+        index.index(new Job(3, "Developer", "Java", "Galle", "r", 1));
+        index.index(new Job(4, "Developer", "Java", "Galle", "r", 1));
+        assertEquals(1, search("kotlin java", null, 10)[0]);
+    }
+
+    @Test
+    void testLocationFilters() {
+        index.index(new Job(1, "Teacher", "d", "Colombo 07", "r", 1));
+        index.index(new Job(2, "Teacher", "d", "Kandy", "r", 1));
+        assertArrayEquals(new int[] {1}, search("teacher", "colombo", 10));
+        assertArrayEquals(new int[0], search("teacher", "jaffna", 10));
+        assertArrayEquals(new int[0], search("colombo", null, 10), "location words are not ranked");
+    }
+
+    @Test
+    void testTopKLimit() {
+        for (int id = 1; id <= 50; id++) {
+            index.index(new Job(id, id % 2 == 0 ? "Nurse" : "Nurse Nurse", "d", "Galle", "r", 1));
+        }
+        RankedResults results = index.search(criteria("nurse", null, null), 5);
+        assertEquals(5, results.size());
+        assertEquals(50, results.getMatches());
+        for (int rank = 1; rank < results.size(); rank++) {
+            assertTrue(results.getScore(rank - 1) >= results.getScore(rank));
+        }
+        assertArrayEquals(new int[] {49, 47, 45, 43, 41}, results.getJobIds(0, 5), "ties go to the newer job");
+        assertArrayEquals(new int[] {45, 43}, results.getJobIds(2, 2));
+    }
+
+    @Test
+    void testRequirementsWordsAndStopWords() {
+        index.index(new Job(1, "Driver", "d", "Matara", "Heavy vehicle licence", 1));
+        assertArrayEquals(new int[] {1}, index.search(criteria(null, null, "licence"), 10).getJobIds(0, 10));
+        assertEquals(0, search("the and", null, 10).length);
+    }
+
+    @Test
+    void testUpdatesAndRemovals() {
+        index.index(new Job(1, "Chef", "d", "Galle", "r", 1));
+        index.index(new Job(1, "Waiter", "d", "Galle", "r", 1));
+        assertEquals(0, search("chef", null, 10).length);
+        assertArrayEquals(new int[] {1}, search("waiter", null, 10));
+        index.remove(1);
+        assertEquals(0, search("waiter", null, 10).length);
+        assertEquals(0, index.size());
+
+        Job duplicate = new Job(2, "Waiter", "d", "Galle", "r", 1);
+        duplicate.setDuplicateOf(1);
+        index.index(duplicate);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testPurgeKeepsLiveJobs() {
+        for (int id = 1; id <= 4000; id++) {
+            index.index(new Job(id, id % 3 == 0 ? "Cashier" : "Clerk", "d", "Colombo", "r", 1));
+        }
+        for (int id = 1; id <= 4000; id += 2) {
+            index.remove(id);
+        }
+        assertEquals(2000, index.size());
+        RankedResults results = index.search(criteria("cashier", null, null), 1000);
+        assertEquals(666, results.getMatches());
+        for (int id : results.getJobIds(0, results.size())) {
+            assertTrue(id % 6 == 0);
+        }
+    }
+
+    @Test
+    void testCommitAndReopen() throws IOException {
+        assertEquals(-1, persisted(1000, 10).open());
+        index.index(new Job(1, "Java Developer", "Spring services", "Colombo", "SQL", 1));
+        index.index(new Job(2, "Accountant", "Java reports", "Kandy", "Excel", 1));
+        index.index(new Job(3, "Nurse", "Ward care", "Colombo", "Nursing", 1));
+        int[] before = search("java", null, 10);
+        index.commit(12345L);
+        assertEquals(1, index.segmentCount());
+
+        assertEquals(12345L, persisted(1000, 10).open());
+        assertEquals(3, index.size());
+        assertArrayEquals(before, search("java", null, 10));
+        assertArrayEquals(new int[] {1}, search("java", "colombo", 10));
+        assertArrayEquals(new int[] {3}, index.search(criteria(null, null, "nursing"), 10).getJobIds(0, 10));
+    }
+
+    @Test
+    void testChangesToStoredJobs() throws IOException {
+        persisted(1000, 10).open();
+        index.index(new Job(1, "Chef", "d", "Galle", "r", 1));
+        index.index(new Job(2, "Chef", "d", "Galle", "r", 1));
+        index.index(new Job(3, "Chef", "d", "Galle", "r", 1));
+        index.commit(1L);
+        index.index(new Job(1, "Waiter", "d", "Galle", "r", 1));
+        index.remove(2);
+        assertArrayEquals(new int[] {3}, search("chef", null, 10));
+        index.commit(2L);
+
+        assertEquals(2L, persisted(1000, 10).open());
+        assertEquals(2, index.size());
+        assertEquals(2, index.segmentCount());
+        assertArrayEquals(new int[] {3}, search("chef", null, 10));
+        assertArrayEquals(new int[] {1}, search("waiter", null, 10));
+
+        BitSet existing = new BitSet();
+        existing.set(1);
+        assertEquals(1, index.retainAll(existing));
+        assertEquals(0, search("chef", null, 10).length);
+    }
+
+    @Test
+    void testMergesKeepLiveJobs() throws IOException {
+        persisted(1, 100).open();
+        for (int id = 1; id <= 6; id++) {
+            index.index(new Job(id, id % 2 == 0 ? "Cashier" : "Cashier Clerk", "d", "Colombo", "r", 1));
+        }
+        index.remove(4);
+        index.index(new Job(5, "Driver", "d", "Colombo", "r", 1));
+        index.commit(3L);
+        assertTrue(index.segmentCount() > 1);
+        int[] before = search("cashier clerk driver", null, 10);
+
+        persisted(1, 2).open();
+        while (index.mergeOnce()) {
+            // Merge down to one segment
+        }
+        assertEquals(1, index.segmentCount());
+        assertEquals(5, index.size());
+        assertArrayEquals(before, search("cashier clerk driver", null, 10));
+        assertArrayEquals(new int[] {5}, search("driver", null, 10));
+
+        assertEquals(3L, persisted(1, 2).open());
+        assertEquals(1, index.segmentCount());
+        assertArrayEquals(before, search("cashier clerk driver", null, 10));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count(), "one manifest and one segment are left");
+        }
+    }
+
+    @Test
+    void testIncompleteOrForeignIndexIsRebuilt() throws IOException {
+        persisted(1, 10).open();
+        index.index(new Job(1, "Teacher", "d", "Jaffna", "r", 1));
+        assertEquals(1, index.segmentCount());
+        assertEquals(-1, persisted(1, 10).open(), "never committed with a checkpoint");
+
+        index.index(new Job(1, "Teacher", "d", "Jaffna", "r", 1));
+        index.commit(4L);
+        index.shutdown();
+        index = new JobSearchIndex(TextAnalyzer.of("lowercase"), directory, 1, 10);
+        assertEquals(-1, index.open(), "written with other filters");
+    }
+}
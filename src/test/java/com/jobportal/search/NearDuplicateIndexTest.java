@@ -0,0 +1,112 @@
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NearDuplicateIndex.
+ */
+class NearDuplicateIndexTest {
+
+    private static final String DESCRIPTION = "We are looking for an experienced sales executive to grow our "
+            + "customer base in the Western Province. You will visit retail outlets, negotiate orders, follow up "
+            + "on payments, report weekly to the regional manager and build long term relationships with dealers. "
+            + "Attractive commission, fuel allowance, medical cover and a company motorbike are provided.";
+    private static final String REQUIREMENTS = "GCE A/L qualified, two years of field sales experience, "
+            + "valid driving licence, good communication skills in Sinhala and English";
+
+    private NearDuplicateIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NearDuplicateIndex();
+        index.index(new Job(1, "Sales Executive", DESCRIPTION, "Colombo", REQUIREMENTS, 7));
+        index.index(new Job(2, "Accounts Assistant", "Maintain ledgers, prepare invoices and support the "
+                + "monthly closing process of a growing trading company", "Galle", "AAT or CIMA part qualified", 8));
+    }
+
+    @Test
+    void testRepostWithSmallEditIsDuplicate() {
+        Job repost = new Job(0, "Sales Executive", DESCRIPTION.replace("weekly", "daily") + " Apply now!",
+                "Gampaha", REQUIREMENTS, 7);
+        assertTrue(Long.bitCount(NearDuplicateIndex.fingerprint(repost)
+                ^ NearDuplicateIndex.fingerprint(new Job(1, "Sales Executive", DESCRIPTION, "Colombo", REQUIREMENTS, 7)))
+                <= NearDuplicateIndex.MAX_DISTANCE);
+        assertEquals(1, index.findOriginal(repost, true));
+        assertEquals(1, index.findOriginal(repost, false));
+    }
+
+    @Test
+    void testDifferentJobIsNotDuplicate() {
+        Job other = new Job(0, "Software Engineer", "Build backend services for our banking platform in Java",
+                "Colombo", "Java, Spring Boot, three years of experience", 7);
+        assertEquals(0, index.findOriginal(other, false));
+    }
+
+    @Test
+    void testSameEmployerOnly() {
+        Job repost = new Job(0, "Sales Executive", DESCRIPTION, "Colombo", REQUIREMENTS, 9);
+        assertEquals(0, index.findOriginal(repost, true));
+        assertEquals(1, index.findOriginal(repost, false));
+    }
+
+    @Test
+    void testJobsWithoutWordsAreNotDuplicates() {
+        index.index(new Job(3, "***", "***", "Colombo", "***", 7));
+        Job empty = new Job(4, "---", "---", "Kandy", "---", 7);
+        assertEquals(0L, NearDuplicateIndex.fingerprint(empty));
+        assertEquals(0, index.findOriginal(empty, true));
+    }
+
+    @Test
+    void testOnlyOlderJobsAreOriginals() {
+        Job copy = new Job(5, "Sales Executive", DESCRIPTION, "Colombo", REQUIREMENTS, 7);
+        index.index(copy);
+        assertEquals(1, index.findOriginal(copy, false));
+        assertEquals(0, index.findOriginal(new Job(1, "Sales Executive", DESCRIPTION, "Colombo", REQUIREMENTS, 7), false));
+    }
+
+    @Test
+    void testRemove() {
+        index.remove(1);
+        assertEquals(1, index.size());
+        assertEquals(0, index.findOriginal(new Job(0, "Sales Executive", DESCRIPTION, "Colombo", REQUIREMENTS, 7), false));
+    }
+
+    @Test
+    void testFindAllDuplicates() {
+        index.index(new Job(3, "Sales Executive", DESCRIPTION + " Immediate start.", "Kandy", REQUIREMENTS, 7));
+        index.index(new Job(4, "Sales Executive", DESCRIPTION, "Matara", REQUIREMENTS, 7));
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            Map<Integer, Integer> duplicates = index.findAllDuplicates(pool);
+            assertEquals(2, duplicates.size());
+            assertEquals(Integer.valueOf(1), duplicates.get(3));
+            assertEquals(Integer.valueOf(1), duplicates.get(4));
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(4, index.getFingerprints().size());
+    }
+
+    @Test
+    void testFindAllDuplicatesIgnoresOtherEmployers() {
+        index.index(new Job(3, "Sales Executive", DESCRIPTION + " Immediate start.", "Kandy", REQUIREMENTS, 9));
+        index.index(new Job(4, "Sales Executive", DESCRIPTION, "Matara", REQUIREMENTS, 9));
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            Map<Integer, Integer> duplicates = index.findAllDuplicates(pool);
+            assertEquals(1, duplicates.size());
+            assertNull(duplicates.get(3));
+            assertEquals(Integer.valueOf(3), duplicates.get(4));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.jobportal.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ResumeTextExtractor.
+ */
+class ResumeTextExtractorTest {
+
+    @Test
+    void testNormalize() {
+        assertEquals("file managed", ResumeTextExtractor.normalize("\ufb01le\tmanaged", 100));
+        assertEquals("development team", ResumeTextExtractor.normalize("  develop-\n  ment\r\n\r\nteam  ", 100));
+        assertEquals("well-known", ResumeTextExtractor.normalize("well-known", 100));
+        assertEquals("abc", ResumeTextExtractor.normalize("abcdef", 3));
+        assertEquals("", ResumeTextExtractor.normalize(null, 10));
+    }
+}
@@ -0,0 +1,79 @@
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SearchResultCache.
+ */
+class SearchResultCacheTest {
+
+    private static Job job(int id, String title, String location) {
+        return new Job(id, title, "Description", location, "Java", 1);
+    }
+
+    @Test
+    void testCriteriaNormalization() {
+        assertEquals(new JobSearchCriteria("Software Engineer ", "colombo", null),
+                     new JobSearchCriteria("  software engineer", "COLOMBO", ""));
+        assertNotEquals(new JobSearchCriteria("engineer", "Colombo", null),
+                        new JobSearchCriteria("engineer", "Kandy", null));
+    }
+
+    @Test
+    void testHitAndMiss() {
+        SearchResultCache cache = new SearchResultCache(10, 60000);
+        JobSearchCriteria criteria = new JobSearchCriteria("engineer", "Colombo", null);
+
+        assertNull(cache.get(criteria));
+        cache.put(criteria, new int[]{3, 1}, cache.getGeneration());
+        assertArrayEquals(new int[]{3, 1}, cache.get(new JobSearchCriteria("Engineer", "colombo ", null)));
+
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.getHitRatio(), 0.0001);
+    }
+
+    @Test
+    void testInvalidationOnlyTouchesMatchingSearches() {
+        SearchResultCache cache = new SearchResultCache(10, 60000);
+        JobSearchCriteria colombo = new JobSearchCriteria("engineer", "Colombo", null);
+        JobSearchCriteria kandy = new JobSearchCriteria("engineer", "Kandy", null);
+        cache.put(colombo, new int[]{1}, cache.getGeneration());
+        cache.put(kandy, new int[]{2}, cache.getGeneration());
+
+        cache.invalidate(job(5, "Software Engineer", "Colombo 03"));
+        assertNull(cache.get(colombo));
+        assertNotNull(cache.get(kandy));
+
+        cache.invalidate(2);
+        assertNull(cache.get(kandy));
+    }
+
+    @Test
+    void testStalePutIsDiscarded() {
+        SearchResultCache cache = new SearchResultCache(10, 60000);
+        JobSearchCriteria criteria = new JobSearchCriteria("engineer", null, null);
+        long generation = cache.getGeneration();
+        cache.invalidate(7);
+        cache.put(criteria, new int[]{7}, generation);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEviction() {
+        SearchResultCache cache = new SearchResultCache(2, 60000);
+        JobSearchCriteria a = new JobSearchCriteria("a", null, null);
+        JobSearchCriteria b = new JobSearchCriteria("b", null, null);
+        JobSearchCriteria c = new JobSearchCriteria("c", null, null);
+        cache.put(a, new int[]{1}, cache.getGeneration());
+        cache.put(b, new int[]{2}, cache.getGeneration());
+        cache.get(a);
+        cache.put(c, new int[]{3}, cache.getGeneration());
+
+        assertNotNull(cache.get(a));
+        assertNull(cache.get(b));
+        assertNotNull(cache.get(c));
+    }
+}
@@ -0,0 +1,60 @@
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SimilarJobIndex.
+ */
+class SimilarJobIndexTest {
+
+    private static final String JAVA_DESCRIPTION = "We are looking for a software engineer to build and maintain "
+            + "backend services for our banking platform in a small agile team";
+    private static final String JAVA_REQUIREMENTS = "Java, Spring Boot, REST APIs, MySQL, three years of experience";
+
+    private SimilarJobIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SimilarJobIndex(0.2);
+        index.index(new Job(1, "Java Software Engineer", JAVA_DESCRIPTION, "Colombo", JAVA_REQUIREMENTS, 1));
+        index.index(new Job(2, "Senior Java Software Engineer", JAVA_DESCRIPTION + " and mentor juniors",
+                "Kandy", JAVA_REQUIREMENTS, 2));
+        index.index(new Job(3, "Accounts Assistant", "Maintain ledgers, prepare invoices and support the "
+                + "monthly closing process of a growing trading company", "Galle", "AAT or CIMA part qualified", 3));
+    }
+
+    @Test
+    void testFindsNearCopies() {
+        assertArrayEquals(new int[] {2}, index.findSimilar(1, 5));
+        assertTrue(index.similarity(1, 2) > 0.5);
+        assertTrue(index.similarity(1, 3) < 0.2);
+    }
+
+    @Test
+    void testUnknownJob() {
+        assertEquals(0, index.findSimilar(42, 5).length);
+    }
+
+    @Test
+    void testRemoveAndReindex() {
+        index.remove(2);
+        assertEquals(0, index.findSimilar(1, 5).length);
+        assertEquals(2, index.size());
+
+        index.index(new Job(3, "Java Software Engineer", JAVA_DESCRIPTION, "Galle", JAVA_REQUIREMENTS, 3));
+        assertArrayEquals(new int[] {3}, index.findSimilar(1, 5));
+    }
+
+    @Test
+    void testVersionChangesWhenJobIsReindexed() {
+        int[] ids = {2, 3};
+        long before = index.versionOf(ids);
+        assertEquals(before, index.versionOf(ids));
+        index.index(new Job(2, "Senior Java Engineer", JAVA_DESCRIPTION, "Kandy", JAVA_REQUIREMENTS, 2));
+        assertNotEquals(before, index.versionOf(ids));
+    }
+}
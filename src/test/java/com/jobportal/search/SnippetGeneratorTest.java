@@ -0,0 +1,63 @@
+package com.jobportal.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SnippetGenerator.
+ */
+class SnippetGeneratorTest {
+
+    private static final TextAnalyzer ANALYZER = TextAnalyzer.of(TextAnalyzer.STANDARD_FILTERS);
+
+    private static String filler(String word, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(word).append(i).append(' ');
+        }
+        return text.toString();
+    }
+
+    @Test
+    void testHighlightsAndEscapes() {
+        SnippetGenerator generator = new SnippetGenerator(ANALYZER, 30, "java", "sql");
+        assertEquals("Use &lt;b&gt;<mark>Java</mark>&lt;/b&gt; &amp; <mark>SQL</mark>, &#34;daily&#39;.",
+                generator.snippet("Use <b>Java</b> & SQL, \"daily'."));
+        assertEquals("", generator.snippet(null));
+    }
+
+    @Test
+    void testPicksBestWindow() {
+        SnippetGenerator generator = new SnippetGenerator(ANALYZER, 10, "java spring");
+        String text = filler("alpha", 40) + "Java Java Java " + filler("beta", 40)
+                + "Spring Boot and Java services " + filler("gamma", 40);
+        String snippet = generator.snippet(text);
+        assertTrue(snippet.startsWith(SnippetGenerator.ELLIPSIS), snippet);
+        assertTrue(snippet.endsWith(SnippetGenerator.ELLIPSIS), snippet);
+        assertTrue(snippet.contains("<mark>Spring</mark> Boot and <mark>Java</mark> services"), snippet);
+        assertFalse(snippet.contains("alpha"), snippet);
+    }
+
+    @Test
+    void testCentersMatches() {
+        SnippetGenerator generator = new SnippetGenerator(ANALYZER, 9, "nurse");
+        String snippet = generator.snippet(filler("w", 20) + "Nurse " + filler("x", 20));
+        assertEquals(SnippetGenerator.ELLIPSIS + "w16 w17 w18 w19 <mark>Nurse</mark> x0 x1 x2 x3"
+                + SnippetGenerator.ELLIPSIS, snippet);
+    }
+
+    @Test
+    void testShortTextsAndNoMatches() {
+        SnippetGenerator generator = new SnippetGenerator(ANALYZER, 5, "driver");
+        assertEquals("one two three four five" + SnippetGenerator.ELLIPSIS, generator.snippet("one two three four five six"));
+        assertEquals("  Heavy <mark>driver</mark>!  ", generator.snippet("  Heavy driver!  "));
+        assertEquals("&lt;&gt;", generator.snippet("<>"));
+    }
+
+    @Test
+    void testMatchesAnalyzedForms() {
+        SnippetGenerator generator = new SnippetGenerator(ANALYZER, 30, "ශ්රී", "cafe");
+        assertEquals("<mark>ශ්\u200Dරී</mark> ලංකා <mark>Café</mark>", generator.snippet("ශ්\u200Dරී ලංකා Café"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+import com.jobportal.search.SuggestionIndex.Field;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SuggestionIndex.
+ */
+class SuggestionIndexTest {
+
+    private SuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SuggestionIndex(60000);
+        index.index(new Job(1, "Software Engineer", "d", "Colombo", "r", 1));
+        index.index(new Job(2, "software engineer", "d", "Colombo 03", "r", 1));
+        index.index(new Job(3, "Senior Software Engineer", "d", "Kandy", "r", 2));
+        index.index(new Job(4, "Sales Executive", "d", "Colombo", "r", 3));
+        index.index(new Job(5, "Sales Executive", "d", "Galle", "r", 3));
+        index.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void testSuggestsByWordPrefix() {
+        assertEquals(Arrays.asList("Software Engineer", "Sales Executive", "Senior Software Engineer"),
+                index.suggest(Field.TITLE, "S", 10));
+        assertEquals(Arrays.asList("Software Engineer", "Senior Software Engineer"),
+                index.suggest(Field.TITLE, "  ENG", 10));
+        assertEquals(Arrays.asList("Colombo", "Colombo 03"), index.suggest(Field.LOCATION, "col", 10));
+        assertEquals(Collections.singletonList("Colombo 03"), index.suggest(Field.LOCATION, "colombo ", 10));
+        assertEquals(Collections.emptyList(), index.suggest(Field.TITLE, " ", 10));
+    }
+
+    @Test
+    void testPatchedOnChange() {
+        assertEquals(Collections.singletonList("Kandy"), index.suggest(Field.LOCATION, "k", 10));
+        index.index(new Job(3, "Senior Software Engineer", "d", "Kurunegala", "r", 2));
+        assertEquals(Collections.singletonList("Kandy"), index.suggest(Field.LOCATION, "k", 10));
+        index.refresh();
+        assertEquals(Collections.singletonList("Kurunegala"), index.suggest(Field.LOCATION, "k", 10));
+
+        index.remove(1);
+        index.remove(2);
+        index.refresh();
+        assertEquals(Collections.singletonList("Senior Software Engineer"), index.suggest(Field.TITLE, "software", 10));
+    }
+
+    @Test
+    void testKeys() {
+        assertEquals(Arrays.asList("c++ developer (remote)", "developer (remote)", "remote)"),
+                SuggestionIndex.keys("c++ developer (remote)"));
+        assertEquals("java dev ", SuggestionIndex.normalizePrefix(" Java \t Dev  "));
+    }
+}
@@ -0,0 +1,60 @@
+package com.jobportal.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures TextAnalyzer throughput in MB/s of UTF-8 input on a mix of English, Sinhala and
+ * Tamil job text. Not a unit test; run it by hand:
+ * <pre>
+ * java -cp target/classes:target/test-classes:... com.jobportal.search.TextAnalyzerBenchmark [filters]
+ * </pre>
+ * The optional argument is a filter list as in {@code search.analyzer.filters}.
+ */
+public final class TextAnalyzerBenchmark {
+
+    private static final String[] SENTENCES = {
+        "Senior Software Engineer with Java, Spring Boot and C++ experience for our Colombo office.",
+        "We are looking for a Café Manager to lead the team at the Galle Face outlet.",
+        "ශ්‍රී ලංකාවේ ප්‍රමුඛ බැංකුවක් සඳහා ගණකාධිකාරී සහ ලිපිකරු තනතුරු සඳහා අයදුම්පත් කැඳවනු ලැබේ.",
+        "කොළඹ පිහිටි අපගේ කාර්යාලය සඳහා පළපුරුදු මෘදුකාංග ඉංජිනේරුවන් අවශ්‍ය වේ.",
+        "யாழ்ப்பாணத்தில் உள்ள பாடசாலைக்கு ஆசிரியர் மற்றும் எழுத்தர் தேவை.",
+        "கொழும்பு அலுவலகத்திற்கு அனுபவம் வாய்ந்த கணக்காளர் ஒருவர் தேவைப்படுகிறார்.",
+    };
+    private static final int CORPUS_BYTES = 8 << 20;
+    private static final int ROUNDS = 10;
+
+    private TextAnalyzerBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        TextAnalyzer analyzer = TextAnalyzer.of(args.length > 0 ? args[0] : TextAnalyzer.STANDARD_FILTERS);
+        List<String> documents = new ArrayList<>();
+        Random random = new Random(42);
+        long bytes = 0;
+        while (bytes < CORPUS_BYTES) {
+            StringBuilder document = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                document.append(SENTENCES[random.nextInt(SENTENCES.length)]).append(' ');
+            }
+            documents.add(document.toString());
+            bytes += document.toString().getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        long[] terms = new long[1];
+        TextAnalyzer.TokenSink sink = (term, start, end) -> terms[0] += term.length();
+        for (int round = -3; round < ROUNDS; round++) {
+            long begin = System.nanoTime();
+            for (String document : documents) {
+                analyzer.analyze(document, sink);
+            }
+            long nanos = System.nanoTime() - begin;
+            if (round >= 0) {
+                System.out.printf("round %d: %.1f MB/s%n", round, bytes / (nanos / 1e9) / (1 << 20));
+            }
+        }
+        System.out.println("term chars: " + terms[0]);
+    }
+}
@@ -0,0 +1,74 @@
+package com.jobportal.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TextAnalyzer and TokenFilters.
+ */
+class TextAnalyzerTest {
+
+    private final TextAnalyzer analyzer = TextAnalyzer.of(TextAnalyzer.STANDARD_FILTERS);
+
+    @Test
+    void testEnglishTerms() {
+        assertEquals(Arrays.asList("senior", "java", "c++", "c#", "developer"),
+                analyzer.terms("Senior Java/C++ and C# Developer"));
+        assertEquals(Arrays.asList("it", "officer"), analyzer.terms("IT Officer"));
+        assertEquals(Arrays.asList("cafe", "manager"), analyzer.terms("Café Manager"));
+        assertTrue(analyzer.terms(null).isEmpty());
+    }
+
+    @Test
+    void testJoinersDoNotSplitWords() {
+        // "ශ්රී" typed with a zero-width joiner between the virama and "ර"
+        String withJoiner = "ශ්\u200Dරී ලංකාව";
+        assertEquals(Arrays.asList("ශ්රී", "ලංකාව"), analyzer.terms(withJoiner));
+        assertEquals(analyzer.terms("ශ්රී ලංකාව"), analyzer.terms(withJoiner));
+        assertEquals(Collections.singletonList("software"), analyzer.terms("soft\u00ADware"));
+    }
+
+    @Test
+    void testCanonicalEquivalentsMatch() {
+        // Tamil "கொ" precomposed and as its two vowel sign parts
+        assertEquals(analyzer.terms("கொழும்பு"), analyzer.terms("க\u0BC6\u0BBEழும்பு"));
+        assertEquals(analyzer.terms("Caf\u00E9"), analyzer.terms("Cafe\u0301"));
+    }
+
+    @Test
+    void testVowelSignsKept() {
+        assertEquals(Collections.singletonList("කොළඹ"), analyzer.terms("කොළඹ"));
+        assertEquals(Collections.singletonList("ஆசிரியர்"), analyzer.terms("ஆசிரியர்"));
+    }
+
+    @Test
+    void testStopWordsOfAllScripts() {
+        assertEquals(Arrays.asList("manager", "engineer"), analyzer.terms("The Manager and the Engineer"));
+        assertEquals(Arrays.asList("ගණකාධිකාරී", "ලිපිකරු"), analyzer.terms("ගණකාධිකාරී සහ ලිපිකරු"));
+        assertEquals(Arrays.asList("ஆசிரியர்", "எழுத்தர்"), analyzer.terms("ஆசிரியர் மற்றும் எழுத்தர்"));
+    }
+
+    @Test
+    void testOffsetsPointIntoText() {
+        String text = "Senior  Java, Kandy";
+        List<String> found = new ArrayList<>();
+        analyzer.analyze(text, (term, start, end) -> found.add(term + "@" + text.substring(start, end)));
+        assertEquals(Arrays.asList("senior@Senior", "java@Java", "kandy@Kandy"), found);
+    }
+
+    @Test
+    void testPluggableFilters() {
+        assertEquals(Arrays.asList("the", "manager"), TextAnalyzer.of("lowercase").terms("The Manager"));
+        assertEquals(Arrays.asList("The", "Manager"), TextAnalyzer.of("").terms("The Manager"));
+        TextAnalyzer custom = new TextAnalyzer(Arrays.asList(TokenFilters.byName("lowercase"),
+                TokenFilters.stopWords(Collections.singleton("pvt"))));
+        assertEquals(Arrays.asList("abc", "ltd"), custom.terms("ABC Pvt Ltd"));
+        assertThrows(IllegalArgumentException.class, () -> TextAnalyzer.of("lowercase,stemmer"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.jobportal.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ByteRange.
+ */
+class ByteRangeTest {
+
+    @Test
+    void testClosedRange() {
+        ByteRange range = ByteRange.parse("bytes=0-499", 1234);
+        assertEquals(0, range.getStart());
+        assertEquals(499, range.getEnd());
+        assertEquals(500, range.getLength());
+        assertEquals("bytes 0-499/1234", range.toContentRange(1234));
+    }
+
+    @Test
+    void testOpenAndOversizedRangesAreClamped() {
+        ByteRange open = ByteRange.parse("bytes=1000-", 1234);
+        assertEquals(1000, open.getStart());
+        assertEquals(1233, open.getEnd());
+
+        ByteRange oversized = ByteRange.parse("bytes=1000-99999", 1234);
+        assertEquals(1233, oversized.getEnd());
+    }
+
+    @Test
+    void testSuffixRange() {
+        ByteRange range = ByteRange.parse("bytes=-100", 1234);
+        assertEquals(1134, range.getStart());
+        assertEquals(100, range.getLength());
+
+        assertEquals(0, ByteRange.parse("bytes=-5000", 1234).getStart());
+    }
+
+    @Test
+    void testUnsatisfiable() {
+        assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=1234-", 1234));
+        assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=-0", 1234));
+        assertEquals("bytes */1234", ByteRange.UNSATISFIABLE.toContentRange(1234));
+    }
+
+    @Test
+    void testIgnoredHeaders() {
+        assertNull(ByteRange.parse(null, 1234));
+        assertNull(ByteRange.parse("items=0-1", 1234));
+        assertNull(ByteRange.parse("bytes=0-1,5-6", 1234));
+        assertNull(ByteRange.parse("bytes=abc", 1234));
+        assertNull(ByteRange.parse("bytes=10-5", 1234));
+    }
+}
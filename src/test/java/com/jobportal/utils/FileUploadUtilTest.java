@@ -0,0 +1,57 @@
+package com.jobportal.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FileUploadUtil.
+ */
+class FileUploadUtilTest {
+
+    @Test
+    void testSignatureMatchesExtension() {
+        byte[] pdf = "%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII);
+        byte[] zip = {'P', 'K', 3, 4, 20, 0, 6, 0};
+        assertTrue(FileUploadUtil.hasValidSignature("pdf", pdf, pdf.length));
+        assertTrue(FileUploadUtil.hasValidSignature("DOCX", zip, zip.length));
+        assertFalse(FileUploadUtil.hasValidSignature("pdf", zip, zip.length));
+        assertFalse(FileUploadUtil.hasValidSignature("pdf", pdf, 3));
+    }
+
+    @Test
+    void testStreamToFileWritesContentAndChecksum() throws Exception {
+        Path dir = Files.createTempDirectory("upload-test");
+        Path target = dir.resolve("resume.pdf");
+        byte[] content = "%PDF-1.4 hello".getBytes(StandardCharsets.US_ASCII);
+
+        FileUploadUtil.UploadedFile stored = FileUploadUtil.streamToFile(
+                new ByteArrayInputStream(content), "pdf", target, "uploads/resumes/resume.pdf");
+
+        assertArrayEquals(content, Files.readAllBytes(target));
+        assertEquals(content.length, stored.getSize());
+        assertEquals(64, stored.getSha256().length());
+        assertFalse(Files.exists(dir.resolve("resume.pdf.part")));
+    }
+
+    @Test
+    void testRejectedContentLeavesNoFile() throws Exception {
+        Path dir = Files.createTempDirectory("upload-test");
+        Path target = dir.resolve("resume.pdf");
+
+        assertThrows(IllegalArgumentException.class, () -> FileUploadUtil.streamToFile(
+                new ByteArrayInputStream("MZ not a pdf".getBytes(StandardCharsets.US_ASCII)), "pdf", target, "x"));
+        assertFalse(Files.exists(target));
+        assertFalse(Files.exists(dir.resolve("resume.pdf.part")));
+    }
+
+    @Test
+    void testFormatFileSize() {
+        assertEquals("512 B", FileUploadUtil.formatFileSize(512));
+    }
+}
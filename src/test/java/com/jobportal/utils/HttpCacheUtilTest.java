@@ -0,0 +1,41 @@
+package com.jobportal.utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HttpCacheUtil.
+ */
+class HttpCacheUtilTest {
+
+    @Test
+    void testStrongETag() {
+        assertEquals("\"job-42-ff\"", HttpCacheUtil.strongETag("job-42", 255));
+    }
+
+    @Test
+    void testMatchesAnyWeakComparison() {
+        String etag = "\"job-1-a\"";
+        assertTrue(HttpCacheUtil.matchesAny("\"job-1-a\"", etag, true));
+        assertTrue(HttpCacheUtil.matchesAny("\"other\", W/\"job-1-a\"", etag, true));
+        assertTrue(HttpCacheUtil.matchesAny("*", etag, true));
+        assertFalse(HttpCacheUtil.matchesAny("\"job-1-b\"", etag, true));
+    }
+
+    @Test
+    void testGzipETag() {
+        String etag = "\"job-1-a\"";
+        assertEquals("\"job-1-a-gzip\"", HttpCacheUtil.gzipETag(etag));
+        assertEquals("W/\"job-1-a-gzip\"", HttpCacheUtil.gzipETag("W/" + etag));
+        assertEquals("\"job-1-a-gzip\"", HttpCacheUtil.gzipETag(HttpCacheUtil.gzipETag(etag)));
+        assertTrue(HttpCacheUtil.matchesAny("\"job-1-a-gzip\"", etag, true));
+        assertFalse(HttpCacheUtil.matchesAny("\"job-1-a-gzip\"", etag, false));
+    }
+
+    @Test
+    void testMatchesAnyStrongComparison() {
+        String etag = "\"job-1-a\"";
+        assertTrue(HttpCacheUtil.matchesAny("\"job-1-a\"", etag, false));
+        assertFalse(HttpCacheUtil.matchesAny("W/\"job-1-a\"", etag, false));
+    }
+}
@@ -0,0 +1,45 @@
+package com.jobportal.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ResumeStorage path layout.
+ */
+class ResumeStorageTest {
+
+    private static final String HASH = "ab12cd34ef56ab12cd34ef56ab12cd34ef56ab12cd34ef56ab12cd34ef56ab12";
+
+    @Test
+    void testShardedLayout() {
+        ResumeStorage storage = new ResumeStorage(Paths.get("/data/resumes"), "uploads/resumes");
+        assertEquals(Paths.get("/data/resumes", "ab", "12", HASH + ".pdf"), storage.blobPath(HASH, "pdf"));
+        assertEquals("uploads/resumes/ab/12/" + HASH + ".pdf", storage.relativePath(HASH, "pdf"));
+    }
+
+    @Test
+    void testResolveRoundTrip() {
+        ResumeStorage storage = new ResumeStorage(Paths.get("/data/resumes"), "uploads/resumes/");
+        Path file = storage.resolve("uploads/resumes/ab/12/" + HASH + ".docx");
+        assertEquals(storage.blobPath(HASH, "docx"), file);
+    }
+
+    @Test
+    void testResolveRejectsOtherPaths() {
+        ResumeStorage storage = new ResumeStorage(Paths.get("/data/resumes"), "uploads/resumes/");
+        assertThrows(IllegalArgumentException.class, () -> storage.resolve("uploads/resumes/3f2a.pdf"));
+        assertThrows(IllegalArgumentException.class, () -> storage.resolve("uploads/resumes/../ab/12/" + HASH + ".pdf"));
+        assertThrows(IllegalArgumentException.class, () -> storage.resolve("uploads/resumes/ff/ff/" + HASH + ".pdf"));
+    }
+
+    @Test
+    void testHashOf() {
+        assertEquals(HASH, ResumeStorage.hashOf("uploads/resumes/ab/12/" + HASH + ".pdf"));
+        assertNull(ResumeStorage.hashOf("uploads/resumes/0b1c2d3e-uuid.pdf"));
+        assertFalse(ResumeStorage.isSha256(HASH.toUpperCase()));
+    }
+}
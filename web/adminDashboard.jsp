@@ -1,4 +1,5 @@
 <%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
 <!DOCTYPE html>
 <html lang="en">
 <head>
@@ -37,7 +38,18 @@
         <div class="row">
             <div class="col-md-6">
                 <h4>Job Statistics</h4>
-               
+                <p>Total users:
+                    <c:choose>
+                        <c:when test="${staleWidgets.contains('totalUsers')}"><span class="text-muted">unavailable</span></c:when>
+                        <c:otherwise><strong>${totalUsers}</strong></c:otherwise>
+                    </c:choose>
+                </p>
+                <p>Total jobs:
+                    <c:choose>
+                        <c:when test="${staleWidgets.contains('totalJobs')}"><span class="text-muted">unavailable</span></c:when>
+                        <c:otherwise><strong>${totalJobs}</strong></c:otherwise>
+                    </c:choose>
+                </p>
             </div>
             <div class="col-md-6">
                 <h4>Recent Activities</h4>
@@ -1,3 +1,4 @@
+<%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
 <!DOCTYPE html>
 <html lang="en">
 <head>
@@ -69,7 +70,7 @@
     </nav>
     <div class="container mt-5">
         <div class="jumbotron text-center">
-            <h2>Welcome,</h2>
+            <h2>Welcome, <c:out value="${student.name}"/></h2>
             <p>What would you like to do today?</p>
             <div class="d-flex justify-content-center flex-wrap">
                
@@ -78,6 +79,61 @@
                 <a href="employers.jsp" class="btn btn-warning">View Employers</a>
             </div>
         </div>
+        <div class="row mb-5">
+            <div class="col-md-8">
+                <h4>My Applications</h4>
+                <c:choose>
+                    <c:when test="${staleWidgets.contains('applications')}">
+                        <p class="text-muted">Your applications are temporarily unavailable. Please refresh in a moment.</p>
+                    </c:when>
+                    <c:when test="${empty applications}">
+                        <p>You have not applied for any jobs yet.</p>
+                    </c:when>
+                    <c:otherwise>
+                        <table class="table table-sm">
+                            <thead><tr><th>Job</th><th>Applied</th><th>Status</th></tr></thead>
+                            <tbody>
+                                <c:forEach var="application" items="${applications}">
+                                    <tr>
+                                        <td><a href="jobDetails?id=${application.jobId}">Job #${application.jobId}</a></td>
+                                        <td><c:out value="${application.applicationDate}"/></td>
+                                        <td><c:out value="${application.status}"/></td>
+                                    </tr>
+                                </c:forEach>
+                            </tbody>
+                        </table>
+                    </c:otherwise>
+                </c:choose>
+            </div>
+            <div class="col-md-4">
+                <h4>Open Jobs</h4>
+                <c:choose>
+                    <c:when test="${staleWidgets.contains('totalJobs')}">
+                        <p class="text-muted">Temporarily unavailable.</p>
+                    </c:when>
+                    <c:otherwise>
+                        <p><strong>${totalJobs}</strong> jobs are currently listed.</p>
+                    </c:otherwise>
+                </c:choose>
+                <h4>Recommended for You</h4>
+                <c:choose>
+                    <c:when test="${staleWidgets.contains('recommendedJobs')}">
+                        <p class="text-muted">Temporarily unavailable.</p>
+                    </c:when>
+                    <c:when test="${empty recommendedJobs}">
+                        <p class="text-muted">Add your major and resume to your profile to get job suggestions.</p>
+                    </c:when>
+                    <c:otherwise>
+                        <ul class="list-unstyled">
+                            <c:forEach var="job" items="${recommendedJobs}">
+                                <li><a href="jobDetails?id=${job.id}"><c:out value="${job.title}"/></a>
+                                    <small class="text-muted"><c:out value="${job.location}"/></small></li>
+                            </c:forEach>
+                        </ul>
+                    </c:otherwise>
+                </c:choose>
+            </div>
+        </div>
     </div>
     <footer>
         <div class="container">
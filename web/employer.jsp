@@ -1,4 +1,5 @@
 <%@ page import="com.jobportal.models.Employer" %>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
 <!DOCTYPE html>
 <html>
 <head>
@@ -60,6 +61,23 @@
         <a href="employer?action=delete&id=<jsp:getProperty name="employer" property="id"/>">Delete</a>
         <a href="updateEmployer.jsp?id=<jsp:getProperty name="employer" property="id"/>">Update</a>
         <a href="employers.jsp">Back to Employers List</a>
+        <c:if test="${not empty staleWidgets or not empty jobs}">
+            <h2>Posted Jobs</h2>
+            <c:choose>
+                <c:when test="${staleWidgets.contains('jobs')}">
+                    <p>Your jobs are temporarily unavailable. Please refresh in a moment.</p>
+                </c:when>
+                <c:otherwise>
+                    <c:forEach var="summary" items="${jobs}">
+                        <p>
+                            <a href="jobDetails?id=${summary.job.id}"><c:out value="${summary.job.title}"/></a> - <c:out value="${summary.job.location}"/><br>
+                            ${summary.counts.total} applicants: ${summary.counts.applied} applied, ${summary.counts.interviewed} interviewed,
+                            ${summary.counts.accepted} accepted, ${summary.counts.rejected} rejected
+                        </p>
+                    </c:forEach>
+                </c:otherwise>
+            </c:choose>
+        </c:if>
     </div>
 </body>
 </html>
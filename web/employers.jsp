@@ -5,7 +5,7 @@
 <head>
     <meta charset="ISO-8859-1">
     <title>Employers List</title>
-    <link rel="stylesheet" type="text/css" href="css/styles.css">
+    <link rel="stylesheet" type="text/css" href="<%= com.jobportal.utils.StaticAssets.url(request, "/css/styles.css") %>">
     <style>
         body {
             font-family: Arial, sans-serif;
@@ -18,7 +18,7 @@
             color: #fff !important;
         }
         .jumbotron {
-            background: url('1.jpg') no-repeat center center;
+            background: url('<%= com.jobportal.utils.StaticAssets.url(request, "/1.jpg") %>') no-repeat center center;
             background-size: cover;
             color: white;
             padding: 6rem 1rem;
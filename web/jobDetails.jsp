@@ -1,4 +1,6 @@
-<%@ page import="com.jobportal.model.Job" %>
+<%@ page import="com.jobportal.models.Job" %>
+<%@ page import="com.jobportal.utils.ValidationUtil" %>
+<%@ page import="java.util.List" %>
 <%@ page contentType="text/html;charset=UTF-8" language="java" %>
 <!DOCTYPE html>
 <html lang="en">
@@ -78,6 +80,25 @@
                 <p class="card-text"><strong>Posted by:</strong> Employer ID <%= job.getEmployerId() %></p>
             </div>
         </div>
+        <%
+                @SuppressWarnings("unchecked")
+                List<Job> similarJobs = (List<Job>) request.getAttribute("similarJobs");
+                if (similarJobs != null && !similarJobs.isEmpty()) {
+        %>
+        <div class="card">
+            <div class="card-body">
+                <h5 class="card-title">More Like This</h5>
+                <ul class="list-unstyled mb-0">
+                    <% for (Job similar : similarJobs) { %>
+                    <li><a href="jobDetails?id=<%= similar.getId() %>"><%= ValidationUtil.sanitizeForHTML(similar.getTitle()) %></a>
+                        <small class="text-muted"><%= ValidationUtil.sanitizeForHTML(similar.getLocation()) %></small></li>
+                    <% } %>
+                </ul>
+            </div>
+        </div>
+        <%
+                }
+        %>
         <% 
             } else {
         %>
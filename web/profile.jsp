@@ -102,6 +102,21 @@
                 <a href="editProfile.jsp" class="btn btn-edit">Edit Profile</a>
             </div>
         </div>
+        <% if ("student".equals(user.getRole())) { %>
+        <div class="card mt-4">
+            <div class="card-header">
+                Resume
+            </div>
+            <div class="card-body">
+                <form action="profile" method="post" enctype="multipart/form-data">
+                    <div class="form-group">
+                        <input type="file" class="form-control-file" name="resume" accept=".pdf,.doc,.docx" required>
+                    </div>
+                    <button type="submit" class="btn btn-edit">Upload Resume</button>
+                </form>
+            </div>
+        </div>
+        <% } %>
     </div>
 
     <footer>
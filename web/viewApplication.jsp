@@ -45,7 +45,7 @@
         <p><strong>ID:</strong> ${application.id}</p>
         <p><strong>Job Title:</strong> ${application.jobTitle}</p>
         <p><strong>Applicant Name:</strong> ${application.applicantName}</p>
-        <p><strong>Resume:</strong> <a href="${application.resumePath}" class="btn btn-link">View Resume</a></p>
+        <p><strong>Resume:</strong> <a href="resume?studentId=${application.studentId}" class="btn btn-link">Download Resume</a></p>
         <p><strong>Status:</strong> ${application.status}</p>
         <a href="applications.jsp" class="btn btn-secondary">Back to Applications List</a>
     </div>